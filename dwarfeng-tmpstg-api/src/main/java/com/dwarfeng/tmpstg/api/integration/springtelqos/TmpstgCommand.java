@@ -6,7 +6,9 @@ import com.dwarfeng.springtelqos.sdk.configuration.TelqosCommand;
 import com.dwarfeng.springtelqos.sdk.util.CliCommandUtil;
 import com.dwarfeng.springtelqos.stack.command.CommandDescriptor;
 import com.dwarfeng.springtelqos.stack.command.CommandExecutor;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
 import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
 import com.dwarfeng.tmpstg.stack.service.TemporaryStorageQosService;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
@@ -57,6 +59,14 @@ public class TmpstgCommand extends CliCommand {
     private static final String COMMAND_OPTION_CLEAR_DISPOSED_LONG_OPT = "clear-disposed";
     private static final String COMMAND_OPTION_DOWNLOAD = "download";
     private static final String COMMAND_OPTION_UPLOAD = "upload";
+    private static final String COMMAND_OPTION_STATS = "stats";
+    private static final String COMMAND_OPTION_LATENCY = "latency";
+    private static final String COMMAND_OPTION_RESET_LATENCY = "rl";
+    private static final String COMMAND_OPTION_RESET_LATENCY_LONG_OPT = "reset-latency";
+    private static final String COMMAND_OPTION_START_TRACE = "st";
+    private static final String COMMAND_OPTION_START_TRACE_LONG_OPT = "start-trace";
+    private static final String COMMAND_OPTION_STOP_TRACE = "spt";
+    private static final String COMMAND_OPTION_STOP_TRACE_LONG_OPT = "stop-trace";
 
     private static final String[] COMMAND_OPTION_ARRAY = new String[]{
             COMMAND_OPTION_LIST_HANDLERS,
@@ -73,7 +83,12 @@ public class TmpstgCommand extends CliCommand {
             COMMAND_OPTION_DISPOSE_AND_REMOVE,
             COMMAND_OPTION_CLEAR_DISPOSED,
             COMMAND_OPTION_DOWNLOAD,
-            COMMAND_OPTION_UPLOAD
+            COMMAND_OPTION_UPLOAD,
+            COMMAND_OPTION_STATS,
+            COMMAND_OPTION_LATENCY,
+            COMMAND_OPTION_RESET_LATENCY,
+            COMMAND_OPTION_START_TRACE,
+            COMMAND_OPTION_STOP_TRACE
     };
 
     private static final String COMMAND_SUB_OPTION_HANDLER_NAME = "hn";
@@ -144,7 +159,21 @@ public class TmpstgCommand extends CliCommand {
                 context.getRuntimeIdentity() + " " + CliCommandUtil.concatOptionPrefix(COMMAND_OPTION_UPLOAD) +
                         " [" + CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_HANDLER_NAME) + " handler-name] [" +
                         CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_KEY) + " key] [" +
-                        CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_FILE_PATH) + " file-path]"
+                        CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_FILE_PATH) + " file-path]",
+                context.getRuntimeIdentity() + " " + CliCommandUtil.concatOptionPrefix(COMMAND_OPTION_STATS) +
+                        " [" + CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_HANDLER_NAME) + " handler-name]",
+                context.getRuntimeIdentity() + " " + CliCommandUtil.concatOptionPrefix(COMMAND_OPTION_LATENCY) +
+                        " [" + CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_HANDLER_NAME) + " handler-name]",
+                context.getRuntimeIdentity() + " " +
+                        CliCommandUtil.concatOptionPrefix(COMMAND_OPTION_RESET_LATENCY) + " [" +
+                        CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_HANDLER_NAME) + " handler-name]",
+                context.getRuntimeIdentity() + " " +
+                        CliCommandUtil.concatOptionPrefix(COMMAND_OPTION_START_TRACE) + " [" +
+                        CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_HANDLER_NAME) + " handler-name] [" +
+                        CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_FILE_PATH) + " file-path]",
+                context.getRuntimeIdentity() + " " +
+                        CliCommandUtil.concatOptionPrefix(COMMAND_OPTION_STOP_TRACE) + " [" +
+                        CliCommandUtil.concatOptionPrefix(COMMAND_SUB_OPTION_HANDLER_NAME) + " handler-name]"
         };
         return CliCommandUtil.cliSyntax(patterns);
     }
@@ -185,6 +214,26 @@ public class TmpstgCommand extends CliCommand {
         );
         list.add(Option.builder(COMMAND_OPTION_DOWNLOAD).optionalArg(true).hasArg(false).desc("下载临时存储内容").build());
         list.add(Option.builder(COMMAND_OPTION_UPLOAD).optionalArg(true).hasArg(false).desc("上传临时存储内容").build());
+        list.add(Option.builder(COMMAND_OPTION_STATS).optionalArg(true).hasArg(false).desc("查看处理器统计信息").build());
+        list.add(
+                Option.builder(COMMAND_OPTION_LATENCY).optionalArg(true).hasArg(false).desc("查看处理器延迟统计信息")
+                        .build()
+        );
+        list.add(
+                Option.builder(COMMAND_OPTION_RESET_LATENCY)
+                        .longOpt(COMMAND_OPTION_RESET_LATENCY_LONG_OPT)
+                        .optionalArg(true).hasArg(false).desc("重置处理器延迟统计信息").build()
+        );
+        list.add(
+                Option.builder(COMMAND_OPTION_START_TRACE)
+                        .longOpt(COMMAND_OPTION_START_TRACE_LONG_OPT)
+                        .optionalArg(true).hasArg(false).desc("开始记录处理器负载").build()
+        );
+        list.add(
+                Option.builder(COMMAND_OPTION_STOP_TRACE)
+                        .longOpt(COMMAND_OPTION_STOP_TRACE_LONG_OPT)
+                        .optionalArg(true).hasArg(false).desc("停止记录处理器负载").build()
+        );
         list.add(
                 Option.builder(COMMAND_SUB_OPTION_HANDLER_NAME).longOpt(COMMAND_SUB_OPTION_HANDLER_NAME_LONG_OPT)
                         .hasArg(true).type(String.class).desc("处理器名称").build()
@@ -251,6 +300,21 @@ public class TmpstgCommand extends CliCommand {
             case COMMAND_OPTION_UPLOAD:
                 handleUpload(context, cmd);
                 break;
+            case COMMAND_OPTION_STATS:
+                handleStats(context, cmd);
+                break;
+            case COMMAND_OPTION_LATENCY:
+                handleLatency(context, cmd);
+                break;
+            case COMMAND_OPTION_RESET_LATENCY:
+                handleResetLatency(context, cmd);
+                break;
+            case COMMAND_OPTION_START_TRACE:
+                handleStartTrace(context, cmd);
+                break;
+            case COMMAND_OPTION_STOP_TRACE:
+                handleStopTrace(context, cmd);
+                break;
             default:
                 throw new IllegalStateException("不应该执行到此处, 请联系开发人员");
         }
@@ -356,10 +420,15 @@ public class TmpstgCommand extends CliCommand {
         context.sendMessage("  key: " + info.getKey());
         context.sendMessage("  memoryBufferAllocatedLength: " + info.getMemoryBufferAllocatedLength());
         context.sendMessage("  memoryBufferActualLength: " + info.getMemoryBufferActualLength());
+        context.sendMessage("  memoryBufferCompressed: " + info.isMemoryBufferCompressed());
         context.sendMessage("  fileBufferUsed: " + info.isFileBufferUsed());
         context.sendMessage("  fileBufferActualLength: " + info.getFileBufferActualLength());
+        context.sendMessage("  fileBufferPhysicalLength: " + info.getFileBufferPhysicalLength());
         context.sendMessage("  status: " + info.getStatus());
         context.sendMessage("  contentLength: " + info.getContentLength());
+        context.sendMessage("  checksumAlgorithm: " + info.getChecksumAlgorithm());
+        context.sendMessage("  checksum: " + info.getChecksum());
+        context.sendMessage("  contentReferenceCount: " + info.getContentReferenceCount());
     }
 
     private void handleCreate(CommandExecutor.Context context, CommandLine cmd) throws Exception {
@@ -493,6 +562,119 @@ public class TmpstgCommand extends CliCommand {
         );
     }
 
+    private void handleStats(CommandExecutor.Context context, CommandLine cmd) throws Exception {
+        // 获取处理器名称。
+        String handlerName = parseHandlerName(context, cmd);
+
+        // 调用服务，获取处理器统计信息。
+        TemporaryStorageHandlerStats stats = temporaryStorageQosService.stats(handlerName);
+
+        // 输出结果。
+        context.sendMessage("处理器名称: " + normalizeHandlerNameForOutput(handlerName));
+        context.sendMessage("处理器统计信息: ");
+        context.sendMessage("  readCacheMaxSize: " + stats.getReadCacheMaxSize());
+        context.sendMessage("  readCacheSize: " + stats.getReadCacheSize());
+        context.sendMessage("  readCacheEntryCount: " + stats.getReadCacheEntryCount());
+        context.sendMessage("  readCacheHitCount: " + stats.getReadCacheHitCount());
+        context.sendMessage("  readCacheMissCount: " + stats.getReadCacheMissCount());
+        context.sendMessage("  readCacheEvictionCount: " + stats.getReadCacheEvictionCount());
+        context.sendMessage("  readCacheHitRate: " + String.format("%.4f", stats.getReadCacheHitRate()));
+        context.sendMessage("  adaptiveMemoryBufferLimit: " + stats.getAdaptiveMemoryBufferLimit());
+        context.sendMessage("  adaptiveSampleCount: " + stats.getAdaptiveSampleCount());
+        context.sendMessage("  deduplicationHitCount: " + stats.getDeduplicationHitCount());
+        context.sendMessage("  deduplicationSavedLength: " + stats.getDeduplicationSavedLength());
+        context.sendMessage("  maxFileSizeTotal: " + stats.getMaxFileSizeTotal());
+        context.sendMessage("  fileSizeTotal: " + stats.getFileSizeTotal());
+        context.sendMessage("  fileQuotaRejectionCount: " + stats.getFileQuotaRejectionCount());
+        context.sendMessage("  memoryWaitCount: " + stats.getMemoryWaitCount());
+        context.sendMessage("  memoryWaitTimeoutCount: " + stats.getMemoryWaitTimeoutCount());
+        context.sendMessage("  memoryWaiterCount: " + stats.getMemoryWaiterCount());
+        context.sendMessage("  expiredCount: " + stats.getExpiredCount());
+        context.sendMessage("  expirationScheduledCount: " + stats.getExpirationScheduledCount());
+        context.sendMessage("  createdCount: " + stats.getCreatedCount());
+        context.sendMessage("  disposedCount: " + stats.getDisposedCount());
+        context.sendMessage("  liveStorageCount: " + stats.getLiveStorageCount());
+        context.sendMessage("  openInputStreamCount: " + stats.getOpenInputStreamCount());
+        context.sendMessage("  openOutputStreamCount: " + stats.getOpenOutputStreamCount());
+        context.sendMessage("  memoryWrittenLength: " + stats.getMemoryWrittenLength());
+        context.sendMessage("  fileWrittenLength: " + stats.getFileWrittenLength());
+        context.sendMessage("  spillCount: " + stats.getSpillCount());
+        context.sendMessage("  allocatedMemoryBufferSize: " + stats.getAllocatedMemoryBufferSize());
+        context.sendMessage("  memoryAllocationDeniedCount: " + stats.getMemoryAllocationDeniedCount());
+    }
+
+    private void handleLatency(CommandExecutor.Context context, CommandLine cmd) throws Exception {
+        // 获取处理器名称。
+        String handlerName = parseHandlerName(context, cmd);
+
+        // 调用服务，获取处理器延迟统计信息。
+        List<TemporaryStorageLatencyStats> latencyStatsList = temporaryStorageQosService.latencyStats(handlerName);
+
+        // 输出结果，时间的单位为微秒。
+        context.sendMessage("处理器名称: " + normalizeHandlerNameForOutput(handlerName));
+        context.sendMessage("处理器延迟统计信息 (单位: 微秒, 格式: mean/p50/p99/p999/max): ");
+        for (TemporaryStorageLatencyStats latencyStats : latencyStatsList) {
+            context.sendMessage(String.format(
+                    "  %-8s count: %d, work: %s, lockWait: %s",
+                    latencyStats.getOperation(), latencyStats.getCount(),
+                    formatLatency(
+                            latencyStats.getWorkTimeMean(), latencyStats.getWorkTimeP50(),
+                            latencyStats.getWorkTimeP99(), latencyStats.getWorkTimeP999(),
+                            latencyStats.getWorkTimeMax()
+                    ),
+                    formatLatency(
+                            latencyStats.getLockWaitTimeMean(), latencyStats.getLockWaitTimeP50(),
+                            latencyStats.getLockWaitTimeP99(), latencyStats.getLockWaitTimeP999(),
+                            latencyStats.getLockWaitTimeMax()
+                    )
+            ));
+        }
+    }
+
+    private String formatLatency(double mean, long p50, long p99, long p999, long max) {
+        return String.format(
+                "%.1f/%.1f/%.1f/%.1f/%.1f", mean / 1000, p50 / 1000.0, p99 / 1000.0, p999 / 1000.0, max / 1000.0
+        );
+    }
+
+    private void handleResetLatency(CommandExecutor.Context context, CommandLine cmd) throws Exception {
+        // 获取处理器名称。
+        String handlerName = parseHandlerName(context, cmd);
+
+        // 调用服务，重置处理器延迟统计信息。
+        temporaryStorageQosService.resetLatencyStats(handlerName);
+
+        // 输出结果。
+        context.sendMessage("重置成功!");
+        context.sendMessage("处理器名称: " + normalizeHandlerNameForOutput(handlerName));
+    }
+
+    private void handleStartTrace(CommandExecutor.Context context, CommandLine cmd) throws Exception {
+        // 获取处理器名称与文件路径。
+        String handlerName = parseHandlerName(context, cmd);
+        String filePath = parseFilePath(context, cmd);
+
+        // 调用服务，开始记录处理器负载。
+        temporaryStorageQosService.startWorkloadTrace(handlerName, filePath);
+
+        // 输出结果。
+        context.sendMessage("开始记录!");
+        context.sendMessage("处理器名称: " + normalizeHandlerNameForOutput(handlerName) + ", 文件路径: " + filePath);
+    }
+
+    private void handleStopTrace(CommandExecutor.Context context, CommandLine cmd) throws Exception {
+        // 获取处理器名称。
+        String handlerName = parseHandlerName(context, cmd);
+
+        // 调用服务，停止记录处理器负载。
+        boolean tracing = temporaryStorageQosService.isWorkloadTracing(handlerName);
+        temporaryStorageQosService.stopWorkloadTrace(handlerName);
+
+        // 输出结果。
+        context.sendMessage(tracing ? "停止记录!" : "处理器没有在记录负载");
+        context.sendMessage("处理器名称: " + normalizeHandlerNameForOutput(handlerName));
+    }
+
     private String parseHandlerName(CommandExecutor.Context context, CommandLine cmd) throws Exception {
         // 如果有 COMMAND_SUB_OPTION_HANDLER_NAME 选项，则直接获取 handlerName。
         if (cmd.hasOption(COMMAND_SUB_OPTION_HANDLER_NAME)) {
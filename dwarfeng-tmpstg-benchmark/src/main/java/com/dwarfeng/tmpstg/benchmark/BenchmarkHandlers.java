@@ -0,0 +1,161 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.impl.handler.TemporaryStorageHandlerImpl;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 基准测试处理器工具。
+ *
+ * <p>
+ * 为每一次基准测试创建独立的调度器、临时文件目录与处理器，并在基准测试结束时将它们全部清理。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class BenchmarkHandlers {
+
+    /**
+     * 基准测试中每个临时存储的内存缓冲区大小，超过该大小的内容会溢出到文件。
+     */
+    public static final int MAX_BUFFER_SIZE_PER_STORAGE = 256 * 1024;
+
+    /**
+     * 基准测试中处理器的总的最大缓冲区大小。
+     */
+    public static final long MAX_BUFFER_SIZE_TOTAL = 256L * 1024 * 1024;
+
+    /**
+     * 创建基准测试的配置构建器。
+     *
+     * <p>
+     * 配置构建器已经设置了独立的临时文件目录，以及基准测试使用的缓冲区大小；
+     * 后台清理任务与内存检查任务被禁用，以免后台任务影响测试结果。
+     *
+     * @return 基准测试的配置构建器。
+     * @throws IOException IO 异常。
+     */
+    public static TemporaryStorageConfig.Builder newConfigBuilder() throws IOException {
+        return newConfigBuilder(Files.createTempDirectory("dwarfeng-tmpstg-benchmark-"));
+    }
+
+    /**
+     * 创建基准测试的配置构建器，并使用指定的目录作为临时文件目录。
+     *
+     * <p>
+     * 指定的目录在基准测试结束时被删除，详见 {@link Fixture#stop()}。
+     *
+     * @param directory 临时文件目录。
+     * @return 基准测试的配置构建器。
+     * @see #newConfigBuilder()
+     */
+    public static TemporaryStorageConfig.Builder newConfigBuilder(Path directory) {
+        return new TemporaryStorageConfig.Builder()
+                .setTemporaryFileDirectoryPath(directory.toFile().getAbsolutePath())
+                .setMaxBufferSizePerStorage(MAX_BUFFER_SIZE_PER_STORAGE)
+                .setMaxBufferSizeTotal(MAX_BUFFER_SIZE_TOTAL)
+                .setClearDisposedInterval(-1)
+                .setCheckMemoryInterval(-1);
+    }
+
+    /**
+     * 按照指定的配置创建并启动处理器。
+     *
+     * <p>
+     * 配置中的临时文件目录在基准测试结束时被删除：配置了多个临时文件目录时，删除其中的每一个目录；
+     * 否则删除单个临时文件目录。
+     *
+     * @param config 处理器的配置。
+     * @return 处理器以及与其关联的资源。
+     * @throws Exception 创建或启动处理器时发生的异常。
+     */
+    public static Fixture start(TemporaryStorageConfig config) throws Exception {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        TemporaryStorageHandlerImpl handler = new TemporaryStorageHandlerImpl(scheduler, config);
+        handler.start();
+        List<File> directories = new ArrayList<>();
+        if (config.getTemporaryFileDirectoryPaths().isEmpty()) {
+            directories.add(new File(config.getTemporaryFileDirectoryPath()));
+        } else {
+            config.getTemporaryFileDirectoryPaths().forEach(path -> directories.add(new File(path)));
+        }
+        return new Fixture(scheduler, handler, directories);
+    }
+
+    /**
+     * 读取输入流中的全部内容并丢弃，返回读取的字节数。
+     *
+     * @param in     输入流。
+     * @param buffer 读取时使用的缓冲区。
+     * @return 读取的字节数。
+     * @throws IOException IO 异常。
+     */
+    public static long drain(InputStream in, byte[] buffer) throws IOException {
+        long total = 0;
+        int length;
+        while ((length = in.read(buffer)) >= 0) {
+            total += length;
+        }
+        return total;
+    }
+
+    private BenchmarkHandlers() {
+        throw new IllegalStateException("禁止实例化");
+    }
+
+    /**
+     * 处理器以及与其关联的资源。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    public static final class Fixture {
+
+        private final ThreadPoolTaskScheduler scheduler;
+        private final TemporaryStorageHandler handler;
+        private final List<File> directories;
+
+        private Fixture(ThreadPoolTaskScheduler scheduler, TemporaryStorageHandler handler, List<File> directories) {
+            this.scheduler = scheduler;
+            this.handler = handler;
+            this.directories = directories;
+        }
+
+        /**
+         * 停止处理器与调度器，并删除所有的临时文件目录。
+         *
+         * @throws Exception 停止处理器或删除目录时发生的异常。
+         */
+        public void stop() throws Exception {
+            try {
+                handler.stop();
+            } finally {
+                scheduler.shutdown();
+                for (File directory : directories) {
+                    if (!directory.exists()) {
+                        continue;
+                    }
+                    try (Stream<Path> paths = Files.walk(directory.toPath())) {
+                        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+                    }
+                }
+            }
+        }
+
+        public TemporaryStorageHandler getHandler() {
+            return handler;
+        }
+    }
+}
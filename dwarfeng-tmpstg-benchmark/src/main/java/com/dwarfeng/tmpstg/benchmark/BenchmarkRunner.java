@@ -0,0 +1,73 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * 基准测试入口。
+ *
+ * <p>
+ * 接受与 JMH 命令行相同的参数，例如 <code>-f</code>、<code>-t</code>、<code>-p</code> 与用于筛选基准测试的正则表达式。<br>
+ * 未指定结果格式时，结果以 JSON 格式输出到 <code>jmh-result-&lt;版本号&gt;.json</code> 中，
+ * 以便保存每个版本的结果，并对比不同版本之间的性能变化。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class BenchmarkRunner {
+
+    private static final String VERSION_RESOURCE = "/benchmark.properties";
+    private static final String VERSION_PROPERTY = "version";
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions;
+        try {
+            commandLineOptions = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("参数错误: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        // 未指定结果格式时，默认以 JSON 格式输出结果，并在文件名中包含版本号。
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+            if (!commandLineOptions.getResult().hasValue()) {
+                builder.result("jmh-result-" + loadVersion() + ".json");
+            }
+        }
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        new Runner(builder.build()).run();
+    }
+
+    private static String loadVersion() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkRunner.class.getResourceAsStream(VERSION_RESOURCE)) {
+            if (in == null) {
+                return UNKNOWN_VERSION;
+            }
+            properties.load(in);
+        }
+        return properties.getProperty(VERSION_PROPERTY, UNKNOWN_VERSION);
+    }
+}
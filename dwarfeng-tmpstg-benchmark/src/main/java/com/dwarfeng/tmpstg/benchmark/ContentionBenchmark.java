@@ -0,0 +1,106 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程并发访问的基准测试。
+ *
+ * <p>
+ * 所有线程共享同一个处理器，分别测试以下场景：
+ * <ul>
+ *     <li>所有线程读取同一个临时存储，争用同一个临时存储的读锁。</li>
+ *     <li>每个线程读写各自的临时存储，只争用处理器的读锁与内存分配锁。</li>
+ *     <li>每个线程反复创建、写入并释放临时存储，争用处理器的写锁。</li>
+ * </ul>
+ * 线程数默认为 8，可以通过 JMH 的 <code>-t</code> 参数调整。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ContentionBenchmark {
+
+    private static final int PAYLOAD_SIZE = 16 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class SharedState {
+
+        private BenchmarkHandlers.Fixture fixture;
+        private TemporaryStorageHandler handler;
+
+        private byte[] payload;
+        private String sharedKey;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            fixture = BenchmarkHandlers.start(BenchmarkHandlers.newConfigBuilder().build());
+            handler = fixture.getHandler();
+            payload = new byte[PAYLOAD_SIZE];
+            new Random(0).nextBytes(payload);
+            sharedKey = handler.create();
+            try (OutputStream out = handler.openOutputStream(sharedKey)) {
+                out.write(payload);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            fixture.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private byte[] readBuffer;
+        private String ownKey;
+
+        @Setup(Level.Trial)
+        public void setUp(SharedState sharedState) throws Exception {
+            readBuffer = new byte[8192];
+            ownKey = sharedState.handler.create();
+            try (OutputStream out = sharedState.handler.openOutputStream(ownKey)) {
+                out.write(sharedState.payload);
+            }
+        }
+    }
+
+    @Benchmark
+    public long readSharedKey(SharedState sharedState, ThreadState threadState) throws Exception {
+        try (InputStream in = sharedState.handler.openInputStream(sharedState.sharedKey)) {
+            return BenchmarkHandlers.drain(in, threadState.readBuffer);
+        }
+    }
+
+    @Benchmark
+    public long writeAndReadOwnKey(SharedState sharedState, ThreadState threadState) throws Exception {
+        try (OutputStream out = sharedState.handler.openOutputStream(threadState.ownKey)) {
+            out.write(sharedState.payload);
+        }
+        try (InputStream in = sharedState.handler.openInputStream(threadState.ownKey)) {
+            return BenchmarkHandlers.drain(in, threadState.readBuffer);
+        }
+    }
+
+    @Benchmark
+    public String createWriteAndDispose(SharedState sharedState) throws Exception {
+        TemporaryStorageHandler handler = sharedState.handler;
+        String key = handler.create();
+        try (OutputStream out = handler.openOutputStream(key)) {
+            out.write(sharedState.payload);
+        }
+        handler.disposeAndRemove(key);
+        return key;
+    }
+}
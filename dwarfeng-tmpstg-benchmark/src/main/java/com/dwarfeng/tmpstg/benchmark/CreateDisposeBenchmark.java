@@ -0,0 +1,59 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 创建与释放临时存储的基准测试。
+ *
+ * <p>
+ * 测试创建一个临时存储，随后将其释放并移除的吞吐量；
+ * 写入内容的版本额外写入一小段不会溢出的内容，以覆盖内存缓冲区的申请与归还。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateDisposeBenchmark {
+
+    private static final byte[] CONTENT = new byte[64];
+
+    private BenchmarkHandlers.Fixture fixture;
+    private TemporaryStorageHandler handler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = BenchmarkHandlers.start(BenchmarkHandlers.newConfigBuilder().build());
+        handler = fixture.getHandler();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.stop();
+    }
+
+    @Benchmark
+    public String createAndDispose() throws Exception {
+        String key = handler.create();
+        handler.disposeAndRemove(key);
+        return key;
+    }
+
+    @Benchmark
+    public String createWriteAndDispose() throws Exception {
+        String key = handler.create();
+        try (OutputStream out = handler.openOutputStream(key)) {
+            out.write(CONTENT);
+        }
+        handler.disposeAndRemove(key);
+        return key;
+    }
+}
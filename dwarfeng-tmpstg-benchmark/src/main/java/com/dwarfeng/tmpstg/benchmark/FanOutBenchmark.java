@@ -0,0 +1,131 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 临时文件子目录的基准测试。
+ *
+ * <p>
+ * 分别在不使用子目录与使用子目录的情况下，测试创建大量溢出到文件的临时存储，以及将它们全部释放的耗时。<br>
+ * 内存缓冲区的大小为 1 字节，因此每个临时存储都会溢出到文件；
+ * 每次迭代处理 <code>storageCount</code> 个临时存储，默认为 1000000 个，可以通过 <code>-p storageCount=</code> 调整。
+ *
+ * <p>
+ * 大量的临时存储会占用较多的堆内存，因此分叉的虚拟机使用 2 GiB 的堆内存。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FanOutBenchmark {
+
+    private static final byte[] CONTENT = new byte[64];
+
+    @Benchmark
+    public void createSpilled(HandlerState handlerState, CreatedStorages createdStorages) throws Exception {
+        for (int i = 0; i < handlerState.storageCount; i++) {
+            createdStorages.keys.add(handlerState.createSpilled());
+        }
+    }
+
+    @Benchmark
+    public void disposeSpilled(HandlerState handlerState, SpilledStorages spilledStorages) throws Exception {
+        for (String key : spilledStorages.keys) {
+            handlerState.handler.disposeAndRemove(key);
+        }
+        spilledStorages.keys.clear();
+    }
+
+    /**
+     * 处理器状态。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    @State(Scope.Benchmark)
+    public static class HandlerState {
+
+        @Param({"0", "2"})
+        public int fanOutLevels;
+
+        @Param({"1000000"})
+        public int storageCount;
+
+        private BenchmarkHandlers.Fixture fixture;
+        private TemporaryStorageHandler handler;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            fixture = BenchmarkHandlers.start(
+                    BenchmarkHandlers.newConfigBuilder()
+                            .setMaxBufferSizePerStorage(1)
+                            .setMaxBufferSizeTotal(1)
+                            .setTemporaryFileFanOutLevels(fanOutLevels)
+                            .build()
+            );
+            handler = fixture.getHandler();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            fixture.stop();
+        }
+
+        private String createSpilled() throws Exception {
+            String key = handler.create();
+            try (OutputStream out = handler.openOutputStream(key)) {
+                out.write(CONTENT);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * 创建测试中创建的临时存储，在每次迭代结束后释放，不计入测试的耗时。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    @State(Scope.Benchmark)
+    public static class CreatedStorages {
+
+        private final List<String> keys = new ArrayList<>();
+
+        @TearDown(Level.Iteration)
+        public void tearDown(HandlerState handlerState) throws Exception {
+            for (String key : keys) {
+                handlerState.handler.disposeAndRemove(key);
+            }
+            keys.clear();
+        }
+    }
+
+    /**
+     * 释放测试中待释放的临时存储，在每次迭代开始前创建，不计入测试的耗时。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    @State(Scope.Benchmark)
+    public static class SpilledStorages {
+
+        private final List<String> keys = new ArrayList<>();
+
+        @Setup(Level.Iteration)
+        public void setUp(HandlerState handlerState) throws Exception {
+            for (int i = 0; i < handlerState.storageCount; i++) {
+                keys.add(handlerState.createSpilled());
+            }
+        }
+    }
+}
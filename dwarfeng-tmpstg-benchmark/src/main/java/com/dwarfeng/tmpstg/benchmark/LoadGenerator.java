@@ -0,0 +1,195 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageHistogram;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 负载测试入口。
+ *
+ * <p>
+ * 负载测试在真实的处理器与临时文件目录上，使用多个线程按照指定的权重随机地创建、写入、读取、释放临时存储，
+ * 并输出吞吐量、各操作延迟的分位数、溢出比例以及内存占用的峰值，用于在新的硬件上确定
+ * <code>maxBufferSizeTotal</code> 等参数的取值。<br>
+ * 负载测试不需要任何交互，所有参数都通过命令行传入，参数的说明详见 {@link LoadOptions#USAGE}。
+ *
+ * <p>
+ * 延迟指每个操作从调用到返回的总耗时：写入包括打开输出流、写入与关闭输出流，读取包括打开输入流、读取全部内容与关闭输入流。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        if (options.isHelp()) {
+            System.out.println(LoadOptions.USAGE);
+            return;
+        }
+        boolean successFlag = new LoadGenerator(options).run();
+        System.exit(successFlag ? 0 : 2);
+    }
+
+    private final LoadOptions options;
+
+    public LoadGenerator(LoadOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 执行负载测试并输出结果。
+     *
+     * @return 负载测试期间是否没有发生任何错误。
+     * @throws Exception 负载测试时发生的异常。
+     */
+    public boolean run() throws Exception {
+        System.out.println("负载测试参数: " + options);
+
+        Path directory = Files.createTempDirectory(Paths.get(options.getDirectory()), "dwarfeng-tmpstg-load-");
+        TemporaryStorageConfig config = BenchmarkHandlers.newConfigBuilder(directory)
+                .setMaxBufferSizePerStorage(options.getMaxBufferSizePerStorage())
+                .setMaxBufferSizeTotal(options.getMaxBufferSizeTotal())
+                .build();
+        BenchmarkHandlers.Fixture fixture = BenchmarkHandlers.start(config);
+        TemporaryStorageHandler handler = fixture.getHandler();
+        LoadSampler sampler = new LoadSampler(handler);
+        try {
+            long seed = Objects.isNull(options.getSeed()) ? System.nanoTime() : options.getSeed();
+            LoadWorker.Control control = new LoadWorker.Control();
+            List<LoadWorker> workers = new ArrayList<>(options.getThreads());
+            List<Thread> threads = new ArrayList<>(options.getThreads());
+            for (int i = 0; i < options.getThreads(); i++) {
+                LoadWorker worker = new LoadWorker(handler, options, control, new Random(seed + i));
+                workers.add(worker);
+                threads.add(new Thread(worker, "tmpstg-load-" + (i + 1)));
+            }
+            threads.forEach(Thread::start);
+
+            // 预热阶段。
+            System.out.printf("预热 %d 秒...%n", options.getWarmupSeconds());
+            TimeUnit.SECONDS.sleep(options.getWarmupSeconds());
+
+            // 测量阶段。
+            System.out.printf("测量 %d 秒...%n", options.getDurationSeconds());
+            TemporaryStorageHandlerStats statsBefore = handler.stats();
+            sampler.start();
+            long startNanos = System.nanoTime();
+            control.startMeasuring();
+            TimeUnit.SECONDS.sleep(options.getDurationSeconds());
+            control.stop();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            sampler.stop();
+            TemporaryStorageHandlerStats statsAfter = handler.stats();
+
+            Map<String, Object> result = buildResult(workers, elapsedNanos, statsBefore, statsAfter, sampler, seed);
+            printResult(result);
+            LoadReports.writeJson(result, options.getOutput());
+            return (long) result.get("errorCount") == 0;
+        } finally {
+            sampler.stop();
+            fixture.stop();
+        }
+    }
+
+    private Map<String, Object> buildResult(
+            List<LoadWorker> workers, long elapsedNanos, TemporaryStorageHandlerStats statsBefore,
+            TemporaryStorageHandlerStats statsAfter, LoadSampler sampler, long seed
+    ) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+
+        Map<LoadOperation, TemporaryStorageHistogram> histograms = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            histograms.put(operation, new TemporaryStorageHistogram());
+        }
+        TemporaryStorageHistogram totalHistogram = new TemporaryStorageHistogram();
+        long writtenLength = 0;
+        long readLength = 0;
+        long errorCount = 0;
+        Exception firstError = null;
+        for (LoadWorker worker : workers) {
+            for (Map.Entry<LoadOperation, TemporaryStorageHistogram> entry : worker.getHistograms().entrySet()) {
+                histograms.get(entry.getKey()).merge(entry.getValue());
+                totalHistogram.merge(entry.getValue());
+            }
+            writtenLength += worker.getWrittenLength();
+            readLength += worker.getReadLength();
+            errorCount += worker.getErrorCount();
+            if (Objects.isNull(firstError)) {
+                firstError = worker.getFirstError();
+            }
+        }
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<LoadOperation, TemporaryStorageHistogram> entry : histograms.entrySet()) {
+            operations.put(
+                    entry.getKey().getLabel(), LoadReports.histogramResult(entry.getValue(), elapsedSeconds)
+            );
+        }
+        long writeCount = histograms.get(LoadOperation.WRITE).getCount();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", options.getThreads());
+        result.put("durationSeconds", elapsedSeconds);
+        result.put("seed", seed);
+        result.put("mix", mixResult());
+        result.put("sizeMin", options.getSizeMin());
+        result.put("sizeMax", options.getSizeMax());
+        result.put("maxBufferSizePerStorage", options.getMaxBufferSizePerStorage());
+        result.put("total", LoadReports.histogramResult(totalHistogram, elapsedSeconds));
+        result.put("operations", operations);
+        result.put("writtenBytesPerSecond", writtenLength / elapsedSeconds);
+        result.put("readBytesPerSecond", readLength / elapsedSeconds);
+        result.put("spill", LoadReports.spillResult(writeCount, statsBefore, statsAfter));
+        result.put("memory", LoadReports.memoryResult(options.getMaxBufferSizeTotal(), sampler));
+        result.put("errorCount", errorCount);
+        if (Objects.nonNull(firstError)) {
+            result.put("firstError", firstError.toString());
+        }
+        return result;
+    }
+
+    private Map<String, Object> mixResult() {
+        Map<String, Object> mix = new LinkedHashMap<>();
+        for (Map.Entry<LoadOperation, Integer> entry : options.getMix().entrySet()) {
+            mix.put(entry.getKey().getLabel(), entry.getValue());
+        }
+        return mix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printResult(Map<String, Object> result) {
+        System.out.println();
+        System.out.println("负载测试结果:");
+        LoadReports.printHistogramHeader();
+        Map<String, Object> operations = (Map<String, Object>) result.get("operations");
+        for (Map.Entry<String, Object> entry : operations.entrySet()) {
+            LoadReports.printHistogramLine(entry.getKey(), (Map<String, Object>) entry.getValue());
+        }
+        LoadReports.printHistogramLine("total", (Map<String, Object>) result.get("total"));
+        System.out.printf(
+                "写入速率: %.2f MiB/s, 读取速率: %.2f MiB/s%n",
+                (double) result.get("writtenBytesPerSecond") / 1048576,
+                (double) result.get("readBytesPerSecond") / 1048576
+        );
+        LoadReports.printResourceResult(result);
+    }
+}
@@ -0,0 +1,56 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+/**
+ * 负载测试操作。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+enum LoadOperation {
+
+    /**
+     * 创建一个临时存储。
+     */
+    CREATE("create"),
+
+    /**
+     * 打开输出流，写入随机长度的内容后关闭。
+     */
+    WRITE("write"),
+
+    /**
+     * 打开输入流，读取全部内容后关闭。
+     */
+    READ("read"),
+
+    /**
+     * 释放并移除一个临时存储。
+     */
+    DISPOSE("dispose");
+
+    private final String label;
+
+    LoadOperation(String label) {
+        this.label = label;
+    }
+
+    /**
+     * 根据名称获取操作。
+     *
+     * @param label 操作的名称。
+     * @return 操作。
+     * @throws IllegalArgumentException 名称不对应任何操作时抛出。
+     */
+    public static LoadOperation of(String label) {
+        for (LoadOperation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("未知的操作: " + label);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
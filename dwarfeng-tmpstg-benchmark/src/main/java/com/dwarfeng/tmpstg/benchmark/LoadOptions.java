@@ -0,0 +1,234 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 负载测试参数。
+ *
+ * <p>
+ * 参数以 <code>--name=value</code> 的形式从命令行传入，未传入的参数使用默认值。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class LoadOptions {
+
+    public static final String USAGE = "用法: java -cp benchmarks.jar " + LoadGenerator.class.getName() + " [参数...]\n" +
+            "  --threads=8                          执行操作的线程数\n" +
+            "  --duration=30                        测量的时长, 单位为秒\n" +
+            "  --warmup=5                           预热的时长, 单位为秒, 预热期间的操作不计入结果\n" +
+            "  --mix=create:1,write:4,read:4,dispose:1\n" +
+            "                                       各操作的权重, 按照权重随机选择操作\n" +
+            "  --size=1024-65536                    写入内容的长度范围, 单位为字节\n" +
+            "  --max-live=64                        每个线程同时存活的临时存储的最大数量\n" +
+            "  --max-buffer-size-per-storage=2048   每个临时存储的最大内存缓冲区大小, 单位为字节\n" +
+            "  --max-buffer-size-total=1048576      处理器总的最大内存缓冲区大小, 单位为字节\n" +
+            "  --directory=<java.io.tmpdir>         临时文件所在的目录, 测试结束后删除其中的测试文件\n" +
+            "  --seed=<随机>                         随机数种子, 指定后每个线程的操作序列可复现\n" +
+            "  --output=<无>                        以 JSON 格式输出结果的文件\n" +
+            "  --help                               显示帮助信息";
+
+    private int threads = 8;
+    private long durationSeconds = 30;
+    private long warmupSeconds = 5;
+    private final Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+    private int sizeMin = 1024;
+    private int sizeMax = 65536;
+    private int maxLive = 64;
+    private int maxBufferSizePerStorage = 2048;
+    private long maxBufferSizeTotal = 1048576;
+    private String directory = System.getProperty("java.io.tmpdir");
+    private Long seed = null;
+    private String output = null;
+    private boolean help = false;
+
+    private LoadOptions() {
+        mix.put(LoadOperation.CREATE, 1);
+        mix.put(LoadOperation.WRITE, 4);
+        mix.put(LoadOperation.READ, 4);
+        mix.put(LoadOperation.DISPOSE, 1);
+    }
+
+    /**
+     * 解析命令行参数。
+     *
+     * @param args 命令行参数。
+     * @return 负载测试参数。
+     * @throws IllegalArgumentException 参数不合法时抛出。
+     */
+    public static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            if ("--help".equals(arg)) {
+                options.help = true;
+                continue;
+            }
+            int index = arg.indexOf('=');
+            if (!arg.startsWith("--") || index < 0) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg);
+            }
+            String name = arg.substring(2, index);
+            String value = arg.substring(index + 1);
+            try {
+                options.apply(name, value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("参数 " + name + " 的值不合法: " + value, e);
+            }
+        }
+        options.validate();
+        return options;
+    }
+
+    private void apply(String name, String value) {
+        switch (name) {
+            case "threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "duration":
+                durationSeconds = Long.parseLong(value);
+                break;
+            case "warmup":
+                warmupSeconds = Long.parseLong(value);
+                break;
+            case "mix":
+                parseMix(value);
+                break;
+            case "size":
+                String[] bounds = value.split("-");
+                if (bounds.length != 2) {
+                    throw new IllegalArgumentException("参数 size 的格式应为 min-max: " + value);
+                }
+                sizeMin = Integer.parseInt(bounds[0].trim());
+                sizeMax = Integer.parseInt(bounds[1].trim());
+                break;
+            case "max-live":
+                maxLive = Integer.parseInt(value);
+                break;
+            case "max-buffer-size-per-storage":
+                maxBufferSizePerStorage = Integer.parseInt(value);
+                break;
+            case "max-buffer-size-total":
+                maxBufferSizeTotal = Long.parseLong(value);
+                break;
+            case "directory":
+                directory = value;
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            case "output":
+                output = value;
+                break;
+            default:
+                throw new IllegalArgumentException("无法识别的参数: --" + name);
+        }
+    }
+
+    private void parseMix(String value) {
+        mix.clear();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("参数 mix 的格式应为 operation:weight,...: " + value);
+            }
+            LoadOperation operation = LoadOperation.of(pair[0].trim());
+            mix.put(operation, Integer.parseInt(pair[1].trim()));
+        }
+    }
+
+    private void validate() {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("参数 threads 必须大于 0");
+        }
+        if (durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("参数 duration 必须大于 0, 参数 warmup 不能小于 0");
+        }
+        if (sizeMin < 0 || sizeMin > sizeMax) {
+            throw new IllegalArgumentException("参数 size 的范围不合法: " + sizeMin + "-" + sizeMax);
+        }
+        if (maxLive <= 0) {
+            throw new IllegalArgumentException("参数 max-live 必须大于 0");
+        }
+        int totalWeight = 0;
+        for (int weight : mix.values()) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("参数 mix 中的权重不能小于 0");
+            }
+            totalWeight += weight;
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("参数 mix 中至少需要一个权重大于 0 的操作");
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public Map<LoadOperation, Integer> getMix() {
+        return mix;
+    }
+
+    public int getSizeMin() {
+        return sizeMin;
+    }
+
+    public int getSizeMax() {
+        return sizeMax;
+    }
+
+    public int getMaxLive() {
+        return maxLive;
+    }
+
+    public int getMaxBufferSizePerStorage() {
+        return maxBufferSizePerStorage;
+    }
+
+    public long getMaxBufferSizeTotal() {
+        return maxBufferSizeTotal;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadOptions{" +
+                "threads=" + threads +
+                ", durationSeconds=" + durationSeconds +
+                ", warmupSeconds=" + warmupSeconds +
+                ", mix=" + mix +
+                ", sizeMin=" + sizeMin +
+                ", sizeMax=" + sizeMax +
+                ", maxLive=" + maxLive +
+                ", maxBufferSizePerStorage=" + maxBufferSizePerStorage +
+                ", maxBufferSizeTotal=" + maxBufferSizeTotal +
+                ", directory='" + directory + '\'' +
+                ", seed=" + seed +
+                ", output='" + output + '\'' +
+                '}';
+    }
+}
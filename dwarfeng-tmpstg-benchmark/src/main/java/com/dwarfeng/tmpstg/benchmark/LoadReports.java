@@ -0,0 +1,166 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageHistogram;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 负载测试结果工具。
+ *
+ * <p>
+ * 负载测试与负载回放共用的结果构建与输出方法。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class LoadReports {
+
+    /**
+     * 构建直方图的结果。
+     *
+     * @param histogram      直方图。
+     * @param elapsedSeconds 测量的时长，单位为秒。
+     * @return 直方图的结果。
+     */
+    public static Map<String, Object> histogramResult(TemporaryStorageHistogram histogram, double elapsedSeconds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", histogram.getCount());
+        result.put("throughput", elapsedSeconds <= 0 ? 0.0 : histogram.getCount() / elapsedSeconds);
+        result.put("meanNanos", histogram.mean());
+        result.put("p50Nanos", histogram.percentile(0.5));
+        result.put("p99Nanos", histogram.percentile(0.99));
+        result.put("p999Nanos", histogram.percentile(0.999));
+        result.put("maxNanos", histogram.getMaxValue());
+        return result;
+    }
+
+    /**
+     * 构建溢出的结果。
+     *
+     * @param writeCount  测量期间的写入次数。
+     * @param statsBefore 测量开始时处理器的统计信息。
+     * @param statsAfter  测量结束时处理器的统计信息。
+     * @return 溢出的结果。
+     */
+    public static Map<String, Object> spillResult(
+            long writeCount, TemporaryStorageHandlerStats statsBefore, TemporaryStorageHandlerStats statsAfter
+    ) {
+        long spillCount = statsAfter.getSpillCount() - statsBefore.getSpillCount();
+        long memoryWrittenLength = statsAfter.getMemoryWrittenLength() - statsBefore.getMemoryWrittenLength();
+        long fileWrittenLength = statsAfter.getFileWrittenLength() - statsBefore.getFileWrittenLength();
+
+        Map<String, Object> spill = new LinkedHashMap<>();
+        spill.put("spillCount", spillCount);
+        spill.put("writeSpillRatio", writeCount == 0 ? 0 : (double) spillCount / writeCount);
+        spill.put(
+                "byteSpillRatio", memoryWrittenLength + fileWrittenLength == 0 ?
+                        0 : (double) fileWrittenLength / (memoryWrittenLength + fileWrittenLength)
+        );
+        spill.put(
+                "memoryAllocationDeniedCount",
+                statsAfter.getMemoryAllocationDeniedCount() - statsBefore.getMemoryAllocationDeniedCount()
+        );
+        return spill;
+    }
+
+    /**
+     * 构建内存占用的结果。
+     *
+     * @param maxBufferSizeTotal 处理器总的最大内存缓冲区大小。
+     * @param sampler            测量期间的资源采样器。
+     * @return 内存占用的结果。
+     */
+    public static Map<String, Object> memoryResult(long maxBufferSizeTotal, LoadSampler sampler) {
+        Map<String, Object> memory = new LinkedHashMap<>();
+        memory.put("maxBufferSizeTotal", maxBufferSizeTotal);
+        memory.put("peakAllocatedMemoryBufferSize", sampler.getPeakAllocatedMemoryBufferSize());
+        memory.put("peakFileSizeTotal", sampler.getPeakFileSizeTotal());
+        memory.put("peakLiveStorageCount", sampler.getPeakLiveStorageCount());
+        memory.put("peakHeapUsed", sampler.getPeakHeapUsed());
+        return memory;
+    }
+
+    /**
+     * 输出直方图结果的表头。
+     */
+    public static void printHistogramHeader() {
+        System.out.printf(
+                "%-20s %12s %12s %12s %12s %12s %12s%n",
+                "操作", "次数", "吞吐量/s", "p50(us)", "p99(us)", "p999(us)", "max(us)"
+        );
+    }
+
+    /**
+     * 输出一行直方图结果。
+     *
+     * @param label     行的名称。
+     * @param histogram 直方图的结果。
+     */
+    public static void printHistogramLine(String label, Map<String, Object> histogram) {
+        System.out.printf(
+                "%-20s %12d %12.1f %12.1f %12.1f %12.1f %12.1f%n",
+                label, (long) histogram.get("count"), (double) histogram.get("throughput"),
+                (long) histogram.get("p50Nanos") / 1000.0, (long) histogram.get("p99Nanos") / 1000.0,
+                (long) histogram.get("p999Nanos") / 1000.0, (long) histogram.get("maxNanos") / 1000.0
+        );
+    }
+
+    /**
+     * 输出溢出、内存占用与错误的结果。
+     *
+     * @param result 包含 <code>spill</code>、<code>memory</code>、<code>errorCount</code>
+     *               以及可选的 <code>firstError</code> 的结果。
+     */
+    @SuppressWarnings("unchecked")
+    public static void printResourceResult(Map<String, Object> result) {
+        Map<String, Object> spill = (Map<String, Object>) result.get("spill");
+        System.out.printf(
+                "溢出比例: 按写入次数 %.2f%%, 按字节数 %.2f%%, 内存分配拒绝次数: %d%n",
+                (double) spill.get("writeSpillRatio") * 100, (double) spill.get("byteSpillRatio") * 100,
+                (long) spill.get("memoryAllocationDeniedCount")
+        );
+        Map<String, Object> memory = (Map<String, Object>) result.get("memory");
+        System.out.printf(
+                "内存缓冲峰值: %d / %d 字节, 临时文件峰值: %d 字节, 存活临时存储峰值: %d, 堆内存峰值: %.2f MiB%n",
+                (long) memory.get("peakAllocatedMemoryBufferSize"), (long) memory.get("maxBufferSizeTotal"),
+                (long) memory.get("peakFileSizeTotal"), (long) memory.get("peakLiveStorageCount"),
+                (long) memory.get("peakHeapUsed") / 1048576.0
+        );
+        System.out.printf("错误次数: %d%n", (long) result.get("errorCount"));
+        if (result.containsKey("firstError")) {
+            System.out.println("第一个错误: " + result.get("firstError"));
+        }
+    }
+
+    /**
+     * 以 JSON 格式将结果输出到文件。
+     *
+     * @param result 结果。
+     * @param output 输出的文件，为 <code>null</code> 时不输出。
+     * @throws IOException IO 异常。
+     */
+    public static void writeJson(Map<String, Object> result, String output) throws IOException {
+        if (Objects.isNull(output)) {
+            return;
+        }
+        File file = new File(output);
+        Files.write(
+                file.toPath(),
+                JSON.toJSONString(result, SerializerFeature.PrettyFormat).getBytes(StandardCharsets.UTF_8)
+        );
+        System.out.println("结果已经输出到: " + file.getAbsolutePath());
+    }
+
+    private LoadReports() {
+        throw new IllegalStateException("禁止实例化");
+    }
+}
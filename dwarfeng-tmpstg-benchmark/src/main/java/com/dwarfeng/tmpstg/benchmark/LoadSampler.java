@@ -0,0 +1,92 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 负载测试资源采样器。
+ *
+ * <p>
+ * 采样器定期获取处理器的统计信息与 JVM 的堆内存占用，记录已分配的内存缓冲区大小、临时文件的总大小、
+ * 存活的临时存储数量以及堆内存占用的峰值。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class LoadSampler {
+
+    private static final long SAMPLE_INTERVAL = 100;
+
+    private final TemporaryStorageHandler handler;
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "tmpstg-load-sampler");
+                thread.setDaemon(true);
+                return thread;
+            }
+    );
+
+    private long peakAllocatedMemoryBufferSize = 0;
+    private long peakFileSizeTotal = 0;
+    private long peakLiveStorageCount = 0;
+    private long peakHeapUsed = 0;
+
+    public LoadSampler(TemporaryStorageHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * 开始采样。
+     */
+    public void start() {
+        executor.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止采样，并等待正在进行的采样结束。
+     *
+     * @throws InterruptedException 等待时线程被中断。
+     */
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private synchronized void sample() {
+        try {
+            TemporaryStorageHandlerStats stats = handler.stats();
+            peakAllocatedMemoryBufferSize = Math.max(
+                    peakAllocatedMemoryBufferSize, stats.getAllocatedMemoryBufferSize()
+            );
+            peakFileSizeTotal = Math.max(peakFileSizeTotal, stats.getFileSizeTotal());
+            peakLiveStorageCount = Math.max(peakLiveStorageCount, stats.getLiveStorageCount());
+        } catch (Exception e) {
+            // 采样失败时忽略本次采样。
+            return;
+        }
+        peakHeapUsed = Math.max(peakHeapUsed, memoryMXBean.getHeapMemoryUsage().getUsed());
+    }
+
+    public synchronized long getPeakAllocatedMemoryBufferSize() {
+        return peakAllocatedMemoryBufferSize;
+    }
+
+    public synchronized long getPeakFileSizeTotal() {
+        return peakFileSizeTotal;
+    }
+
+    public synchronized long getPeakLiveStorageCount() {
+        return peakLiveStorageCount;
+    }
+
+    public synchronized long getPeakHeapUsed() {
+        return peakHeapUsed;
+    }
+}
@@ -0,0 +1,227 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageHistogram;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * 负载测试工作线程。
+ *
+ * <p>
+ * 每个工作线程维护各自存活的临时存储，按照参数中的权重随机选择操作并执行，
+ * 测量阶段中每个操作的耗时被记录到该线程各自的直方图中。<br>
+ * 选择的操作无法执行时，执行能够推进状态的替代操作：没有存活的临时存储时，写入与释放改为创建；
+ * 没有已写入的临时存储时，读取改为写入；存活的临时存储达到上限时，创建改为释放。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class LoadWorker implements Runnable {
+
+    private final TemporaryStorageHandler handler;
+    private final LoadOptions options;
+    private final Control control;
+    private final Random random;
+
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final byte[] payload;
+    private final byte[] readBuffer = new byte[8192];
+    private final List<String> liveKeys = new ArrayList<>();
+    private final List<String> writtenKeys = new ArrayList<>();
+    private final Map<String, Integer> writtenLengths = new HashMap<>();
+
+    private final Map<LoadOperation, TemporaryStorageHistogram> histograms = new EnumMap<>(LoadOperation.class);
+    private long writtenLength = 0;
+    private long readLength = 0;
+    private long errorCount = 0;
+    private Exception firstError = null;
+
+    public LoadWorker(TemporaryStorageHandler handler, LoadOptions options, Control control, Random random) {
+        this.handler = handler;
+        this.options = options;
+        this.control = control;
+        this.random = random;
+
+        List<LoadOperation> operationList = new ArrayList<>();
+        List<Integer> weightList = new ArrayList<>();
+        int cumulativeWeight = 0;
+        for (Map.Entry<LoadOperation, Integer> entry : options.getMix().entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            cumulativeWeight += entry.getValue();
+            operationList.add(entry.getKey());
+            weightList.add(cumulativeWeight);
+        }
+        this.operations = operationList.toArray(new LoadOperation[0]);
+        this.cumulativeWeights = weightList.stream().mapToInt(Integer::intValue).toArray();
+
+        this.payload = new byte[options.getSizeMax()];
+        random.nextBytes(payload);
+        for (LoadOperation operation : LoadOperation.values()) {
+            histograms.put(operation, new TemporaryStorageHistogram());
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!control.stopped) {
+                boolean measuring = control.measuring;
+                LoadOperation operation = resolve(nextOperation());
+                long startNanos = System.nanoTime();
+                try {
+                    execute(operation, measuring);
+                } catch (Exception e) {
+                    if (measuring) {
+                        errorCount++;
+                        if (firstError == null) {
+                            firstError = e;
+                        }
+                    }
+                    continue;
+                }
+                if (measuring) {
+                    histograms.get(operation).record(System.nanoTime() - startNanos);
+                }
+            }
+        } finally {
+            cleanup();
+        }
+    }
+
+    private LoadOperation nextOperation() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private LoadOperation resolve(LoadOperation operation) {
+        switch (operation) {
+            case CREATE:
+                return liveKeys.size() >= options.getMaxLive() ? LoadOperation.DISPOSE : LoadOperation.CREATE;
+            case WRITE:
+            case DISPOSE:
+                return liveKeys.isEmpty() ? LoadOperation.CREATE : operation;
+            case READ:
+                if (!writtenKeys.isEmpty()) {
+                    return LoadOperation.READ;
+                }
+                return liveKeys.isEmpty() ? LoadOperation.CREATE : LoadOperation.WRITE;
+            default:
+                throw new IllegalStateException("不应该执行到此处, 请联系开发人员");
+        }
+    }
+
+    private void execute(LoadOperation operation, boolean measuring) throws Exception {
+        switch (operation) {
+            case CREATE:
+                liveKeys.add(handler.create());
+                break;
+            case WRITE:
+                String writeKey = liveKeys.get(random.nextInt(liveKeys.size()));
+                int length = options.getSizeMin() + random.nextInt(options.getSizeMax() - options.getSizeMin() + 1);
+                try (OutputStream out = handler.openOutputStream(writeKey)) {
+                    out.write(payload, 0, length);
+                }
+                if (!writtenLengths.containsKey(writeKey)) {
+                    writtenKeys.add(writeKey);
+                }
+                writtenLengths.put(writeKey, length);
+                if (measuring) {
+                    writtenLength += length;
+                }
+                break;
+            case READ:
+                String readKey = writtenKeys.get(random.nextInt(writtenKeys.size()));
+                long actualLength;
+                try (InputStream in = handler.openInputStream(readKey)) {
+                    actualLength = BenchmarkHandlers.drain(in, readBuffer);
+                }
+                // 校验读取的长度，确保负载测试中的读写是正确的。
+                int expectedLength = writtenLengths.get(readKey);
+                if (actualLength != expectedLength) {
+                    throw new IllegalStateException(
+                            "读取的长度与写入的长度不一致, key: " + readKey + ", 写入: " + expectedLength +
+                                    ", 读取: " + actualLength
+                    );
+                }
+                if (measuring) {
+                    readLength += actualLength;
+                }
+                break;
+            case DISPOSE:
+                String disposeKey = liveKeys.remove(random.nextInt(liveKeys.size()));
+                if (writtenLengths.remove(disposeKey) != null) {
+                    writtenKeys.remove(disposeKey);
+                }
+                handler.disposeAndRemove(disposeKey);
+                break;
+            default:
+                throw new IllegalStateException("不应该执行到此处, 请联系开发人员");
+        }
+    }
+
+    private void cleanup() {
+        for (String key : liveKeys) {
+            try {
+                handler.disposeAndRemove(key);
+            } catch (Exception ignored) {
+                // 清理失败时，由处理器停止时统一清理。
+            }
+        }
+        liveKeys.clear();
+        writtenKeys.clear();
+        writtenLengths.clear();
+    }
+
+    public Map<LoadOperation, TemporaryStorageHistogram> getHistograms() {
+        return histograms;
+    }
+
+    public long getWrittenLength() {
+        return writtenLength;
+    }
+
+    public long getReadLength() {
+        return readLength;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public Exception getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * 负载测试的阶段控制。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    public static final class Control {
+
+        private volatile boolean measuring = false;
+        private volatile boolean stopped = false;
+
+        public void startMeasuring() {
+            measuring = true;
+        }
+
+        public void stop() {
+            measuring = false;
+            stopped = true;
+        }
+    }
+}
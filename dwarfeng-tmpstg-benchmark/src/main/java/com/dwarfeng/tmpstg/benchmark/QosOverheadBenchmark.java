@@ -0,0 +1,99 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.subgrade.impl.exception.MapServiceExceptionMapper;
+import com.dwarfeng.subgrade.sdk.exception.ServiceExceptionCodes;
+import com.dwarfeng.subgrade.stack.exception.ServiceException;
+import com.dwarfeng.tmpstg.impl.handler.TemporaryStorageQosHandlerImpl;
+import com.dwarfeng.tmpstg.impl.service.TemporaryStorageQosServiceImpl;
+import com.dwarfeng.tmpstg.sdk.util.ServiceExceptionHelper;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageQosHandler;
+import com.dwarfeng.tmpstg.stack.service.TemporaryStorageQosService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QoS 层开销的基准测试。
+ *
+ * <p>
+ * 分别通过处理器、QoS 处理器与 QoS 服务执行相同的操作，对比 QoS 层按照名称查找处理器、
+ * 转换异常所带来的额外开销。<br>
+ * 查看临时存储信息的操作本身开销很小，用于放大 QoS 层的开销；一次性读取的操作用于评估 QoS 层在真实读写中的占比。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QosOverheadBenchmark {
+
+    private static final String HANDLER_NAME = "benchmark";
+    private static final int PAYLOAD_SIZE = 4096;
+
+    private BenchmarkHandlers.Fixture fixture;
+    private TemporaryStorageHandler handler;
+    private TemporaryStorageQosHandler qosHandler;
+    private TemporaryStorageQosService qosService;
+
+    private String key;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = BenchmarkHandlers.start(BenchmarkHandlers.newConfigBuilder().build());
+        handler = fixture.getHandler();
+        qosHandler = new TemporaryStorageQosHandlerImpl(Collections.singletonMap(HANDLER_NAME, handler));
+        Map<Class<? extends Exception>, ServiceException.Code> destination =
+                com.dwarfeng.subgrade.sdk.exception.ServiceExceptionHelper.putDefaultDestination(null);
+        destination = ServiceExceptionHelper.putDefaultDestination(destination);
+        qosService = new TemporaryStorageQosServiceImpl(
+                qosHandler, new MapServiceExceptionMapper(destination, ServiceExceptionCodes.UNDEFINED)
+        );
+        byte[] payload = new byte[PAYLOAD_SIZE];
+        new Random(0).nextBytes(payload);
+        key = handler.put(payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.stop();
+    }
+
+    @Benchmark
+    public TemporaryStorageInfo inspectByHandler() throws Exception {
+        return handler.inspect(key);
+    }
+
+    @Benchmark
+    public TemporaryStorageInfo inspectByQosHandler() throws Exception {
+        return qosHandler.inspect(HANDLER_NAME, key);
+    }
+
+    @Benchmark
+    public TemporaryStorageInfo inspectByQosService() throws Exception {
+        return qosService.inspect(HANDLER_NAME, key);
+    }
+
+    @Benchmark
+    public byte[] readAllBytesByHandler() throws Exception {
+        return handler.readAllBytes(key);
+    }
+
+    @Benchmark
+    public byte[] readAllBytesByQosHandler() throws Exception {
+        return qosHandler.readAllBytes(HANDLER_NAME, key);
+    }
+
+    @Benchmark
+    public byte[] readAllBytesByQosService() throws Exception {
+        return qosService.readAllBytes(HANDLER_NAME, key);
+    }
+}
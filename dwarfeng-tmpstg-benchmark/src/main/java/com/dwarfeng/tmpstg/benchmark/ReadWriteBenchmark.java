@@ -0,0 +1,87 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按内容长度读写临时存储的基准测试。
+ *
+ * <p>
+ * 内容长度的取值跨越内存缓冲区与文件缓冲区的边界：
+ * 不超过 {@link BenchmarkHandlers#MAX_BUFFER_SIZE_PER_STORAGE} 的内容完全位于内存缓冲区中，
+ * 超过该大小的内容溢出到文件缓冲区。<br>
+ * 写入测试反复重写同一个临时存储，读取测试反复读取同一个已经写入的临时存储，
+ * 吞吐量以字节数计算时，可以将结果乘以内容长度。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadWriteBenchmark {
+
+    @Param({"1024", "65536", "262144", "1048576", "8388608"})
+    public int payloadSize;
+
+    private BenchmarkHandlers.Fixture fixture;
+    private TemporaryStorageHandler handler;
+
+    private byte[] payload;
+    private byte[] readBuffer;
+    private String writeKey;
+    private String readKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = BenchmarkHandlers.start(BenchmarkHandlers.newConfigBuilder().build());
+        handler = fixture.getHandler();
+        payload = new byte[payloadSize];
+        new Random(0).nextBytes(payload);
+        readBuffer = new byte[8192];
+        writeKey = handler.create();
+        readKey = handler.create();
+        try (OutputStream out = handler.openOutputStream(readKey)) {
+            out.write(payload);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.stop();
+    }
+
+    @Benchmark
+    public void write() throws Exception {
+        try (OutputStream out = handler.openOutputStream(writeKey)) {
+            out.write(payload);
+        }
+    }
+
+    @Benchmark
+    public void writeWithExpectedLength() throws Exception {
+        try (OutputStream out = handler.openOutputStream(writeKey, payloadSize)) {
+            out.write(payload);
+        }
+    }
+
+    @Benchmark
+    public long read() throws Exception {
+        try (InputStream in = handler.openInputStream(readKey)) {
+            return BenchmarkHandlers.drain(in, readBuffer);
+        }
+    }
+
+    @Benchmark
+    public byte[] readAllBytes() throws Exception {
+        return handler.readAllBytes(readKey);
+    }
+}
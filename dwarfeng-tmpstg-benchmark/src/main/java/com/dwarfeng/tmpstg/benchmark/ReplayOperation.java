@@ -0,0 +1,73 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+
+import javax.annotation.Nullable;
+
+/**
+ * 负载回放操作。
+ *
+ * <p>
+ * 与负载记录文件中的操作类型一一对应，参考 {@link Constants} 中以 <code>WORKLOAD_TRACE_OPERATION_</code> 开头的常量。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+enum ReplayOperation {
+
+    CREATE(Constants.WORKLOAD_TRACE_OPERATION_CREATE, "create"),
+    OPEN_INPUT(Constants.WORKLOAD_TRACE_OPERATION_OPEN_INPUT, "open_input"),
+    CLOSE_INPUT(Constants.WORKLOAD_TRACE_OPERATION_CLOSE_INPUT, "close_input"),
+    OPEN_OUTPUT(Constants.WORKLOAD_TRACE_OPERATION_OPEN_OUTPUT, "open_output"),
+    WRITE(Constants.WORKLOAD_TRACE_OPERATION_WRITE, "write"),
+    CLOSE_OUTPUT(Constants.WORKLOAD_TRACE_OPERATION_CLOSE_OUTPUT, "close_output"),
+    PUT(Constants.WORKLOAD_TRACE_OPERATION_PUT, "put"),
+    PUT_INTO(Constants.WORKLOAD_TRACE_OPERATION_PUT_INTO, "put_into"),
+    READ(Constants.WORKLOAD_TRACE_OPERATION_READ, "read"),
+    DISPOSE(Constants.WORKLOAD_TRACE_OPERATION_DISPOSE, "dispose"),
+    REMOVE(Constants.WORKLOAD_TRACE_OPERATION_REMOVE, "remove"),
+    DISPOSE_AND_REMOVE(Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE, "dispose_and_remove");
+
+    private static final ReplayOperation[] BY_CODE;
+
+    static {
+        int maxCode = 0;
+        for (ReplayOperation operation : values()) {
+            maxCode = Math.max(maxCode, operation.code);
+        }
+        BY_CODE = new ReplayOperation[maxCode + 1];
+        for (ReplayOperation operation : values()) {
+            BY_CODE[operation.code] = operation;
+        }
+    }
+
+    private final int code;
+    private final String label;
+
+    ReplayOperation(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    /**
+     * 根据操作的类型获取操作。
+     *
+     * @param code 负载记录文件中操作的类型。
+     * @return 操作，如果操作的类型未知，则返回 <code>null</code>。
+     */
+    @Nullable
+    public static ReplayOperation of(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            return null;
+        }
+        return BY_CODE[code];
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
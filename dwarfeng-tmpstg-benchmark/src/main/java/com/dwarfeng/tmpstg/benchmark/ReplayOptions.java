@@ -0,0 +1,172 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 负载回放参数。
+ *
+ * <p>
+ * 参数以 <code>--name=value</code> 的形式从命令行传入，未传入的参数使用默认值。<br>
+ * 缓冲区大小的默认值与 {@link TemporaryStorageConfig.Builder} 的默认值相同，
+ * 以便在不指定参数时回放出默认配置下的表现。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class ReplayOptions {
+
+    public static final String USAGE = "用法: java -cp benchmarks.jar " + WorkloadReplayer.class.getName() +
+            " --trace=<文件> [参数...]\n" +
+            "  --trace=<必填>                       负载记录文件\n" +
+            "  --speed=1.0                          回放的速度倍率, 1.0 按照记录的节奏回放, 0 表示不等待, 尽快回放\n" +
+            "  --max-buffer-size-per-storage=2048   每个临时存储的最大内存缓冲区大小, 单位为字节\n" +
+            "  --max-buffer-size-total=1048576      处理器总的最大内存缓冲区大小, 单位为字节\n" +
+            "  --directory=<java.io.tmpdir>         临时文件所在的目录, 多个目录以逗号分隔, 回放结束后删除其中的回放文件\n" +
+            "  --spill-tier=file                    溢出层, 可选 file 或 arena\n" +
+            "  --output=<无>                        以 JSON 格式输出结果的文件\n" +
+            "  --help                               显示帮助信息";
+
+    private String trace = null;
+    private double speed = 1.0;
+    private int maxBufferSizePerStorage = TemporaryStorageConfig.Builder.DEFAULT_MAX_BUFFER_SIZE_PER_STORAGE;
+    private long maxBufferSizeTotal = TemporaryStorageConfig.Builder.DEFAULT_MAX_BUFFER_SIZE_TOTAL;
+    private List<String> directories = Collections.singletonList(System.getProperty("java.io.tmpdir"));
+    private String spillTier = TemporaryStorageConfig.Builder.DEFAULT_SPILL_TIER;
+    private String output = null;
+    private boolean help = false;
+
+    private ReplayOptions() {
+    }
+
+    /**
+     * 解析命令行参数。
+     *
+     * @param args 命令行参数。
+     * @return 负载回放参数。
+     * @throws IllegalArgumentException 参数不合法时抛出。
+     */
+    public static ReplayOptions parse(String[] args) {
+        ReplayOptions options = new ReplayOptions();
+        for (String arg : args) {
+            if ("--help".equals(arg)) {
+                options.help = true;
+                continue;
+            }
+            int index = arg.indexOf('=');
+            if (!arg.startsWith("--") || index < 0) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg);
+            }
+            String name = arg.substring(2, index);
+            String value = arg.substring(index + 1);
+            try {
+                options.apply(name, value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("参数 " + name + " 的值不合法: " + value, e);
+            }
+        }
+        if (!options.help) {
+            options.validate();
+        }
+        return options;
+    }
+
+    private void apply(String name, String value) {
+        switch (name) {
+            case "trace":
+                trace = value;
+                break;
+            case "speed":
+                speed = Double.parseDouble(value);
+                break;
+            case "max-buffer-size-per-storage":
+                maxBufferSizePerStorage = Integer.parseInt(value);
+                break;
+            case "max-buffer-size-total":
+                maxBufferSizeTotal = Long.parseLong(value);
+                break;
+            case "directory":
+                List<String> directoryList = new ArrayList<>();
+                for (String directory : value.split(",")) {
+                    if (!directory.trim().isEmpty()) {
+                        directoryList.add(directory.trim());
+                    }
+                }
+                directories = directoryList;
+                break;
+            case "spill-tier":
+                spillTier = value;
+                break;
+            case "output":
+                output = value;
+                break;
+            default:
+                throw new IllegalArgumentException("无法识别的参数: --" + name);
+        }
+    }
+
+    private void validate() {
+        if (Objects.isNull(trace)) {
+            throw new IllegalArgumentException("缺少参数 trace");
+        }
+        if (Double.isNaN(speed) || speed < 0) {
+            throw new IllegalArgumentException("参数 speed 不能小于 0");
+        }
+        if (directories.isEmpty()) {
+            throw new IllegalArgumentException("参数 directory 至少需要一个目录");
+        }
+        if (!Constants.SPILL_TIER_FILE.equals(spillTier) && !Constants.SPILL_TIER_ARENA.equals(spillTier)) {
+            throw new IllegalArgumentException("参数 spill-tier 的值不合法: " + spillTier);
+        }
+    }
+
+    public String getTrace() {
+        return trace;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public int getMaxBufferSizePerStorage() {
+        return maxBufferSizePerStorage;
+    }
+
+    public long getMaxBufferSizeTotal() {
+        return maxBufferSizeTotal;
+    }
+
+    public List<String> getDirectories() {
+        return directories;
+    }
+
+    public String getSpillTier() {
+        return spillTier;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayOptions{" +
+                "trace='" + trace + '\'' +
+                ", speed=" + speed +
+                ", maxBufferSizePerStorage=" + maxBufferSizePerStorage +
+                ", maxBufferSizeTotal=" + maxBufferSizeTotal +
+                ", directories=" + directories +
+                ", spillTier='" + spillTier + '\'' +
+                ", output='" + output + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * 负载回放序列。
+ *
+ * <p>
+ * 序列保存负载记录文件中同一个线程的所有记录，记录按照在文件中的顺序，即该线程执行操作的顺序排列。<br>
+ * 记录以基本类型数组的形式保存，以免回放较大的负载记录文件时占用过多的堆内存；操作的耗时不需要回放，因此不保存。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class ReplaySequence {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int threadId;
+
+    private ReplayOperation[] operations = new ReplayOperation[INITIAL_CAPACITY];
+    private int[] keyIds = new int[INITIAL_CAPACITY];
+    private long[] startOffsets = new long[INITIAL_CAPACITY];
+    private long[] sizes = new long[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public ReplaySequence(int threadId) {
+        this.threadId = threadId;
+    }
+
+    /**
+     * 向序列的末尾添加一条记录。
+     *
+     * @param operation   操作。
+     * @param keyId       临时存储的编号。
+     * @param startOffset 操作开始的时间偏移，单位为纳秒。
+     * @param length      操作的长度。
+     */
+    public void add(ReplayOperation operation, int keyId, long startOffset, long length) {
+        if (size == operations.length) {
+            int capacity = size << 1;
+            operations = Arrays.copyOf(operations, capacity);
+            keyIds = Arrays.copyOf(keyIds, capacity);
+            startOffsets = Arrays.copyOf(startOffsets, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        operations[size] = operation;
+        keyIds[size] = keyId;
+        startOffsets[size] = startOffset;
+        sizes[size] = length;
+        size++;
+    }
+
+    public int getThreadId() {
+        return threadId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ReplayOperation getOperation(int index) {
+        return operations[index];
+    }
+
+    public int getKeyId(int index) {
+        return keyIds[index];
+    }
+
+    public long getStartOffset(int index) {
+        return startOffsets[index];
+    }
+
+    public long getLength(int index) {
+        return sizes[index];
+    }
+
+    @Override
+    public String toString() {
+        return "ReplaySequence{" +
+                "threadId=" + threadId +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,371 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageHistogram;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 负载回放工作线程。
+ *
+ * <p>
+ * 每个工作线程回放一个 {@link ReplaySequence}，即记录中一个线程执行的全部操作，按照记录的顺序依次执行；
+ * 回放速度大于 0 时，每个操作在其记录的时间偏移除以回放速度之后才开始执行。<br>
+ * 记录中临时存储的编号在回放时映射为新创建的临时存储的键，映射由所有工作线程共享，
+ * 因此一个线程创建的临时存储可以被其它线程读取、释放。
+ *
+ * <p>
+ * 记录开始之前就已经存在的临时存储，在回放中第一次被使用时按需创建，称为补齐：
+ * 读取之前补齐的临时存储会被写入记录中的内容长度，其余操作之前补齐的临时存储为空。<br>
+ * 不完整的流操作，例如记录开始之前打开的输出流上的写入，在回放中被跳过。
+ *
+ * <p>
+ * 写入的内容取自一块随机数据的随机偏移，以免重复数据删除与压缩等功能得到与真实负载不符的收益。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class ReplayWorker implements Runnable {
+
+    private static final int WRITE_CHUNK_SIZE = 65536;
+
+    private final TemporaryStorageHandler handler;
+    private final ReplaySequence sequence;
+    private final Context context;
+
+    private final byte[] readBuffer = new byte[8192];
+    private ByteBuffer readAllBuffer = ByteBuffer.allocate(0);
+    private final Map<Integer, OutputStream> outputStreams = new HashMap<>();
+    private final Map<Integer, Deque<InputStream>> inputStreams = new HashMap<>();
+
+    private final Map<ReplayOperation, TemporaryStorageHistogram> histograms = new EnumMap<>(ReplayOperation.class);
+    private long writtenLength = 0;
+    private long readLength = 0;
+    private long skippedCount = 0;
+    private long maxLagNanos = 0;
+    private long errorCount = 0;
+    private Exception firstError = null;
+
+    public ReplayWorker(TemporaryStorageHandler handler, ReplaySequence sequence, Context context) {
+        this.handler = handler;
+        this.sequence = sequence;
+        this.context = context;
+        for (ReplayOperation operation : ReplayOperation.values()) {
+            histograms.put(operation, new TemporaryStorageHistogram());
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < sequence.size(); i++) {
+                pace(sequence.getStartOffset(i));
+                ReplayOperation operation = sequence.getOperation(i);
+                try {
+                    long durationNanos = execute(operation, sequence.getKeyId(i), sequence.getLength(i));
+                    if (durationNanos >= 0) {
+                        histograms.get(operation).record(durationNanos);
+                    } else {
+                        skippedCount++;
+                    }
+                } catch (Exception e) {
+                    errorCount++;
+                    if (Objects.isNull(firstError)) {
+                        firstError = e;
+                    }
+                }
+            }
+        } finally {
+            cleanup();
+        }
+    }
+
+    private void pace(long startOffset) {
+        if (context.speed <= 0) {
+            return;
+        }
+        long targetNanos = context.startNanos + (long) (startOffset / context.speed);
+        long delayNanos;
+        while ((delayNanos = targetNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(delayNanos);
+        }
+        maxLagNanos = Math.max(maxLagNanos, -delayNanos);
+    }
+
+    /**
+     * 执行一个操作。
+     *
+     * @param operation 操作。
+     * @param keyId     临时存储的编号。
+     * @param length    操作的长度。
+     * @return 操作的耗时，单位为纳秒；操作被跳过时返回 <code>-1</code>。
+     * @throws Exception 执行操作时发生的异常。
+     */
+    private long execute(ReplayOperation operation, int keyId, long length) throws Exception {
+        long startNanos;
+        long endNanos;
+        String key;
+        switch (operation) {
+            case CREATE:
+                startNanos = System.nanoTime();
+                key = handler.create();
+                endNanos = System.nanoTime();
+                // 其它线程先于创建使用了该临时存储，已经补齐，此处创建的临时存储是多余的。
+                if (Objects.nonNull(context.keyMap.putIfAbsent(keyId, key))) {
+                    handler.disposeAndRemove(key);
+                }
+                return endNanos - startNanos;
+            case OPEN_INPUT:
+                key = resolve(keyId, length);
+                startNanos = System.nanoTime();
+                InputStream in = handler.openInputStream(key);
+                endNanos = System.nanoTime();
+                inputStreams.computeIfAbsent(keyId, k -> new ArrayDeque<>()).push(in);
+                return endNanos - startNanos;
+            case CLOSE_INPUT:
+                Deque<InputStream> inputDeque = inputStreams.get(keyId);
+                if (Objects.isNull(inputDeque) || inputDeque.isEmpty()) {
+                    return -1;
+                }
+                InputStream closingIn = inputDeque.pop();
+                // 记录中关闭时的长度为输入流读取的字节数，读取发生在打开与关闭之间，不计入关闭的耗时。
+                readLength += drain(closingIn, length);
+                startNanos = System.nanoTime();
+                closingIn.close();
+                return System.nanoTime() - startNanos;
+            case OPEN_OUTPUT:
+                key = resolve(keyId, 0);
+                startNanos = System.nanoTime();
+                OutputStream out = length < 0 ? handler.openOutputStream(key) : handler.openOutputStream(key, length);
+                endNanos = System.nanoTime();
+                OutputStream previousOut = outputStreams.put(keyId, out);
+                if (Objects.nonNull(previousOut)) {
+                    previousOut.close();
+                }
+                return endNanos - startNanos;
+            case WRITE:
+                OutputStream writingOut = outputStreams.get(keyId);
+                if (Objects.isNull(writingOut)) {
+                    return -1;
+                }
+                startNanos = System.nanoTime();
+                write(writingOut, length);
+                endNanos = System.nanoTime();
+                writtenLength += length;
+                return endNanos - startNanos;
+            case CLOSE_OUTPUT:
+                OutputStream closingOut = outputStreams.remove(keyId);
+                if (Objects.isNull(closingOut)) {
+                    return -1;
+                }
+                startNanos = System.nanoTime();
+                closingOut.close();
+                return System.nanoTime() - startNanos;
+            case PUT:
+                ByteBuffer content = ByteBuffer.wrap(context.payload(length));
+                startNanos = System.nanoTime();
+                key = handler.put(content);
+                endNanos = System.nanoTime();
+                if (Objects.nonNull(context.keyMap.putIfAbsent(keyId, key))) {
+                    handler.disposeAndRemove(key);
+                }
+                writtenLength += length;
+                return endNanos - startNanos;
+            case PUT_INTO:
+                key = resolve(keyId, 0);
+                byte[] intoContent = context.payload(length);
+                startNanos = System.nanoTime();
+                handler.putInto(key, intoContent, true);
+                endNanos = System.nanoTime();
+                writtenLength += length;
+                return endNanos - startNanos;
+            case READ:
+                key = resolve(keyId, length);
+                if (readAllBuffer.capacity() < length) {
+                    readAllBuffer = ByteBuffer.allocate((int) length);
+                }
+                readAllBuffer.clear();
+                readAllBuffer.limit((int) length);
+                startNanos = System.nanoTime();
+                readLength += handler.read(key, readAllBuffer);
+                return System.nanoTime() - startNanos;
+            case DISPOSE:
+                key = resolve(keyId, 0);
+                startNanos = System.nanoTime();
+                handler.dispose(key);
+                return System.nanoTime() - startNanos;
+            case REMOVE:
+                key = context.keyMap.get(keyId);
+                if (Objects.isNull(key)) {
+                    // 记录开始之前就已经释放的临时存储，补齐之后同样需要释放。
+                    key = resolve(keyId, 0);
+                    handler.dispose(key);
+                }
+                startNanos = System.nanoTime();
+                handler.remove(key);
+                endNanos = System.nanoTime();
+                context.keyMap.remove(keyId);
+                return endNanos - startNanos;
+            case DISPOSE_AND_REMOVE:
+                key = resolve(keyId, 0);
+                startNanos = System.nanoTime();
+                handler.disposeAndRemove(key);
+                endNanos = System.nanoTime();
+                context.keyMap.remove(keyId);
+                return endNanos - startNanos;
+            default:
+                throw new IllegalStateException("不应该执行到此处, 请联系开发人员");
+        }
+    }
+
+    /**
+     * 获取编号对应的临时存储的键，如果临时存储不存在，则补齐。
+     *
+     * @param keyId      临时存储的编号。
+     * @param fillLength 补齐时写入的内容长度。
+     * @return 临时存储的键。
+     * @throws Exception 补齐临时存储时发生的异常。
+     */
+    private String resolve(int keyId, long fillLength) throws Exception {
+        String key = context.keyMap.get(keyId);
+        if (Objects.nonNull(key)) {
+            return key;
+        }
+        String materializedKey = fillLength > 0 ? handler.put(ByteBuffer.wrap(context.payload(fillLength))) :
+                handler.create();
+        String existingKey = context.keyMap.putIfAbsent(keyId, materializedKey);
+        if (Objects.nonNull(existingKey)) {
+            handler.disposeAndRemove(materializedKey);
+            return existingKey;
+        }
+        context.materializedCount.incrementAndGet();
+        return materializedKey;
+    }
+
+    private void write(OutputStream out, long length) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long remaining = length;
+        while (remaining > 0) {
+            int chunkSize = (int) Math.min(remaining, WRITE_CHUNK_SIZE);
+            out.write(context.payload, random.nextInt(context.payload.length - chunkSize + 1), chunkSize);
+            remaining -= chunkSize;
+        }
+    }
+
+    private long drain(InputStream in, long length) throws Exception {
+        long total = 0;
+        while (total < length) {
+            int readLength = in.read(readBuffer, 0, (int) Math.min(readBuffer.length, length - total));
+            if (readLength < 0) {
+                break;
+            }
+            total += readLength;
+        }
+        return total;
+    }
+
+    private void cleanup() {
+        // 记录结束时仍然打开的流，由回放在序列结束时关闭。
+        for (OutputStream out : outputStreams.values()) {
+            try {
+                out.close();
+            } catch (Exception ignored) {
+                // 关闭失败时，由处理器停止时统一清理。
+            }
+        }
+        outputStreams.clear();
+        for (Deque<InputStream> inputDeque : inputStreams.values()) {
+            for (InputStream in : inputDeque) {
+                try {
+                    in.close();
+                } catch (Exception ignored) {
+                    // 关闭失败时，由处理器停止时统一清理。
+                }
+            }
+        }
+        inputStreams.clear();
+    }
+
+    public Map<ReplayOperation, TemporaryStorageHistogram> getHistograms() {
+        return histograms;
+    }
+
+    public long getWrittenLength() {
+        return writtenLength;
+    }
+
+    public long getReadLength() {
+        return readLength;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public Exception getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * 负载回放的共享状态。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    public static final class Context {
+
+        private static final int PAYLOAD_SIZE = 1024 * 1024;
+
+        private final double speed;
+        private final long startNanos;
+        private final byte[] payload = new byte[PAYLOAD_SIZE];
+        private final ConcurrentHashMap<Integer, String> keyMap = new ConcurrentHashMap<>();
+        private final AtomicLong materializedCount = new AtomicLong();
+
+        public Context(double speed, long startNanos) {
+            this.speed = speed;
+            this.startNanos = startNanos;
+            new Random().nextBytes(payload);
+        }
+
+        /**
+         * 获取指定长度的写入内容。
+         *
+         * @param length 内容的长度。
+         * @return 新的数组，内容取自随机数据的随机偏移。
+         */
+        private byte[] payload(long length) {
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("内容的长度超过数组的最大长度: " + length);
+            }
+            byte[] content = new byte[(int) length];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int position = 0;
+            while (position < content.length) {
+                int chunkSize = Math.min(content.length - position, WRITE_CHUNK_SIZE);
+                System.arraycopy(payload, random.nextInt(PAYLOAD_SIZE - chunkSize + 1), content, position, chunkSize);
+                position += chunkSize;
+            }
+            return content;
+        }
+
+        public long getMaterializedCount() {
+            return materializedCount.get();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageHistogram;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageWorkloadTraceReader;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageWorkloadRecord;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 负载回放入口。
+ *
+ * <p>
+ * 负载回放读取处理器记录的负载记录文件，在使用指定配置的新处理器上按照记录的节奏重新执行记录中的操作，
+ * 并将各操作延迟的分位数与记录中的延迟对比输出，用于在真实的负载下比较不同的缓冲区大小、临时文件目录与溢出层。<br>
+ * 负载记录文件的生成详见 {@link TemporaryStorageHandler#startWorkloadTrace(String)}，
+ * 回放的参数详见 {@link ReplayOptions#USAGE}，回放的语义详见 {@link ReplayWorker}。
+ *
+ * <p>
+ * 记录中的每个线程由一个回放线程回放，回放线程在其第一个操作的时间点才被创建，
+ * 因此记录中短暂存在的线程不会在回放开始时同时占用线程资源。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class WorkloadReplayer {
+
+    public static void main(String[] args) throws Exception {
+        ReplayOptions options;
+        try {
+            options = ReplayOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ReplayOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        if (options.isHelp()) {
+            System.out.println(ReplayOptions.USAGE);
+            return;
+        }
+        boolean successFlag = new WorkloadReplayer(options).run();
+        System.exit(successFlag ? 0 : 2);
+    }
+
+    private final ReplayOptions options;
+
+    private final Map<ReplayOperation, TemporaryStorageHistogram> recordedHistograms =
+            new EnumMap<>(ReplayOperation.class);
+    private final List<ReplaySequence> sequences = new ArrayList<>();
+    private long traceStartTimeMillis = 0;
+    private long recordCount = 0;
+    private long unknownCount = 0;
+    private long recordedNanos = 0;
+
+    public WorkloadReplayer(ReplayOptions options) {
+        this.options = options;
+        for (ReplayOperation operation : ReplayOperation.values()) {
+            recordedHistograms.put(operation, new TemporaryStorageHistogram());
+        }
+    }
+
+    /**
+     * 执行负载回放并输出结果。
+     *
+     * @return 负载回放期间是否没有发生任何错误。
+     * @throws Exception 负载回放时发生的异常。
+     */
+    public boolean run() throws Exception {
+        System.out.println("负载回放参数: " + options);
+
+        load();
+        System.out.printf(
+                "负载记录: %d 条记录, %d 个线程, 时长 %.2f 秒%n",
+                recordCount, sequences.size(), recordedNanos / 1e9
+        );
+
+        List<String> directories = new ArrayList<>();
+        for (String directory : options.getDirectories()) {
+            Path replayDirectory = Files.createTempDirectory(Paths.get(directory), "dwarfeng-tmpstg-replay-");
+            directories.add(replayDirectory.toFile().getAbsolutePath());
+        }
+        TemporaryStorageConfig config = BenchmarkHandlers.newConfigBuilder(Paths.get(directories.get(0)))
+                .setMaxBufferSizePerStorage(options.getMaxBufferSizePerStorage())
+                .setMaxBufferSizeTotal(options.getMaxBufferSizeTotal())
+                .setTemporaryFileDirectoryPaths(directories.size() > 1 ? directories : Collections.emptyList())
+                .setSpillTier(options.getSpillTier())
+                .build();
+        BenchmarkHandlers.Fixture fixture = BenchmarkHandlers.start(config);
+        TemporaryStorageHandler handler = fixture.getHandler();
+        LoadSampler sampler = new LoadSampler(handler);
+        try {
+            System.out.println("回放中...");
+            TemporaryStorageHandlerStats statsBefore = handler.stats();
+            sampler.start();
+            long startNanos = System.nanoTime();
+            ReplayWorker.Context context = new ReplayWorker.Context(options.getSpeed(), startNanos);
+            List<ReplayWorker> workers = new ArrayList<>(sequences.size());
+            List<Thread> threads = new ArrayList<>(sequences.size());
+            for (ReplaySequence sequence : sequences) {
+                // 序列已经按照第一个操作的时间偏移排序，按顺序等待到时间点后再创建回放线程。
+                if (options.getSpeed() > 0) {
+                    long targetNanos = startNanos + (long) (sequence.getStartOffset(0) / options.getSpeed());
+                    long delayNanos;
+                    while ((delayNanos = targetNanos - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(delayNanos);
+                    }
+                }
+                ReplayWorker worker = new ReplayWorker(handler, sequence, context);
+                Thread thread = new Thread(worker, "tmpstg-replay-" + sequence.getThreadId());
+                workers.add(worker);
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            sampler.stop();
+            TemporaryStorageHandlerStats statsAfter = handler.stats();
+
+            Map<String, Object> result = buildResult(
+                    workers, context, elapsedNanos, statsBefore, statsAfter, sampler, directories
+            );
+            printResult(result);
+            LoadReports.writeJson(result, options.getOutput());
+            return (long) result.get("errorCount") == 0;
+        } finally {
+            sampler.stop();
+            fixture.stop();
+        }
+    }
+
+    private void load() throws Exception {
+        Map<Integer, ReplaySequence> sequenceMap = new HashMap<>();
+        try (TemporaryStorageWorkloadTraceReader reader = new TemporaryStorageWorkloadTraceReader(
+                new File(options.getTrace())
+        )) {
+            traceStartTimeMillis = reader.getStartTimeMillis();
+            TemporaryStorageWorkloadRecord record;
+            while (Objects.nonNull(record = reader.next())) {
+                recordCount++;
+                ReplayOperation operation = ReplayOperation.of(record.getOperation());
+                if (Objects.isNull(operation)) {
+                    unknownCount++;
+                    continue;
+                }
+                sequenceMap.computeIfAbsent(record.getThreadId(), ReplaySequence::new).add(
+                        operation, record.getKeyId(), record.getStartOffset(), record.getSize()
+                );
+                recordedHistograms.get(operation).record(record.getDuration());
+                recordedNanos = Math.max(recordedNanos, record.getStartOffset() + record.getDuration());
+            }
+        }
+        sequences.addAll(sequenceMap.values());
+        sequences.sort(Comparator.comparingLong(sequence -> sequence.getStartOffset(0)));
+    }
+
+    private Map<String, Object> buildResult(
+            List<ReplayWorker> workers, ReplayWorker.Context context, long elapsedNanos,
+            TemporaryStorageHandlerStats statsBefore, TemporaryStorageHandlerStats statsAfter,
+            LoadSampler sampler, List<String> directories
+    ) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        double recordedSeconds = recordedNanos / 1e9;
+
+        Map<ReplayOperation, TemporaryStorageHistogram> replayedHistograms = new EnumMap<>(ReplayOperation.class);
+        for (ReplayOperation operation : ReplayOperation.values()) {
+            replayedHistograms.put(operation, new TemporaryStorageHistogram());
+        }
+        TemporaryStorageHistogram recordedTotalHistogram = new TemporaryStorageHistogram();
+        TemporaryStorageHistogram replayedTotalHistogram = new TemporaryStorageHistogram();
+        long writtenLength = 0;
+        long readLength = 0;
+        long skippedCount = 0;
+        long maxLagNanos = 0;
+        long errorCount = 0;
+        Exception firstError = null;
+        for (ReplayWorker worker : workers) {
+            for (Map.Entry<ReplayOperation, TemporaryStorageHistogram> entry : worker.getHistograms().entrySet()) {
+                replayedHistograms.get(entry.getKey()).merge(entry.getValue());
+                replayedTotalHistogram.merge(entry.getValue());
+            }
+            writtenLength += worker.getWrittenLength();
+            readLength += worker.getReadLength();
+            skippedCount += worker.getSkippedCount();
+            maxLagNanos = Math.max(maxLagNanos, worker.getMaxLagNanos());
+            errorCount += worker.getErrorCount();
+            if (Objects.isNull(firstError)) {
+                firstError = worker.getFirstError();
+            }
+        }
+        recordedHistograms.values().forEach(recordedTotalHistogram::merge);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (ReplayOperation operation : ReplayOperation.values()) {
+            TemporaryStorageHistogram recordedHistogram = recordedHistograms.get(operation);
+            TemporaryStorageHistogram replayedHistogram = replayedHistograms.get(operation);
+            if (recordedHistogram.getCount() == 0 && replayedHistogram.getCount() == 0) {
+                continue;
+            }
+            operations.put(
+                    operation.getLabel(), comparisonResult(
+                            recordedHistogram, recordedSeconds, replayedHistogram, elapsedSeconds
+                    )
+            );
+        }
+        long writeCount = replayedHistograms.get(ReplayOperation.CLOSE_OUTPUT).getCount() +
+                replayedHistograms.get(ReplayOperation.PUT).getCount() +
+                replayedHistograms.get(ReplayOperation.PUT_INTO).getCount();
+
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("path", new File(options.getTrace()).getAbsolutePath());
+        trace.put("startTimeMillis", traceStartTimeMillis);
+        trace.put("recordCount", recordCount);
+        trace.put("unknownCount", unknownCount);
+        trace.put("threadCount", sequences.size());
+        trace.put("durationSeconds", recordedSeconds);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("trace", trace);
+        result.put("speed", options.getSpeed());
+        result.put("maxBufferSizePerStorage", options.getMaxBufferSizePerStorage());
+        result.put("directories", options.getDirectories());
+        result.put("spillTier", options.getSpillTier());
+        result.put("durationSeconds", elapsedSeconds);
+        result.put(
+                "total", comparisonResult(
+                        recordedTotalHistogram, recordedSeconds, replayedTotalHistogram, elapsedSeconds
+                )
+        );
+        result.put("operations", operations);
+        result.put("writtenBytesPerSecond", writtenLength / elapsedSeconds);
+        result.put("readBytesPerSecond", readLength / elapsedSeconds);
+        result.put("maxLagNanos", maxLagNanos);
+        result.put("materializedCount", context.getMaterializedCount());
+        result.put("skippedCount", skippedCount);
+        result.put("spill", LoadReports.spillResult(writeCount, statsBefore, statsAfter));
+        result.put("memory", LoadReports.memoryResult(options.getMaxBufferSizeTotal(), sampler));
+        result.put("errorCount", errorCount);
+        if (Objects.nonNull(firstError)) {
+            result.put("firstError", firstError.toString());
+        }
+        return result;
+    }
+
+    private static Map<String, Object> comparisonResult(
+            TemporaryStorageHistogram recordedHistogram, double recordedSeconds,
+            TemporaryStorageHistogram replayedHistogram, double replayedSeconds
+    ) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("recorded", LoadReports.histogramResult(recordedHistogram, recordedSeconds));
+        result.put("replayed", LoadReports.histogramResult(replayedHistogram, replayedSeconds));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printResult(Map<String, Object> result) {
+        System.out.println();
+        System.out.println("负载回放结果:");
+        LoadReports.printHistogramHeader();
+        Map<String, Object> operations = (Map<String, Object>) result.get("operations");
+        for (Map.Entry<String, Object> entry : operations.entrySet()) {
+            printComparisonLines(entry.getKey(), (Map<String, Object>) entry.getValue());
+        }
+        printComparisonLines("total", (Map<String, Object>) result.get("total"));
+        System.out.printf(
+                "写入速率: %.2f MiB/s, 读取速率: %.2f MiB/s, 最大滞后: %.1f ms%n",
+                (double) result.get("writtenBytesPerSecond") / 1048576,
+                (double) result.get("readBytesPerSecond") / 1048576,
+                (long) result.get("maxLagNanos") / 1e6
+        );
+        System.out.printf(
+                "补齐的临时存储: %d, 跳过的操作: %d%n",
+                (long) result.get("materializedCount"), (long) result.get("skippedCount")
+        );
+        LoadReports.printResourceResult(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printComparisonLines(String label, Map<String, Object> comparison) {
+        LoadReports.printHistogramLine(label + "/记录", (Map<String, Object>) comparison.get("recorded"));
+        LoadReports.printHistogramLine(label + "/回放", (Map<String, Object>) comparison.get("replayed"));
+    }
+}
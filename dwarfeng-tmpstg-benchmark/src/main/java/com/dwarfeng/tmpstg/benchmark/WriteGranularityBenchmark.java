@@ -0,0 +1,76 @@
+package com.dwarfeng.tmpstg.benchmark;
+
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写入粒度的基准测试。
+ *
+ * <p>
+ * 以逐字节写入、按固定大小的块写入，以及一次性写入三种方式写入相同的内容，对比每次调用写入方法的开销。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteGranularityBenchmark {
+
+    private static final int CHUNK_SIZE = 512;
+
+    @Param({"4096", "1048576"})
+    public int payloadSize;
+
+    private BenchmarkHandlers.Fixture fixture;
+    private TemporaryStorageHandler handler;
+
+    private byte[] payload;
+    private String key;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = BenchmarkHandlers.start(BenchmarkHandlers.newConfigBuilder().build());
+        handler = fixture.getHandler();
+        payload = new byte[payloadSize];
+        new Random(0).nextBytes(payload);
+        key = handler.create();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.stop();
+    }
+
+    @Benchmark
+    public void singleByteWrite() throws Exception {
+        try (OutputStream out = handler.openOutputStream(key)) {
+            for (byte b : payload) {
+                out.write(b);
+            }
+        }
+    }
+
+    @Benchmark
+    public void chunkedWrite() throws Exception {
+        try (OutputStream out = handler.openOutputStream(key)) {
+            for (int off = 0; off < payload.length; off += CHUNK_SIZE) {
+                out.write(payload, off, Math.min(CHUNK_SIZE, payload.length - off));
+            }
+        }
+    }
+
+    @Benchmark
+    public void bulkWrite() throws Exception {
+        try (OutputStream out = handler.openOutputStream(key)) {
+            out.write(payload);
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.subgrade.sdk.exception.HandlerExceptionHelper;
+import com.dwarfeng.subgrade.sdk.interceptor.analyse.BehaviorAnalyse;
+import com.dwarfeng.subgrade.stack.exception.HandlerException;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageHandlerStoppedException;
+import com.dwarfeng.tmpstg.stack.handler.AsyncTemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 异步临时存储处理器实现。
+ *
+ * <p>
+ * 该实现使用固定线程数、有界任务队列的专用线程池执行所有的操作，任务队列已满时拒绝新的操作。
+ *
+ * <p>
+ * 停止时最多等待终止超时时间，超时后中断正在执行的操作，尚未开始执行的操作以
+ * {@link TemporaryStorageHandlerStoppedException} 异常完成。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class AsyncTemporaryStorageHandlerImpl implements AsyncTemporaryStorageHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncTemporaryStorageHandlerImpl.class);
+
+    /**
+     * 默认的终止超时时间，单位为毫秒。
+     */
+    public static final long DEFAULT_TERMINATION_TIMEOUT = 60000L;
+
+    /**
+     * 读取与传输数据时使用的缓冲区的大小。
+     */
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final AtomicInteger HANDLER_COUNTER = new AtomicInteger();
+
+    private final TemporaryStorageHandler temporaryStorageHandler;
+    private final int threadCount;
+    private final int queueCapacity;
+    private final long terminationTimeout;
+
+    private final ReadWriteLock handlerLock = new ReentrantReadWriteLock();
+
+    private ThreadPoolExecutor executor;
+    private boolean startedFlag = false;
+
+    public AsyncTemporaryStorageHandlerImpl(
+            @Nonnull TemporaryStorageHandler temporaryStorageHandler, int threadCount, int queueCapacity
+    ) {
+        this(temporaryStorageHandler, threadCount, queueCapacity, DEFAULT_TERMINATION_TIMEOUT);
+    }
+
+    public AsyncTemporaryStorageHandlerImpl(
+            @Nonnull TemporaryStorageHandler temporaryStorageHandler, int threadCount, int queueCapacity,
+            long terminationTimeout
+    ) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("线程数必须大于 0");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("任务队列的容量必须大于 0");
+        }
+        if (terminationTimeout < 0) {
+            throw new IllegalArgumentException("终止超时时间不能小于 0");
+        }
+        this.temporaryStorageHandler = temporaryStorageHandler;
+        this.threadCount = threadCount;
+        this.queueCapacity = queueCapacity;
+        this.terminationTimeout = terminationTimeout;
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public boolean isStarted() {
+        handlerLock.readLock().lock();
+        try {
+            return startedFlag;
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void start() throws HandlerException {
+        handlerLock.writeLock().lock();
+        try {
+            if (startedFlag) {
+                return;
+            }
+
+            // 线程池的线程由线程工具创建，在 Java 21 及以上的运行环境中为虚拟线程，线程数仍然限制并发的操作数量。
+            String threadNamePrefix = "tmpstg-async-" + HANDLER_COUNTER.incrementAndGet() + "-";
+            executor = new ThreadPoolExecutor(
+                    threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    TemporaryStorageThreads.newThreadFactory(threadNamePrefix)
+            );
+
+            startedFlag = true;
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        } finally {
+            handlerLock.writeLock().unlock();
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void stop() throws HandlerException {
+        ThreadPoolExecutor executorToTerminate;
+        handlerLock.writeLock().lock();
+        try {
+            if (!startedFlag) {
+                return;
+            }
+
+            executorToTerminate = executor;
+            executorToTerminate.shutdown();
+            executor = null;
+
+            startedFlag = false;
+        } finally {
+            handlerLock.writeLock().unlock();
+        }
+        // 等待已经提交的操作全部执行完毕，等待期间不持有处理器锁。
+        // 超时后中断正在执行的操作，并使尚未开始执行的操作以异常完成，避免调用者永远等待。
+        try {
+            if (executorToTerminate.awaitTermination(terminationTimeout, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            LOGGER.warn(
+                    "异步处理器的操作未能在 {} 毫秒内全部执行完毕, 将中断正在执行的操作, 并放弃尚未开始执行的操作",
+                    terminationTimeout
+            );
+            for (Runnable runnable : executorToTerminate.shutdownNow()) {
+                if (runnable instanceof AsyncTask) {
+                    ((AsyncTask<?>) runnable).abandon();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public CompletableFuture<String> create() {
+        return submit(temporaryStorageHandler::create);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public CompletableFuture<Void> write(String key, byte[] content) {
+        return submit(() -> {
+            temporaryStorageHandler.putInto(key, content);
+            return null;
+        });
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public CompletableFuture<Void> write(String key, ByteBuffer content) {
+        // 使用副本读取缓冲区，以免改变调用者的缓冲区的位置。
+        ByteBuffer buffer = content.duplicate();
+        return submit(() -> {
+            try (OutputStream out = temporaryStorageHandler.openOutputStream(key, buffer.remaining())) {
+                if (buffer.hasArray()) {
+                    out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                    return null;
+                }
+                byte[] bytes = new byte[Math.min(buffer.remaining(), BUFFER_SIZE)];
+                while (buffer.hasRemaining()) {
+                    int length = Math.min(buffer.remaining(), bytes.length);
+                    buffer.get(bytes, 0, length);
+                    out.write(bytes, 0, length);
+                }
+            }
+            return null;
+        });
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public CompletableFuture<byte[]> read(String key) {
+        return submit(() -> temporaryStorageHandler.readAllBytes(key));
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public CompletableFuture<byte[]> read(String key, long offset, int length) {
+        if (offset < 0) {
+            return failedFuture(new IllegalArgumentException("读取的起始位置不能小于 0"));
+        }
+        if (length < 0) {
+            return failedFuture(new IllegalArgumentException("读取的最大长度不能小于 0"));
+        }
+        return submit(() -> {
+            try (InputStream in = temporaryStorageHandler.openInputStream(key)) {
+                // 跳过起始位置之前的内容，跳过的长度为 0 时，通过读取一个字节确认是否已经到达内容的末尾。
+                long remainingSkipLength = offset;
+                while (remainingSkipLength > 0) {
+                    long skippedLength = in.skip(remainingSkipLength);
+                    if (skippedLength > 0) {
+                        remainingSkipLength -= skippedLength;
+                    } else if (in.read() >= 0) {
+                        remainingSkipLength--;
+                    } else {
+                        return new byte[0];
+                    }
+                }
+                // 指定的长度可能远大于实际的内容长度，因此按块读取，而不是预先分配指定长度的数组。
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(length, BUFFER_SIZE));
+                byte[] buffer = new byte[Math.min(length, BUFFER_SIZE)];
+                int remainingLength = length;
+                while (remainingLength > 0) {
+                    int readLength = in.read(buffer, 0, Math.min(remainingLength, buffer.length));
+                    if (readLength < 0) {
+                        break;
+                    }
+                    out.write(buffer, 0, readLength);
+                    remainingLength -= readLength;
+                }
+                return out.toByteArray();
+            }
+        });
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public CompletableFuture<Void> dispose(String key) {
+        return submit(() -> {
+            temporaryStorageHandler.disposeAndRemove(key);
+            return null;
+        });
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public CompletableFuture<Long> transferTo(String key, Path target) {
+        return submit(executor -> {
+            // 异步文件通道的写入在处理器的线程池中执行，而不是在 JVM 全局的默认线程池中执行。
+            TransferExecutor transferExecutor = new TransferExecutor(executor);
+            Set<StandardOpenOption> options = EnumSet.of(
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING
+            );
+            try (
+                    InputStream in = temporaryStorageHandler.openInputStream(key);
+                    AsynchronousFileChannel channel = AsynchronousFileChannel.open(target, options, transferExecutor)
+            ) {
+                // 使用两个缓冲区交替读取：读取下一块数据的同时，上一块数据在后台写入文件。
+                byte[][] buffers = new byte[][]{new byte[BUFFER_SIZE], new byte[BUFFER_SIZE]};
+                int bufferIndex = 0;
+                PendingWrite pendingWrite = null;
+                long position = 0;
+                int length;
+                while ((length = readFully(in, buffers[bufferIndex])) > 0) {
+                    if (Objects.nonNull(pendingWrite)) {
+                        pendingWrite.complete();
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap(buffers[bufferIndex], 0, length);
+                    pendingWrite = new PendingWrite(channel, transferExecutor, buffer, position);
+                    position += length;
+                    bufferIndex = 1 - bufferIndex;
+                }
+                if (Objects.nonNull(pendingWrite)) {
+                    pendingWrite.complete();
+                }
+                return position;
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        return submit(executor -> task.call());
+    }
+
+    private <T> CompletableFuture<T> submit(ExecutorAwareCallable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        handlerLock.readLock().lock();
+        try {
+            // 确认处理器已经启动。
+            if (!startedFlag) {
+                future.completeExceptionally(new TemporaryStorageHandlerStoppedException());
+                return future;
+            }
+            executor.execute(new AsyncTask<>(executor, task, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(HandlerExceptionHelper.parse(e));
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+        return future;
+    }
+
+    private <T> CompletableFuture<T> failedFuture(Exception e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(HandlerExceptionHelper.parse(e));
+        return future;
+    }
+
+    private int readFully(InputStream in, byte[] bytes) throws IOException {
+        int totalLength = 0;
+        while (totalLength < bytes.length) {
+            int length = in.read(bytes, totalLength, bytes.length - totalLength);
+            if (length < 0) {
+                break;
+            }
+            totalLength += length;
+        }
+        return totalLength;
+    }
+
+    public TemporaryStorageHandler getTemporaryStorageHandler() {
+        return temporaryStorageHandler;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getTerminationTimeout() {
+        return terminationTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncTemporaryStorageHandlerImpl{" +
+                "temporaryStorageHandler=" + temporaryStorageHandler +
+                ", threadCount=" + threadCount +
+                ", queueCapacity=" + queueCapacity +
+                ", terminationTimeout=" + terminationTimeout +
+                '}';
+    }
+
+    /**
+     * 需要使用处理器的线程池的操作。
+     *
+     * @param <T> 操作的结果的类型。
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    private interface ExecutorAwareCallable<T> {
+
+        T call(ExecutorService executor) throws Exception;
+    }
+
+    /**
+     * 提交到线程池中的操作。
+     *
+     * @param <T> 操作的结果的类型。
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    private static final class AsyncTask<T> implements Runnable {
+
+        private final ExecutorService executor;
+        private final ExecutorAwareCallable<T> callable;
+        private final CompletableFuture<T> future;
+
+        private AsyncTask(ExecutorService executor, ExecutorAwareCallable<T> callable, CompletableFuture<T> future) {
+            this.executor = executor;
+            this.callable = callable;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(callable.call(executor));
+            } catch (Exception e) {
+                future.completeExceptionally(HandlerExceptionHelper.parse(e));
+            }
+        }
+
+        /**
+         * 放弃尚未开始执行的操作。
+         */
+        private void abandon() {
+            future.completeExceptionally(new TemporaryStorageHandlerStoppedException());
+        }
+    }
+
+    /**
+     * 传输使用的执行器。
+     *
+     * <p>
+     * 异步文件通道的写入被提交到处理器的线程池中执行。
+     * 传输任务本身占用线程池的一个线程，并在等待写入完成时阻塞，
+     * 线程池的其它线程全部繁忙或任务队列已满时，写入可能迟迟得不到执行，甚至与传输任务互相等待。<br>
+     * 因此等待写入完成的线程会认领尚未开始执行的写入，并在当前线程中直接执行。
+     *
+     * <p>
+     * 异步文件通道关闭时不会关闭该执行器，该执行器也不会关闭处理器的线程池，因此关闭相关的方法不做任何操作。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    private static final class TransferExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Queue<ClaimableTask> pendingTasks = new ConcurrentLinkedQueue<>();
+
+        private TransferExecutor(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(@Nonnull Runnable command) {
+            ClaimableTask task = new ClaimableTask(command);
+            pendingTasks.add(task);
+            try {
+                delegate.execute(task);
+            } catch (RejectedExecutionException e) {
+                // 任务队列已满或线程池已经关闭时，由等待写入完成的线程执行。
+            }
+        }
+
+        /**
+         * 在当前线程中执行所有尚未开始执行的任务。
+         */
+        private void runPendingTasks() {
+            ClaimableTask task;
+            while (Objects.nonNull(task = pendingTasks.poll())) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Nonnull
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, @Nonnull TimeUnit unit) {
+            return false;
+        }
+    }
+
+    /**
+     * 可以被线程池的线程或等待写入完成的线程认领的任务，任务只会被执行一次。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    private static final class ClaimableTask implements Runnable {
+
+        private final Runnable command;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        private ClaimableTask(Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                command.run();
+            }
+        }
+    }
+
+    /**
+     * 正在进行的文件写入。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    private static final class PendingWrite {
+
+        private final AsynchronousFileChannel channel;
+        private final TransferExecutor transferExecutor;
+        private final ByteBuffer buffer;
+
+        private long position;
+        private Future<Integer> future;
+
+        private PendingWrite(
+                AsynchronousFileChannel channel, TransferExecutor transferExecutor, ByteBuffer buffer, long position
+        ) {
+            this.channel = channel;
+            this.transferExecutor = transferExecutor;
+            this.buffer = buffer;
+            this.position = position;
+            this.future = channel.write(buffer, position);
+        }
+
+        /**
+         * 等待写入完成。
+         *
+         * <p>
+         * 异步写入可能只写入了缓冲区中的部分数据，此时继续写入剩余的数据，直到缓冲区中的数据全部写入。<br>
+         * 等待之前，先在当前线程中执行尚未开始执行的写入。
+         *
+         * @throws Exception 写入时发生的异常。
+         */
+        private void complete() throws Exception {
+            while (true) {
+                int writtenLength;
+                transferExecutor.runPendingTasks();
+                try {
+                    writtenLength = future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof Exception ? (Exception) cause : e;
+                }
+                position += writtenLength;
+                if (!buffer.hasRemaining()) {
+                    return;
+                }
+                future = channel.write(buffer, position);
+            }
+        }
+    }
+}
@@ -0,0 +1,661 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.subgrade.sdk.exception.HandlerExceptionHelper;
+import com.dwarfeng.subgrade.sdk.interceptor.analyse.BehaviorAnalyse;
+import com.dwarfeng.subgrade.sdk.interceptor.analyse.SkipRecord;
+import com.dwarfeng.subgrade.stack.exception.HandlerException;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageShardStats;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageHandlerStoppedException;
+import com.dwarfeng.tmpstg.stack.handler.ShardedTemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.annotation.Nonnull;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 分片临时存储处理器实现。
+ *
+ * <p>
+ * 每个分片是一个 {@link TemporaryStorageHandlerImpl}，分片的序号记录在临时存储的键中，
+ * 针对单个临时存储的操作不经过该处理器的任何锁，直接路由到所在的分片，由分片检查处理器是否已经启动。
+ *
+ * <p>
+ * 各分片的后台任务（已释放临时存储清理、内存检查、过期）独立地提交到调度器中，
+ * 调度器的线程池大小不小于分片数量时，不同分片的后台任务可以并行执行。
+ *
+ * <p>
+ * 重新分配内存缓冲区份额时，每个分片的目标份额为已分配的内存缓冲区大小，
+ * 加上空闲部分的一半按照分片数量均分后的大小，再加上空闲部分的另一半按照各分片自上次分配以来的内存压力
+ * （内存缓冲区分配被拒绝的次数与等待内存缓冲区的次数之和）按比例分配后的大小。<br>
+ * 先缩小目标份额小于当前份额的分片，再用腾出的份额扩大其它分片，因此任意时刻所有分片的份额之和都不超过最大缓冲区总大小。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class ShardedTemporaryStorageHandlerImpl implements ShardedTemporaryStorageHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedTemporaryStorageHandlerImpl.class);
+
+    private final ThreadPoolTaskScheduler scheduler;
+    private final TemporaryStorageConfig config;
+    private final long rebalanceInterval;
+
+    private final TemporaryStorageShardContext shardContext;
+    private final TemporaryStorageHandlerImpl[] shards;
+
+    private final ReadWriteLock handlerLock = new ReentrantReadWriteLock();
+
+    /**
+     * 重新分配锁。
+     *
+     * <p>
+     * 重新分配锁保证同一时刻只有一次重新分配在执行，同时保护各分片上次重新分配时的内存压力计数。
+     */
+    private final Lock rebalanceLock = new ReentrantLock();
+    private final long[] lastPressureCounts;
+
+    private ScheduledFuture<?> rebalanceTaskFuture;
+    private boolean startedFlag = false;
+
+    public ShardedTemporaryStorageHandlerImpl(
+            @Nonnull ThreadPoolTaskScheduler scheduler, @Nonnull TemporaryStorageConfig config, int shardCount,
+            long rebalanceInterval
+    ) {
+        this.scheduler = scheduler;
+        this.config = config;
+        this.rebalanceInterval = rebalanceInterval;
+        this.shardContext = new TemporaryStorageShardContext(shardCount, config);
+        // 初始时均分最大缓冲区总大小，余数分配给序号较小的分片。
+        long maxBufferSizeTotal = config.getMaxBufferSizeTotal();
+        this.shards = new TemporaryStorageHandlerImpl[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            long memoryBudget = maxBufferSizeTotal / shardCount + (i < maxBufferSizeTotal % shardCount ? 1 : 0);
+            shards[i] = new TemporaryStorageHandlerImpl(scheduler, config, shardContext, i, memoryBudget);
+        }
+        this.lastPressureCounts = new long[shardCount];
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public boolean isStarted() {
+        handlerLock.readLock().lock();
+        try {
+            return startedFlag;
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void start() throws HandlerException {
+        handlerLock.writeLock().lock();
+        try {
+            if (startedFlag) {
+                return;
+            }
+
+            // 共享的资源在启动分片之前打开，由任意一个分片代为打开。
+            shards[0].openSharedResources();
+            // 依次启动所有分片，任意分片启动失败时，停止已经启动的分片，并释放共享的资源。
+            int startedCount = 0;
+            try {
+                for (TemporaryStorageHandlerImpl shard : shards) {
+                    shard.start();
+                    startedCount++;
+                }
+            } catch (Exception e) {
+                for (int i = 0; i < startedCount; i++) {
+                    try {
+                        shards[i].stop();
+                    } catch (Exception ex) {
+                        LOGGER.warn("启动失败后停止分片 {} 时发生异常, 异常信息如下: ", i, ex);
+                    }
+                }
+                try {
+                    shards[0].releaseSharedResources();
+                } catch (Exception ex) {
+                    LOGGER.warn("启动失败后释放共享的资源时发生异常, 异常信息如下: ", ex);
+                }
+                throw e;
+            }
+
+            if (rebalanceInterval > 0) {
+                rebalanceTaskFuture = scheduler.scheduleAtFixedRate(
+                        TemporaryStorageThreads.offloading(
+                                "tmpstg-rebalance", TemporaryStorageEvents.timing("rebalance", this::rebalanceTask)
+                        ),
+                        rebalanceInterval
+                );
+            }
+
+            startedFlag = true;
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        } finally {
+            handlerLock.writeLock().unlock();
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void stop() throws HandlerException {
+        handlerLock.writeLock().lock();
+        try {
+            if (!startedFlag) {
+                return;
+            }
+
+            if (Objects.nonNull(rebalanceTaskFuture)) {
+                rebalanceTaskFuture.cancel(true);
+                rebalanceTaskFuture = null;
+            }
+
+            // 停止所有分片，任意分片停止失败时，继续停止其它分片，最后抛出第一个异常。
+            Exception firstException = null;
+            for (TemporaryStorageHandlerImpl shard : shards) {
+                try {
+                    shard.stop();
+                } catch (Exception e) {
+                    if (Objects.isNull(firstException)) {
+                        firstException = e;
+                    }
+                }
+            }
+            // 所有分片停止之后，释放共享的资源。
+            try {
+                shards[0].releaseSharedResources();
+            } catch (Exception e) {
+                if (Objects.isNull(firstException)) {
+                    firstException = e;
+                }
+            }
+
+            // 恢复初始的份额，使处理器再次启动时的表现与首次启动一致。
+            rebalanceLock.lock();
+            try {
+                long maxBufferSizeTotal = config.getMaxBufferSizeTotal();
+                for (int i = 0; i < shards.length; i++) {
+                    shards[i].adjustMemoryBudget(
+                            maxBufferSizeTotal / shards.length + (i < maxBufferSizeTotal % shards.length ? 1 : 0)
+                    );
+                }
+                Arrays.fill(lastPressureCounts, 0);
+            } finally {
+                rebalanceLock.unlock();
+            }
+
+            startedFlag = false;
+
+            if (Objects.nonNull(firstException)) {
+                throw firstException;
+            }
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        } finally {
+            handlerLock.writeLock().unlock();
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @BehaviorAnalyse
+    @SkipRecord
+    @Override
+    public Collection<String> keys() throws HandlerException {
+        try {
+            List<String> keys = new ArrayList<>();
+            for (TemporaryStorageHandlerImpl shard : shards) {
+                keys.addAll(shard.keys());
+            }
+            return Collections.unmodifiableList(keys);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public boolean exists(String key) throws HandlerException {
+        return route(key).exists(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public TemporaryStorageInfo inspect(String key) throws HandlerException {
+        return route(key).inspect(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public Map<String, TemporaryStorageInfo> inspectAll(Collection<String> keys) throws HandlerException {
+        try {
+            Set<String> orderedKeys = new LinkedHashSet<>(keys);
+            Map<String, TemporaryStorageInfo> shardResult = new HashMap<>();
+            List<List<String>> groupedKeys = groupByShard(orderedKeys);
+            for (int i = 0; i < shards.length; i++) {
+                if (!groupedKeys.get(i).isEmpty()) {
+                    shardResult.putAll(shards[i].inspectAll(groupedKeys.get(i)));
+                }
+            }
+            // 按照键的传入顺序合并各分片的结果。
+            Map<String, TemporaryStorageInfo> result = new LinkedHashMap<>();
+            for (String key : orderedKeys) {
+                TemporaryStorageInfo info = shardResult.get(key);
+                if (Objects.nonNull(info)) {
+                    result.put(key, info);
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String create() throws HandlerException {
+        return pick().create();
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public List<String> createBatch(int count) throws HandlerException {
+        // 同一批次的临时存储创建在同一个分片中，只获取一次分片的锁。
+        return pick().createBatch(count);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String create(long idleTimeout, long absoluteTimeout) throws HandlerException {
+        return pick().create(idleTimeout, absoluteTimeout);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public List<String> createBatch(int count, long idleTimeout, long absoluteTimeout) throws HandlerException {
+        // 同一批次的临时存储创建在同一个分片中，只获取一次分片的锁。
+        return pick().createBatch(count, idleTimeout, absoluteTimeout);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public InputStream openInputStream(String key) throws HandlerException {
+        return route(key).openInputStream(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public OutputStream openOutputStream(String key) throws HandlerException {
+        return route(key).openOutputStream(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public OutputStream openOutputStream(String key, long expectedLength) throws HandlerException {
+        return route(key).openOutputStream(key, expectedLength);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public OutputStream openOutputStream(String key, long expectedLength, long memoryWaitTimeout)
+            throws HandlerException {
+        return route(key).openOutputStream(key, expectedLength, memoryWaitTimeout);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String put(byte[] content) throws HandlerException {
+        return pick().put(content);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String put(byte[] content, boolean adopt) throws HandlerException {
+        return pick().put(content, adopt);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String put(ByteBuffer content) throws HandlerException {
+        return pick().put(content);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void putInto(String key, byte[] content) throws HandlerException {
+        route(key).putInto(key, content);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void putInto(String key, byte[] content, boolean adopt) throws HandlerException {
+        route(key).putInto(key, content, adopt);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public byte[] readAllBytes(String key) throws HandlerException {
+        return route(key).readAllBytes(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public int read(String key, ByteBuffer buffer) throws HandlerException {
+        return route(key).read(key, buffer);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void setExpiration(String key, long idleTimeout, long absoluteTimeout) throws HandlerException {
+        route(key).setExpiration(key, idleTimeout, absoluteTimeout);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void dispose(String key) throws HandlerException {
+        route(key).dispose(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void remove(String key) throws HandlerException {
+        route(key).remove(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public boolean removeIfDisposed(String key) throws HandlerException {
+        return route(key).removeIfDisposed(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void disposeAndRemove(String key) throws HandlerException {
+        route(key).disposeAndRemove(key);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public Map<String, Boolean> disposeAndRemoveAll(Collection<String> keys) throws HandlerException {
+        try {
+            Set<String> orderedKeys = new LinkedHashSet<>(keys);
+            Map<String, Boolean> shardResult = new HashMap<>();
+            List<List<String>> groupedKeys = groupByShard(orderedKeys);
+            for (int i = 0; i < shards.length; i++) {
+                if (!groupedKeys.get(i).isEmpty()) {
+                    shardResult.putAll(shards[i].disposeAndRemoveAll(groupedKeys.get(i)));
+                }
+            }
+            // 按照键的传入顺序合并各分片的结果。
+            Map<String, Boolean> result = new LinkedHashMap<>();
+            for (String key : orderedKeys) {
+                result.put(key, Boolean.TRUE.equals(shardResult.get(key)));
+            }
+            return result;
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void clearDisposed() throws HandlerException {
+        for (TemporaryStorageHandlerImpl shard : shards) {
+            shard.clearDisposed();
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public TemporaryStorageHandlerStats stats() {
+        TemporaryStorageHandlerStats stats = new TemporaryStorageHandlerStats();
+        for (TemporaryStorageHandlerImpl shard : shards) {
+            TemporaryStorageHandlerStats shardStats = shard.stats();
+            // 读缓存统计信息。
+            stats.setReadCacheMaxSize(stats.getReadCacheMaxSize() + shardStats.getReadCacheMaxSize());
+            stats.setReadCacheSize(stats.getReadCacheSize() + shardStats.getReadCacheSize());
+            stats.setReadCacheEntryCount(stats.getReadCacheEntryCount() + shardStats.getReadCacheEntryCount());
+            stats.setReadCacheHitCount(stats.getReadCacheHitCount() + shardStats.getReadCacheHitCount());
+            stats.setReadCacheMissCount(stats.getReadCacheMissCount() + shardStats.getReadCacheMissCount());
+            stats.setReadCacheEvictionCount(
+                    stats.getReadCacheEvictionCount() + shardStats.getReadCacheEvictionCount()
+            );
+            // 自适应缓冲区大小统计信息，各分片独立地调整，取其中的最大值。
+            stats.setAdaptiveMemoryBufferLimit(
+                    Math.max(stats.getAdaptiveMemoryBufferLimit(), shardStats.getAdaptiveMemoryBufferLimit())
+            );
+            stats.setAdaptiveSampleCount(stats.getAdaptiveSampleCount() + shardStats.getAdaptiveSampleCount());
+            // 去重统计信息。
+            stats.setDeduplicationHitCount(stats.getDeduplicationHitCount() + shardStats.getDeduplicationHitCount());
+            stats.setDeduplicationSavedLength(
+                    stats.getDeduplicationSavedLength() + shardStats.getDeduplicationSavedLength()
+            );
+            // 内存缓冲区统计信息。
+            stats.setAllocatedMemoryBufferSize(
+                    stats.getAllocatedMemoryBufferSize() + shardStats.getAllocatedMemoryBufferSize()
+            );
+            stats.setMemoryWaitCount(stats.getMemoryWaitCount() + shardStats.getMemoryWaitCount());
+            stats.setMemoryWaitTimeoutCount(
+                    stats.getMemoryWaitTimeoutCount() + shardStats.getMemoryWaitTimeoutCount()
+            );
+            stats.setMemoryWaiterCount(stats.getMemoryWaiterCount() + shardStats.getMemoryWaiterCount());
+            stats.setMemoryAllocationDeniedCount(
+                    stats.getMemoryAllocationDeniedCount() + shardStats.getMemoryAllocationDeniedCount()
+            );
+            // 文件配额由所有分片共享，各分片的文件配额统计信息相同。
+            stats.setMaxFileSizeTotal(shardStats.getMaxFileSizeTotal());
+            stats.setFileSizeTotal(shardStats.getFileSizeTotal());
+            stats.setFileQuotaRejectionCount(shardStats.getFileQuotaRejectionCount());
+            // 过期统计信息。
+            stats.setExpiredCount(stats.getExpiredCount() + shardStats.getExpiredCount());
+            stats.setExpirationScheduledCount(
+                    stats.getExpirationScheduledCount() + shardStats.getExpirationScheduledCount()
+            );
+            // 临时存储与流的统计信息。
+            stats.setCreatedCount(stats.getCreatedCount() + shardStats.getCreatedCount());
+            stats.setDisposedCount(stats.getDisposedCount() + shardStats.getDisposedCount());
+            stats.setLiveStorageCount(stats.getLiveStorageCount() + shardStats.getLiveStorageCount());
+            stats.setOpenInputStreamCount(stats.getOpenInputStreamCount() + shardStats.getOpenInputStreamCount());
+            stats.setOpenOutputStreamCount(
+                    stats.getOpenOutputStreamCount() + shardStats.getOpenOutputStreamCount()
+            );
+            // 写入统计信息。
+            stats.setMemoryWrittenLength(stats.getMemoryWrittenLength() + shardStats.getMemoryWrittenLength());
+            stats.setFileWrittenLength(stats.getFileWrittenLength() + shardStats.getFileWrittenLength());
+            stats.setSpillCount(stats.getSpillCount() + shardStats.getSpillCount());
+        }
+        long readCacheAccessCount = stats.getReadCacheHitCount() + stats.getReadCacheMissCount();
+        stats.setReadCacheHitRate(
+                readCacheAccessCount == 0 ? 0 : (double) stats.getReadCacheHitCount() / readCacheAccessCount
+        );
+        return stats;
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public List<TemporaryStorageShardStats> shardStats() {
+        List<TemporaryStorageShardStats> result = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            result.add(new TemporaryStorageShardStats(i, shards[i].getMemoryBudget(), shards[i].stats()));
+        }
+        return result;
+    }
+
+    /*
+     * 延迟记录器与负载记录器由所有分片共享，因此通过任意一个分片操作即可。
+     */
+
+    @BehaviorAnalyse
+    @Override
+    public List<TemporaryStorageLatencyStats> latencyStats() {
+        return shards[0].latencyStats();
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void resetLatencyStats() {
+        shards[0].resetLatencyStats();
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void startWorkloadTrace(String traceFilePath) throws HandlerException {
+        shards[0].startWorkloadTrace(traceFilePath);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void stopWorkloadTrace() throws HandlerException {
+        shards[0].stopWorkloadTrace();
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public boolean isWorkloadTracing() {
+        return shards[0].isWorkloadTracing();
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void rebalance() throws HandlerException {
+        handlerLock.readLock().lock();
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            internalRebalance();
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+    }
+
+    private void rebalanceTask() {
+        handlerLock.readLock().lock();
+        try {
+            // 确认处理器已经启动。
+            if (!startedFlag) {
+                LOGGER.warn("处理器未启动, 忽略本次内存缓冲区份额重新分配任务");
+                return;
+            }
+            internalRebalance();
+        } catch (Exception e) {
+            LOGGER.warn("内存缓冲区份额重新分配任务执行时发生异常, 本次任务中止, 异常信息如下: ", e);
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+    }
+
+    private void internalRebalance() {
+        rebalanceLock.lock();
+        try {
+            int shardCount = shards.length;
+            long maxBufferSizeTotal = config.getMaxBufferSizeTotal();
+
+            // 统计各分片已分配的内存缓冲区大小，以及自上次分配以来的内存压力。
+            long[] allocatedSizes = new long[shardCount];
+            long[] pressures = new long[shardCount];
+            long allocatedSizeTotal = 0;
+            long pressureTotal = 0;
+            for (int i = 0; i < shardCount; i++) {
+                TemporaryStorageHandlerStats shardStats = shards[i].stats();
+                long pressureCount = shardStats.getMemoryAllocationDeniedCount() + shardStats.getMemoryWaitCount();
+                allocatedSizes[i] = shardStats.getAllocatedMemoryBufferSize();
+                pressures[i] = Math.max(pressureCount - lastPressureCounts[i], 0);
+                lastPressureCounts[i] = pressureCount;
+                allocatedSizeTotal += allocatedSizes[i];
+                pressureTotal += pressures[i];
+            }
+
+            // 计算各分片的目标份额，没有内存压力时，空闲部分全部均分。
+            long freeSize = Math.max(maxBufferSizeTotal - allocatedSizeTotal, 0);
+            long[] targets = new long[shardCount];
+            for (int i = 0; i < shardCount; i++) {
+                if (pressureTotal == 0) {
+                    targets[i] = allocatedSizes[i] + freeSize / shardCount;
+                } else {
+                    long halfFreeSize = freeSize / 2;
+                    targets[i] = allocatedSizes[i] + halfFreeSize / shardCount +
+                            (long) ((double) halfFreeSize * pressures[i] / pressureTotal);
+                }
+            }
+
+            // 先缩小份额，再用腾出的份额扩大其它分片，使份额之和始终不超过最大缓冲区总大小。
+            for (int i = 0; i < shardCount; i++) {
+                if (targets[i] < shards[i].getMemoryBudget()) {
+                    shards[i].adjustMemoryBudget(targets[i]);
+                }
+            }
+            long availableSize = maxBufferSizeTotal;
+            for (TemporaryStorageHandlerImpl shard : shards) {
+                availableSize -= shard.getMemoryBudget();
+            }
+            for (int i = 0; i < shardCount && availableSize > 0; i++) {
+                long memoryBudget = shards[i].getMemoryBudget();
+                if (targets[i] <= memoryBudget) {
+                    continue;
+                }
+                long adjustedMemoryBudget = shards[i].adjustMemoryBudget(
+                        memoryBudget + Math.min(targets[i] - memoryBudget, availableSize)
+                );
+                availableSize -= adjustedMemoryBudget - memoryBudget;
+            }
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    private TemporaryStorageHandlerImpl route(String key) {
+        return shards[shardContext.shardIndexOf(key)];
+    }
+
+    private TemporaryStorageHandlerImpl pick() {
+        return shards[ThreadLocalRandom.current().nextInt(shards.length)];
+    }
+
+    private List<List<String>> groupByShard(Collection<String> keys) {
+        List<List<String>> groupedKeys = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            groupedKeys.add(new ArrayList<>());
+        }
+        for (String key : keys) {
+            groupedKeys.get(shardContext.shardIndexOf(key)).add(key);
+        }
+        return groupedKeys;
+    }
+
+    private void makeSureHandlerStart() throws HandlerException {
+        if (!startedFlag) {
+            throw new TemporaryStorageHandlerStoppedException();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ShardedTemporaryStorageHandlerImpl{" +
+                "shardCount=" + shards.length +
+                ", rebalanceInterval=" + rebalanceInterval +
+                ", config=" + config +
+                '}';
+    }
+}
@@ -0,0 +1,388 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 临时存储 Arena。
+ *
+ * <p>
+ * Arena 在每个临时文件目录中维护一个大的 Arena 文件，并将 Arena 文件划分为固定大小的区段（extent）。<br>
+ * 溢出的临时存储不再创建自己的文件，而是从 Arena 文件中申请区段，通过定位读写（positional I/O）访问区段；
+ * 释放临时存储时，只需要将区段归还给 Arena，因此避免了每次溢出时创建与删除文件所带来的文件系统开销。
+ *
+ * <p>
+ * 每个 Arena 文件使用空闲区段栈管理空闲的区段，最近释放的区段被优先复用；没有空闲区段时，Arena 文件向后增长。
+ *
+ * <p>
+ * 该类是线程安全的，但同一个分配同一时刻只应该被一个输出流写入。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageArena {
+
+    private final List<File> directories;
+    private final String filePrefix;
+    private final String fileSuffix;
+    private final long initialFileSize;
+    private final int extentSize;
+
+    private final List<ArenaFile> arenaFiles = new ArrayList<>();
+
+    public TemporaryStorageArena(
+            List<File> directories, String filePrefix, String fileSuffix, long initialFileSize, int extentSize
+    ) {
+        this.directories = Collections.unmodifiableList(new ArrayList<>(directories));
+        this.filePrefix = filePrefix;
+        this.fileSuffix = fileSuffix;
+        this.initialFileSize = initialFileSize;
+        this.extentSize = extentSize;
+    }
+
+    /**
+     * 打开 Arena。
+     *
+     * <p>
+     * 在每个临时文件目录中创建一个 Arena 文件，并按照初始大小预先分配空间。<br>
+     * Arena 文件在关闭时被删除。
+     *
+     * <p>
+     * 该方法本身没有线程安全性，调用者应该保证该方法与 {@link #close()} 方法不会被并发调用。
+     *
+     * @throws IOException IO 异常。
+     */
+    public void open() throws IOException {
+        int initialExtentCount = (int) Math.min(initialFileSize / extentSize, Integer.MAX_VALUE);
+        try {
+            for (File directory : directories) {
+                File file = new File(directory, filePrefix + "arena-" + UUID.randomUUID() + fileSuffix);
+                file.deleteOnExit();
+                FileChannel channel = FileChannel.open(
+                        file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE
+                );
+                arenaFiles.add(new ArenaFile(file, channel, initialExtentCount));
+                // 写入最后一个字节，使 Arena 文件达到初始大小。
+                if (initialExtentCount > 0) {
+                    long lastBytePosition = (long) initialExtentCount * extentSize - 1;
+                    channel.write(ByteBuffer.wrap(new byte[1]), lastBytePosition);
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭 Arena。
+     *
+     * <p>
+     * 关闭并删除所有的 Arena 文件，之后所有的分配都不再可用。
+     *
+     * <p>
+     * 该方法本身没有线程安全性，调用者应该保证该方法与 {@link #open()} 方法不会被并发调用。
+     *
+     * @throws IOException IO 异常。
+     */
+    public void close() throws IOException {
+        IOException exception = null;
+        for (ArenaFile arenaFile : arenaFiles) {
+            try {
+                arenaFile.channel.close();
+            } catch (IOException e) {
+                if (Objects.isNull(exception)) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        arenaFiles.clear();
+        if (Objects.nonNull(exception)) {
+            throw exception;
+        }
+    }
+
+    /**
+     * 在指定的 Arena 文件中创建一个新的空分配。
+     *
+     * <p>
+     * 分配在写入数据时按需申请区段。
+     *
+     * @param index Arena 文件的序号，与临时文件目录的序号一致。
+     * @return 新的空分配。
+     */
+    public Allocation allocate(int index) {
+        return new Allocation(arenaFiles.get(index));
+    }
+
+    /**
+     * 释放指定的分配，将其所有区段归还给 Arena。
+     *
+     * @param allocation 指定的分配。
+     */
+    public void free(Allocation allocation) {
+        allocation.arenaFile.freeExtents(allocation.extents, allocation.extentCount);
+        allocation.extents = new int[0];
+        allocation.extentCount = 0;
+        allocation.length = 0;
+    }
+
+    /**
+     * 打开指定分配的输出流。
+     *
+     * <p>
+     * 输出流从分配的末尾开始追加数据，并在需要时申请新的区段。
+     *
+     * @param allocation 指定的分配。
+     * @return 指定分配的输出流。
+     */
+    public OutputStream openOutputStream(Allocation allocation) {
+        return new ArenaOutputStream(allocation);
+    }
+
+    /**
+     * 打开指定分配的输入流。
+     *
+     * <p>
+     * 输入流读取打开时分配中已有的全部数据。
+     *
+     * @param allocation 指定的分配。
+     * @return 指定分配的输入流。
+     */
+    public InputStream openInputStream(Allocation allocation) {
+        return new ArenaInputStream(allocation);
+    }
+
+    public List<File> getDirectories() {
+        return directories;
+    }
+
+    public long getInitialFileSize() {
+        return initialFileSize;
+    }
+
+    public int getExtentSize() {
+        return extentSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageArena{" +
+                "directories=" + directories +
+                ", initialFileSize=" + initialFileSize +
+                ", extentSize=" + extentSize +
+                '}';
+    }
+
+    /**
+     * Arena 文件。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    private static final class ArenaFile {
+
+        private final File file;
+        private final FileChannel channel;
+
+        private final Lock lock = new ReentrantLock();
+
+        /**
+         * 空闲区段栈。
+         */
+        private int[] freeExtents;
+        private int freeExtentCount;
+
+        /**
+         * Arena 文件中的区段总数，即下一个新区段的序号。
+         */
+        private int extentCount;
+
+        private ArenaFile(File file, FileChannel channel, int initialExtentCount) {
+            this.file = file;
+            this.channel = channel;
+            this.extentCount = initialExtentCount;
+            // 倒序入栈，使序号较小的区段被优先申请。
+            this.freeExtents = new int[Math.max(16, initialExtentCount)];
+            for (int i = 0; i < initialExtentCount; i++) {
+                freeExtents[i] = initialExtentCount - 1 - i;
+            }
+            this.freeExtentCount = initialExtentCount;
+        }
+
+        private int allocateExtent() {
+            lock.lock();
+            try {
+                if (freeExtentCount > 0) {
+                    return freeExtents[--freeExtentCount];
+                }
+                if (extentCount == Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Arena 文件的区段数量已经达到上限: " + file.getAbsolutePath());
+                }
+                return extentCount++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void freeExtents(int[] extents, int count) {
+            if (count == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (freeExtentCount + count > freeExtents.length) {
+                    freeExtents = Arrays.copyOf(freeExtents, Math.max(freeExtents.length * 2, freeExtentCount + count));
+                }
+                System.arraycopy(extents, 0, freeExtents, freeExtentCount, count);
+                freeExtentCount += count;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 分配。
+     *
+     * <p>
+     * 分配记录了一个临时存储在 Arena 文件中申请的区段，以及写入的数据的长度。<br>
+     * 分配不是线程安全的，对分配的写入与释放应该由调用者保证互斥。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    static final class Allocation {
+
+        private final ArenaFile arenaFile;
+
+        private int[] extents = new int[4];
+        private int extentCount = 0;
+        private long length = 0;
+
+        private Allocation(ArenaFile arenaFile) {
+            this.arenaFile = arenaFile;
+        }
+
+        /**
+         * 获取分配中写入的数据的长度。
+         *
+         * @return 分配中写入的数据的长度。
+         */
+        public long getLength() {
+            return length;
+        }
+    }
+
+    private final class ArenaOutputStream extends OutputStream {
+
+        private final Allocation allocation;
+
+        private ArenaOutputStream(Allocation allocation) {
+            this.allocation = allocation;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(@SuppressWarnings("NullableProblems") byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int extentIndex = (int) (allocation.length / extentSize);
+                int extentOffset = (int) (allocation.length % extentSize);
+                // 当前区段已经写满，申请新的区段。
+                if (extentIndex == allocation.extentCount) {
+                    if (allocation.extentCount == allocation.extents.length) {
+                        allocation.extents = Arrays.copyOf(allocation.extents, allocation.extents.length * 2);
+                    }
+                    allocation.extents[allocation.extentCount++] = allocation.arenaFile.allocateExtent();
+                }
+                int writeLength = Math.min(len, extentSize - extentOffset);
+                long position = (long) allocation.extents[extentIndex] * extentSize + extentOffset;
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, writeLength);
+                while (buffer.hasRemaining()) {
+                    position += allocation.arenaFile.channel.write(buffer, position);
+                }
+                allocation.length += writeLength;
+                off += writeLength;
+                len -= writeLength;
+            }
+        }
+    }
+
+    private final class ArenaInputStream extends InputStream {
+
+        private final Allocation allocation;
+        private final long length;
+
+        private long position = 0;
+
+        private ArenaInputStream(Allocation allocation) {
+            this.allocation = allocation;
+            this.length = allocation.length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int readLength = read(b, 0, 1);
+            return readLength < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(@SuppressWarnings("NullableProblems") byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= length) {
+                return -1;
+            }
+            // 每次最多读取到当前区段的末尾。
+            int extentIndex = (int) (position / extentSize);
+            int extentOffset = (int) (position % extentSize);
+            int readLength = (int) Math.min(Math.min(len, extentSize - extentOffset), length - position);
+            long filePosition = (long) allocation.extents[extentIndex] * extentSize + extentOffset;
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, readLength);
+            while (buffer.hasRemaining()) {
+                int channelReadLength = allocation.arenaFile.channel.read(buffer, filePosition);
+                if (channelReadLength < 0) {
+                    throw new EOFException("Arena 文件的长度小于预期长度");
+                }
+                filePosition += channelReadLength;
+            }
+            position += readLength;
+            return readLength;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skippedLength = Math.max(0, Math.min(n, length - position));
+            position += skippedLength;
+            return skippedLength;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(length - position, Integer.MAX_VALUE);
+        }
+    }
+}
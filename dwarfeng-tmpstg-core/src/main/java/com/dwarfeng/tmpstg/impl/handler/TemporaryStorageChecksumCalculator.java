@@ -0,0 +1,141 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * 临时存储校验和计算器。
+ *
+ * <p>
+ * 计算器在数据流经输出流或输入流时增量地计算校验和，因此不需要为了计算校验和而重新读取临时存储的内容。<br>
+ * 校验和以小写十六进制字符串的形式输出。
+ *
+ * <p>
+ * 该类不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+abstract class TemporaryStorageChecksumCalculator {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * 根据指定的算法创建校验和计算器。
+     *
+     * <p>
+     * 算法为 {@link Constants#CHECKSUM_ALGORITHM_CRC32C} 或 {@link Constants#CHECKSUM_ALGORITHM_CRC32} 时，
+     * 使用对应的校验和算法；其余的算法名称被视为 {@link MessageDigest} 的算法名称。
+     *
+     * @param algorithm 指定的算法。
+     * @return 校验和计算器，如果算法为 {@link Constants#CHECKSUM_ALGORITHM_NONE}，则返回 <code>null</code>。
+     */
+    public static TemporaryStorageChecksumCalculator of(String algorithm) {
+        if (Objects.equals(algorithm, Constants.CHECKSUM_ALGORITHM_NONE)) {
+            return null;
+        }
+        if (Objects.equals(algorithm, Constants.CHECKSUM_ALGORITHM_CRC32C)) {
+            return new ChecksumCalculator(new TemporaryStorageCrc32c());
+        }
+        if (Objects.equals(algorithm, Constants.CHECKSUM_ALGORITHM_CRC32)) {
+            return new ChecksumCalculator(new CRC32());
+        }
+        try {
+            return new MessageDigestCalculator(MessageDigest.getInstance(algorithm));
+        } catch (NoSuchAlgorithmException e) {
+            // 配置在构建时已经校验过算法的合法性，理论上不会执行到此处。
+            throw new IllegalStateException("不支持的校验和算法: " + algorithm, e);
+        }
+    }
+
+    /**
+     * 使用指定的数据更新校验和。
+     *
+     * @param b   指定的数据。
+     * @param off 数据的偏移。
+     * @param len 数据的长度。
+     */
+    public abstract void update(byte[] b, int off, int len);
+
+    /**
+     * 使用指定的字节更新校验和。
+     *
+     * @param b 指定的字节。
+     */
+    public abstract void update(int b);
+
+    /**
+     * 结束计算，并返回校验和。
+     *
+     * <p>
+     * 该方法调用后，计算器不应再被使用。
+     *
+     * @return 小写十六进制字符串形式的校验和。
+     */
+    public abstract String finish();
+
+    private static String toHexString(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >>> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    private static final class ChecksumCalculator extends TemporaryStorageChecksumCalculator {
+
+        private final Checksum checksum;
+
+        private ChecksumCalculator(Checksum checksum) {
+            this.checksum = checksum;
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+            checksum.update(b, off, len);
+        }
+
+        @Override
+        public void update(int b) {
+            checksum.update(b);
+        }
+
+        @Override
+        public String finish() {
+            long value = checksum.getValue();
+            return toHexString(new byte[]{
+                    (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value
+            });
+        }
+    }
+
+    private static final class MessageDigestCalculator extends TemporaryStorageChecksumCalculator {
+
+        private final MessageDigest messageDigest;
+
+        private MessageDigestCalculator(MessageDigest messageDigest) {
+            this.messageDigest = messageDigest;
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+            messageDigest.update(b, off, len);
+        }
+
+        @Override
+        public void update(int b) {
+            messageDigest.update((byte) b);
+        }
+
+        @Override
+        public String finish() {
+            return toHexString(messageDigest.digest());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.util.zip.Checksum;
+
+/**
+ * CRC32C 校验和。
+ *
+ * <p>
+ * CRC32C 使用 Castagnoli 多项式，其检错能力优于 CRC32。<br>
+ * JDK 自 9 起提供了 <code>java.util.zip.CRC32C</code>，为了兼容 Java 8，此处使用纯 Java 实现，
+ * 并使用 slicing-by-8 算法，每次处理 8 个字节，以减少查表的次数。
+ *
+ * <p>
+ * 该类不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageCrc32c implements Checksum {
+
+    /**
+     * Castagnoli 多项式的反转表示。
+     */
+    private static final int POLYNOMIAL = 0x82F63B78;
+
+    private static final int[][] TABLES = new int[8][256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+            }
+            TABLES[0][i] = crc;
+        }
+        for (int i = 0; i < 256; i++) {
+            int crc = TABLES[0][i];
+            for (int t = 1; t < 8; t++) {
+                crc = (crc >>> 8) ^ TABLES[0][crc & 0xFF];
+                TABLES[t][i] = crc;
+            }
+        }
+    }
+
+    private int crc = 0xFFFFFFFF;
+
+    @Override
+    public void update(int b) {
+        crc = (crc >>> 8) ^ TABLES[0][(crc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        int localCrc = crc;
+        int end = off + len;
+        // 每次处理 8 个字节。
+        while (end - off >= 8) {
+            int low = localCrc ^ (
+                    (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8 | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24
+            );
+            localCrc = TABLES[7][low & 0xFF] ^
+                    TABLES[6][(low >>> 8) & 0xFF] ^
+                    TABLES[5][(low >>> 16) & 0xFF] ^
+                    TABLES[4][low >>> 24] ^
+                    TABLES[3][b[off + 4] & 0xFF] ^
+                    TABLES[2][b[off + 5] & 0xFF] ^
+                    TABLES[1][b[off + 6] & 0xFF] ^
+                    TABLES[0][b[off + 7] & 0xFF];
+            off += 8;
+        }
+        // 处理剩余的字节。
+        while (off < end) {
+            localCrc = (localCrc >>> 8) ^ TABLES[0][(localCrc ^ b[off++]) & 0xFF];
+        }
+        crc = localCrc;
+    }
+
+    @Override
+    public long getValue() {
+        return (~crc) & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+        crc = 0xFFFFFFFF;
+    }
+}
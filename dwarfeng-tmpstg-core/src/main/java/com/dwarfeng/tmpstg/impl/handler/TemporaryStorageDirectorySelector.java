@@ -0,0 +1,171 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 临时存储目录选择器。
+ *
+ * <p>
+ * 选择器为新的文件缓冲区（溢出文件）选择所在的临时文件目录，使溢出文件按照放置策略分布在多个目录（磁盘）上。<br>
+ * 选择器记录每个目录中的溢出文件所占用的字节数，供 {@link Constants#TEMPORARY_FILE_PLACEMENT_POLICY_LEAST_USED}
+ * 策略使用。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageDirectorySelector {
+
+    private final List<File> directories;
+    private final String placementPolicy;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final long[] usedLengths;
+    private int roundRobinIndex = 0;
+
+    public TemporaryStorageDirectorySelector(List<File> directories, String placementPolicy) {
+        this.directories = Collections.unmodifiableList(new ArrayList<>(directories));
+        this.placementPolicy = placementPolicy;
+        this.usedLengths = new long[directories.size()];
+    }
+
+    /**
+     * 为新的文件缓冲区选择目录。
+     *
+     * @return 被选中的目录的序号。
+     */
+    public int select() {
+        if (directories.size() == 1) {
+            return 0;
+        }
+        if (Objects.equals(placementPolicy, Constants.TEMPORARY_FILE_PLACEMENT_POLICY_LEAST_USED)) {
+            return selectLeastUsed();
+        }
+        if (Objects.equals(placementPolicy, Constants.TEMPORARY_FILE_PLACEMENT_POLICY_FREE_SPACE_WEIGHTED)) {
+            return selectFreeSpaceWeighted();
+        }
+        return selectRoundRobin();
+    }
+
+    private int selectRoundRobin() {
+        lock.lock();
+        try {
+            int index = roundRobinIndex;
+            roundRobinIndex = (roundRobinIndex + 1) % directories.size();
+            return index;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int selectLeastUsed() {
+        lock.lock();
+        try {
+            // 已用字节数相同时，按照轮询的顺序选择，避免溢出文件集中在第一个目录。
+            int index = roundRobinIndex;
+            for (int i = 1; i < directories.size(); i++) {
+                int candidate = (roundRobinIndex + i) % directories.size();
+                if (usedLengths[candidate] < usedLengths[index]) {
+                    index = candidate;
+                }
+            }
+            roundRobinIndex = (index + 1) % directories.size();
+            return index;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int selectFreeSpaceWeighted() {
+        // 查询可用空间是文件系统调用，因此不在锁内进行。
+        long[] usableSpaces = new long[directories.size()];
+        long totalUsableSpace = 0;
+        for (int i = 0; i < directories.size(); i++) {
+            usableSpaces[i] = directories.get(i).getUsableSpace();
+            totalUsableSpace += usableSpaces[i];
+        }
+        // 无法获取任何目录的可用空间时，退化为轮询。
+        if (totalUsableSpace <= 0) {
+            return selectRoundRobin();
+        }
+        long target = ThreadLocalRandom.current().nextLong(totalUsableSpace);
+        for (int i = 0; i < usableSpaces.length; i++) {
+            target -= usableSpaces[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return usableSpaces.length - 1;
+    }
+
+    /**
+     * 获取指定序号的目录。
+     *
+     * @param index 目录的序号。
+     * @return 指定序号的目录。
+     */
+    public File getDirectory(int index) {
+        return directories.get(index);
+    }
+
+    /**
+     * 记录指定目录中占用的字节数的变化。
+     *
+     * @param index 目录的序号。
+     * @param delta 占用的字节数的变化，正数表示增加，负数表示减少。
+     */
+    public void recordUsage(int index, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            usedLengths[index] += delta;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空所有目录的占用记录。
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            for (int i = 0; i < usedLengths.length; i++) {
+                usedLengths[i] = 0;
+            }
+            roundRobinIndex = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<File> getDirectories() {
+        return directories;
+    }
+
+    public String getPlacementPolicy() {
+        return placementPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageDirectorySelector{" +
+                "directories=" + directories +
+                ", placementPolicy='" + placementPolicy + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 临时存储事件工具。
+ *
+ * <p>
+ * 该类在临时存储处理器的关键节点上发出 Java Flight Recorder（JFR）事件，
+ * 以便在同一份记录中将临时存储的行为与 GC、IO 等事件关联起来。<br>
+ * <code>dwarfeng-tmpstg-core</code> 是一个多版本 JAR，该类是 Java 8 版本的实现：
+ * Java 8 的编译目标中没有 JFR 的 API，因此该实现不发出任何事件，所有方法都是空操作。<br>
+ * 在 Java 11 及以上的运行环境中，该类被 <code>META-INF/versions/11</code> 中的同名类替换，
+ * 替换后的实现发出 JFR 事件。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageEvents {
+
+    /**
+     * 临时存储被创建。
+     *
+     * @param key 临时存储的键。
+     */
+    public static void storageCreated(String key) {
+    }
+
+    /**
+     * 临时存储被释放。
+     *
+     * @param key           临时存储的键。
+     * @param contentLength 临时存储释放前的内容长度。
+     */
+    public static void storageDisposed(String key, long contentLength) {
+    }
+
+    /**
+     * 临时存储开始溢出到文件缓冲区。
+     *
+     * @param key          临时存储的键。
+     * @param memoryLength 溢出开始时内存缓冲区中的字节数。
+     */
+    public static void spillStarted(String key, long memoryLength) {
+    }
+
+    /**
+     * 临时存储申请内存缓冲区。
+     *
+     * @param key                            临时存储的键。
+     * @param requestedSize                  申请的大小。
+     * @param allocatedSize                  实际分配的大小，小于申请的大小时视为申请被拒绝。
+     * @param totalAllocatedMemoryBufferSize 分配之后处理器已经分配的内存缓冲区总大小。
+     */
+    public static void memoryAllocated(
+            String key, long requestedSize, long allocatedSize, long totalAllocatedMemoryBufferSize
+    ) {
+    }
+
+    /**
+     * 获取指定的锁，并返回等待锁的时间。
+     *
+     * @param lock      指定的锁。
+     * @param operation 获取锁的操作的名称。
+     * @param lockName  锁的名称。
+     * @return 等待锁的时间，单位为纳秒。
+     */
+    public static long lock(Lock lock, String operation, String lockName) {
+        long startNanos = System.nanoTime();
+        lock.lock();
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 包装后台维护任务，记录任务每一次执行的耗时。
+     *
+     * <p>
+     * 该版本的实现直接返回指定的任务。
+     *
+     * @param name 任务的名称。
+     * @param task 后台维护任务。
+     * @return 包装后的任务。
+     */
+    public static Runnable timing(String name, Runnable task) {
+        return task;
+    }
+
+    private TemporaryStorageEvents() {
+        throw new IllegalStateException("禁止实例化");
+    }
+}
@@ -0,0 +1,191 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 临时存储文件复用池。
+ *
+ * <p>
+ * 临时存储释放时，其溢出文件不被删除，而是放入复用池中；之后溢出的临时存储从复用池中取出文件，截断后继续使用。<br>
+ * 复用池避免了在溢出与释放时频繁地创建与删除文件，从而减少了文件系统调用以及目录锁的竞争。
+ *
+ * <p>
+ * 复用池按照临时文件目录分别管理文件，使取出的文件与临时存储选择的目录一致，不影响放置策略。<br>
+ * 每个目录中，最近放入的文件被优先取出；空闲时间超过空闲超时时间的文件被视为过期，由调用者负责删除。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageFilePool {
+
+    private final int maxSize;
+    private final long idleTimeout;
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Deque<PooledFile>[] pooledFileDeques;
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    public TemporaryStorageFilePool(int directoryCount, int maxSize, long idleTimeout) {
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.pooledFileDeques = new Deque[directoryCount];
+        for (int i = 0; i < directoryCount; i++) {
+            pooledFileDeques[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * 复用池是否启用。
+     *
+     * @return 复用池是否启用。
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * 将指定目录中的文件放入复用池。
+     *
+     * @param index 文件所在目录的序号。
+     * @param file  指定的文件。
+     * @return 文件是否被放入复用池，如果复用池已满，则返回 <code>false</code>，此时调用者应该自行删除文件。
+     */
+    public boolean offer(int index, File file) {
+        lock.lock();
+        try {
+            if (size >= maxSize) {
+                return false;
+            }
+            pooledFileDeques[index].addFirst(new PooledFile(file, System.currentTimeMillis()));
+            size++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从复用池中取出指定目录中的文件。
+     *
+     * <p>
+     * 该方法不会返回过期的文件，但也不会删除它们，过期的文件由 {@link #purgeExpired()} 方法统一清理。
+     *
+     * @param index 目录的序号。
+     * @return 取出的文件，如果复用池中没有该目录中未过期的文件，则返回 <code>null</code>。
+     */
+    public File poll(int index) {
+        lock.lock();
+        try {
+            PooledFile pooledFile = pooledFileDeques[index].peekFirst();
+            if (pooledFile == null || isExpired(pooledFile, System.currentTimeMillis())) {
+                return null;
+            }
+            pooledFileDeques[index].removeFirst();
+            size--;
+            return pooledFile.file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从复用池中移除所有过期的文件。
+     *
+     * @return 被移除的文件，调用者应该负责删除它们。
+     */
+    public List<File> purgeExpired() {
+        lock.lock();
+        try {
+            long currentTimeMillis = System.currentTimeMillis();
+            List<File> expiredFiles = new ArrayList<>();
+            // 每个目录中的文件按照放入的时间从新到旧排列，因此只需要从队尾开始移除。
+            for (Deque<PooledFile> pooledFileDeque : pooledFileDeques) {
+                while (!pooledFileDeque.isEmpty() && isExpired(pooledFileDeque.peekLast(), currentTimeMillis)) {
+                    expiredFiles.add(pooledFileDeque.removeLast().file);
+                }
+            }
+            size -= expiredFiles.size();
+            return expiredFiles;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从复用池中移除所有的文件。
+     *
+     * @return 被移除的文件，调用者应该负责删除它们。
+     */
+    public List<File> purgeAll() {
+        lock.lock();
+        try {
+            List<File> files = new ArrayList<>(size);
+            for (Deque<PooledFile> pooledFileDeque : pooledFileDeques) {
+                for (PooledFile pooledFile : pooledFileDeque) {
+                    files.add(pooledFile.file);
+                }
+                pooledFileDeque.clear();
+            }
+            size = 0;
+            return files;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isExpired(PooledFile pooledFile, long currentTimeMillis) {
+        return currentTimeMillis - pooledFile.pooledTimeMillis >= idleTimeout;
+    }
+
+    /**
+     * 获取复用池中文件的数量。
+     *
+     * @return 复用池中文件的数量。
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageFilePool{" +
+                "maxSize=" + maxSize +
+                ", idleTimeout=" + idleTimeout +
+                '}';
+    }
+
+    private static final class PooledFile {
+
+        private final File file;
+        private final long pooledTimeMillis;
+
+        private PooledFile(File file, long pooledTimeMillis) {
+            this.file = file;
+            this.pooledTimeMillis = pooledTimeMillis;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageFileQuotaExceededException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 临时存储文件配额。
+ *
+ * <p>
+ * 配额记录所有溢出数据实际写入磁盘的字节数之和，溢出数据在写入之前向配额申请空间，在不再需要时归还空间。<br>
+ * 申请的空间将使总大小超过上限时，按照文件配额超限策略处理：
+ * <ul>
+ *     <li>{@link Constants#FILE_QUOTA_EXCEEDED_POLICY_FAIL}：申请立即失败。</li>
+ *     <li>{@link Constants#FILE_QUOTA_EXCEEDED_POLICY_BLOCK}：申请阻塞，直到有足够的空间或超时。</li>
+ *     <li>{@link Constants#FILE_QUOTA_EXCEEDED_POLICY_REJECT_CREATE}：申请总是成功，
+ *     由调用者通过 {@link #isExceeded()} 方法拒绝创建新的临时存储。</li>
+ * </ul>
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageFileQuota {
+
+    private final long maxSize;
+    private final String exceededPolicy;
+    private final long blockTimeout;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition releasedCondition = lock.newCondition();
+
+    /*
+     * 以下字段只在持有锁时修改，但声明为 volatile，使统计信息的读取不需要获取锁。
+     */
+    private volatile long size = 0;
+    private volatile long rejectionCount = 0;
+
+    public TemporaryStorageFileQuota(long maxSize, String exceededPolicy, long blockTimeout) {
+        this.maxSize = maxSize;
+        this.exceededPolicy = exceededPolicy;
+        this.blockTimeout = blockTimeout;
+    }
+
+    /**
+     * 配额是否启用。
+     *
+     * @return 配额是否启用。
+     */
+    public boolean isEnabled() {
+        return maxSize >= 0;
+    }
+
+    /**
+     * 申请指定大小的空间。
+     *
+     * <p>
+     * 申请失败时抛出的 {@link IOException} 的原因为 {@link TemporaryStorageFileQuotaExceededException}。
+     *
+     * @param length 申请的空间的大小。
+     * @throws IOException 申请失败，或等待空间时被中断。
+     */
+    public void reserve(long length) throws IOException {
+        lock.lock();
+        try {
+            if (!isEnabled() || Objects.equals(exceededPolicy, Constants.FILE_QUOTA_EXCEEDED_POLICY_REJECT_CREATE)) {
+                size += length;
+                return;
+            }
+            if (Objects.equals(exceededPolicy, Constants.FILE_QUOTA_EXCEEDED_POLICY_BLOCK)) {
+                long remainingNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeout);
+                while (size + length > maxSize && remainingNanos > 0) {
+                    remainingNanos = releasedCondition.awaitNanos(remainingNanos);
+                }
+            }
+            if (size + length > maxSize) {
+                rejectionCount++;
+                throw new IOException(
+                        "临时文件的总大小超过配额", new TemporaryStorageFileQuotaExceededException(size, maxSize)
+                );
+            }
+            size += length;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("等待临时文件配额时被中断");
+            exception.initCause(e);
+            throw exception;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 申请至少 <code>minLength</code>、至多 <code>maxLength</code> 大小的空间。
+     *
+     * <p>
+     * 剩余的空间不小于 <code>minLength</code> 时，申请剩余空间与 <code>maxLength</code> 中较小的一个，该方法不会阻塞或失败；
+     * 否则该方法的行为与 {@link #reserve(long)} 申请 <code>minLength</code> 大小的空间相同。
+     *
+     * <p>
+     * 该方法用于逐字节写入时成批地申请空间，调用者应该在不再需要时归还多申请的空间。
+     *
+     * @param minLength 申请的空间的最小大小。
+     * @param maxLength 申请的空间的最大大小。
+     * @return 实际申请的空间的大小。
+     * @throws IOException 申请失败，或等待空间时被中断。
+     */
+    public long reserveUpTo(long minLength, long maxLength) throws IOException {
+        lock.lock();
+        try {
+            long available = isEnabled() ? maxSize - size : Long.MAX_VALUE;
+            if (available >= minLength) {
+                long length = Math.min(available, maxLength);
+                size += length;
+                return length;
+            }
+            reserve(minLength);
+            return minLength;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 归还指定大小的空间。
+     *
+     * @param length 归还的空间的大小。
+     */
+    public void release(long length) {
+        if (length == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            size -= length;
+            releasedCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 判断临时文件的总大小是否已经达到上限。
+     *
+     * <p>
+     * 文件配额超限策略为 {@link Constants#FILE_QUOTA_EXCEEDED_POLICY_REJECT_CREATE} 时，
+     * 调用者应该在该方法返回 <code>true</code> 时拒绝创建新的临时存储，此时该方法同时记录一次拒绝。
+     *
+     * @return 临时文件的总大小是否已经达到上限。
+     */
+    public boolean isExceeded() {
+        lock.lock();
+        try {
+            if (!isEnabled() || size < maxSize) {
+                return false;
+            }
+            rejectionCount++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空配额的占用记录。
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            size = 0;
+            releasedCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public String getExceededPolicy() {
+        return exceededPolicy;
+    }
+
+    public long getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageFileQuota{" +
+                "maxSize=" + maxSize +
+                ", exceededPolicy='" + exceededPolicy + '\'' +
+                ", blockTimeout=" + blockTimeout +
+                '}';
+    }
+}
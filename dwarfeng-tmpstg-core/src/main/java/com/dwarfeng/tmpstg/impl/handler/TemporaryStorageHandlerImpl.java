@@ -5,7 +5,10 @@ import com.dwarfeng.subgrade.sdk.interceptor.analyse.BehaviorAnalyse;
 import com.dwarfeng.subgrade.sdk.interceptor.analyse.SkipRecord;
 import com.dwarfeng.subgrade.stack.exception.HandlerException;
 import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
 import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageFileQuotaExceededException;
 import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageHandlerStoppedException;
 import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageInvalidStatusException;
 import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageNotExistsException;
@@ -17,14 +20,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -40,6 +53,67 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TemporaryStorageHandlerImpl.class);
 
+    /**
+     * 内容去重所使用的散列算法。
+     */
+    private static final String DEDUPLICATION_HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * 打开文件缓冲区输出流的最大尝试次数。
+     *
+     * <p>
+     * 启用临时文件子目录时，子目录可能在创建之后、打开文件之前被其它线程清理，此时需要重新创建子目录并重试。
+     */
+    private static final int MAX_FILE_BUFFER_OPEN_ATTEMPTS = 3;
+
+    /**
+     * 一次性读取时，数组的最大长度。
+     *
+     * <p>
+     * 部分虚拟机会在数组中保留一些头部信息，因此数组的最大长度略小于 {@link Integer#MAX_VALUE}。
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * 自适应缓冲区大小决定的内存缓冲区上限的最小值。
+     *
+     * <p>
+     * 最近的临时存储大多为空时，分位数的估算值可能为 0，此时所有的写入都会溢出到文件缓冲，因此需要一个下限。
+     */
+    private static final int MIN_ADAPTIVE_MEMORY_BUFFER_LIMIT = 1024;
+
+    /**
+     * 逐字节写入文件缓冲区时，每次向文件配额申请的空间的大小。
+     *
+     * <p>
+     * 多申请的空间在输出流关闭时归还，因此打开的输出流最多使文件配额多记录这么多字节。
+     */
+    private static final int FILE_QUOTA_RESERVE_BATCH_SIZE = 8192;
+
+    /**
+     * 临时文件子目录的名称，即 00 至 ff 的两位十六进制数。
+     */
+    private static final String[] FAN_OUT_DIRECTORY_NAMES = new String[256];
+
+    /**
+     * 锁的名称，用于延迟统计与 JFR 事件中区分操作等待的锁。
+     */
+    private static final String LOCK_NAME_HANDLER = "handler";
+    private static final String LOCK_NAME_STORAGE = "storage";
+    private static final String LOCK_NAME_MEMORY_ALLOCATION = "memory-allocation";
+
+    /**
+     * 不属于延迟统计的操作的名称，用于 JFR 事件中区分等待锁的操作。
+     */
+    private static final String OPERATION_NAME_INSPECT = "inspect";
+    private static final String OPERATION_NAME_SET_EXPIRATION = "set-expiration";
+
+    static {
+        for (int i = 0; i < FAN_OUT_DIRECTORY_NAMES.length; i++) {
+            FAN_OUT_DIRECTORY_NAMES[i] = String.format("%02x", i);
+        }
+    }
+
     private final ThreadPoolTaskScheduler scheduler;
 
     private final TemporaryStorageConfig config;
@@ -48,19 +122,109 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
 
     private final ReadWriteLock handlerLock = new ReentrantReadWriteLock();
     private final Lock memoryAllocationLock = new ReentrantLock();
-
-    private long totalAllocatedMemoryBufferSize = 0;
+    private final Condition memoryReleasedCondition = memoryAllocationLock.newCondition();
+
+    private final TemporaryStorageReadCache readCache;
+    private final TemporaryStorageSizeHistogram sizeHistogram;
+    private final TemporaryStorageSpillCodec spillCodec;
+    private final TemporaryStorageMemoryCodec memoryCodec;
+    private final TemporaryStorageDirectorySelector directorySelector;
+    private final TemporaryStorageArena arena;
+    private final TemporaryStorageFilePool filePool;
+    private final TemporaryStorageFileQuota fileQuota;
+    private final TemporaryStorageTimingWheel<TemporaryStorage> expirationWheel;
+    private final TemporaryStorageMetrics metrics = new TemporaryStorageMetrics();
+    private final TemporaryStorageLatencyRecorder latencyRecorder;
+    private final TemporaryStorageWorkloadTracer workloadTracer;
+
+    /**
+     * 分片上下文。
+     *
+     * <p>
+     * 处理器作为分片处理器的一个分片时，文件配额、临时文件目录选择器、Arena、临时文件复用池、延迟记录器与负载记录器
+     * 由上下文提供，所有分片共享。
+     */
+    private final TemporaryStorageShardContext shardContext;
+    private final int shardIndex;
+
+    /**
+     * 过期锁。
+     *
+     * <p>
+     * 过期锁保护过期时间轮，以及临时存储中与过期相关的字段，持有过期锁时不会再获取其它的锁。
+     */
+    private final Lock expirationLock = new ReentrantLock();
+
+    private final Map<String, SharedContent> sharedContentMap = new HashMap<>();
+
+    private final Deque<Object> memoryWaiters = new ArrayDeque<>();
+
+    /*
+     * 以下字段只在持有内存分配锁时修改，但声明为 volatile，使统计信息的读取不需要获取锁。
+     */
+    private volatile long totalAllocatedMemoryBufferSize = 0;
+    private volatile int lastMemoryBufferLimit;
+
+    /**
+     * 内存缓冲区的总大小上限。
+     *
+     * <p>
+     * 未分片时等于配置中的最大缓冲区总大小；作为分片时为分片所占的份额，由分片处理器在运行期间调整。<br>
+     * 该字段只在持有内存分配锁时修改。
+     */
+    private volatile long memoryBudget;
 
     private ScheduledFuture<?> clearDisposedTaskFuture;
     private ScheduledFuture<?> checkMemoryTaskFuture;
+    private ScheduledFuture<?> expireTaskFuture;
     private boolean startedFlag = false;
 
     public TemporaryStorageHandlerImpl(
             @Nonnull ThreadPoolTaskScheduler scheduler,
             @Nonnull TemporaryStorageConfig config
+    ) {
+        this(scheduler, config, new TemporaryStorageShardContext(1, config), 0, config.getMaxBufferSizeTotal());
+    }
+
+    /**
+     * 分片处理器使用的构造器。
+     *
+     * <p>
+     * 读缓存的大小为配置中的大小按照分片数量均分后的大小；临时文件目录选择器、Arena 与临时文件复用池由上下文提供。
+     *
+     * @param scheduler    调度器。
+     * @param config       配置。
+     * @param shardContext 分片上下文。
+     * @param shardIndex   分片的序号。
+     * @param memoryBudget 初始的内存缓冲区总大小上限。
+     */
+    TemporaryStorageHandlerImpl(
+            @Nonnull ThreadPoolTaskScheduler scheduler, @Nonnull TemporaryStorageConfig config,
+            @Nonnull TemporaryStorageShardContext shardContext, int shardIndex, long memoryBudget
     ) {
         this.scheduler = scheduler;
         this.config = config;
+        this.shardContext = shardContext;
+        this.shardIndex = shardIndex;
+        this.memoryBudget = memoryBudget;
+        this.latencyRecorder = shardContext.getLatencyRecorder();
+        this.workloadTracer = shardContext.getWorkloadTracer();
+        this.readCache = new TemporaryStorageReadCache(config.getMaxReadCacheSize() / shardContext.getShardCount());
+        this.sizeHistogram = new TemporaryStorageSizeHistogram(config.getAdaptiveBufferSizingWindowSize());
+        this.spillCodec = new TemporaryStorageSpillCodec(
+                config.getSpillCompressionCodec(), config.getSpillCompressionLevel()
+        );
+        this.memoryCodec = new TemporaryStorageMemoryCodec(
+                config.getMemoryCompressionBlockSize(), config.getMemoryCompressionLevel()
+        );
+        this.directorySelector = shardContext.getDirectorySelector();
+        this.arena = shardContext.getArena();
+        this.filePool = shardContext.getFilePool();
+        this.fileQuota = shardContext.getFileQuota();
+        this.expirationWheel = new TemporaryStorageTimingWheel<>(
+                config.getExpirationTickInterval(), currentTimeMillis()
+        );
+        this.lastMemoryBufferLimit = config.getMaxBufferSizePerStorage();
     }
 
     @BehaviorAnalyse
@@ -83,18 +247,38 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
                 return;
             }
 
+            // 共享的资源由分片处理器在启动所有分片之前打开。
+            if (!shardContext.isSharded()) {
+                openSharedResources();
+            }
+
             if (config.getClearDisposedInterval() > 0) {
                 clearDisposedTaskFuture = scheduler.scheduleAtFixedRate(
-                        this::clearDisposedTask, config.getClearDisposedInterval()
+                        TemporaryStorageThreads.offloading(
+                                "tmpstg-clear-disposed",
+                                TemporaryStorageEvents.timing("clear-disposed", this::clearDisposedTask)
+                        ),
+                        config.getClearDisposedInterval()
                 );
             }
 
             if (config.getCheckMemoryInterval() > 0) {
                 checkMemoryTaskFuture = scheduler.scheduleAtFixedRate(
-                        this::checkMemoryTask, config.getCheckMemoryInterval()
+                        TemporaryStorageThreads.offloading(
+                                "tmpstg-check-memory",
+                                TemporaryStorageEvents.timing("check-memory", this::checkMemoryTask)
+                        ),
+                        config.getCheckMemoryInterval()
                 );
             }
 
+            expireTaskFuture = scheduler.scheduleAtFixedRate(
+                    TemporaryStorageThreads.offloading(
+                            "tmpstg-expire", TemporaryStorageEvents.timing("expire", this::expireTask)
+                    ),
+                    config.getExpirationTickInterval()
+            );
+
             startedFlag = true;
         } catch (Exception e) {
             throw HandlerExceptionHelper.parse(e);
@@ -122,6 +306,11 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
                 checkMemoryTaskFuture = null;
             }
 
+            if (Objects.nonNull(expireTaskFuture)) {
+                expireTaskFuture.cancel(true);
+                expireTaskFuture = null;
+            }
+
             // 在释放内存缓冲区之前，先检查一遍内存缓冲区是否正确。
             internalCheckMemory();
 
@@ -142,7 +331,28 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
                 }
             }
             storageMap.clear();
+            sharedContentMap.clear();
+            // 所有临时存储释放时已经取消了各自的过期定时器，此处清空时间轮以防万一。
+            expirationLock.lock();
+            try {
+                expirationWheel.clear();
+            } finally {
+                expirationLock.unlock();
+            }
             totalAllocatedMemoryBufferSize = 0;
+            readCache.clear();
+
+            // 所有临时存储都已经释放，释放共享的资源；共享的资源由分片处理器在所有分片停止后释放。
+            if (!shardContext.isSharded()) {
+                releaseSharedResources();
+            }
+
+            // 停止负载记录，使记录文件在处理器停止后是完整的。
+            try {
+                workloadTracer.stop();
+            } catch (Exception e) {
+                LOGGER.warn("停止负载记录时发生异常, 异常信息如下: ", e);
+            }
 
             startedFlag = false;
         } catch (Exception e) {
@@ -152,6 +362,38 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         }
     }
 
+    /**
+     * 打开分片上下文中共享的资源。
+     *
+     * <p>
+     * 未分片时由 {@link #start()} 调用；作为分片时，由分片处理器在启动所有分片之前通过任意一个分片调用一次。
+     *
+     * @throws IOException IO 异常。
+     */
+    void openSharedResources() throws IOException {
+        if (Objects.nonNull(arena)) {
+            arena.open();
+        }
+    }
+
+    /**
+     * 释放分片上下文中共享的资源。
+     *
+     * <p>
+     * 删除临时文件复用池中的所有文件，清空临时文件目录的占用记录与文件配额，并关闭、删除 Arena 文件。<br>
+     * 未分片时由 {@link #stop()} 调用；作为分片时，由分片处理器在所有分片停止之后通过任意一个分片调用一次。
+     *
+     * @throws IOException IO 异常。
+     */
+    void releaseSharedResources() throws IOException {
+        deleteTemporaryFiles(filePool.purgeAll());
+        directorySelector.clear();
+        fileQuota.clear();
+        if (Objects.nonNull(arena)) {
+            arena.close();
+        }
+    }
+
     @BehaviorAnalyse
     @SkipRecord
     @Override
@@ -187,8 +429,9 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
     @BehaviorAnalyse
     @Override
     public TemporaryStorageInfo inspect(String key) throws HandlerException {
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.untracked(OPERATION_NAME_INSPECT);
         TemporaryStorage temporaryStorage;
-        handlerLock.readLock().lock();
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
         try {
             // 确认处理器已经启动。
             makeSureHandlerStart();
@@ -198,34 +441,287 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         } finally {
             handlerLock.readLock().unlock();
         }
-        temporaryStorage.storageLock.readLock().lock();
+        sample.acquire(temporaryStorage.storageLock.readLock(), LOCK_NAME_STORAGE);
         try {
-            return new TemporaryStorageInfo(
-                    key, temporaryStorage.memoryBuffer.length, temporaryStorage.memoryBufferActualLength,
-                    temporaryStorage.fileBufferUsed, temporaryStorage.fileBufferActualLength, temporaryStorage.status,
-                    temporaryStorage.memoryBufferActualLength + temporaryStorage.fileBufferActualLength
-            );
+            // 共享内容的引用数量可能被其它临时存储修改，因此需要在持有内存分配锁的情况下读取。
+            sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
+            try {
+                return temporaryStorage.inspect();
+            } finally {
+                memoryAllocationLock.unlock();
+            }
         } finally {
             temporaryStorage.storageLock.readLock().unlock();
         }
     }
 
+    @BehaviorAnalyse
+    @Override
+    public Map<String, TemporaryStorageInfo> inspectAll(Collection<String> keys) throws HandlerException {
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.untracked(OPERATION_NAME_INSPECT);
+        List<TemporaryStorage> temporaryStorages;
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 忽略重复的键以及不存在的键。
+            temporaryStorages = new ArrayList<>(keys.size());
+            for (String key : new LinkedHashSet<>(keys)) {
+                TemporaryStorage temporaryStorage = storageMap.get(key);
+                if (Objects.nonNull(temporaryStorage)) {
+                    temporaryStorages.add(temporaryStorage);
+                }
+            }
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+        // 先获取所有临时存储的读锁，再获取一次内存分配锁，在同一次遍历中生成所有临时存储的信息。
+        List<TemporaryStorage> lockOrderedStorages = sortByLockOrder(temporaryStorages);
+        int lockedCount = 0;
+        try {
+            for (TemporaryStorage temporaryStorage : lockOrderedStorages) {
+                sample.acquire(temporaryStorage.storageLock.readLock(), LOCK_NAME_STORAGE);
+                lockedCount++;
+            }
+            Map<String, TemporaryStorageInfo> result = new LinkedHashMap<>();
+            sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
+            try {
+                for (TemporaryStorage temporaryStorage : temporaryStorages) {
+                    result.put(temporaryStorage.key, temporaryStorage.inspect());
+                }
+            } finally {
+                memoryAllocationLock.unlock();
+            }
+            return result;
+        } finally {
+            for (int i = 0; i < lockedCount; i++) {
+                lockOrderedStorages.get(i).storageLock.readLock().unlock();
+            }
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public TemporaryStorageHandlerStats stats() {
+        TemporaryStorageHandlerStats stats = new TemporaryStorageHandlerStats();
+        // 读缓存统计信息。
+        long readCacheHitCount = readCache.getHitCount();
+        long readCacheMissCount = readCache.getMissCount();
+        long readCacheAccessCount = readCacheHitCount + readCacheMissCount;
+        stats.setReadCacheMaxSize(readCache.getMaxSize());
+        stats.setReadCacheSize(readCache.getSize());
+        stats.setReadCacheEntryCount(readCache.getEntryCount());
+        stats.setReadCacheHitCount(readCacheHitCount);
+        stats.setReadCacheMissCount(readCacheMissCount);
+        stats.setReadCacheEvictionCount(readCache.getEvictionCount());
+        stats.setReadCacheHitRate(
+                readCacheAccessCount == 0 ? 0 : (double) readCacheHitCount / readCacheAccessCount
+        );
+        // 自适应缓冲区大小统计信息。
+        stats.setAdaptiveMemoryBufferLimit(lastMemoryBufferLimit);
+        stats.setAdaptiveSampleCount(sizeHistogram.getSampleCount());
+        // 去重统计信息。
+        stats.setDeduplicationHitCount(metrics.getDeduplicationHitCount());
+        stats.setDeduplicationSavedLength(metrics.getDeduplicationSavedLength());
+        // 内存缓冲区统计信息。
+        stats.setAllocatedMemoryBufferSize(totalAllocatedMemoryBufferSize);
+        stats.setMemoryWaitCount(metrics.getMemoryWaitCount());
+        stats.setMemoryWaitTimeoutCount(metrics.getMemoryWaitTimeoutCount());
+        stats.setMemoryWaiterCount((int) metrics.getMemoryWaiterCount());
+        stats.setMemoryAllocationDeniedCount(metrics.getMemoryAllocationDeniedCount());
+        // 文件配额统计信息。
+        stats.setMaxFileSizeTotal(fileQuota.getMaxSize());
+        stats.setFileSizeTotal(fileQuota.getSize());
+        stats.setFileQuotaRejectionCount(fileQuota.getRejectionCount());
+        // 过期统计信息。
+        stats.setExpiredCount(metrics.getExpiredCount());
+        stats.setExpirationScheduledCount(expirationWheel.size());
+        // 临时存储与流的统计信息。
+        long createdCount = metrics.getCreatedCount();
+        long disposedCount = metrics.getDisposedCount();
+        stats.setCreatedCount(createdCount);
+        stats.setDisposedCount(disposedCount);
+        stats.setLiveStorageCount(createdCount - disposedCount);
+        stats.setOpenInputStreamCount(metrics.getOpenInputStreamCount());
+        stats.setOpenOutputStreamCount(metrics.getOpenOutputStreamCount());
+        // 写入统计信息。
+        stats.setMemoryWrittenLength(metrics.getMemoryWrittenLength());
+        stats.setFileWrittenLength(metrics.getFileWrittenLength());
+        stats.setSpillCount(metrics.getSpillCount());
+        return stats;
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public List<TemporaryStorageLatencyStats> latencyStats() {
+        return latencyRecorder.snapshot();
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void resetLatencyStats() {
+        latencyRecorder.reset();
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void startWorkloadTrace(String traceFilePath) throws HandlerException {
+        try {
+            workloadTracer.start(Paths.get(traceFilePath));
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void stopWorkloadTrace() throws HandlerException {
+        try {
+            workloadTracer.stop();
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public boolean isWorkloadTracing() {
+        return workloadTracer.isTracing();
+    }
+
+    /**
+     * 获取内存缓冲区的总大小上限。
+     *
+     * @return 内存缓冲区的总大小上限。
+     */
+    long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * 调整内存缓冲区的总大小上限。
+     *
+     * <p>
+     * 上限不会低于已经分配的内存缓冲区大小，因此调整后的上限可能大于指定的值；
+     * 上限提高时，唤醒等待内存缓冲区的线程。
+     *
+     * @param targetMemoryBudget 目标上限。
+     * @return 调整后的上限。
+     */
+    long adjustMemoryBudget(long targetMemoryBudget) {
+        memoryAllocationLock.lock();
+        try {
+            long previousMemoryBudget = memoryBudget;
+            memoryBudget = Math.max(targetMemoryBudget, totalAllocatedMemoryBufferSize);
+            if (memoryBudget > previousMemoryBudget) {
+                memoryReleasedCondition.signalAll();
+            }
+            return memoryBudget;
+        } finally {
+            memoryAllocationLock.unlock();
+        }
+    }
+
     @BehaviorAnalyse
     @Override
     public String create() throws HandlerException {
-        handlerLock.writeLock().lock();
+        return internalCreate(0, 0);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String create(long idleTimeout, long absoluteTimeout) throws HandlerException {
+        return internalCreate(idleTimeout, absoluteTimeout);
+    }
+
+    private String internalCreate(long idleTimeout, long absoluteTimeout) throws HandlerException {
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_CREATE);
+        String key;
+        sample.acquire(handlerLock.writeLock(), LOCK_NAME_HANDLER);
         try {
             // 确认处理器已经启动。
             makeSureHandlerStart();
-            String key = UUID.randomUUID().toString();
+            // 根据文件配额超限策略，在临时文件的总大小达到上限时拒绝创建新的临时存储。
+            makeSureFileQuotaAdmitsCreate();
+            key = shardContext.newKey(shardIndex);
             TemporaryStorage temporaryStorage = new TemporaryStorage(key);
+            // 临时存储对其它线程可见之前设置过期时间，无需获取临时存储的锁。
+            if (idleTimeout > 0 || absoluteTimeout > 0) {
+                internalSetExpiration(temporaryStorage, idleTimeout, absoluteTimeout);
+            }
             storageMap.put(key, temporaryStorage);
-            return key;
         } catch (Exception e) {
             throw HandlerExceptionHelper.parse(e);
         } finally {
             handlerLock.writeLock().unlock();
+            sample.finish();
+        }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_CREATE, key, 0, traceBeginNanos);
+        return key;
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public List<String> createBatch(int count) throws HandlerException {
+        return internalCreateBatch(count, 0, 0);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public List<String> createBatch(int count, long idleTimeout, long absoluteTimeout) throws HandlerException {
+        return internalCreateBatch(count, idleTimeout, absoluteTimeout);
+    }
+
+    private List<String> internalCreateBatch(int count, long idleTimeout, long absoluteTimeout)
+            throws HandlerException {
+        if (count < 0) {
+            throw HandlerExceptionHelper.parse(new IllegalArgumentException("创建的数量不能小于 0"));
+        }
+        long traceBeginNanos = workloadTracer.begin();
+        // 负载记录中，每个临时存储的创建从上一个临时存储创建完成时开始，第一个临时存储的创建包含等待锁的时间。
+        long[] traceNanos = traceBeginNanos == TemporaryStorageWorkloadTracer.NOT_TRACED ? null : new long[count + 1];
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_CREATE);
+        List<String> keys;
+        sample.acquire(handlerLock.writeLock(), LOCK_NAME_HANDLER);
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 根据文件配额超限策略，在临时文件的总大小达到上限时拒绝创建新的临时存储，整批只检查一次。
+            makeSureFileQuotaAdmitsCreate();
+            keys = new ArrayList<>(count);
+            if (Objects.nonNull(traceNanos)) {
+                traceNanos[0] = traceBeginNanos;
+            }
+            for (int i = 0; i < count; i++) {
+                String key = shardContext.newKey(shardIndex);
+                TemporaryStorage temporaryStorage = new TemporaryStorage(key);
+                // 临时存储对其它线程可见之前设置过期时间，无需获取临时存储的锁。
+                if (idleTimeout > 0 || absoluteTimeout > 0) {
+                    internalSetExpiration(temporaryStorage, idleTimeout, absoluteTimeout);
+                }
+                storageMap.put(key, temporaryStorage);
+                keys.add(key);
+                if (Objects.nonNull(traceNanos)) {
+                    traceNanos[i + 1] = System.nanoTime();
+                }
+            }
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        } finally {
+            handlerLock.writeLock().unlock();
+            sample.finish();
+        }
+        if (Objects.nonNull(traceNanos)) {
+            for (int i = 0; i < count; i++) {
+                workloadTracer.record(
+                        Constants.WORKLOAD_TRACE_OPERATION_CREATE, keys.get(i), 0, traceNanos[i], traceNanos[i + 1]
+                );
+            }
         }
+        return keys;
     }
 
     @BehaviorAnalyse
@@ -240,8 +736,20 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
 
     @SuppressWarnings("DuplicatedCode")
     private InputStream internalOpenInputStream(String key) throws Exception {
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_OPEN);
+        try {
+            return internalOpenInputStream(key, sample, traceBeginNanos);
+        } finally {
+            sample.finish();
+        }
+    }
+
+    private InputStream internalOpenInputStream(
+            String key, TemporaryStorageLatencyRecorder.Sample sample, long traceBeginNanos
+    ) throws Exception {
         TemporaryStorage temporaryStorage;
-        handlerLock.readLock().lock();
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
         try {
             // 确认处理器已经启动。
             makeSureHandlerStart();
@@ -251,12 +759,20 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         } finally {
             handlerLock.readLock().unlock();
         }
-        temporaryStorage.storageLock.readLock().lock();
+        sample.acquire(temporaryStorage.storageLock.readLock(), LOCK_NAME_STORAGE);
         try {
             // 确认临时存储状态有效。
             makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
+            // 记录访问时间。
+            temporaryStorage.touch();
             // 打开输入流并返回。
-            return temporaryStorage.openInputStream();
+            InputStream in = temporaryStorage.openInputStream();
+            metrics.recordInputStreamOpened();
+            workloadTracer.record(
+                    Constants.WORKLOAD_TRACE_OPERATION_OPEN_INPUT, key,
+                    temporaryStorage.memoryBufferActualLength + temporaryStorage.fileBufferActualLength, traceBeginNanos
+            );
+            return in;
         } catch (Exception e) {
             temporaryStorage.storageLock.readLock().unlock();
             throw new TemporaryStorageStreamOpenException(e, key);
@@ -267,7 +783,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
     @Override
     public OutputStream openOutputStream(String key) throws HandlerException {
         try {
-            return internalOpenOutputStream(key, Long.MAX_VALUE);
+            return internalOpenOutputStream(key, null);
         } catch (Exception e) {
             throw HandlerExceptionHelper.parse(e);
         }
@@ -283,10 +799,40 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         }
     }
 
+    @BehaviorAnalyse
+    @Override
+    public OutputStream openOutputStream(String key, long expectedLength, long memoryWaitTimeout)
+            throws HandlerException {
+        try {
+            return internalOpenOutputStream(key, expectedLength, memoryWaitTimeout);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    private OutputStream internalOpenOutputStream(String key, @Nullable Long expectedLength) throws Exception {
+        return internalOpenOutputStream(key, expectedLength, 0);
+    }
+
     @SuppressWarnings("DuplicatedCode")
-    private OutputStream internalOpenOutputStream(String key, long expectedLength) throws Exception {
+    private OutputStream internalOpenOutputStream(
+            String key, @Nullable Long expectedLength, long memoryWaitTimeout
+    ) throws Exception {
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_OPEN);
+        try {
+            return internalOpenOutputStream(key, expectedLength, memoryWaitTimeout, sample, traceBeginNanos);
+        } finally {
+            sample.finish();
+        }
+    }
+
+    private OutputStream internalOpenOutputStream(
+            String key, @Nullable Long expectedLength, long memoryWaitTimeout,
+            TemporaryStorageLatencyRecorder.Sample sample, long traceBeginNanos
+    ) throws Exception {
         TemporaryStorage temporaryStorage;
-        handlerLock.readLock().lock();
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
         try {
             // 确认处理器已经启动。
             makeSureHandlerStart();
@@ -296,92 +842,398 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         } finally {
             handlerLock.readLock().unlock();
         }
-        temporaryStorage.storageLock.writeLock().lock();
+        sample.acquire(temporaryStorage.storageLock.writeLock(), LOCK_NAME_STORAGE);
         try {
             // 确认临时存储状态有效。
             makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
+            // 记录访问时间。
+            temporaryStorage.touch();
             // 打开输出流并返回。
-            memoryAllocationLock.lock();
+            OutputStream out;
+            sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
             try {
-                return temporaryStorage.openOutputStream(expectedLength);
+                // 未指定预期长度时，内存缓冲区的上限由 determineMemoryBufferLimit 方法决定。
+                if (Objects.isNull(expectedLength)) {
+                    out = temporaryStorage.openOutputStream(Long.MAX_VALUE, determineMemoryBufferLimit(), 0);
+                } else {
+                    out = temporaryStorage.openOutputStream(
+                            expectedLength, config.getMaxBufferSizePerStorage(), memoryWaitTimeout
+                    );
+                }
             } finally {
                 memoryAllocationLock.unlock();
             }
+            metrics.recordOutputStreamOpened();
+            workloadTracer.record(
+                    Constants.WORKLOAD_TRACE_OPERATION_OPEN_OUTPUT, key,
+                    Objects.isNull(expectedLength) ? -1 : expectedLength, traceBeginNanos
+            );
+            return out;
         } catch (Exception e) {
             temporaryStorage.storageLock.writeLock().unlock();
             throw new TemporaryStorageStreamOpenException(e, key);
         }
     }
 
-    @SuppressWarnings("DuplicatedCode")
     @BehaviorAnalyse
     @Override
-    public void dispose(String key) throws HandlerException {
+    public String put(byte[] content) throws HandlerException {
+        try {
+            return internalPut(content, 0, content.length, false);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String put(byte[] content, boolean adopt) throws HandlerException {
+        try {
+            return internalPut(content, 0, content.length, adopt);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public String put(ByteBuffer content) throws HandlerException {
+        try {
+            if (content.hasArray()) {
+                return internalPut(
+                        content.array(), content.arrayOffset() + content.position(), content.remaining(), false
+                );
+            }
+            // 直接缓冲区的内容需要复制到数组中，该数组只被处理器使用，因此由处理器接管，无需再次复制。
+            byte[] bytes = new byte[content.remaining()];
+            content.duplicate().get(bytes);
+            return internalPut(bytes, 0, bytes.length, true);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    private String internalPut(byte[] b, int off, int len, boolean adopt) throws Exception {
+        long traceBeginNanos = workloadTracer.begin();
+        // 放入内容分别计为一次创建与一次写入。
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_CREATE);
         TemporaryStorage temporaryStorage;
-        handlerLock.readLock().lock();
+        sample.acquire(handlerLock.writeLock(), LOCK_NAME_HANDLER);
         try {
             // 确认处理器已经启动。
             makeSureHandlerStart();
-            // 确认临时存储存在。
-            makeSureTemporaryStorageExists(key);
-            temporaryStorage = storageMap.get(key);
+            // 根据文件配额超限策略，在临时文件的总大小达到上限时拒绝创建新的临时存储。
+            makeSureFileQuotaAdmitsCreate();
+            String key = shardContext.newKey(shardIndex);
+            temporaryStorage = new TemporaryStorage(key);
+            // 在临时存储对其它线程可见之前获取其写锁，使其它线程无法读取到写入完成之前的内容。
+            temporaryStorage.storageLock.writeLock().lock();
+            storageMap.put(key, temporaryStorage);
         } finally {
-            handlerLock.readLock().unlock();
+            handlerLock.writeLock().unlock();
+            sample.finish();
         }
-        temporaryStorage.storageLock.writeLock().lock();
+        sample = latencyRecorder.start(Constants.LATENCY_OPERATION_WRITE);
+        boolean succeeded = false;
         try {
-            // 确认临时存储状态有效。
-            makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
-            // 释放内存缓冲区。
-            memoryAllocationLock.lock();
-            try {
-                temporaryStorage.dispose();
-            } finally {
-                memoryAllocationLock.unlock();
-            }
+            writeContent(temporaryStorage, b, off, len, adopt, sample);
+            succeeded = true;
+            workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_PUT, temporaryStorage.key, len, traceBeginNanos);
+            return temporaryStorage.key;
         } finally {
             temporaryStorage.storageLock.writeLock().unlock();
+            sample.finish();
+            // 写入失败时，调用者无法获得临时存储的键，因此释放并移除该临时存储。
+            if (!succeeded) {
+                disposeAndRemoveQuietly(temporaryStorage.key);
+            }
         }
     }
 
     @BehaviorAnalyse
     @Override
-    public void remove(String key) throws HandlerException {
-        handlerLock.writeLock().lock();
+    public void putInto(String key, byte[] content) throws HandlerException {
+        try {
+            internalPutInto(key, content, false);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void putInto(String key, byte[] content, boolean adopt) throws HandlerException {
+        try {
+            internalPutInto(key, content, adopt);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    private void internalPutInto(String key, byte[] content, boolean adopt) throws Exception {
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_WRITE);
+        try {
+            internalPutInto(key, content, adopt, sample);
+        } finally {
+            sample.finish();
+        }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_PUT_INTO, key, content.length, traceBeginNanos);
+    }
+
+    private void internalPutInto(
+            String key, byte[] content, boolean adopt, TemporaryStorageLatencyRecorder.Sample sample
+    ) throws Exception {
+        TemporaryStorage temporaryStorage;
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
         try {
             // 确认处理器已经启动。
             makeSureHandlerStart();
             // 确认临时存储存在。
             makeSureTemporaryStorageExists(key);
-            TemporaryStorage temporaryStorage = storageMap.get(key);
+            temporaryStorage = storageMap.get(key);
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+        sample.acquire(temporaryStorage.storageLock.writeLock(), LOCK_NAME_STORAGE);
+        try {
             // 确认临时存储状态有效。
-            temporaryStorage.storageLock.readLock().lock();
-            try {
-                makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_DISPOSED);
-            } finally {
-                temporaryStorage.storageLock.readLock().unlock();
-            }
-            storageMap.remove(key);
+            makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
+            // 记录访问时间。
+            temporaryStorage.touch();
+            // 写入内容。
+            writeContent(temporaryStorage, content, 0, content.length, adopt, sample);
         } finally {
-            handlerLock.writeLock().unlock();
+            temporaryStorage.storageLock.writeLock().unlock();
         }
     }
 
     @BehaviorAnalyse
     @Override
-    public boolean removeIfDisposed(String key) throws HandlerException {
-        handlerLock.writeLock().lock();
+    public byte[] readAllBytes(String key) throws HandlerException {
         try {
-            // 确认处理器已经启动。
-            makeSureHandlerStart();
-            // 确认临时存储存在。
-            makeSureTemporaryStorageExists(key);
-            TemporaryStorage temporaryStorage = storageMap.get(key);
-            // 获取临时存储是否已经释放。
-            boolean disposedFlag;
-            temporaryStorage.storageLock.readLock().lock();
-            try {
-                disposedFlag = Objects.equals(temporaryStorage.status, Constants.TEMPORARY_STORAGE_STATUS_DISPOSED);
+            return internalReadAllBytes(key);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    private byte[] internalReadAllBytes(String key) throws Exception {
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_READ);
+        byte[] content;
+        try {
+            content = internalReadAllBytes(key, sample);
+        } finally {
+            sample.finish();
+        }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_READ, key, content.length, traceBeginNanos);
+        return content;
+    }
+
+    private byte[] internalReadAllBytes(String key, TemporaryStorageLatencyRecorder.Sample sample) throws Exception {
+        TemporaryStorage temporaryStorage;
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 确认临时存储存在。
+            makeSureTemporaryStorageExists(key);
+            temporaryStorage = storageMap.get(key);
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+        sample.acquire(temporaryStorage.storageLock.readLock(), LOCK_NAME_STORAGE);
+        try {
+            // 确认临时存储状态有效。
+            makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
+            // 记录访问时间。
+            temporaryStorage.touch();
+            // 按照内容的长度分配数组，并读取全部内容。
+            long contentLength = temporaryStorage.memoryBufferActualLength + temporaryStorage.fileBufferActualLength;
+            if (contentLength > MAX_ARRAY_LENGTH) {
+                throw new IllegalStateException(
+                        "临时存储 " + key + " 的内容长度 " + contentLength + " 超过了数组的最大长度 " + MAX_ARRAY_LENGTH
+                );
+            }
+            byte[] content = new byte[(int) contentLength];
+            readContent(temporaryStorage, content, 0, content.length);
+            return content;
+        } finally {
+            temporaryStorage.storageLock.readLock().unlock();
+        }
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public int read(String key, ByteBuffer buffer) throws HandlerException {
+        try {
+            return internalRead(key, buffer);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    private int internalRead(String key, ByteBuffer buffer) throws Exception {
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_READ);
+        int length;
+        try {
+            length = internalRead(key, buffer, sample);
+        } finally {
+            sample.finish();
+        }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_READ, key, length, traceBeginNanos);
+        return length;
+    }
+
+    private int internalRead(String key, ByteBuffer buffer, TemporaryStorageLatencyRecorder.Sample sample)
+            throws Exception {
+        TemporaryStorage temporaryStorage;
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 确认临时存储存在。
+            makeSureTemporaryStorageExists(key);
+            temporaryStorage = storageMap.get(key);
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+        sample.acquire(temporaryStorage.storageLock.readLock(), LOCK_NAME_STORAGE);
+        try {
+            // 确认临时存储状态有效。
+            makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
+            // 记录访问时间。
+            temporaryStorage.touch();
+            // 读取的长度为内容的长度与缓冲区剩余空间中的较小者。
+            long contentLength = temporaryStorage.memoryBufferActualLength + temporaryStorage.fileBufferActualLength;
+            int length = (int) Math.min(contentLength, buffer.remaining());
+            // 堆缓冲区直接读取到底层数组中，直接缓冲区则通过数组中转。
+            if (buffer.hasArray()) {
+                readContent(temporaryStorage, buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                readContent(temporaryStorage, bytes, 0, length);
+                buffer.put(bytes);
+            }
+            return length;
+        } finally {
+            temporaryStorage.storageLock.readLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    @BehaviorAnalyse
+    @Override
+    public void setExpiration(String key, long idleTimeout, long absoluteTimeout) throws HandlerException {
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.untracked(OPERATION_NAME_SET_EXPIRATION);
+        TemporaryStorage temporaryStorage;
+        sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 确认临时存储存在。
+            makeSureTemporaryStorageExists(key);
+            temporaryStorage = storageMap.get(key);
+        } finally {
+            handlerLock.readLock().unlock();
+        }
+        // 持有临时存储的读锁，使临时存储在设置过期时间期间不会被释放。
+        sample.acquire(temporaryStorage.storageLock.readLock(), LOCK_NAME_STORAGE);
+        try {
+            // 确认临时存储状态有效。
+            makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
+            // 设置过期时间。
+            internalSetExpiration(temporaryStorage, idleTimeout, absoluteTimeout);
+        } finally {
+            temporaryStorage.storageLock.readLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    @BehaviorAnalyse
+    @Override
+    public void dispose(String key) throws HandlerException {
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_DISPOSE);
+        try {
+            TemporaryStorage temporaryStorage;
+            sample.acquire(handlerLock.readLock(), LOCK_NAME_HANDLER);
+            try {
+                // 确认处理器已经启动。
+                makeSureHandlerStart();
+                // 确认临时存储存在。
+                makeSureTemporaryStorageExists(key);
+                temporaryStorage = storageMap.get(key);
+            } finally {
+                handlerLock.readLock().unlock();
+            }
+            sample.acquire(temporaryStorage.storageLock.writeLock(), LOCK_NAME_STORAGE);
+            try {
+                // 确认临时存储状态有效。
+                makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
+                // 释放内存缓冲区。
+                sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
+                try {
+                    temporaryStorage.dispose();
+                } finally {
+                    memoryAllocationLock.unlock();
+                }
+            } finally {
+                temporaryStorage.storageLock.writeLock().unlock();
+            }
+        } finally {
+            sample.finish();
+        }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_DISPOSE, key, 0, traceBeginNanos);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public void remove(String key) throws HandlerException {
+        long traceBeginNanos = workloadTracer.begin();
+        handlerLock.writeLock().lock();
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 确认临时存储存在。
+            makeSureTemporaryStorageExists(key);
+            TemporaryStorage temporaryStorage = storageMap.get(key);
+            // 确认临时存储状态有效。
+            temporaryStorage.storageLock.readLock().lock();
+            try {
+                makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_DISPOSED);
+            } finally {
+                temporaryStorage.storageLock.readLock().unlock();
+            }
+            storageMap.remove(key);
+        } finally {
+            handlerLock.writeLock().unlock();
+        }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_REMOVE, key, 0, traceBeginNanos);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public boolean removeIfDisposed(String key) throws HandlerException {
+        long traceBeginNanos = workloadTracer.begin();
+        handlerLock.writeLock().lock();
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 确认临时存储存在。
+            makeSureTemporaryStorageExists(key);
+            TemporaryStorage temporaryStorage = storageMap.get(key);
+            // 获取临时存储是否已经释放。
+            boolean disposedFlag;
+            temporaryStorage.storageLock.readLock().lock();
+            try {
+                disposedFlag = Objects.equals(temporaryStorage.status, Constants.TEMPORARY_STORAGE_STATUS_DISPOSED);
             } finally {
                 temporaryStorage.storageLock.readLock().unlock();
             }
@@ -391,15 +1243,18 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             }
             // 如果已经释放，则从存储映射中移除此临时存储，并返回 true。
             storageMap.remove(key);
-            return true;
         } finally {
             handlerLock.writeLock().unlock();
         }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_REMOVE, key, 0, traceBeginNanos);
+        return true;
     }
 
     @Override
     public void disposeAndRemove(String key) throws HandlerException {
-        handlerLock.writeLock().lock();
+        long traceBeginNanos = workloadTracer.begin();
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_DISPOSE);
+        sample.acquire(handlerLock.writeLock(), LOCK_NAME_HANDLER);
         try {
             // 确认处理器已经启动。
             makeSureHandlerStart();
@@ -407,12 +1262,12 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             makeSureTemporaryStorageExists(key);
             TemporaryStorage temporaryStorage = storageMap.get(key);
             // 释放临时存储。
-            temporaryStorage.storageLock.writeLock().lock();
+            sample.acquire(temporaryStorage.storageLock.writeLock(), LOCK_NAME_STORAGE);
             try {
                 // 确认临时存储状态有效。
                 makeSureTemporaryStorageStatusValid(temporaryStorage, Constants.TEMPORARY_STORAGE_STATUS_WORKING);
                 // 释放内存缓冲区。
-                memoryAllocationLock.lock();
+                sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
                 try {
                     temporaryStorage.dispose();
                 } finally {
@@ -426,7 +1281,86 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             storageMap.remove(key);
         } finally {
             handlerLock.writeLock().unlock();
+            sample.finish();
+        }
+        workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE, key, 0, traceBeginNanos);
+    }
+
+    @BehaviorAnalyse
+    @Override
+    public Map<String, Boolean> disposeAndRemoveAll(Collection<String> keys) throws HandlerException {
+        long traceBeginNanos = workloadTracer.begin();
+        // 负载记录中，每个临时存储的释放从上一个临时存储释放完成时开始，第一个临时存储的释放包含等待锁的时间。
+        List<String> disposedKeys = new ArrayList<>();
+        long[] traceNanos = null;
+        TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_DISPOSE);
+        Map<String, Boolean> result;
+        sample.acquire(handlerLock.writeLock(), LOCK_NAME_HANDLER);
+        try {
+            // 确认处理器已经启动。
+            makeSureHandlerStart();
+            // 不存在的键的结果为 false。
+            result = new LinkedHashMap<>();
+            List<TemporaryStorage> temporaryStorages = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                if (result.containsKey(key)) {
+                    continue;
+                }
+                TemporaryStorage temporaryStorage = storageMap.get(key);
+                result.put(key, false);
+                if (Objects.nonNull(temporaryStorage)) {
+                    temporaryStorages.add(temporaryStorage);
+                }
+            }
+            if (traceBeginNanos != TemporaryStorageWorkloadTracer.NOT_TRACED) {
+                traceNanos = new long[temporaryStorages.size() + 1];
+                traceNanos[0] = traceBeginNanos;
+            }
+            // 先获取所有临时存储的写锁，再获取一次内存分配锁，释放所有状态为工作中的临时存储。
+            List<TemporaryStorage> lockOrderedStorages = sortByLockOrder(temporaryStorages);
+            int lockedCount = 0;
+            try {
+                for (TemporaryStorage temporaryStorage : lockOrderedStorages) {
+                    sample.acquire(temporaryStorage.storageLock.writeLock(), LOCK_NAME_STORAGE);
+                    lockedCount++;
+                }
+                sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
+                try {
+                    for (TemporaryStorage temporaryStorage : temporaryStorages) {
+                        if (!Objects.equals(temporaryStorage.status, Constants.TEMPORARY_STORAGE_STATUS_WORKING)) {
+                            continue;
+                        }
+                        temporaryStorage.dispose();
+                        storageMap.remove(temporaryStorage.key);
+                        result.put(temporaryStorage.key, true);
+                        disposedKeys.add(temporaryStorage.key);
+                        if (Objects.nonNull(traceNanos)) {
+                            traceNanos[disposedKeys.size()] = System.nanoTime();
+                        }
+                    }
+                } finally {
+                    memoryAllocationLock.unlock();
+                }
+            } finally {
+                for (int i = 0; i < lockedCount; i++) {
+                    lockOrderedStorages.get(i).storageLock.writeLock().unlock();
+                }
+            }
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        } finally {
+            handlerLock.writeLock().unlock();
+            sample.finish();
         }
+        if (Objects.nonNull(traceNanos)) {
+            for (int i = 0; i < disposedKeys.size(); i++) {
+                workloadTracer.record(
+                        Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE, disposedKeys.get(i), 0, traceNanos[i],
+                        traceNanos[i + 1]
+                );
+            }
+        }
+        return result;
     }
 
     @Override
@@ -436,6 +1370,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             // 确认处理器已经启动。
             makeSureHandlerStart();
             internalClearDisposed();
+            deleteTemporaryFiles(filePool.purgeExpired());
         } catch (Exception e) {
             throw HandlerExceptionHelper.parse(e);
         } finally {
@@ -453,6 +1388,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             keySetToRemove.add(value.key);
         }
         storageMap.keySet().removeAll(keySetToRemove);
+        keySetToRemove.forEach(workloadTracer::forget);
     }
 
     @SuppressWarnings("DuplicatedCode")
@@ -473,7 +1409,14 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
                 keySetToRemove.add(value.key);
             }
             storageMap.keySet().removeAll(keySetToRemove);
-            LOGGER.info("释放临时存储清理任务执行结束, 共清理了 {} 个已释放的临时存储", keySetToRemove.size());
+            keySetToRemove.forEach(workloadTracer::forget);
+            // 顺带删除临时文件复用池中已经过期的文件。
+            List<File> expiredFiles = filePool.purgeExpired();
+            deleteTemporaryFiles(expiredFiles);
+            LOGGER.info(
+                    "释放临时存储清理任务执行结束, 共清理了 {} 个已释放的临时存储, {} 个过期的复用临时文件",
+                    keySetToRemove.size(), expiredFiles.size()
+            );
         } catch (Exception e) {
             LOGGER.warn("已释放临时存储清理任务执行时发生异常, 本次任务中止, 异常信息如下: ", e);
         } finally {
@@ -491,8 +1434,12 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             }
 
             long actualTotalAllocatedMemoryBufferSize = 0;
+            // 去重后，多个临时存储可能共享同一个内存缓冲区，共享的内存缓冲区只统计一次。
+            Set<byte[]> countedMemoryBuffers = Collections.newSetFromMap(new IdentityHashMap<>());
             for (TemporaryStorage temporaryStorage : storageMap.values()) {
-                actualTotalAllocatedMemoryBufferSize += temporaryStorage.memoryBuffer.length;
+                if (countedMemoryBuffers.add(temporaryStorage.memoryBuffer)) {
+                    actualTotalAllocatedMemoryBufferSize += temporaryStorage.memoryBuffer.length;
+                }
             }
             if (Objects.equals(totalAllocatedMemoryBufferSize, actualTotalAllocatedMemoryBufferSize)) {
                 return;
@@ -507,11 +1454,164 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         }
     }
 
+    private void expireTask() {
+        long currentTimeMillis = currentTimeMillis();
+        // 推进时间轮，只取出已经到期的临时存储，不需要遍历所有的临时存储。
+        List<TemporaryStorage> expiredStorages;
+        expirationLock.lock();
+        try {
+            expiredStorages = expirationWheel.advance(currentTimeMillis);
+        } finally {
+            expirationLock.unlock();
+        }
+        if (expiredStorages.isEmpty()) {
+            return;
+        }
+
+        handlerLock.writeLock().lock();
+        try {
+            if (!startedFlag) {
+                LOGGER.warn("处理器未启动, 忽略本次过期检查任务");
+                return;
+            }
+
+            int count = 0;
+            for (TemporaryStorage temporaryStorage : expiredStorages) {
+                if (mayExpire(temporaryStorage, currentTimeMillis)) {
+                    count++;
+                }
+            }
+            metrics.recordExpired(count);
+            LOGGER.debug("过期检查任务执行结束, 共释放并移除了 {} 个过期的临时存储", count);
+        } catch (Exception e) {
+            LOGGER.warn("过期检查任务执行时发生异常, 本次任务中止, 异常信息如下: ", e);
+        } finally {
+            handlerLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 释放并移除定时器已经到期的临时存储。
+     *
+     * <p>
+     * 定时器到期只说明临时存储可能过期：如果临时存储在此期间被访问，或者其过期时间被重新设置，
+     * 则按照新的过期时间重新添加定时器；如果临时存储的流尚未关闭，则推迟到下一个时间刻度再次检查。
+     *
+     * <p>
+     * 该方法本身没有线程安全性，调用该方法的线程应该持有处理器的写锁。
+     *
+     * @param temporaryStorage  定时器已经到期的临时存储。
+     * @param currentTimeMillis 当前时间。
+     * @return 临时存储是否被释放并移除。
+     */
+    private boolean mayExpire(TemporaryStorage temporaryStorage, long currentTimeMillis) {
+        // 临时存储可能已经被移除。
+        if (storageMap.get(temporaryStorage.key) != temporaryStorage) {
+            return false;
+        }
+        // 临时存储的流未关闭时，无法获取其写锁，此时不等待，推迟到下一个时间刻度再次检查。
+        if (!temporaryStorage.storageLock.writeLock().tryLock()) {
+            expirationLock.lock();
+            try {
+                if (temporaryStorage.isExpirationTimeoutFired()) {
+                    temporaryStorage.expirationTimeout = null;
+                    mayScheduleExpiration(temporaryStorage, currentTimeMillis + config.getExpirationTickInterval());
+                }
+            } finally {
+                expirationLock.unlock();
+            }
+            return false;
+        }
+        try {
+            expirationLock.lock();
+            try {
+                // 定时器到期之后，过期时间可能被重新设置或取消，此时由新的定时器负责。
+                if (!temporaryStorage.isExpirationTimeoutFired()) {
+                    return false;
+                }
+                temporaryStorage.expirationTimeout = null;
+                // 临时存储在此期间被访问过，按照新的过期时间重新添加定时器。
+                if (temporaryStorage.expirationDeadline() > currentTimeMillis) {
+                    mayScheduleExpiration(temporaryStorage, currentTimeMillis);
+                    return false;
+                }
+            } finally {
+                expirationLock.unlock();
+            }
+            long traceBeginNanos = workloadTracer.begin();
+            memoryAllocationLock.lock();
+            try {
+                temporaryStorage.dispose();
+            } finally {
+                memoryAllocationLock.unlock();
+            }
+            storageMap.remove(temporaryStorage.key);
+            workloadTracer.record(
+                    Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE, temporaryStorage.key, 0, traceBeginNanos
+            );
+            return true;
+        } finally {
+            temporaryStorage.storageLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 设置临时存储的过期时间。
+     *
+     * <p>
+     * 该方法只获取过期锁，调用该方法的线程应该保证临时存储在此期间不会被释放。
+     *
+     * @param temporaryStorage 临时存储。
+     * @param idleTimeout      空闲超时时间。
+     * @param absoluteTimeout  绝对超时时间。
+     */
+    private void internalSetExpiration(TemporaryStorage temporaryStorage, long idleTimeout, long absoluteTimeout) {
+        long currentTimeMillis = currentTimeMillis();
+        expirationLock.lock();
+        try {
+            temporaryStorage.cancelExpiration();
+            temporaryStorage.idleTimeout = Math.max(idleTimeout, 0);
+            temporaryStorage.absoluteDeadline = absoluteTimeout > 0 ?
+                    saturatedAdd(currentTimeMillis, absoluteTimeout) : Long.MAX_VALUE;
+            // 设置过期时间本身视为一次访问。
+            temporaryStorage.lastAccessTime = currentTimeMillis;
+            mayScheduleExpiration(temporaryStorage, currentTimeMillis);
+        } finally {
+            expirationLock.unlock();
+        }
+    }
+
+    /**
+     * 如果临时存储会过期，且没有等待中的定时器，则按照其过期时间添加定时器。
+     *
+     * <p>
+     * 该方法本身没有线程安全性，调用该方法的线程应该持有过期锁。
+     *
+     * @param temporaryStorage 临时存储。
+     * @param earliestDeadline 定时器的最早到期时间。
+     */
+    private void mayScheduleExpiration(TemporaryStorage temporaryStorage, long earliestDeadline) {
+        if (Objects.nonNull(temporaryStorage.expirationTimeout)) {
+            return;
+        }
+        long deadline = temporaryStorage.expirationDeadline();
+        if (deadline == Long.MAX_VALUE) {
+            return;
+        }
+        temporaryStorage.expirationTimeout = expirationWheel.schedule(
+                temporaryStorage, Math.max(deadline, earliestDeadline)
+        );
+    }
+
     @SuppressWarnings("DuplicatedCode")
     private void internalCheckMemory() {
         long actualTotalAllocatedMemoryBufferSize = 0;
+        // 去重后，多个临时存储可能共享同一个内存缓冲区，共享的内存缓冲区只统计一次。
+        Set<byte[]> countedMemoryBuffers = Collections.newSetFromMap(new IdentityHashMap<>());
         for (TemporaryStorage temporaryStorage : storageMap.values()) {
-            actualTotalAllocatedMemoryBufferSize += temporaryStorage.memoryBuffer.length;
+            if (countedMemoryBuffers.add(temporaryStorage.memoryBuffer)) {
+                actualTotalAllocatedMemoryBufferSize += temporaryStorage.memoryBuffer.length;
+            }
         }
         if (Objects.equals(totalAllocatedMemoryBufferSize, actualTotalAllocatedMemoryBufferSize)) {
             return;
@@ -523,12 +1623,320 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         totalAllocatedMemoryBufferSize = actualTotalAllocatedMemoryBufferSize;
     }
 
+    /**
+     * 决定未指定预期长度的新临时存储的内存缓冲区上限。
+     *
+     * <p>
+     * 如果启用了自适应缓冲区大小，且统计样本充足，则返回最近的临时存储的最终内容长度的指定分位数，
+     * 但不小于 {@link #MIN_ADAPTIVE_MEMORY_BUFFER_LIMIT}，也不超过单个存储的最大缓冲区大小；
+     * 否则返回单个存储的最大缓冲区大小。<br>
+     * 决定的结果同时被记录下来，供统计信息在不获取锁的情况下读取。
+     *
+     * <p>
+     * 该方法本身没有线程安全性，调用该方法的线程应该持有内存分配锁。
+     *
+     * @return 内存缓冲区上限。
+     */
+    private int determineMemoryBufferLimit() {
+        int memoryBufferLimit = config.getMaxBufferSizePerStorage();
+        if (config.isAdaptiveBufferSizingEnabled()) {
+            long percentile = sizeHistogram.percentile(config.getAdaptiveBufferSizingPercentile());
+            if (percentile >= 0) {
+                memoryBufferLimit = (int) Math.min(
+                        Math.max(percentile, MIN_ADAPTIVE_MEMORY_BUFFER_LIMIT), memoryBufferLimit
+                );
+            }
+        }
+        lastMemoryBufferLimit = memoryBufferLimit;
+        return memoryBufferLimit;
+    }
+
+    /**
+     * 等待内存缓冲区的剩余大小满足需要的大小。
+     *
+     * <p>
+     * 等待者按照先进先出的顺序被满足：只有位于等待队列头部的等待者在剩余大小满足需要时才会结束等待，
+     * 之后的等待者即使需要的大小更小，也必须排队。<br>
+     * 内存缓冲区被释放时，等待者被唤醒；超时后，等待者放弃等待，由调用者按照剩余大小尽可能地分配。
+     *
+     * <p>
+     * 该方法本身没有线程安全性，调用该方法的线程应该持有内存分配锁，等待期间内存分配锁会被暂时释放。
+     *
+     * @param requiredSize 需要的大小。
+     * @param timeout      等待的超时时间，单位为毫秒。
+     * @throws InterruptedException 等待时线程被中断。
+     */
+    private void awaitMemory(long requiredSize, long timeout) throws InterruptedException {
+        if (memoryWaiters.isEmpty() && memoryBudget - totalAllocatedMemoryBufferSize >= requiredSize) {
+            return;
+        }
+        Object waiter = new Object();
+        memoryWaiters.addLast(waiter);
+        metrics.recordMemoryWaitStarted();
+        boolean timeoutFlag = false;
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+            // 分片的内存份额可能在等待期间被调整，因此每次被唤醒时重新读取上限。
+            while (memoryWaiters.peekFirst() != waiter ||
+                    memoryBudget - totalAllocatedMemoryBufferSize < requiredSize) {
+                if (remainingNanos <= 0) {
+                    timeoutFlag = true;
+                    LOGGER.debug("等待内存缓冲区超时, requiredSize: {}, timeout: {}", requiredSize, timeout);
+                    return;
+                }
+                remainingNanos = memoryReleasedCondition.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            // 离开队列后唤醒其它等待者，使新的队列头部能够检查剩余大小。
+            memoryWaiters.remove(waiter);
+            memoryReleasedCondition.signalAll();
+            metrics.recordMemoryWaitFinished(timeoutFlag);
+        }
+    }
+
+    /**
+     * 将指定的临时存储按照获取锁的顺序排序。
+     *
+     * <p>
+     * 需要同时持有多个临时存储的锁时，所有的调用者都按照键的字典序获取锁，从而避免不同的调用者之间发生死锁。
+     *
+     * @param temporaryStorages 指定的临时存储组成的列表。
+     * @return 按照获取锁的顺序排序的新列表。
+     */
+    private List<TemporaryStorage> sortByLockOrder(List<TemporaryStorage> temporaryStorages) {
+        List<TemporaryStorage> lockOrderedStorages = new ArrayList<>(temporaryStorages);
+        lockOrderedStorages.sort(Comparator.comparing(temporaryStorage -> temporaryStorage.key));
+        return lockOrderedStorages;
+    }
+
+    /**
+     * 将指定的内容一次性写入临时存储，写入的内容将覆盖临时存储中原有的内容。
+     *
+     * <p>
+     * 内存缓冲区能够容纳全部内容时，内容被直接放入与其长度完全一致的内存缓冲区，不创建输出流；
+     * 否则，按照输出流的方式写入，超出内存缓冲区的部分溢出到文件缓冲区。
+     *
+     * <p>
+     * 调用该方法的线程应该持有临时存储的写锁，不应持有内存分配锁。
+     *
+     * @param temporaryStorage 临时存储。
+     * @param b                内容所在的数组。
+     * @param off              内容在数组中的偏移。
+     * @param len              内容的长度。
+     * @param adopt            内容被完整地放入内存缓冲区时，是否接管内容所在的数组。
+     * @throws Exception 写入过程中发生的异常。
+     */
+    private void writeContent(
+            TemporaryStorage temporaryStorage, byte[] b, int off, int len, boolean adopt,
+            TemporaryStorageLatencyRecorder.Sample sample
+    ) throws Exception {
+        boolean memoryBufferPut;
+        sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
+        try {
+            temporaryStorage.prepareWrite(0, config.getMaxBufferSizePerStorage(), 0);
+            memoryBufferPut = temporaryStorage.putMemoryBuffer(b, off, len, adopt);
+        } finally {
+            memoryAllocationLock.unlock();
+        }
+        // 内存缓冲区无法容纳全部内容时，按照输出流的方式写入。
+        if (!memoryBufferPut) {
+            TemporaryStorageOutputStream out = new TemporaryStorageOutputStream(temporaryStorage);
+            try {
+                out.internalWrite(b, off, len, sample);
+            } finally {
+                out.finish(sample);
+            }
+            return;
+        }
+        // 计算校验和与内容的散列值，并完成写入。
+        TemporaryStorageChecksumCalculator checksumCalculator = TemporaryStorageChecksumCalculator.of(
+                config.getChecksumAlgorithm()
+        );
+        if (Objects.nonNull(checksumCalculator)) {
+            checksumCalculator.update(b, off, len);
+        }
+        TemporaryStorageChecksumCalculator contentHashCalculator = null;
+        if (config.isDeduplicationEnabled()) {
+            contentHashCalculator = TemporaryStorageChecksumCalculator.of(DEDUPLICATION_HASH_ALGORITHM);
+            contentHashCalculator.update(b, off, len);
+        }
+        completeWrite(temporaryStorage, checksumCalculator, contentHashCalculator, sample);
+    }
+
+    /**
+     * 从临时存储的内容的起始位置读取指定长度的内容。
+     *
+     * <p>
+     * 内容全部位于未压缩的内存缓冲区中时，直接从内存缓冲区复制，不创建输入流；否则，按照输入流的方式读取。<br>
+     * 读取的长度与内容的长度一致，且启用了校验和校验时，校验读取的内容。
+     *
+     * <p>
+     * 调用该方法的线程应该持有临时存储的读锁。
+     *
+     * @param temporaryStorage 临时存储。
+     * @param b                目标数组。
+     * @param off              目标数组的偏移。
+     * @param len              读取的长度，不应大于内容的长度。
+     * @throws IOException IO 异常。
+     */
+    private void readContent(TemporaryStorage temporaryStorage, byte[] b, int off, int len) throws IOException {
+        long contentLength = temporaryStorage.memoryBufferActualLength + temporaryStorage.fileBufferActualLength;
+        boolean checksumVerificationRequired = config.isChecksumVerificationEnabled() &&
+                Objects.nonNull(temporaryStorage.checksum) && len == contentLength;
+        if (!temporaryStorage.fileBufferUsed && !temporaryStorage.memoryBufferCompressed) {
+            System.arraycopy(temporaryStorage.memoryBuffer, 0, b, off, len);
+            if (checksumVerificationRequired) {
+                TemporaryStorageChecksumCalculator checksumCalculator = TemporaryStorageChecksumCalculator.of(
+                        temporaryStorage.checksumAlgorithm
+                );
+                checksumCalculator.update(b, off, len);
+                makeSureChecksumMatched(temporaryStorage, checksumCalculator.finish());
+            }
+            return;
+        }
+        TemporaryStorageInputStream in = new TemporaryStorageInputStream(temporaryStorage);
+        try {
+            int totalLength = 0;
+            while (totalLength < len) {
+                int readLength = in.read(b, off + totalLength, len - totalLength);
+                if (readLength < 0) {
+                    throw new EOFException("临时存储的内容长度小于预期长度");
+                }
+                totalLength += readLength;
+            }
+            // 输入流在读取到末尾时校验校验和。
+            if (checksumVerificationRequired) {
+                //noinspection ResultOfMethodCallIgnored
+                in.read();
+            }
+        } finally {
+            in.release();
+        }
+    }
+
+    private void disposeAndRemoveQuietly(String key) {
+        try {
+            disposeAndRemove(key);
+        } catch (Exception e) {
+            LOGGER.warn("释放并移除临时存储 {} 时发生异常, 异常信息如下: ", key, e);
+        }
+    }
+
+    /**
+     * 完成临时存储的写入。
+     *
+     * <p>
+     * 该方法释放内存缓冲区中未使用的部分，记录校验和，并根据配置压缩内存缓冲区，以及对临时存储的内容进行去重。
+     *
+     * <p>
+     * 调用该方法的线程应该持有临时存储的写锁，不应持有内存分配锁。
+     *
+     * @param temporaryStorage      临时存储。
+     * @param checksumCalculator    写入的内容的校验和计算器，为 <code>null</code> 时不记录校验和。
+     * @param contentHashCalculator 写入的内容的散列值计算器，为 <code>null</code> 时不进行去重。
+     * @param sample                所属操作的延迟采样，用于记录等待锁的时间。
+     * @throws IOException IO 异常。
+     */
+    private void completeWrite(
+            TemporaryStorage temporaryStorage, @Nullable TemporaryStorageChecksumCalculator checksumCalculator,
+            @Nullable TemporaryStorageChecksumCalculator contentHashCalculator,
+            TemporaryStorageLatencyRecorder.Sample sample
+    ) throws IOException {
+        // 记录写入指标。
+        metrics.recordWrite(
+                temporaryStorage.memoryBufferActualLength,
+                temporaryStorage.fileBufferUsed ? temporaryStorage.fileBufferActualLength : 0
+        );
+        // 释放内存缓冲区，并根据情况记录临时存储的最终内容长度。
+        sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
+        try {
+            temporaryStorage.deallocateMemoryBuffer();
+            if (config.isAdaptiveBufferSizingEnabled()) {
+                sizeHistogram.record(
+                        temporaryStorage.memoryBufferActualLength + temporaryStorage.fileBufferActualLength
+                );
+            }
+        } catch (Exception e) {
+            LOGGER.debug("释放内存缓冲区时发生异常, 将抛出异常...");
+            throw new IOException("释放内存缓冲区时发生异常", e);
+        } finally {
+            memoryAllocationLock.unlock();
+        }
+
+        // 记录校验和。
+        if (Objects.nonNull(checksumCalculator)) {
+            temporaryStorage.checksumAlgorithm = config.getChecksumAlgorithm();
+            temporaryStorage.checksum = checksumCalculator.finish();
+        }
+
+        // 根据情况压缩内存缓冲区，压缩失败时保留原始内容，不影响写入的结果。
+        if (config.isMemoryCompressionEnabled()) {
+            try {
+                temporaryStorage.compressMemoryBuffer();
+            } catch (Exception e) {
+                LOGGER.warn("压缩内存缓冲区时发生异常, 将保留原始内容, 异常信息如下: ", e);
+            }
+        }
+
+        // 根据情况对临时存储的内容进行去重，去重失败时保留原始内容，不影响写入的结果。
+        if (Objects.nonNull(contentHashCalculator)) {
+            sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
+            try {
+                temporaryStorage.deduplicate(contentHashCalculator.finish());
+            } catch (Exception e) {
+                LOGGER.warn("对临时存储的内容进行去重时发生异常, 将保留原始内容, 异常信息如下: ", e);
+            } finally {
+                memoryAllocationLock.unlock();
+            }
+        }
+    }
+
+    private void makeSureChecksumMatched(TemporaryStorage temporaryStorage, String actualChecksum)
+            throws IOException {
+        if (!Objects.equals(temporaryStorage.checksum, actualChecksum)) {
+            throw new IOException(
+                    "临时存储 " + temporaryStorage.key + " 的校验和不一致, 期望值: " + temporaryStorage.checksum +
+                            ", 实际值: " + actualChecksum
+            );
+        }
+    }
+
+    /**
+     * 获取过期检查所使用的当前时间。
+     *
+     * <p>
+     * 该时间基于 {@link System#nanoTime()}，不受系统时间调整的影响，只能用于计算时间间隔。
+     *
+     * @return 当前时间，单位为毫秒。
+     */
+    private static long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        // 两个正数相加溢出时，结果为负数。
+        return result < a ? Long.MAX_VALUE : result;
+    }
+
     private void makeSureHandlerStart() throws HandlerException {
         if (!startedFlag) {
             throw new TemporaryStorageHandlerStoppedException();
         }
     }
 
+    private void makeSureFileQuotaAdmitsCreate() throws HandlerException {
+        boolean rejectCreate = Objects.equals(
+                config.getFileQuotaExceededPolicy(), Constants.FILE_QUOTA_EXCEEDED_POLICY_REJECT_CREATE
+        );
+        if (rejectCreate && fileQuota.isExceeded()) {
+            throw new TemporaryStorageFileQuotaExceededException(fileQuota.getSize(), fileQuota.getMaxSize());
+        }
+    }
+
     private void makeSureTemporaryStorageExists(String key) throws HandlerException {
         if (!storageMap.containsKey(key)) {
             throw new TemporaryStorageNotExistsException(key);
@@ -544,6 +1952,35 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         }
     }
 
+    /**
+     * 删除指定的临时文件。
+     *
+     * <p>
+     * 启用临时文件子目录时，删除临时文件之后，逐层清理已经变为空的子目录。
+     *
+     * @param file 指定的临时文件。
+     */
+    private void deleteTemporaryFile(File file) {
+        if (!file.delete()) {
+            LOGGER.warn("删除临时文件失败: {}", file.getAbsolutePath());
+            return;
+        }
+        // 非空的目录无法被删除，因此遇到第一个无法删除的子目录时即可停止。
+        File directory = file.getParentFile();
+        for (int i = 0; i < config.getTemporaryFileFanOutLevels(); i++) {
+            if (!directory.delete()) {
+                return;
+            }
+            directory = directory.getParentFile();
+        }
+    }
+
+    private void deleteTemporaryFiles(List<File> files) {
+        for (File file : files) {
+            deleteTemporaryFile(file);
+        }
+    }
+
     private class TemporaryStorage {
 
         public final String key;
@@ -551,25 +1988,125 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         public final ReadWriteLock storageLock = new ReentrantReadWriteLock();
 
         public byte[] memoryBuffer;
+        // 文件缓冲区在首次溢出时才创建，在此之前为 null。
         public File fileBuffer;
+        public String fileBufferName;
 
         public int memoryBufferActualLength = 0;
+        public int memoryBufferLimit = config.getMaxBufferSizePerStorage();
+        public boolean memoryBufferCompressed = false;
+        public int[] memoryBufferBlockOffsets = null;
         public long fileBufferActualLength = 0;
+        public long fileBufferPhysicalLength = 0;
+        public int fileBufferDirectoryIndex = 0;
+        public TemporaryStorageArena.Allocation arenaAllocation = null;
         public boolean fileBufferUsed = false;
+        public String checksumAlgorithm = null;
+        public String checksum = null;
+        public SharedContent sharedContent = null;
         public int status = Constants.TEMPORARY_STORAGE_STATUS_WORKING;
 
+        // 访问时间在持有临时存储的读锁时也会被更新，因此需要保证可见性。
+        public volatile long lastAccessTime = currentTimeMillis();
+        // 以下字段由过期锁保护。
+        public long idleTimeout = 0;
+        public long absoluteDeadline = Long.MAX_VALUE;
+        public TemporaryStorageTimingWheel.Timeout<TemporaryStorage> expirationTimeout = null;
+
         public TemporaryStorage(String key) {
             this.key = key;
             init();
+            metrics.recordCreated();
+            TemporaryStorageEvents.storageCreated(key);
         }
 
         private void init() {
             memoryBuffer = new byte[0];
-            fileBuffer = new File(
-                    config.getTemporaryFileDirectoryPath(),
-                    config.getTemporaryFilePrefix() + key + config.getTemporaryFileSuffix()
-            );
-            fileBuffer.deleteOnExit();
+            fileBufferName = config.getTemporaryFilePrefix() + key + config.getTemporaryFileSuffix();
+        }
+
+        /**
+         * 创建新的文件缓冲区。
+         *
+         * <p>
+         * 文件缓冲区所在的目录由目录选择器按照放置策略选择，之后对文件缓冲区的读取与删除都通过返回的文件进行，
+         * 因此始终跟随文件缓冲区所在的目录。
+         *
+         * <p>
+         * 该方法在临时存储首次溢出时调用，调用该方法的线程应该持有临时存储的写锁，而不必持有处理器锁。
+         *
+         * @param fileName 文件缓冲区的文件名。
+         * @return 新的文件缓冲区。
+         */
+        public File newFileBuffer(String fileName) {
+            fileBufferDirectoryIndex = directorySelector.select();
+            File directory = directorySelector.getDirectory(fileBufferDirectoryIndex);
+            // 按照键的散列值确定文件缓冲区所在的子目录，子目录在打开文件缓冲区输出流时按需创建。
+            int fanOutLevels = config.getTemporaryFileFanOutLevels();
+            if (fanOutLevels > 0) {
+                int hash = key.hashCode() * 0x9E3779B9;
+                hash ^= hash >>> 16;
+                for (int i = 0; i < fanOutLevels; i++) {
+                    directory = new File(directory, FAN_OUT_DIRECTORY_NAMES[(hash >>> (i * 8)) & 0xFF]);
+                }
+            }
+            File file = new File(directory, fileName);
+            file.deleteOnExit();
+            return file;
+        }
+
+        /**
+         * 归还文件缓冲区的物理长度所占用的目录用量与文件配额，并将物理长度置零。
+         */
+        private void releaseFileBufferPhysicalLength() {
+            directorySelector.recordUsage(fileBufferDirectoryIndex, -fileBufferPhysicalLength);
+            fileQuota.release(fileBufferPhysicalLength);
+            fileBufferPhysicalLength = 0;
+        }
+
+        /**
+         * 如果文件缓冲区位于 Arena 文件中，则将其占用的区段归还给 Arena。
+         */
+        private void mayFreeArenaAllocation() {
+            if (Objects.isNull(arenaAllocation)) {
+                return;
+            }
+            arena.free(arenaAllocation);
+            arenaAllocation = null;
+        }
+
+        /**
+         * 回收文件缓冲区。
+         *
+         * <p>
+         * 启用临时文件复用池时，文件缓冲区被截断后放入复用池中，以便之后溢出的临时存储复用；
+         * 复用池已满、未启用或截断失败时，文件缓冲区被直接删除。
+         *
+         * <p>
+         * 文件缓冲区的物理长度在回收之前已经归还给文件配额与目录用量，
+         * 因此放入复用池的文件必须是空文件，否则其占用的磁盘空间不会被任何统计计入。
+         */
+        private void recycleFileBuffer() {
+            if (filePool.isEnabled() && truncateFileBuffer() && filePool.offer(fileBufferDirectoryIndex, fileBuffer)) {
+                deleteTemporaryFiles(filePool.purgeExpired());
+                return;
+            }
+            deleteTemporaryFile(fileBuffer);
+        }
+
+        /**
+         * 将文件缓冲区截断为空文件。
+         *
+         * @return 是否截断成功。
+         */
+        private boolean truncateFileBuffer() {
+            try (FileChannel channel = FileChannel.open(fileBuffer.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+                return true;
+            } catch (IOException e) {
+                LOGGER.warn("截断临时文件失败: " + fileBuffer.getAbsolutePath() + ", 异常信息如下: ", e);
+                return false;
+            }
         }
 
         /**
@@ -592,20 +2129,126 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
          * <p>
          * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的写锁，以及内存分配锁。
          *
-         * @param expectedLength 向输出流写入的字节数的预期长度。
+         * @param expectedLength    向输出流写入的字节数的预期长度。
+         * @param memoryBufferLimit 内存缓冲区的上限，不应大于单个存储的最大缓冲区大小。
+         * @param memoryWaitTimeout 内存缓冲区不足时等待的超时时间，小于等于 0 表示不等待。
          * @return 输出流。
+         * @throws InterruptedException 等待内存缓冲区时线程被中断。
          */
-        public OutputStream openOutputStream(long expectedLength) {
+        public OutputStream openOutputStream(long expectedLength, int memoryBufferLimit, long memoryWaitTimeout)
+                throws InterruptedException {
+            prepareWrite(expectedLength, memoryBufferLimit, memoryWaitTimeout);
+            return new TemporaryStorageOutputStream(this);
+        }
+
+        /**
+         * 为写入新的内容做准备。
+         *
+         * <p>
+         * 该方法清除临时存储中原有的内容，并按照预期长度分配新的内存缓冲区。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的写锁，以及内存分配锁。
+         *
+         * @param expectedLength    将要写入的字节数的预期长度。
+         * @param memoryBufferLimit 内存缓冲区的上限，不应大于单个存储的最大缓冲区大小。
+         * @param memoryWaitTimeout 内存缓冲区不足时等待的超时时间，小于等于 0 表示不等待。
+         * @throws InterruptedException 等待内存缓冲区时线程被中断。
+         */
+        public void prepareWrite(long expectedLength, int memoryBufferLimit, long memoryWaitTimeout)
+                throws InterruptedException {
             // 确认状态为工作中。
             makeSureStatusWorking();
+            // 解除对共享内容的引用。
+            releaseSharedContent();
+            // 使读缓存中的旧内容失效。
+            readCache.invalidate(key);
             // 释放旧的内存缓冲区。
             memoryBufferActualLength = 0;
+            memoryBufferCompressed = false;
+            memoryBufferBlockOffsets = null;
+            // 新的内容不一定会溢出到文件缓冲区，因此需要复位 fileBufferUsed 标志，避免读取到旧的文件缓冲区。
+            fileBufferUsed = false;
             fileBufferActualLength = 0;
+            releaseFileBufferPhysicalLength();
+            mayFreeArenaAllocation();
+            // 旧的文件缓冲区占用的空间已经归还，截断文件缓冲区，使其不再占用未被计入的磁盘空间。
+            if (Objects.nonNull(fileBuffer) && fileBuffer.exists()) {
+                truncateFileBuffer();
+            }
+            checksumAlgorithm = null;
+            checksum = null;
             deallocateMemoryBuffer();
             // 分配新的内存缓冲区。
+            this.memoryBufferLimit = memoryBufferLimit;
             expectedLength = Math.min(expectedLength, Integer.MAX_VALUE);
+            // 按照需要的内存缓冲区大小等待，超时后按照内存缓冲区的剩余大小尽可能地分配。
+            if (memoryWaitTimeout > 0) {
+                awaitMemory(Math.min(expectedLength, memoryBufferLimit), memoryWaitTimeout);
+            }
             allocateMemoryBuffer((int) expectedLength);
-            return new TemporaryStorageOutputStream(this);
+        }
+
+        /**
+         * 将指定的内容完整地放入内存缓冲区。
+         *
+         * <p>
+         * 仅当内存缓冲区的上限与处理器剩余的内存缓冲区大小都能够容纳全部内容时，内容才会被放入内存缓冲区，
+         * 内存缓冲区的大小与内容的长度完全一致。<br>
+         * 如果 <code>adopt</code> 为 <code>true</code>，且内容恰好是整个数组，则直接使用该数组作为内存缓冲区，不复制内容。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的写锁，以及内存分配锁，
+         * 并且应该在调用该方法之前以 0 为预期长度调用 {@link #prepareWrite(long, int, long)} 方法。
+         *
+         * @param b     内容所在的数组。
+         * @param off   内容在数组中的偏移。
+         * @param len   内容的长度。
+         * @param adopt 是否接管内容所在的数组。
+         * @return 内容是否被放入内存缓冲区。
+         */
+        public boolean putMemoryBuffer(byte[] b, int off, int len, boolean adopt) {
+            // 确认状态为工作中。
+            makeSureStatusWorking();
+            // 内存缓冲区无法容纳全部内容时，不放入内存缓冲区。
+            if (len > memoryBufferLimit) {
+                return false;
+            }
+            if (memoryBudget - totalAllocatedMemoryBufferSize < len) {
+                metrics.recordMemoryAllocationDenied();
+                TemporaryStorageEvents.memoryAllocated(key, len, 0, totalAllocatedMemoryBufferSize);
+                return false;
+            }
+            totalAllocatedMemoryBufferSize += len - memoryBuffer.length;
+            TemporaryStorageEvents.memoryAllocated(key, len, len, totalAllocatedMemoryBufferSize);
+            if (adopt && off == 0 && len == b.length) {
+                memoryBuffer = b;
+            } else {
+                memoryBuffer = Arrays.copyOfRange(b, off, off + len);
+            }
+            memoryBufferActualLength = len;
+            LOGGER.debug(
+                    "putMemoryBuffer, key: {}, length: {}, adopted: {}, totalAllocatedMemoryBufferSize: {}",
+                    key, len, memoryBuffer == b, totalAllocatedMemoryBufferSize
+            );
+            return true;
+        }
+
+        /**
+         * 生成临时存储的信息。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的读锁，以及内存分配锁。
+         *
+         * @return 临时存储的信息。
+         */
+        public TemporaryStorageInfo inspect() {
+            int contentReferenceCount = Objects.isNull(sharedContent) ? 1 : sharedContent.referenceCount;
+            return new TemporaryStorageInfo(
+                    key, memoryBuffer.length, memoryBufferActualLength, fileBufferUsed, fileBufferActualLength,
+                    status, memoryBufferActualLength + fileBufferActualLength, fileBufferPhysicalLength,
+                    memoryBufferCompressed, checksumAlgorithm, checksum, contentReferenceCount
+            );
         }
 
         /**
@@ -617,20 +2260,86 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         public void dispose() {
             // 确认状态为工作中。
             makeSureStatusWorking();
+            TemporaryStorageEvents.storageDisposed(key, memoryBufferActualLength + fileBufferActualLength);
+            // 解除对共享内容的引用。
+            releaseSharedContent();
+            // 使读缓存中的内容失效。
+            readCache.invalidate(key);
             // 释放内存缓冲区。
             memoryBufferActualLength = 0;
+            memoryBufferCompressed = false;
+            memoryBufferBlockOffsets = null;
             deallocateMemoryBuffer();
             // 删除文件缓冲区。
             fileBufferUsed = false;
             fileBufferActualLength = 0;
+            releaseFileBufferPhysicalLength();
+            mayFreeArenaAllocation();
+            checksumAlgorithm = null;
+            checksum = null;
             if (Objects.nonNull(fileBuffer) && fileBuffer.exists()) {
-                if (!fileBuffer.delete()) {
-                    LOGGER.warn("删除文件缓冲区失败: {}", fileBuffer.getAbsolutePath());
-                }
+                recycleFileBuffer();
                 fileBuffer = null;
             }
+            // 取消过期定时器。
+            expirationLock.lock();
+            try {
+                cancelExpiration();
+            } finally {
+                expirationLock.unlock();
+            }
             // 状态处理。
             status = Constants.TEMPORARY_STORAGE_STATUS_DISPOSED;
+            metrics.recordDisposed();
+        }
+
+        /**
+         * 记录一次访问。
+         */
+        public void touch() {
+            lastAccessTime = currentTimeMillis();
+        }
+
+        /**
+         * 计算临时存储的过期时间。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有过期锁。
+         *
+         * @return 临时存储的过期时间，如果临时存储不会过期，则返回 {@link Long#MAX_VALUE}。
+         */
+        public long expirationDeadline() {
+            if (idleTimeout <= 0) {
+                return absoluteDeadline;
+            }
+            return Math.min(absoluteDeadline, saturatedAdd(lastAccessTime, idleTimeout));
+        }
+
+        /**
+         * 过期定时器是否已经到期。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有过期锁。
+         *
+         * @return 过期定时器是否已经到期。
+         */
+        public boolean isExpirationTimeoutFired() {
+            return Objects.nonNull(expirationTimeout) && !expirationTimeout.isScheduled();
+        }
+
+        /**
+         * 取消过期定时器，并清除过期时间。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有过期锁。
+         */
+        public void cancelExpiration() {
+            if (Objects.nonNull(expirationTimeout)) {
+                expirationWheel.cancel(expirationTimeout);
+                expirationTimeout = null;
+            }
+            idleTimeout = 0;
+            absoluteDeadline = Long.MAX_VALUE;
         }
 
         /**
@@ -646,21 +2355,21 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
          */
         public void allocateMemoryBuffer(int expectedAllocateSize) {
             // 展开变量。
-            long maxBufferSizeTotal = config.getMaxBufferSizeTotal();
+            long maxBufferSizeTotal = memoryBudget;
             // 确认状态为工作中。
             makeSureStatusWorking();
             // 定义变量，用于记录实际分配的缓冲区大小。
             int allocatedSize = expectedAllocateSize;
-            //  memoryBuffer.length + allocatedSize 不得超过 maxBufferSizePerStorage。
-            allocatedSize = Math.min(
-                    config.getMaxBufferSizePerStorage() - memoryBuffer.length, allocatedSize
-            );
+            //  memoryBuffer.length + allocatedSize 不得超过 memoryBufferLimit。
+            allocatedSize = Math.min(memoryBufferLimit - memoryBuffer.length, allocatedSize);
+            int requestedSize = allocatedSize;
             // 如果 maxBufferSizeTotal - totalAllocatedMemoryBufferSize 小于 allocatedSize:
             // 记录日志，并调整 allocatedSize。
             if (maxBufferSizeTotal - totalAllocatedMemoryBufferSize < allocatedSize) {
                 String message = "无法为临时存储分配指定大小的缓冲区, 因为这会导致总的缓冲区大小超过最大限制, " +
                         "key: {}, totalAllocatedMemoryBufferSize: {}, allocatedSize: {}, maxBufferSizeTotal: {}";
                 LOGGER.debug(message, key, totalAllocatedMemoryBufferSize, allocatedSize, maxBufferSizeTotal);
+                metrics.recordMemoryAllocationDenied();
                 allocatedSize = (int) (maxBufferSizeTotal - totalAllocatedMemoryBufferSize);
                 LOGGER.debug("调整后的 allocatedSize: {}", allocatedSize);
             }
@@ -678,6 +2387,11 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
                     "allocateBufferSize, key: {}, allocatedSize: {}, totalAllocatedMemoryBufferSize: {}",
                     key, allocatedSize, totalAllocatedMemoryBufferSize
             );
+            if (requestedSize > 0) {
+                TemporaryStorageEvents.memoryAllocated(
+                        key, requestedSize, allocatedSize, totalAllocatedMemoryBufferSize
+                );
+            }
             // allocatedSize 为 0，意味着不需要改变原有的缓冲区，因此直接返回。
             if (allocatedSize == 0) {
                 return;
@@ -687,50 +2401,199 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
                 memoryBuffer = new byte[allocatedSize];
                 return;
             }
-            byte[] neoMemoryBuffer = new byte[memoryBuffer.length + allocatedSize];
-            System.arraycopy(memoryBuffer, 0, neoMemoryBuffer, 0, memoryBuffer.length);
-            memoryBuffer = neoMemoryBuffer;
+            byte[] neoMemoryBuffer = new byte[memoryBuffer.length + allocatedSize];
+            System.arraycopy(memoryBuffer, 0, neoMemoryBuffer, 0, memoryBuffer.length);
+            memoryBuffer = neoMemoryBuffer;
+        }
+
+        /**
+         * 释放内存缓冲区。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的写锁，以及内存分配锁。
+         */
+        public void deallocateMemoryBuffer() {
+            // 确认状态为工作中。
+            makeSureStatusWorking();
+            // 计算 deallocateSize。
+            int alreadyAllocatedBufferSize;
+            if (Objects.isNull(memoryBuffer)) {
+                alreadyAllocatedBufferSize = 0;
+            } else {
+                alreadyAllocatedBufferSize = memoryBuffer.length;
+            }
+            int deallocateSize = alreadyAllocatedBufferSize - memoryBufferActualLength;
+            // 确保 deallocateSize 不小于 0。
+            if (deallocateSize < 0) {
+                LOGGER.warn("deallocateSize 小于 0, 请联系开发人员, key: {}, deallocateSize: {}", key, deallocateSize);
+                deallocateSize = 0;
+            }
+            totalAllocatedMemoryBufferSize -= deallocateSize;
+            memoryReleasedCondition.signalAll();
+            LOGGER.debug(
+                    "deallocateBufferSize, key: {}, deallocateSize: {}, totalAllocatedMemoryBufferSize: {}",
+                    key, deallocateSize, totalAllocatedMemoryBufferSize
+            );
+            // deallocateSize 为 0，意味着不需要改变原有的缓冲区，因此直接返回。
+            if (deallocateSize == 0) {
+                return;
+            }
+            // 复制原有的缓冲区。
+            if (memoryBufferActualLength == 0) {
+                memoryBuffer = new byte[0];
+                return;
+            }
+            byte[] neoMemoryBuffer = new byte[memoryBufferActualLength];
+            System.arraycopy(memoryBuffer, 0, neoMemoryBuffer, 0, memoryBufferActualLength);
+            memoryBuffer = neoMemoryBuffer;
+        }
+
+        /**
+         * 压缩内存缓冲区。
+         *
+         * <p>
+         * 内存缓冲区中的内容被分块压缩，压缩后，总的缓冲区大小按照压缩后的长度计算。<br>
+         * 如果压缩后的长度不小于原始长度，则保留原始内容。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的写锁。<br>
+         * 压缩的过程耗时较长，因此该方法仅在替换内存缓冲区时获取内存分配锁，调用该方法的线程不应持有内存分配锁。
+         */
+        public void compressMemoryBuffer() {
+            // 确认状态为工作中。
+            makeSureStatusWorking();
+            // 内存缓冲区已经被压缩或没有内容时，不需要压缩。
+            if (memoryBufferCompressed || memoryBufferActualLength == 0) {
+                return;
+            }
+            TemporaryStorageMemoryCodec.CompressedContent compressedContent = memoryCodec.compress(
+                    memoryBuffer, memoryBufferActualLength
+            );
+            if (Objects.isNull(compressedContent)) {
+                LOGGER.debug("内存缓冲区压缩后的长度不小于原始长度, 保留原始内容, key: {}", key);
+                return;
+            }
+            memoryAllocationLock.lock();
+            try {
+                int releasedSize = memoryBuffer.length - compressedContent.getData().length;
+                totalAllocatedMemoryBufferSize -= releasedSize;
+                memoryReleasedCondition.signalAll();
+                LOGGER.debug(
+                        "compressMemoryBuffer, key: {}, releasedSize: {}, totalAllocatedMemoryBufferSize: {}",
+                        key, releasedSize, totalAllocatedMemoryBufferSize
+                );
+                memoryBuffer = compressedContent.getData();
+                memoryBufferBlockOffsets = compressedContent.getBlockOffsets();
+                memoryBufferCompressed = true;
+            } finally {
+                memoryAllocationLock.unlock();
+            }
         }
 
         /**
-         * 释放内存缓冲区。
+         * 对临时存储的内容进行去重。
+         *
+         * <p>
+         * 如果已有内容相同的共享内容，则释放自身的内存缓冲区与文件缓冲区，转而引用共享内容；
+         * 否则，将自身的内容登记为共享内容，供之后内容相同的临时存储引用。
          *
          * <p>
          * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的写锁，以及内存分配锁。
+         *
+         * @param contentHash 临时存储的内容的散列值。
          */
-        public void deallocateMemoryBuffer() {
+        public void deduplicate(String contentHash) {
             // 确认状态为工作中。
             makeSureStatusWorking();
-            // 计算 deallocateSize。
-            int alreadyAllocatedBufferSize;
-            if (Objects.isNull(memoryBuffer)) {
-                alreadyAllocatedBufferSize = 0;
-            } else {
-                alreadyAllocatedBufferSize = memoryBuffer.length;
+            // 没有内容时，不需要去重。
+            long contentLength = memoryBufferActualLength + fileBufferActualLength;
+            if (contentLength == 0) {
+                return;
             }
-            int deallocateSize = alreadyAllocatedBufferSize - memoryBufferActualLength;
-            // 确保 deallocateSize 不小于 0。
-            if (deallocateSize < 0) {
-                LOGGER.warn("deallocateSize 小于 0, 请联系开发人员, key: {}, deallocateSize: {}", key, deallocateSize);
-                deallocateSize = 0;
+            SharedContent matchedContent = sharedContentMap.get(contentHash);
+            // 没有内容相同的共享内容时，将自身的内容登记为共享内容。
+            if (Objects.isNull(matchedContent)) {
+                sharedContent = new SharedContent(contentHash, contentLength, this);
+                sharedContentMap.put(contentHash, sharedContent);
+                return;
             }
-            totalAllocatedMemoryBufferSize -= deallocateSize;
+            // 散列值相同但长度不同，说明发生了散列冲突，放弃去重。
+            if (matchedContent.contentLength != contentLength) {
+                LOGGER.warn("内容散列值冲突, 放弃去重, key: {}, contentHash: {}", key, contentHash);
+                return;
+            }
+            // 释放自身的内存缓冲区与文件缓冲区。
+            totalAllocatedMemoryBufferSize -= memoryBuffer.length;
+            memoryReleasedCondition.signalAll();
+            // 该临时存储之后仍可能使用自身的文件名创建文件缓冲区，因此不能将文件缓冲区放入复用池，以免文件名冲突。
+            if (fileBufferUsed && fileBuffer.exists()) {
+                deleteTemporaryFile(fileBuffer);
+            }
+            mayFreeArenaAllocation();
+            releaseFileBufferPhysicalLength();
+            // 引用共享内容。
+            memoryBuffer = matchedContent.memoryBuffer;
+            memoryBufferActualLength = matchedContent.memoryBufferActualLength;
+            memoryBufferCompressed = matchedContent.memoryBufferCompressed;
+            memoryBufferBlockOffsets = matchedContent.memoryBufferBlockOffsets;
+            fileBuffer = matchedContent.fileBuffer;
+            fileBufferDirectoryIndex = matchedContent.fileBufferDirectoryIndex;
+            arenaAllocation = matchedContent.arenaAllocation;
+            fileBufferUsed = matchedContent.fileBufferUsed;
+            fileBufferActualLength = matchedContent.fileBufferActualLength;
+            fileBufferPhysicalLength = matchedContent.fileBufferPhysicalLength;
+            matchedContent.referenceCount++;
+            sharedContent = matchedContent;
+            metrics.recordDeduplicationHit(contentLength);
             LOGGER.debug(
-                    "deallocateBufferSize, key: {}, deallocateSize: {}, totalAllocatedMemoryBufferSize: {}",
-                    key, deallocateSize, totalAllocatedMemoryBufferSize
+                    "deduplicate, key: {}, contentHash: {}, referenceCount: {}",
+                    key, contentHash, matchedContent.referenceCount
             );
-            // deallocateSize 为 0，意味着不需要改变原有的缓冲区，因此直接返回。
-            if (deallocateSize == 0) {
+        }
+
+        /**
+         * 解除对共享内容的引用。
+         *
+         * <p>
+         * 如果该临时存储是共享内容的最后一个引用者，则共享内容被注销，内存缓冲区与文件缓冲区归该临时存储所有，
+         * 由调用者按照正常的流程释放；否则，该临时存储放弃对内存缓冲区与文件缓冲区的引用，而不释放它们。
+         *
+         * <p>
+         * 该方法本身没有线程安全性，调用该方法的线程应该持有临时存储的写锁，以及内存分配锁。
+         */
+        private void releaseSharedContent() {
+            if (Objects.isNull(sharedContent)) {
                 return;
             }
-            // 复制原有的缓冲区。
-            if (memoryBufferActualLength == 0) {
-                memoryBuffer = new byte[0];
+            SharedContent releasedContent = sharedContent;
+            sharedContent = null;
+            if (releasedContent.referenceCount > 1) {
+                metrics.recordDeduplicationReleased(releasedContent.contentLength);
+            }
+            releasedContent.referenceCount--;
+            // 最后一个引用者，注销共享内容。
+            if (releasedContent.referenceCount == 0) {
+                sharedContentMap.remove(releasedContent.contentHash, releasedContent);
                 return;
             }
-            byte[] neoMemoryBuffer = new byte[memoryBufferActualLength];
-            System.arraycopy(memoryBuffer, 0, neoMemoryBuffer, 0, memoryBufferActualLength);
-            memoryBuffer = neoMemoryBuffer;
+            // 仍有其它引用者，放弃对内存缓冲区与文件缓冲区的引用。
+            memoryBuffer = new byte[0];
+            memoryBufferActualLength = 0;
+            memoryBufferCompressed = false;
+            memoryBufferBlockOffsets = null;
+            fileBufferUsed = false;
+            fileBufferActualLength = 0;
+            fileBufferPhysicalLength = 0;
+            arenaAllocation = null;
+            // 共享的文件缓冲区可能使用了该临时存储的文件名，此时需要为该临时存储换用新的文件名。
+            String fileName = config.getTemporaryFilePrefix() + key + config.getTemporaryFileSuffix();
+            if (Objects.nonNull(releasedContent.fileBuffer) &&
+                    Objects.equals(fileName, releasedContent.fileBuffer.getName())) {
+                fileName = config.getTemporaryFilePrefix() + key + "-" + UUID.randomUUID() +
+                        config.getTemporaryFileSuffix();
+            }
+            fileBuffer = null;
+            fileBufferName = fileName;
         }
 
         private void makeSureStatusWorking() {
@@ -749,10 +2612,17 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         private boolean closed = false;
 
         private int memoryBufferAnchorIndex = 0;
+        private TemporaryStorageMemoryCodec.BlockWindow memoryBufferWindow;
+        private long fileBufferAnchorIndex = 0;
         private InputStream fileBufferInputStream;
+        private TemporaryStorageChecksumCalculator checksumCalculator;
 
         public TemporaryStorageInputStream(TemporaryStorage temporaryStorage) {
             this.temporaryStorage = temporaryStorage;
+            // 如果启用了校验和校验，且临时存储记录了校验和，则在读取的同时计算校验和。
+            if (config.isChecksumVerificationEnabled() && Objects.nonNull(temporaryStorage.checksum)) {
+                this.checksumCalculator = TemporaryStorageChecksumCalculator.of(temporaryStorage.checksumAlgorithm);
+            }
         }
 
         @Override
@@ -762,8 +2632,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             if (memoryBufferAnchorIndex >= temporaryStorage.memoryBufferActualLength) {
                 // 如果 fileBuffer 已经被使用，则直接返回 fileBufferInputStream 的 available 方法的返回值。
                 if (temporaryStorage.fileBufferUsed) {
-                    mayOpenFileBufferInputStream();
-                    return fileBufferInputStream.available();
+                    return fileBufferAvailable();
                 }
                 // 否则，返回 0。
                 return 0;
@@ -773,8 +2642,9 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             int memoryBufferRemainingLength = temporaryStorage.memoryBufferActualLength - memoryBufferAnchorIndex;
             // 如果 fileBuffer 已经被使用，则返回 fileBuffer 的可用长度 + temporaryStorage.memoryBuffer 的剩余长度。
             if (temporaryStorage.fileBufferUsed) {
-                mayOpenFileBufferInputStream();
-                return fileBufferInputStream.available() + memoryBufferRemainingLength;
+                return (int) Math.min(
+                        (long) fileBufferAvailable() + memoryBufferRemainingLength, Integer.MAX_VALUE
+                );
             }
             // 如果 fileBuffer 没有被使用，则返回 temporaryStorage.memoryBuffer 的剩余长度。
             return memoryBufferRemainingLength;
@@ -783,13 +2653,17 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         @Override
         public int read(@Nonnull byte[] b, int off, int len) throws IOException {
             makeSureOpen("流已经关闭");
-            return internalRead(b, off, len);
+            int readLength = internalRead(b, off, len);
+            mayUpdateChecksum(b, off, readLength);
+            return readLength;
         }
 
         @Override
         public int read(@Nonnull byte[] b) throws IOException {
             makeSureOpen("流已经关闭");
-            return internalRead(b, 0, b.length);
+            int readLength = internalRead(b, 0, b.length);
+            mayUpdateChecksum(b, 0, readLength);
+            return readLength;
         }
 
         private int internalRead(byte[] b, int i, int len) throws IOException {
@@ -797,8 +2671,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             if (memoryBufferAnchorIndex >= temporaryStorage.memoryBufferActualLength) {
                 // 如果 fileBuffer 已经被使用，则直接从 fileBuffer 读取。
                 if (temporaryStorage.fileBufferUsed) {
-                    mayOpenFileBufferInputStream();
-                    return fileBufferInputStream.read(b, i, len);
+                    return readFileBuffer(b, i, len);
                 }
                 // 否则，读取结束。
                 return -1;
@@ -808,7 +2681,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             int memoryBufferRemainingLength = temporaryStorage.memoryBufferActualLength - memoryBufferAnchorIndex;
             // 如果剩余数据长度大于等于 len，则直接从 temporaryStorage.memoryBuffer 读取。
             if (memoryBufferRemainingLength >= len) {
-                System.arraycopy(temporaryStorage.memoryBuffer, memoryBufferAnchorIndex, b, i, len);
+                copyFromMemoryBuffer(b, i, len);
                 memoryBufferAnchorIndex += len;
                 return len;
             }
@@ -816,19 +2689,14 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             // 如果 fileBuffer 已经被使用：
             if (temporaryStorage.fileBufferUsed) {
                 // 将 temporaryStorage.memoryBuffer 中的数据读取完毕，之后再从 fileBuffer 读取剩余部分。
-                System.arraycopy(
-                        temporaryStorage.memoryBuffer, memoryBufferAnchorIndex, b, i, memoryBufferRemainingLength
-                );
+                copyFromMemoryBuffer(b, i, memoryBufferRemainingLength);
                 memoryBufferAnchorIndex = temporaryStorage.memoryBufferActualLength;
-                mayOpenFileBufferInputStream();
-                return memoryBufferRemainingLength + fileBufferInputStream.read(
+                return memoryBufferRemainingLength + readFileBuffer(
                         b, i + memoryBufferRemainingLength, len - memoryBufferRemainingLength
                 );
             }
             // 如果 fileBuffer 没有被使用，则直接从 temporaryStorage.memoryBuffer 读取剩余部分，返回真实的读取长度。
-            System.arraycopy(
-                    temporaryStorage.memoryBuffer, memoryBufferAnchorIndex, b, i, memoryBufferRemainingLength
-            );
+            copyFromMemoryBuffer(b, i, memoryBufferRemainingLength);
             memoryBufferAnchorIndex = temporaryStorage.memoryBufferActualLength;
             return memoryBufferRemainingLength;
         }
@@ -836,29 +2704,37 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         @Override
         public int read() throws IOException {
             makeSureOpen("流已经关闭");
+            int result = internalRead();
+            mayUpdateChecksum(result);
+            return result;
+        }
+
+        private int internalRead() throws IOException {
             // 如果 temporaryStorage.memoryBuffer 中没有数据了：
             if (memoryBufferAnchorIndex >= temporaryStorage.memoryBufferActualLength) {
                 // 如果 fileBuffer 已经被使用，则直接从 fileBuffer 读取。
                 if (temporaryStorage.fileBufferUsed) {
-                    mayOpenFileBufferInputStream();
-                    return fileBufferInputStream.read();
+                    return readFileBuffer();
                 }
                 // 否则，读取结束。
                 return -1;
             }
             // 如果 temporaryStorage.memoryBuffer 中还有数据：
-            return temporaryStorage.memoryBuffer[memoryBufferAnchorIndex++] & 0xFF;
+            int result = readMemoryBuffer() & 0xFF;
+            memoryBufferAnchorIndex++;
+            return result;
         }
 
         @Override
         public long skip(long n) throws IOException {
             makeSureOpen("流已经关闭");
+            // 被跳过的内容不参与校验和的计算，因此跳过后无法再校验校验和。
+            checksumCalculator = null;
             // 如果 temporaryStorage.memoryBuffer 中没有数据了：
             if (memoryBufferAnchorIndex >= temporaryStorage.memoryBufferActualLength) {
                 // 如果 fileBuffer 已经被使用，则直接从 fileBuffer 跳过。
                 if (temporaryStorage.fileBufferUsed) {
-                    mayOpenFileBufferInputStream();
-                    return fileBufferInputStream.skip(n);
+                    return skipFileBuffer(n);
                 }
                 // 否则，跳过结束。
                 return 0;
@@ -876,8 +2752,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             if (temporaryStorage.fileBufferUsed) {
                 // 将 temporaryStorage.memoryBuffer 中的数据跳过完毕，之后再从 fileBuffer 跳过剩余部分。
                 memoryBufferAnchorIndex = temporaryStorage.memoryBufferActualLength;
-                mayOpenFileBufferInputStream();
-                return memoryBufferRemainingLength + fileBufferInputStream.skip(n - memoryBufferRemainingLength);
+                return memoryBufferRemainingLength + skipFileBuffer(n - memoryBufferRemainingLength);
             }
             // 如果 fileBuffer 没有被使用，则直接从 temporaryStorage.memoryBuffer 跳过剩余部分，返回真实的跳过长度。
             memoryBufferAnchorIndex = temporaryStorage.memoryBufferActualLength;
@@ -887,20 +2762,46 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         @Override
         public void close() throws IOException {
             makeSureOpen("不能多次关闭流");
+            long traceBeginNanos = workloadTracer.begin();
+            TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_CLOSE);
+            try {
+                release();
+            } finally {
+                // 状态处理。
+                closed = true;
+                temporaryStorage.touch();
+                metrics.recordInputStreamClosed();
+                temporaryStorage.storageLock.readLock().unlock();
+                sample.finish();
+            }
+            workloadTracer.record(
+                    Constants.WORKLOAD_TRACE_OPERATION_CLOSE_INPUT, temporaryStorage.key,
+                    memoryBufferAnchorIndex + fileBufferAnchorIndex, traceBeginNanos
+            );
+        }
 
+        /**
+         * 释放输入流占用的资源。
+         *
+         * <p>
+         * 该方法关闭文件缓冲区输入流，并释放内存缓冲区的解压窗口，但不释放临时存储的读锁。
+         *
+         * @throws IOException IO 异常。
+         */
+        public void release() throws IOException {
             // 根据情况关闭文件缓冲区输入流。
             try {
                 mayCloseFileBufferInputStream();
             } catch (Exception e) {
                 LOGGER.debug("关闭文件缓冲区输入流时发生异常, 将抛出异常...");
-                closed = true;
-                temporaryStorage.storageLock.readLock().unlock();
                 throw new IOException("关闭文件缓冲区输入流时发生异常", e);
             }
 
-            // 状态处理。
-            closed = true;
-            temporaryStorage.storageLock.readLock().unlock();
+            // 释放内存缓冲区的解压窗口。
+            if (Objects.nonNull(memoryBufferWindow)) {
+                memoryBufferWindow.close();
+                memoryBufferWindow = null;
+            }
         }
 
         private void makeSureOpen(String exceptionMessage) throws IllegalStateException {
@@ -909,15 +2810,183 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             }
         }
 
+        private void mayUpdateChecksum(byte[] b, int off, int readLength) throws IOException {
+            if (Objects.isNull(checksumCalculator)) {
+                return;
+            }
+            if (readLength > 0) {
+                checksumCalculator.update(b, off, readLength);
+            } else if (readLength < 0) {
+                verifyChecksum();
+            }
+        }
+
+        private void mayUpdateChecksum(int result) throws IOException {
+            if (Objects.isNull(checksumCalculator)) {
+                return;
+            }
+            if (result >= 0) {
+                checksumCalculator.update(result);
+            } else {
+                verifyChecksum();
+            }
+        }
+
+        /**
+         * 校验校验和。
+         *
+         * <p>
+         * 该方法在读取到流的末尾时调用，每个输入流最多校验一次。
+         *
+         * @throws IOException 校验和不一致时抛出的异常。
+         */
+        private void verifyChecksum() throws IOException {
+            String actualChecksum = checksumCalculator.finish();
+            checksumCalculator = null;
+            makeSureChecksumMatched(temporaryStorage, actualChecksum);
+        }
+
+        /**
+         * 从内存缓冲区的当前位置复制指定长度的内容。
+         *
+         * <p>
+         * 该方法不会移动内存缓冲区的当前位置，调用者应该自行移动。<br>
+         * 如果内存缓冲区被压缩，则按块解压所需的内容。
+         *
+         * @param b   目标数组。
+         * @param off 目标数组的偏移。
+         * @param len 复制的长度。
+         */
+        private void copyFromMemoryBuffer(byte[] b, int off, int len) {
+            if (!temporaryStorage.memoryBufferCompressed) {
+                System.arraycopy(temporaryStorage.memoryBuffer, memoryBufferAnchorIndex, b, off, len);
+                return;
+            }
+            int blockSize = memoryCodec.getBlockSize();
+            int position = memoryBufferAnchorIndex;
+            while (len > 0) {
+                byte[] block = loadMemoryBufferBlock(position);
+                int blockOffset = position % blockSize;
+                int blockLength = Math.min(
+                        blockSize, temporaryStorage.memoryBufferActualLength - (position - blockOffset)
+                );
+                int copyLength = Math.min(len, blockLength - blockOffset);
+                System.arraycopy(block, blockOffset, b, off, copyLength);
+                position += copyLength;
+                off += copyLength;
+                len -= copyLength;
+            }
+        }
+
+        private byte readMemoryBuffer() {
+            if (!temporaryStorage.memoryBufferCompressed) {
+                return temporaryStorage.memoryBuffer[memoryBufferAnchorIndex];
+            }
+            byte[] block = loadMemoryBufferBlock(memoryBufferAnchorIndex);
+            return block[memoryBufferAnchorIndex % memoryCodec.getBlockSize()];
+        }
+
+        private byte[] loadMemoryBufferBlock(int position) {
+            if (Objects.isNull(memoryBufferWindow)) {
+                memoryBufferWindow = memoryCodec.openWindow(temporaryStorage.memoryBufferActualLength);
+            }
+            return memoryBufferWindow.load(
+                    temporaryStorage.memoryBuffer, temporaryStorage.memoryBufferBlockOffsets, position
+            );
+        }
+
+        /**
+         * 获取文件缓冲区中剩余的可读长度。
+         *
+         * <p>
+         * 文件缓冲区的内容可能经过压缩，被包装的流的 <code>available</code> 方法无法反映真实的剩余长度，
+         * 因此使用文件缓冲区的实际长度与已读取的长度计算剩余长度。
+         *
+         * @return 文件缓冲区中剩余的可读长度。
+         */
+        private int fileBufferAvailable() {
+            return (int) Math.min(temporaryStorage.fileBufferActualLength - fileBufferAnchorIndex, Integer.MAX_VALUE);
+        }
+
+        private int readFileBuffer(byte[] b, int off, int len) throws IOException {
+            mayOpenFileBufferInputStream();
+            int readLength = fileBufferInputStream.read(b, off, len);
+            if (readLength > 0) {
+                fileBufferAnchorIndex += readLength;
+            }
+            return readLength;
+        }
+
+        private int readFileBuffer() throws IOException {
+            mayOpenFileBufferInputStream();
+            int result = fileBufferInputStream.read();
+            if (result >= 0) {
+                fileBufferAnchorIndex++;
+            }
+            return result;
+        }
+
+        private long skipFileBuffer(long n) throws IOException {
+            mayOpenFileBufferInputStream();
+            long skippedLength = fileBufferInputStream.skip(n);
+            fileBufferAnchorIndex += skippedLength;
+            return skippedLength;
+        }
+
         private void mayOpenFileBufferInputStream() throws IOException {
             if (Objects.nonNull(fileBufferInputStream)) {
                 return;
             }
-            fileBufferInputStream = Files.newInputStream(
+            // 如果文件缓冲区的内容可以被读缓存容纳，则优先从读缓存中读取。
+            if (readCache.isCacheable(temporaryStorage.fileBufferActualLength)) {
+                byte[] content = readCache.get(temporaryStorage.key);
+                // 如果读缓存未命中，则读取文件缓冲区的全部内容，并放入读缓存。
+                if (Objects.isNull(content)) {
+                    content = readFileBufferContent();
+                    readCache.put(temporaryStorage.key, content);
+                }
+                fileBufferInputStream = new ByteArrayInputStream(content);
+                return;
+            }
+            fileBufferInputStream = spillCodec.wrapInputStream(openFileBufferInputStream());
+        }
+
+        private InputStream openFileBufferInputStream() throws IOException {
+            if (Objects.nonNull(temporaryStorage.arenaAllocation)) {
+                return arena.openInputStream(temporaryStorage.arenaAllocation);
+            }
+            return Files.newInputStream(
                     temporaryStorage.fileBuffer.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ
             );
         }
 
+        /**
+         * 读取文件缓冲区的全部内容。
+         *
+         * <p>
+         * 读缓存中缓存的是解码后的内容，因此命中读缓存时不需要再次解码。
+         *
+         * @return 文件缓冲区解码后的全部内容。
+         * @throws IOException IO 异常。
+         */
+        private byte[] readFileBufferContent() throws IOException {
+            if (spillCodec.isPassthrough() && Objects.isNull(temporaryStorage.arenaAllocation)) {
+                return Files.readAllBytes(temporaryStorage.fileBuffer.toPath());
+            }
+            byte[] content = new byte[(int) temporaryStorage.fileBufferActualLength];
+            try (InputStream in = spillCodec.wrapInputStream(openFileBufferInputStream())) {
+                int offset = 0;
+                while (offset < content.length) {
+                    int readLength = in.read(content, offset, content.length - offset);
+                    if (readLength < 0) {
+                        throw new EOFException("文件缓冲区的内容长度小于预期长度");
+                    }
+                    offset += readLength;
+                }
+            }
+            return content;
+        }
+
         private void mayCloseFileBufferInputStream() throws Exception {
             if (Objects.isNull(fileBufferInputStream)) {
                 return;
@@ -930,32 +2999,60 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
     private class TemporaryStorageOutputStream extends OutputStream {
 
         private final TemporaryStorage temporaryStorage;
+        private final TemporaryStorageChecksumCalculator checksumCalculator;
+        private final TemporaryStorageChecksumCalculator contentHashCalculator;
 
         private boolean closed = false;
 
         private OutputStream fileBufferOutputStream;
 
+        // 连续的单字节写入合并为一条负载记录，以免每个字节产生一条记录。
+        private long pendingWriteLength = 0;
+        private long pendingWriteBeginNanos = TemporaryStorageWorkloadTracer.NOT_TRACED;
+        private long pendingWriteEndNanos = 0;
+
         public TemporaryStorageOutputStream(TemporaryStorage temporaryStorage) {
             this.temporaryStorage = temporaryStorage;
+            this.checksumCalculator = TemporaryStorageChecksumCalculator.of(config.getChecksumAlgorithm());
+            if (config.isDeduplicationEnabled()) {
+                this.contentHashCalculator = TemporaryStorageChecksumCalculator.of(DEDUPLICATION_HASH_ALGORITHM);
+            } else {
+                this.contentHashCalculator = null;
+            }
         }
 
         @Override
         public void write(@Nonnull byte[] b, int off, int len) throws IOException {
             makeSureOpen("流已经关闭");
-            internalWrite(b, off, len);
+            mayRecordPendingWrite();
+            long traceBeginNanos = workloadTracer.begin();
+            TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_WRITE);
+            try {
+                internalWrite(b, off, len, sample);
+            } finally {
+                sample.finish();
+            }
+            workloadTracer.record(Constants.WORKLOAD_TRACE_OPERATION_WRITE, temporaryStorage.key, len, traceBeginNanos);
         }
 
         @Override
         public void write(@Nonnull byte[] b) throws IOException {
-            makeSureOpen("流已经关闭");
-            internalWrite(b, 0, b.length);
+            write(b, 0, b.length);
         }
 
-        private void internalWrite(byte[] b, int off, int len) throws IOException {
+        private void internalWrite(byte[] b, int off, int len, TemporaryStorageLatencyRecorder.Sample sample)
+                throws IOException {
             // 特殊值判断：如果 len 为 0，则直接返回。
             if (len == 0) {
                 return;
             }
+            // 增量计算校验和与内容的散列值。
+            if (Objects.nonNull(checksumCalculator)) {
+                checksumCalculator.update(b, off, len);
+            }
+            if (Objects.nonNull(contentHashCalculator)) {
+                contentHashCalculator.update(b, off, len);
+            }
             // 如果 temporaryStorage.memoryBuffer 的剩余空间不足以容纳 len 个字节且
             // temporaryStorage.fileBufferUsed 为 false，
             // 则调用一次 temporaryStorage.allocateMemoryBuffer 方法。
@@ -963,7 +3060,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
                     temporaryStorage.memoryBuffer.length - temporaryStorage.memoryBufferActualLength < len &&
                             !temporaryStorage.fileBufferUsed;
             if (needToAllocateMemoryBuffer) {
-                memoryAllocationLock.lock();
+                sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
                 try {
                     temporaryStorage.allocateMemoryBuffer(len);
                 } finally {
@@ -1010,13 +3107,49 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         @Override
         public void write(int b) throws IOException {
             makeSureOpen("流已经关闭");
+            long traceBeginNanos = pendingWriteLength == 0 ? workloadTracer.begin() : pendingWriteBeginNanos;
+            TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_WRITE);
+            try {
+                internalWrite(b, sample);
+            } finally {
+                sample.finish();
+            }
+            // 单字节写入暂不记录，在下一次写入数组、刷新或关闭流时合并为一条记录。
+            if (traceBeginNanos == TemporaryStorageWorkloadTracer.NOT_TRACED) {
+                return;
+            }
+            pendingWriteLength++;
+            pendingWriteBeginNanos = traceBeginNanos;
+            pendingWriteEndNanos = System.nanoTime();
+        }
+
+        private void mayRecordPendingWrite() {
+            if (pendingWriteLength == 0) {
+                return;
+            }
+            workloadTracer.record(
+                    Constants.WORKLOAD_TRACE_OPERATION_WRITE, temporaryStorage.key, pendingWriteLength,
+                    pendingWriteBeginNanos, pendingWriteEndNanos
+            );
+            pendingWriteLength = 0;
+            pendingWriteBeginNanos = TemporaryStorageWorkloadTracer.NOT_TRACED;
+        }
+
+        private void internalWrite(int b, TemporaryStorageLatencyRecorder.Sample sample) throws IOException {
+            // 增量计算校验和与内容的散列值。
+            if (Objects.nonNull(checksumCalculator)) {
+                checksumCalculator.update(b);
+            }
+            if (Objects.nonNull(contentHashCalculator)) {
+                contentHashCalculator.update(b);
+            }
             // 如果 temporaryStorage.memoryBuffer 已经被写满了且 temporaryStorage.fileBufferUsed 为 false，
             // 则调用一次 temporaryStorage.allocateMemoryBuffer 方法。
             boolean needToAllocateMemoryBuffer =
                     temporaryStorage.memoryBufferActualLength >= temporaryStorage.memoryBuffer.length &&
                             !temporaryStorage.fileBufferUsed;
             if (needToAllocateMemoryBuffer) {
-                memoryAllocationLock.lock();
+                sample.acquire(memoryAllocationLock, LOCK_NAME_MEMORY_ALLOCATION);
                 try {
                     temporaryStorage.allocateMemoryBuffer(1);
                 } finally {
@@ -1040,6 +3173,7 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         @Override
         public void flush() throws IOException {
             makeSureOpen("流已经关闭");
+            mayRecordPendingWrite();
             // 如果没有使用 fileBuffer，则直接返回。
             if (!temporaryStorage.fileBufferUsed) {
                 return;
@@ -1052,33 +3186,45 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
         @Override
         public void close() throws IOException {
             makeSureOpen("不能多次关闭流");
-
-            // 根据情况关闭文件缓冲区输出流。
+            mayRecordPendingWrite();
+            long traceBeginNanos = workloadTracer.begin();
+            // 内容的长度在完成写入之前获取，完成写入时内存缓冲区可能被压缩。
+            long contentLength = temporaryStorage.memoryBufferActualLength + temporaryStorage.fileBufferActualLength;
+            TemporaryStorageLatencyRecorder.Sample sample = latencyRecorder.start(Constants.LATENCY_OPERATION_CLOSE);
             try {
-                mayCloseFileBufferOutputStream();
-            } catch (Exception e) {
-                LOGGER.debug("关闭文件缓冲区输出流时发生异常, 将抛出异常...");
+                finish(sample);
+            } finally {
+                // 状态处理。
                 closed = true;
+                temporaryStorage.touch();
+                metrics.recordOutputStreamClosed();
                 temporaryStorage.storageLock.writeLock().unlock();
-                throw new IOException("关闭文件缓冲区输出流时发生异常", e);
+                sample.finish();
             }
+            workloadTracer.record(
+                    Constants.WORKLOAD_TRACE_OPERATION_CLOSE_OUTPUT, temporaryStorage.key, contentLength,
+                    traceBeginNanos
+            );
+        }
 
-            // 释放内存缓冲区。
-            memoryAllocationLock.lock();
+        /**
+         * 完成写入。
+         *
+         * <p>
+         * 该方法关闭文件缓冲区输出流，并完成临时存储的写入，但不释放临时存储的写锁。
+         *
+         * @param sample 所属操作的延迟采样，用于记录等待锁的时间。
+         * @throws IOException IO 异常。
+         */
+        public void finish(TemporaryStorageLatencyRecorder.Sample sample) throws IOException {
+            // 根据情况关闭文件缓冲区输出流。
             try {
-                temporaryStorage.deallocateMemoryBuffer();
+                mayCloseFileBufferOutputStream();
             } catch (Exception e) {
-                LOGGER.debug("释放内存缓冲区时发生异常, 将抛出异常...");
-                closed = true;
-                temporaryStorage.storageLock.writeLock().unlock();
-                throw new IOException("释放内存缓冲区时发生异常", e);
-            } finally {
-                memoryAllocationLock.unlock();
+                LOGGER.debug("关闭文件缓冲区输出流时发生异常, 将抛出异常...");
+                throw new IOException("关闭文件缓冲区输出流时发生异常", e);
             }
-
-            // 状态处理。
-            closed = true;
-            temporaryStorage.storageLock.writeLock().unlock();
+            completeWrite(temporaryStorage, checksumCalculator, contentHashCalculator, sample);
         }
 
         private void makeSureOpen(String exceptionMessage) throws IllegalStateException {
@@ -1091,18 +3237,175 @@ public class TemporaryStorageHandlerImpl implements TemporaryStorageHandler {
             if (Objects.nonNull(fileBufferOutputStream)) {
                 return;
             }
-            fileBufferOutputStream = Files.newOutputStream(
-                    temporaryStorage.fileBuffer.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
-                    StandardOpenOption.TRUNCATE_EXISTING
+            TemporaryStorageEvents.spillStarted(temporaryStorage.key, temporaryStorage.memoryBufferActualLength);
+            fileBufferOutputStream = spillCodec.wrapOutputStream(
+                    new FileBufferQuotaOutputStream(temporaryStorage, openFileBufferOutputStream())
             );
         }
 
+        private OutputStream openFileBufferOutputStream() throws IOException {
+            // 首次溢出时才选择文件缓冲区所在的目录，使放置策略依据溢出时的目录用量，且不在处理器锁内查询可用空间。
+            if (Objects.isNull(temporaryStorage.fileBuffer)) {
+                temporaryStorage.fileBuffer = temporaryStorage.newFileBuffer(temporaryStorage.fileBufferName);
+            }
+            // 溢出层级为 arena 时，从临时存储所在目录对应的 Arena 文件中申请空间。
+            if (Objects.nonNull(arena)) {
+                temporaryStorage.arenaAllocation = arena.allocate(temporaryStorage.fileBufferDirectoryIndex);
+                return arena.openOutputStream(temporaryStorage.arenaAllocation);
+            }
+            // 文件缓冲区尚未创建时，优先复用临时文件复用池中同一目录下的文件，复用的文件在打开时被截断。
+            if (filePool.isEnabled() && !temporaryStorage.fileBuffer.exists()) {
+                File pooledFile = filePool.poll(temporaryStorage.fileBufferDirectoryIndex);
+                if (Objects.nonNull(pooledFile)) {
+                    temporaryStorage.fileBuffer = pooledFile;
+                }
+            }
+            Path fileBufferPath = temporaryStorage.fileBuffer.toPath();
+            // 未启用临时文件子目录时，文件缓冲区直接位于临时文件目录下，不需要创建子目录。
+            if (config.getTemporaryFileFanOutLevels() == 0) {
+                return Files.newOutputStream(
+                        fileBufferPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                );
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Files.createDirectories(fileBufferPath.getParent());
+                    return Files.newOutputStream(
+                            fileBufferPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING
+                    );
+                } catch (NoSuchFileException e) {
+                    // 子目录在创建期间或创建之后被其它线程清理，重新创建子目录并重试。
+                    if (attempt >= MAX_FILE_BUFFER_OPEN_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
         private void mayCloseFileBufferOutputStream() throws IOException {
             if (Objects.isNull(fileBufferOutputStream)) {
                 return;
             }
-            fileBufferOutputStream.close();
-            fileBufferOutputStream = null;
+            try {
+                fileBufferOutputStream.close();
+            } finally {
+                fileBufferOutputStream = null;
+                // 编码后的数据在流关闭后才会全部写入文件缓冲区，因此在此时记录文件缓冲区所在目录的用量。
+                // 文件缓冲区的物理长度已经在写入时由 FileBufferQuotaOutputStream 累计。
+                // 释放临时存储时总是归还物理长度所占用的目录用量，因此关闭失败时也需要记录，避免目录用量变为负数。
+                directorySelector.recordUsage(
+                        temporaryStorage.fileBufferDirectoryIndex, temporaryStorage.fileBufferPhysicalLength
+                );
+            }
+        }
+    }
+
+    /**
+     * 文件缓冲区配额输出流。
+     *
+     * <p>
+     * 该输出流位于编解码器与文件缓冲区之间，在数据写入文件缓冲区之前向文件配额申请空间，
+     * 并累计临时存储的文件缓冲区的物理长度，使文件配额能够实时反映磁盘的占用。
+     */
+    private class FileBufferQuotaOutputStream extends OutputStream {
+
+        private final TemporaryStorage temporaryStorage;
+        private final OutputStream delegate;
+
+        /**
+         * 已经向文件配额申请，但尚未写入的空间的大小。
+         */
+        private long reservedLength = 0;
+
+        public FileBufferQuotaOutputStream(TemporaryStorage temporaryStorage, OutputStream delegate) {
+            this.temporaryStorage = temporaryStorage;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            // 逐字节写入时成批地申请空间，避免每个字节都获取一次文件配额的锁。
+            if (reservedLength == 0) {
+                reservedLength = fileQuota.reserveUpTo(1, FILE_QUOTA_RESERVE_BATCH_SIZE);
+            }
+            reservedLength--;
+            temporaryStorage.fileBufferPhysicalLength++;
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(@Nonnull byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            if (reservedLength >= len) {
+                reservedLength -= len;
+            } else {
+                fileQuota.reserve(len - reservedLength);
+                reservedLength = 0;
+            }
+            temporaryStorage.fileBufferPhysicalLength += len;
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                // 归还多申请的空间。
+                fileQuota.release(reservedLength);
+                reservedLength = 0;
+            }
         }
     }
+
+    /**
+     * 共享内容。
+     *
+     * <p>
+     * 共享内容记录了被多个临时存储共享的内存缓冲区与文件缓冲区，以及引用它们的临时存储的数量。<br>
+     * 共享内容的所有字段都应该在持有内存分配锁的情况下访问。
+     */
+    private static class SharedContent {
+
+        public final String contentHash;
+        public final long contentLength;
+
+        public final byte[] memoryBuffer;
+        public final int memoryBufferActualLength;
+        public final boolean memoryBufferCompressed;
+        public final int[] memoryBufferBlockOffsets;
+        public final File fileBuffer;
+        public final boolean fileBufferUsed;
+        public final long fileBufferActualLength;
+        public final long fileBufferPhysicalLength;
+        public final int fileBufferDirectoryIndex;
+        public final TemporaryStorageArena.Allocation arenaAllocation;
+
+        public int referenceCount = 1;
+
+        public SharedContent(String contentHash, long contentLength, TemporaryStorage owner) {
+            this.contentHash = contentHash;
+            this.contentLength = contentLength;
+            this.memoryBuffer = owner.memoryBuffer;
+            this.memoryBufferActualLength = owner.memoryBufferActualLength;
+            this.memoryBufferCompressed = owner.memoryBufferCompressed;
+            this.memoryBufferBlockOffsets = owner.memoryBufferBlockOffsets;
+            this.fileBuffer = owner.fileBuffer;
+            this.fileBufferUsed = owner.fileBufferUsed;
+            this.fileBufferActualLength = owner.fileBufferActualLength;
+            this.fileBufferPhysicalLength = owner.fileBufferPhysicalLength;
+            this.fileBufferDirectoryIndex = owner.fileBufferDirectoryIndex;
+            this.arenaAllocation = owner.arenaAllocation;
+        }
+    }
+
 }
@@ -0,0 +1,81 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 临时存储延迟直方图。
+ *
+ * <p>
+ * 该直方图记录操作的耗时，单位为纳秒，并以 {@link TemporaryStorageHistogram} 作为快照估算耗时的分位数。<br>
+ * 直方图与 {@link TemporaryStorageHistogram} 使用相同的对数分桶，因此估算值的误差也相同。
+ *
+ * <p>
+ * 记录样本时不需要获取锁，只对样本所在的桶执行一次原子自增；
+ * 获取快照与重置直方图时不会阻塞记录样本，但与同时进行的记录之间不是原子的，快照中可能缺少或多出少量的样本。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageLatencyHistogram {
+
+    private static final int BUCKET_COUNT = TemporaryStorageHistogram.BUCKET_COUNT;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * 记录一个样本。
+     *
+     * @param value 样本的值，单位为纳秒，小于 0 时按照 0 记录。
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        bucketCounts.incrementAndGet(TemporaryStorageHistogram.bucketIndex(value));
+        totalValue.add(value);
+        // 只有样本大于当前的最大值时才需要更新，避免所有记录都竞争同一个变量。
+        long currentMaxValue = maxValue.get();
+        while (value > currentMaxValue && !maxValue.compareAndSet(currentMaxValue, value)) {
+            currentMaxValue = maxValue.get();
+        }
+    }
+
+    /**
+     * 获取直方图的快照。
+     *
+     * @return 直方图的快照。
+     */
+    public TemporaryStorageHistogram snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = bucketCounts.get(i);
+        }
+        return new TemporaryStorageHistogram(counts, totalValue.sum(), maxValue.get());
+    }
+
+    /**
+     * 重置直方图，清除所有的样本。
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts.set(i, 0);
+        }
+        totalValue.reset();
+        maxValue.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageLatencyHistogram{" +
+                "totalValue=" + totalValue +
+                ", maxValue=" + maxValue +
+                '}';
+    }
+}
@@ -0,0 +1,176 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageHistogram;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 临时存储延迟记录器。
+ *
+ * <p>
+ * 记录器为每一种操作维护两个延迟直方图，分别记录操作等待锁的时间，以及除此之外的工作时间。<br>
+ * 每次操作开始时调用 {@link #start(String)} 获取一个采样，操作通过采样获取锁，以便记录等待锁的时间，
+ * 操作结束时调用 {@link Sample#finish()} 将采样记录到直方图中。
+ *
+ * <p>
+ * 该类是线程安全的，但采样只能由开始它的线程使用。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageLatencyRecorder {
+
+    private static final String[] OPERATIONS = new String[]{
+            Constants.LATENCY_OPERATION_CREATE,
+            Constants.LATENCY_OPERATION_OPEN,
+            Constants.LATENCY_OPERATION_WRITE,
+            Constants.LATENCY_OPERATION_READ,
+            Constants.LATENCY_OPERATION_CLOSE,
+            Constants.LATENCY_OPERATION_DISPOSE
+    };
+
+    private final Map<String, OperationLatency> operationLatencyMap;
+
+    public TemporaryStorageLatencyRecorder() {
+        Map<String, OperationLatency> map = new LinkedHashMap<>();
+        for (String operation : OPERATIONS) {
+            map.put(operation, new OperationLatency());
+        }
+        this.operationLatencyMap = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * 开始一次指定操作的采样。
+     *
+     * @param operation 操作的名称。
+     * @return 采样。
+     */
+    public Sample start(String operation) {
+        OperationLatency operationLatency = operationLatencyMap.get(operation);
+        if (operationLatency == null) {
+            throw new IllegalArgumentException("未知的操作: " + operation);
+        }
+        return new Sample(operationLatency, operation);
+    }
+
+    /**
+     * 开始一次不记录延迟的采样。
+     *
+     * <p>
+     * 该采样用于不属于延迟统计的操作，不记录任何延迟，但通过该采样获取锁时仍然发出 JFR 事件，
+     * 使 JFR 事件不依赖于操作是否被统计。
+     *
+     * @param operation 操作的名称，用于 JFR 事件中区分等待锁的操作。
+     * @return 不记录延迟的采样。
+     */
+    public Sample untracked(String operation) {
+        return new Sample(null, operation);
+    }
+
+    /**
+     * 获取所有操作的延迟统计信息。
+     *
+     * @return 所有操作的延迟统计信息组成的列表，按照操作的固定顺序排列。
+     */
+    public List<TemporaryStorageLatencyStats> snapshot() {
+        List<TemporaryStorageLatencyStats> result = new ArrayList<>(operationLatencyMap.size());
+        for (Map.Entry<String, OperationLatency> entry : operationLatencyMap.entrySet()) {
+            TemporaryStorageHistogram workTime = entry.getValue().workTimeHistogram.snapshot();
+            TemporaryStorageHistogram lockWaitTime = entry.getValue().lockWaitTimeHistogram.snapshot();
+            result.add(new TemporaryStorageLatencyStats(
+                    entry.getKey(), workTime.getCount(),
+                    workTime.mean(), workTime.percentile(0.5), workTime.percentile(0.99),
+                    workTime.percentile(0.999), workTime.getMaxValue(),
+                    lockWaitTime.mean(), lockWaitTime.percentile(0.5), lockWaitTime.percentile(0.99),
+                    lockWaitTime.percentile(0.999), lockWaitTime.getMaxValue()
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * 重置所有操作的延迟统计信息。
+     */
+    public void reset() {
+        for (OperationLatency operationLatency : operationLatencyMap.values()) {
+            operationLatency.workTimeHistogram.reset();
+            operationLatency.lockWaitTimeHistogram.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageLatencyRecorder{" +
+                "operations=" + operationLatencyMap.keySet() +
+                '}';
+    }
+
+    private static final class OperationLatency {
+
+        private final TemporaryStorageLatencyHistogram workTimeHistogram = new TemporaryStorageLatencyHistogram();
+        private final TemporaryStorageLatencyHistogram lockWaitTimeHistogram = new TemporaryStorageLatencyHistogram();
+    }
+
+    /**
+     * 采样。
+     *
+     * <p>
+     * 采样记录一次操作的开始时间，以及操作期间等待锁的时间之和。
+     *
+     * <p>
+     * 该类不是线程安全的，只能由开始采样的线程使用。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    public static final class Sample {
+
+        private final OperationLatency operationLatency;
+        private final String operation;
+        private final long startNanos;
+
+        private long lockWaitNanos = 0;
+
+        private Sample(OperationLatency operationLatency, String operation) {
+            this.operationLatency = operationLatency;
+            this.operation = operation;
+            this.startNanos = operationLatency == null ? 0 : System.nanoTime();
+        }
+
+        /**
+         * 获取指定的锁，并记录等待锁的时间。
+         *
+         * <p>
+         * 等待锁的时间较长时，同时发出 JFR 事件，详见 {@link TemporaryStorageEvents}；
+         * 不记录延迟的采样同样发出 JFR 事件。
+         *
+         * @param lock     指定的锁。
+         * @param lockName 锁的名称。
+         */
+        public void acquire(Lock lock, String lockName) {
+            lockWaitNanos += TemporaryStorageEvents.lock(lock, operation, lockName);
+        }
+
+        /**
+         * 结束采样，并将采样记录到直方图中。
+         *
+         * <p>
+         * 操作的工作时间等于操作的总耗时减去等待锁的时间。
+         */
+        public void finish() {
+            if (operationLatency == null) {
+                return;
+            }
+            long totalNanos = System.nanoTime() - startNanos;
+            operationLatency.workTimeHistogram.record(totalNanos - lockWaitNanos);
+            operationLatency.lockWaitTimeHistogram.record(lockWaitNanos);
+        }
+    }
+}
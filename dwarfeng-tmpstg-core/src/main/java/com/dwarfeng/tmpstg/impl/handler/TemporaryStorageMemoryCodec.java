@@ -0,0 +1,194 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 临时存储内存缓冲区编解码器。
+ *
+ * <p>
+ * 编解码器将内存缓冲区的内容按照固定的块大小分块压缩，每个块独立压缩，因此读取时可以按需解压单个块，
+ * 而不需要解压整个内存缓冲区。
+ *
+ * <p>
+ * 该类是线程安全的，每次压缩以及每个解压窗口各自持有独立的压缩器/解压器，并在使用完毕后释放。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageMemoryCodec {
+
+    private final int blockSize;
+    private final int level;
+
+    public TemporaryStorageMemoryCodec(int blockSize, int level) {
+        this.blockSize = blockSize;
+        this.level = level;
+    }
+
+    /**
+     * 分块压缩指定的内容。
+     *
+     * <p>
+     * 如果压缩后的总长度不小于原始长度，则压缩没有意义，此时返回 <code>null</code>。
+     *
+     * @param content 指定的内容。
+     * @param length  内容的长度。
+     * @return 分块压缩的结果，如果压缩没有意义，则返回 <code>null</code>。
+     */
+    public CompressedContent compress(byte[] content, int length) {
+        int blockCount = (length + blockSize - 1) / blockSize;
+        int[] blockOffsets = new int[blockCount + 1];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2);
+        byte[] buffer = new byte[Math.max(64, Math.min(blockSize, length))];
+        Deflater deflater = new Deflater(level);
+        try {
+            for (int i = 0; i < blockCount; i++) {
+                blockOffsets[i] = out.size();
+                int blockStart = i * blockSize;
+                deflater.reset();
+                deflater.setInput(content, blockStart, Math.min(blockSize, length - blockStart));
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int deflatedLength = deflater.deflate(buffer);
+                    out.write(buffer, 0, deflatedLength);
+                }
+                // 压缩后的长度已经不小于原始长度，提前放弃压缩。
+                if (out.size() >= length) {
+                    return null;
+                }
+            }
+            blockOffsets[blockCount] = out.size();
+        } finally {
+            deflater.end();
+        }
+        return new CompressedContent(out.toByteArray(), blockOffsets);
+    }
+
+    /**
+     * 打开一个解压窗口。
+     *
+     * <p>
+     * 解压窗口用于按需解压单个块，同一时刻只缓存一个块的解压结果。<br>
+     * 解压窗口不是线程安全的，使用完毕后应该调用 {@link BlockWindow#close()} 方法释放资源。
+     *
+     * @param length 压缩前的内容长度，用于确定解压窗口的大小。
+     * @return 新的解压窗口。
+     */
+    public BlockWindow openWindow(int length) {
+        return new BlockWindow(Math.min(blockSize, length));
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageMemoryCodec{" +
+                "blockSize=" + blockSize +
+                ", level=" + level +
+                '}';
+    }
+
+    /**
+     * 分块压缩的结果。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    static final class CompressedContent {
+
+        /**
+         * 所有块压缩后首尾相接的数据。
+         */
+        private final byte[] data;
+
+        /**
+         * 每个块在 <code>data</code> 中的起始位置，最后一个元素为 <code>data</code> 的长度。
+         */
+        private final int[] blockOffsets;
+
+        CompressedContent(byte[] data, int[] blockOffsets) {
+            this.data = data;
+            this.blockOffsets = blockOffsets;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public int[] getBlockOffsets() {
+            return blockOffsets;
+        }
+    }
+
+    /**
+     * 解压窗口。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    final class BlockWindow {
+
+        private final byte[] buffer;
+        private final Inflater inflater = new Inflater();
+
+        private int blockIndex = -1;
+
+        private BlockWindow(int bufferSize) {
+            this.buffer = new byte[bufferSize];
+        }
+
+        /**
+         * 获取指定逻辑位置所在块的解压结果。
+         *
+         * <p>
+         * 如果指定位置所在的块不是当前窗口中的块，则解压该块并替换当前窗口中的块。<br>
+         * 返回的数组中，块的内容从下标 0 开始，调用者应该通过 <code>position % blockSize</code> 计算块内偏移。
+         *
+         * @param data         所有块压缩后首尾相接的数据。
+         * @param blockOffsets 每个块在 <code>data</code> 中的起始位置。
+         * @param position     逻辑位置。
+         * @return 指定逻辑位置所在块的解压结果。
+         */
+        public byte[] load(byte[] data, int[] blockOffsets, int position) {
+            int targetBlockIndex = position / blockSize;
+            if (targetBlockIndex == blockIndex) {
+                return buffer;
+            }
+            inflater.reset();
+            int blockStart = blockOffsets[targetBlockIndex];
+            inflater.setInput(data, blockStart, blockOffsets[targetBlockIndex + 1] - blockStart);
+            try {
+                int inflatedLength = 0;
+                while (!inflater.finished() && inflatedLength < buffer.length) {
+                    int length = inflater.inflate(buffer, inflatedLength, buffer.length - inflatedLength);
+                    // 块的压缩数据已经耗尽，但解压尚未完成，说明数据已经损坏。
+                    if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new DataFormatException("块的压缩数据不完整");
+                    }
+                    inflatedLength += length;
+                }
+            } catch (DataFormatException e) {
+                blockIndex = -1;
+                throw new IllegalStateException("内存缓冲区的压缩数据已损坏", e);
+            }
+            blockIndex = targetBlockIndex;
+            return buffer;
+        }
+
+        /**
+         * 释放解压窗口持有的资源。
+         */
+        public void close() {
+            inflater.end();
+        }
+    }
+}
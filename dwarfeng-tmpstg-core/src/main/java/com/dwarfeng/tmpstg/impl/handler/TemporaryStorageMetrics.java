@@ -0,0 +1,219 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 临时存储指标。
+ *
+ * <p>
+ * 指标记录处理器运行期间的计数器与计量值，在读写的热路径上维护。<br>
+ * 每个指标都是一个 {@link LongAdder}，并发更新时分散到不同的单元上，不会因为争用同一个变量而降低吞吐量；
+ * 读取指标时对各个单元求和，其开销只与 CPU 的数量有关，且不需要获取任何锁。
+ *
+ * <p>
+ * 不同的指标之间不是原子的，同一次读取得到的多个指标可能分别反映了略有不同的时刻。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageMetrics {
+
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder disposedCount = new LongAdder();
+    private final LongAdder memoryWrittenLength = new LongAdder();
+    private final LongAdder fileWrittenLength = new LongAdder();
+    private final LongAdder spillCount = new LongAdder();
+    private final LongAdder memoryAllocationDeniedCount = new LongAdder();
+    private final LongAdder openInputStreamCount = new LongAdder();
+    private final LongAdder openOutputStreamCount = new LongAdder();
+    private final LongAdder memoryWaitCount = new LongAdder();
+    private final LongAdder memoryWaitTimeoutCount = new LongAdder();
+    private final LongAdder memoryWaiterCount = new LongAdder();
+    private final LongAdder deduplicationHitCount = new LongAdder();
+    private final LongAdder deduplicationSavedLength = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+
+    /**
+     * 记录临时存储被创建。
+     */
+    public void recordCreated() {
+        createdCount.increment();
+    }
+
+    /**
+     * 记录临时存储被释放。
+     */
+    public void recordDisposed() {
+        disposedCount.increment();
+    }
+
+    /**
+     * 记录一次写入完成。
+     *
+     * @param memoryLength 写入内存缓冲区的字节数。
+     * @param fileLength   写入文件缓冲区的字节数，大于 0 时视为一次溢出。
+     */
+    public void recordWrite(long memoryLength, long fileLength) {
+        memoryWrittenLength.add(memoryLength);
+        if (fileLength > 0) {
+            fileWrittenLength.add(fileLength);
+            spillCount.increment();
+        }
+    }
+
+    /**
+     * 记录一次内存缓冲区的申请因为总的缓冲区大小的限制而被拒绝或削减。
+     */
+    public void recordMemoryAllocationDenied() {
+        memoryAllocationDeniedCount.increment();
+    }
+
+    /**
+     * 记录输入流被打开。
+     */
+    public void recordInputStreamOpened() {
+        openInputStreamCount.increment();
+    }
+
+    /**
+     * 记录输入流被关闭。
+     */
+    public void recordInputStreamClosed() {
+        openInputStreamCount.decrement();
+    }
+
+    /**
+     * 记录输出流被打开。
+     */
+    public void recordOutputStreamOpened() {
+        openOutputStreamCount.increment();
+    }
+
+    /**
+     * 记录输出流被关闭。
+     */
+    public void recordOutputStreamClosed() {
+        openOutputStreamCount.decrement();
+    }
+
+    /**
+     * 记录一次内存缓冲区等待开始。
+     */
+    public void recordMemoryWaitStarted() {
+        memoryWaitCount.increment();
+        memoryWaiterCount.increment();
+    }
+
+    /**
+     * 记录一次内存缓冲区等待结束。
+     *
+     * @param timeout 等待是否超时。
+     */
+    public void recordMemoryWaitFinished(boolean timeout) {
+        memoryWaiterCount.decrement();
+        if (timeout) {
+            memoryWaitTimeoutCount.increment();
+        }
+    }
+
+    /**
+     * 记录一次去重命中。
+     *
+     * @param savedLength 去重节省的字节数。
+     */
+    public void recordDeduplicationHit(long savedLength) {
+        deduplicationHitCount.increment();
+        deduplicationSavedLength.add(savedLength);
+    }
+
+    /**
+     * 记录一次共享内容的引用被解除。
+     *
+     * @param releasedLength 不再被节省的字节数。
+     */
+    public void recordDeduplicationReleased(long releasedLength) {
+        deduplicationSavedLength.add(-releasedLength);
+    }
+
+    /**
+     * 记录临时存储因为过期而被释放并移除。
+     *
+     * @param count 过期的临时存储的数量。
+     */
+    public void recordExpired(int count) {
+        expiredCount.add(count);
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getDisposedCount() {
+        return disposedCount.sum();
+    }
+
+    public long getMemoryWrittenLength() {
+        return memoryWrittenLength.sum();
+    }
+
+    public long getFileWrittenLength() {
+        return fileWrittenLength.sum();
+    }
+
+    public long getSpillCount() {
+        return spillCount.sum();
+    }
+
+    public long getMemoryAllocationDeniedCount() {
+        return memoryAllocationDeniedCount.sum();
+    }
+
+    public long getOpenInputStreamCount() {
+        return openInputStreamCount.sum();
+    }
+
+    public long getOpenOutputStreamCount() {
+        return openOutputStreamCount.sum();
+    }
+
+    public long getMemoryWaitCount() {
+        return memoryWaitCount.sum();
+    }
+
+    public long getMemoryWaitTimeoutCount() {
+        return memoryWaitTimeoutCount.sum();
+    }
+
+    public long getMemoryWaiterCount() {
+        return memoryWaiterCount.sum();
+    }
+
+    public long getDeduplicationHitCount() {
+        return deduplicationHitCount.sum();
+    }
+
+    public long getDeduplicationSavedLength() {
+        return deduplicationSavedLength.sum();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageMetrics{" +
+                "createdCount=" + createdCount +
+                ", disposedCount=" + disposedCount +
+                ", memoryWrittenLength=" + memoryWrittenLength +
+                ", fileWrittenLength=" + fileWrittenLength +
+                ", spillCount=" + spillCount +
+                ", memoryAllocationDeniedCount=" + memoryAllocationDeniedCount +
+                ", openInputStreamCount=" + openInputStreamCount +
+                ", openOutputStreamCount=" + openOutputStreamCount +
+                '}';
+    }
+}
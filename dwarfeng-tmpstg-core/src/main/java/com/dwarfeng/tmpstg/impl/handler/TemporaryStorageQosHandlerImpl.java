@@ -2,7 +2,9 @@ package com.dwarfeng.tmpstg.impl.handler;
 
 import com.dwarfeng.subgrade.sdk.exception.HandlerExceptionHelper;
 import com.dwarfeng.subgrade.stack.exception.HandlerException;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
 import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
 import com.dwarfeng.tmpstg.stack.exception.AmbiguousTemporaryStorageHandlerException;
 import com.dwarfeng.tmpstg.stack.exception.NoTemporaryStorageHandlerPresentException;
 import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageHandlerNotFoundException;
@@ -15,6 +17,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -117,6 +120,17 @@ public class TemporaryStorageQosHandlerImpl implements TemporaryStorageQosHandle
         }
     }
 
+    @Override
+    public Map<String, TemporaryStorageInfo> inspectAll(
+            @Nullable String handlerName, @Nonnull Collection<String> keys
+    ) throws HandlerException {
+        try {
+            return determineHandler(handlerName).inspectAll(keys);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
     @Override
     public String create(@Nullable String handlerName) throws HandlerException {
         try {
@@ -126,6 +140,36 @@ public class TemporaryStorageQosHandlerImpl implements TemporaryStorageQosHandle
         }
     }
 
+    @Override
+    public List<String> createBatch(@Nullable String handlerName, int count) throws HandlerException {
+        try {
+            return determineHandler(handlerName).createBatch(count);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public String create(@Nullable String handlerName, long idleTimeout, long absoluteTimeout)
+            throws HandlerException {
+        try {
+            return determineHandler(handlerName).create(idleTimeout, absoluteTimeout);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public List<String> createBatch(
+            @Nullable String handlerName, int count, long idleTimeout, long absoluteTimeout
+    ) throws HandlerException {
+        try {
+            return determineHandler(handlerName).createBatch(count, idleTimeout, absoluteTimeout);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
     @Override
     public InputStream openInputStream(@Nullable String handlerName, @Nonnull String key) throws HandlerException {
         try {
@@ -155,6 +199,97 @@ public class TemporaryStorageQosHandlerImpl implements TemporaryStorageQosHandle
         }
     }
 
+    @Override
+    public OutputStream openOutputStream(
+            @Nullable String handlerName, @Nonnull String key, long expectedLength, long memoryWaitTimeout
+    ) throws HandlerException {
+        try {
+            return determineHandler(handlerName).openOutputStream(key, expectedLength, memoryWaitTimeout);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public String put(@Nullable String handlerName, @Nonnull byte[] content) throws HandlerException {
+        try {
+            return determineHandler(handlerName).put(content);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public String put(@Nullable String handlerName, @Nonnull byte[] content, boolean adopt) throws HandlerException {
+        try {
+            return determineHandler(handlerName).put(content, adopt);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public String put(@Nullable String handlerName, @Nonnull ByteBuffer content) throws HandlerException {
+        try {
+            return determineHandler(handlerName).put(content);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public void putInto(
+            @Nullable String handlerName, @Nonnull String key, @Nonnull byte[] content
+    ) throws HandlerException {
+        try {
+            determineHandler(handlerName).putInto(key, content);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public void putInto(
+            @Nullable String handlerName, @Nonnull String key, @Nonnull byte[] content, boolean adopt
+    ) throws HandlerException {
+        try {
+            determineHandler(handlerName).putInto(key, content, adopt);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public byte[] readAllBytes(@Nullable String handlerName, @Nonnull String key) throws HandlerException {
+        try {
+            return determineHandler(handlerName).readAllBytes(key);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public int read(
+            @Nullable String handlerName, @Nonnull String key, @Nonnull ByteBuffer buffer
+    ) throws HandlerException {
+        try {
+            return determineHandler(handlerName).read(key, buffer);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public void setExpiration(
+            @Nullable String handlerName, @Nonnull String key, long idleTimeout, long absoluteTimeout
+    ) throws HandlerException {
+        try {
+            determineHandler(handlerName).setExpiration(key, idleTimeout, absoluteTimeout);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
     @Override
     public void dispose(@Nullable String handlerName, @Nonnull String key) throws HandlerException {
         try {
@@ -191,6 +326,17 @@ public class TemporaryStorageQosHandlerImpl implements TemporaryStorageQosHandle
         }
     }
 
+    @Override
+    public Map<String, Boolean> disposeAndRemoveAll(
+            @Nullable String handlerName, @Nonnull Collection<String> keys
+    ) throws HandlerException {
+        try {
+            return determineHandler(handlerName).disposeAndRemoveAll(keys);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
     @Override
     public void clearDisposed(@Nullable String handlerName) throws HandlerException {
         try {
@@ -200,6 +346,60 @@ public class TemporaryStorageQosHandlerImpl implements TemporaryStorageQosHandle
         }
     }
 
+    @Override
+    public TemporaryStorageHandlerStats stats(@Nullable String handlerName) throws HandlerException {
+        try {
+            return determineHandler(handlerName).stats();
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public List<TemporaryStorageLatencyStats> latencyStats(@Nullable String handlerName) throws HandlerException {
+        try {
+            return determineHandler(handlerName).latencyStats();
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public void resetLatencyStats(@Nullable String handlerName) throws HandlerException {
+        try {
+            determineHandler(handlerName).resetLatencyStats();
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public void startWorkloadTrace(@Nullable String handlerName, String traceFilePath) throws HandlerException {
+        try {
+            determineHandler(handlerName).startWorkloadTrace(traceFilePath);
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public void stopWorkloadTrace(@Nullable String handlerName) throws HandlerException {
+        try {
+            determineHandler(handlerName).stopWorkloadTrace();
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
+    @Override
+    public boolean isWorkloadTracing(@Nullable String handlerName) throws HandlerException {
+        try {
+            return determineHandler(handlerName).isWorkloadTracing();
+        } catch (Exception e) {
+            throw HandlerExceptionHelper.parse(e);
+        }
+    }
+
     private TemporaryStorageHandler determineHandler(@Nullable String handlerName) throws Exception {
         if (temporaryStorageHandlerMap.isEmpty()) {
             throw new NoTemporaryStorageHandlerPresentException();
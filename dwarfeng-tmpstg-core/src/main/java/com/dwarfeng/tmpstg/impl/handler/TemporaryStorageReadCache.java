@@ -0,0 +1,194 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 临时存储读缓存。
+ *
+ * <p>
+ * 读缓存用于缓存临时存储中落盘部分（文件缓冲）的内容，以避免频繁读取的临时存储在每次打开输入流时都访问磁盘。<br>
+ * 读缓存的总大小受 <code>maxSize</code> 限制，超出限制时，按照最近最少使用（LRU）的顺序淘汰条目。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageReadCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemporaryStorageReadCache.class);
+
+    private final long maxSize;
+
+    private final Lock lock = new ReentrantLock();
+    private final LinkedHashMap<String, byte[]> entryMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    /*
+     * 以下字段只在持有锁时修改，但声明为 volatile，使统计信息的读取不需要获取锁。
+     */
+    private volatile long size = 0;
+    private volatile int entryCount = 0;
+    private volatile long hitCount = 0;
+    private volatile long missCount = 0;
+    private volatile long evictionCount = 0;
+
+    public TemporaryStorageReadCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 读缓存是否启用。
+     *
+     * @return 读缓存是否启用。
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * 判断指定长度的内容是否可以被缓存。
+     *
+     * @param length 内容的长度。
+     * @return 指定长度的内容是否可以被缓存。
+     */
+    public boolean isCacheable(long length) {
+        return isEnabled() && length > 0 && length <= maxSize && length <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * 获取指定键对应的缓存内容。
+     *
+     * <p>
+     * 返回的数组不应该被调用者修改。
+     *
+     * @param key 指定的键。
+     * @return 指定键对应的缓存内容，如果不存在，则返回 <code>null</code>。
+     */
+    public byte[] get(String key) {
+        lock.lock();
+        try {
+            byte[] content = entryMap.get(key);
+            if (Objects.isNull(content)) {
+                missCount++;
+            } else {
+                hitCount++;
+            }
+            return content;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 将指定的内容放入缓存。
+     *
+     * <p>
+     * 放入缓存后，调用者不应该再修改指定的内容。
+     *
+     * @param key     指定的键。
+     * @param content 指定的内容。
+     */
+    public void put(String key, byte[] content) {
+        if (!isCacheable(content.length)) {
+            return;
+        }
+        lock.lock();
+        try {
+            byte[] oldContent = entryMap.put(key, content);
+            if (Objects.nonNull(oldContent)) {
+                size -= oldContent.length;
+            }
+            size += content.length;
+            // 按照最近最少使用的顺序淘汰条目，直到缓存大小不超过最大限制。
+            Iterator<Map.Entry<String, byte[]>> iterator = entryMap.entrySet().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                Map.Entry<String, byte[]> entry = iterator.next();
+                if (Objects.equals(entry.getKey(), key)) {
+                    continue;
+                }
+                size -= entry.getValue().length;
+                evictionCount++;
+                iterator.remove();
+                LOGGER.debug("读缓存淘汰条目, key: {}, size: {}", entry.getKey(), size);
+            }
+            entryCount = entryMap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 使指定键对应的缓存内容失效。
+     *
+     * @param key 指定的键。
+     */
+    public void invalidate(String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            byte[] content = entryMap.remove(key);
+            if (Objects.nonNull(content)) {
+                size -= content.length;
+                entryCount = entryMap.size();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存。
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entryMap.clear();
+            size = 0;
+            entryCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageReadCache{" +
+                "maxSize=" + maxSize +
+                '}';
+    }
+}
@@ -0,0 +1,177 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 临时存储分片上下文。
+ *
+ * <p>
+ * 上下文保存同一个分片处理器中所有分片共享的资源：文件配额、临时文件目录选择器、Arena、临时文件复用池、
+ * 延迟记录器与负载记录器，使分片处理器对外表现为一个处理器，Arena 文件的预分配空间与复用池的大小不随分片数量增长；
+ * 其余的资源，例如注册表、锁、内存缓冲区与后台任务，由每个分片各自持有。
+ *
+ * <p>
+ * 上下文同时负责键与分片之间的映射：分片数量大于 1 时，分片生成的键的最后两个十六进制字符被替换为分片的序号，
+ * 因此路由键时只需要解析键的末尾，不需要维护共享的映射。<br>
+ * 分片数量为 1 时，键是未经修改的 UUID，与未分片的处理器完全一致。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageShardContext {
+
+    /**
+     * 分片数量的最大值，即键的最后两个十六进制字符能够表示的序号的数量。
+     */
+    public static final int MAX_SHARD_COUNT = 256;
+
+    private static final int SHARD_SUFFIX_LENGTH = 2;
+
+    private final int shardCount;
+    private final TemporaryStorageFileQuota fileQuota;
+    private final TemporaryStorageDirectorySelector directorySelector;
+    private final TemporaryStorageArena arena;
+    private final TemporaryStorageFilePool filePool;
+    private final TemporaryStorageLatencyRecorder latencyRecorder = new TemporaryStorageLatencyRecorder();
+    private final TemporaryStorageWorkloadTracer workloadTracer = new TemporaryStorageWorkloadTracer();
+
+    public TemporaryStorageShardContext(int shardCount, TemporaryStorageConfig config) {
+        if (shardCount <= 0 || shardCount > MAX_SHARD_COUNT) {
+            throw new IllegalArgumentException("分片数量必须在 1 到 " + MAX_SHARD_COUNT + " 之间: " + shardCount);
+        }
+        this.shardCount = shardCount;
+        this.fileQuota = new TemporaryStorageFileQuota(
+                config.getMaxFileSizeTotal(), config.getFileQuotaExceededPolicy(), config.getFileQuotaBlockTimeout()
+        );
+        // 未配置临时文件目录路径列表时，使用单个临时文件目录。
+        List<String> temporaryFileDirectoryPaths = config.getTemporaryFileDirectoryPaths();
+        if (temporaryFileDirectoryPaths.isEmpty()) {
+            temporaryFileDirectoryPaths = Collections.singletonList(config.getTemporaryFileDirectoryPath());
+        }
+        List<File> temporaryFileDirectories = new ArrayList<>(temporaryFileDirectoryPaths.size());
+        for (String temporaryFileDirectoryPath : temporaryFileDirectoryPaths) {
+            temporaryFileDirectories.add(new File(temporaryFileDirectoryPath));
+        }
+        this.directorySelector = new TemporaryStorageDirectorySelector(
+                temporaryFileDirectories, config.getTemporaryFilePlacementPolicy()
+        );
+        // 溢出层级为 arena 时，每个临时文件目录对应一个 Arena 文件。
+        if (Objects.equals(config.getSpillTier(), Constants.SPILL_TIER_ARENA)) {
+            this.arena = new TemporaryStorageArena(
+                    temporaryFileDirectories, config.getTemporaryFilePrefix(), config.getTemporaryFileSuffix(),
+                    config.getArenaFileSize(), config.getArenaExtentSize()
+            );
+        } else {
+            this.arena = null;
+        }
+        // 溢出层级为 arena 时，不存在独立的溢出文件，因此禁用临时文件复用池。
+        this.filePool = new TemporaryStorageFilePool(
+                temporaryFileDirectories.size(), Objects.isNull(arena) ? config.getTemporaryFilePoolSize() : 0,
+                config.getTemporaryFilePoolIdleTimeout()
+        );
+    }
+
+    /**
+     * 判断上下文是否由多个分片共享。
+     *
+     * @return 上下文是否由多个分片共享。
+     */
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * 为指定的分片生成一个新的键。
+     *
+     * @param shardIndex 分片的序号。
+     * @return 新的键。
+     */
+    public String newKey(int shardIndex) {
+        String key = UUID.randomUUID().toString();
+        if (shardCount == 1) {
+            return key;
+        }
+        return key.substring(0, key.length() - SHARD_SUFFIX_LENGTH) + Character.forDigit(shardIndex >>> 4, 16) +
+                Character.forDigit(shardIndex & 0xF, 16);
+    }
+
+    /**
+     * 获取指定的键所在的分片的序号。
+     *
+     * <p>
+     * 对于分片生成的键，返回生成该键的分片的序号；对于其它的键，返回一个确定的序号，
+     * 该分片中不存在这个键，因此对其的操作与未分片的处理器一样报告键不存在。
+     *
+     * @param key 指定的键。
+     * @return 分片的序号。
+     */
+    public int shardIndexOf(String key) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        int length = key.length();
+        if (length >= SHARD_SUFFIX_LENGTH) {
+            int high = Character.digit(key.charAt(length - 2), 16);
+            int low = Character.digit(key.charAt(length - 1), 16);
+            if (high >= 0 && low >= 0) {
+                return ((high << 4) | low) % shardCount;
+            }
+        }
+        return (key.hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public TemporaryStorageFileQuota getFileQuota() {
+        return fileQuota;
+    }
+
+    public TemporaryStorageDirectorySelector getDirectorySelector() {
+        return directorySelector;
+    }
+
+    /**
+     * 获取 Arena。
+     *
+     * @return Arena，溢出层级不为 arena 时返回 null。
+     */
+    public TemporaryStorageArena getArena() {
+        return arena;
+    }
+
+    public TemporaryStorageFilePool getFilePool() {
+        return filePool;
+    }
+
+    public TemporaryStorageLatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    public TemporaryStorageWorkloadTracer getWorkloadTracer() {
+        return workloadTracer;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageShardContext{" +
+                "shardCount=" + shardCount +
+                ", fileQuota=" + fileQuota +
+                ", directorySelector=" + directorySelector +
+                ", arena=" + arena +
+                ", filePool=" + filePool +
+                '}';
+    }
+}
@@ -0,0 +1,117 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+/**
+ * 临时存储大小直方图。
+ *
+ * <p>
+ * 该直方图记录最近 <code>windowSize</code> 个临时存储的最终内容长度，并据此估算内容长度的分位数。<br>
+ * 直方图使用对数分桶，每个 2 的幂区间被均分为 4 个子桶，因此估算值相对真实值的误差不超过 25%，
+ * 且估算值总是不小于真实值。
+ *
+ * <p>
+ * 该类不是线程安全的，调用者应该自行保证线程安全；但 {@link #getSampleCount()} 方法可以在不同步的情况下调用。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageSizeHistogram {
+
+    /**
+     * 子桶的位数，每个 2 的幂区间被均分为 <code>2 ^ SUB_BUCKET_BITS</code> 个子桶。
+     */
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /**
+     * 估算分位数所需的最少样本数量。
+     *
+     * <p>
+     * 样本数量不足时，直方图无法给出可靠的估算值。
+     */
+    private static final int MIN_SAMPLE_COUNT = 16;
+
+    private final long[] window;
+    private final int[] bucketCounts = new int[BUCKET_COUNT];
+
+    private int windowAnchorIndex = 0;
+    private volatile int sampleCount = 0;
+
+    public TemporaryStorageSizeHistogram(int windowSize) {
+        this.window = new long[windowSize];
+    }
+
+    /**
+     * 记录一个临时存储的最终内容长度。
+     *
+     * <p>
+     * 如果窗口已满，最早的样本将被移出直方图。
+     *
+     * @param size 临时存储的最终内容长度。
+     */
+    public void record(long size) {
+        size = Math.max(size, 0);
+        if (sampleCount == window.length) {
+            bucketCounts[bucketIndex(window[windowAnchorIndex])]--;
+        } else {
+            sampleCount++;
+        }
+        window[windowAnchorIndex] = size;
+        bucketCounts[bucketIndex(size)]++;
+        windowAnchorIndex = (windowAnchorIndex + 1) % window.length;
+    }
+
+    /**
+     * 估算内容长度的分位数。
+     *
+     * @param percentile 分位数，取值范围为 <code>(0, 1]</code>。
+     * @return 内容长度的分位数估算值，如果样本数量不足，则返回 <code>-1</code>。
+     */
+    public long percentile(double percentile) {
+        if (sampleCount < Math.min(MIN_SAMPLE_COUNT, window.length)) {
+            return -1;
+        }
+        long targetCount = (long) Math.ceil(percentile * sampleCount);
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulativeCount += bucketCounts[i];
+            if (cumulativeCount >= targetCount) {
+                return bucketUpperBound(i);
+            }
+        }
+        // 理论上不会执行到此处。
+        return bucketUpperBound(BUCKET_COUNT - 1);
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    private static int bucketIndex(long size) {
+        if (size < SUB_BUCKET_COUNT) {
+            return (int) size;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(size);
+        int mantissa = (int) ((size >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + mantissa;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+        int mantissa = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long upperBound = ((long) (SUB_BUCKET_COUNT + mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        // 防止最高位的桶溢出。
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageSizeHistogram{" +
+                "windowSize=" + window.length +
+                ", sampleCount=" + sampleCount +
+                '}';
+    }
+}
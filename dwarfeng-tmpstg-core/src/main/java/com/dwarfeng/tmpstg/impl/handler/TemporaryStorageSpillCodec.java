@@ -0,0 +1,121 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 临时存储溢出文件编解码器。
+ *
+ * <p>
+ * 编解码器用于包装文件缓冲区（溢出文件）的输入输出流，对写入溢出文件的数据进行透明的压缩，并在读取时透明地解压。
+ *
+ * <p>
+ * 该类是线程安全的，每次包装得到的流各自持有独立的压缩器/解压器，并在流关闭时释放。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageSpillCodec {
+
+    /**
+     * 压缩流与解压流的缓冲区大小。
+     */
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private final String codec;
+    private final int level;
+
+    public TemporaryStorageSpillCodec(String codec, int level) {
+        this.codec = codec;
+        this.level = level;
+    }
+
+    /**
+     * 编解码器是否直接透传数据，即不对数据进行任何处理。
+     *
+     * @return 编解码器是否直接透传数据。
+     */
+    public boolean isPassthrough() {
+        return Objects.equals(codec, Constants.SPILL_COMPRESSION_CODEC_NONE);
+    }
+
+    /**
+     * 包装文件缓冲区的输出流。
+     *
+     * <p>
+     * 包装后的流关闭时，被包装的流也会被关闭。
+     *
+     * @param out 文件缓冲区的输出流。
+     * @return 包装后的输出流。
+     */
+    public OutputStream wrapOutputStream(OutputStream out) {
+        if (isPassthrough()) {
+            return out;
+        }
+        // 自定义的 Deflater 不会被 DeflaterOutputStream 自动释放，因此需要在关闭时手动释放。
+        Deflater deflater = new Deflater(level);
+        return new DeflaterOutputStream(out, deflater, STREAM_BUFFER_SIZE) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * 包装文件缓冲区的输入流。
+     *
+     * <p>
+     * 包装后的流关闭时，被包装的流也会被关闭。
+     *
+     * @param in 文件缓冲区的输入流。
+     * @return 包装后的输入流。
+     */
+    public InputStream wrapInputStream(InputStream in) {
+        if (isPassthrough()) {
+            return in;
+        }
+        // 自定义的 Inflater 不会被 InflaterInputStream 自动释放，因此需要在关闭时手动释放。
+        Inflater inflater = new Inflater();
+        return new InflaterInputStream(in, inflater, STREAM_BUFFER_SIZE) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageSpillCodec{" +
+                "codec='" + codec + '\'' +
+                ", level=" + level +
+                '}';
+    }
+}
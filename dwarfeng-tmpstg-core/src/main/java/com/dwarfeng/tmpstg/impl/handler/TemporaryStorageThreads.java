@@ -0,0 +1,53 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 临时存储线程工具。
+ *
+ * <p>
+ * 该类决定临时存储处理器的后台维护任务以及异步操作在哪种线程中执行。<br>
+ * <code>dwarfeng-tmpstg-core</code> 是一个多版本 JAR，该类是 Java 8 版本的实现：
+ * 异步操作使用守护平台线程执行，后台维护任务直接在调度器的线程中执行。<br>
+ * 在 Java 21 及以上的运行环境中，该类被 <code>META-INF/versions/21</code> 中的同名类替换，
+ * 替换后的实现使用虚拟线程执行上述操作。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageThreads {
+
+    /**
+     * 创建执行异步操作的线程工厂。
+     *
+     * @param namePrefix 线程名称的前缀，线程名称为前缀加上从 1 开始的序号。
+     * @return 执行异步操作的线程工厂。
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 包装后台维护任务，使其在调度器的线程之外执行。
+     *
+     * <p>
+     * 该版本的实现直接返回指定的任务，即任务在调度器的线程中执行。
+     *
+     * @param name 任务的名称，用作执行任务的线程的名称。
+     * @param task 后台维护任务。
+     * @return 包装后的任务。
+     */
+    public static Runnable offloading(String name, Runnable task) {
+        return task;
+    }
+
+    private TemporaryStorageThreads() {
+        throw new IllegalStateException("禁止实例化");
+    }
+}
@@ -0,0 +1,249 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 临时存储分层时间轮。
+ *
+ * <p>
+ * 时间轮将时间划分为固定长度的刻度，由 {@link #LEVEL_COUNT} 层组成，每层有 {@link #SLOT_COUNT} 个槽，
+ * 第 <code>n</code> 层的一个槽覆盖 <code>SLOT_COUNT<sup>n</sup></code> 个刻度。<br>
+ * 定时器按照距离到期的刻度数放入能够容纳它的最低一层，高层的槽在当前刻度到达其起始刻度时被逐层下放到低层，
+ * 因此添加、取消与到期一个定时器的时间复杂度均为 O(1)，推进时间轮时不需要遍历所有的定时器。
+ *
+ * <p>
+ * 距离到期的刻度数超过最高一层的范围时，定时器被放入最高一层最远的槽中，在下放时重新计算位置。
+ *
+ * <p>
+ * 时间轮使用的时间由调用者提供，单位为毫秒，只要求单调不减，不要求与系统时间一致。
+ *
+ * <p>
+ * 该类不是线程安全的，调用者需要自行同步；但 {@link #size()} 方法可以在不同步的情况下调用。
+ *
+ * @param <T> 定时器携带的值的类型。
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageTimingWheel<T> {
+
+    /**
+     * 每层的槽的数量的位数。
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * 每层的槽的数量。
+     */
+    public static final int SLOT_COUNT = 1 << SLOT_BITS;
+
+    /**
+     * 时间轮的层数。
+     */
+    public static final int LEVEL_COUNT = 4;
+
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final long MAX_DELTA_TICK = (1L << (SLOT_BITS * LEVEL_COUNT)) - 1;
+
+    private final long tickDuration;
+    private final long startTime;
+
+    private final Timeout<T>[][] slots;
+
+    /**
+     * 下一个需要处理的刻度。
+     */
+    private long currentTick = 0;
+    private volatile int size = 0;
+
+    @SuppressWarnings("unchecked")
+    public TemporaryStorageTimingWheel(long tickDuration, long startTime) {
+        this.tickDuration = tickDuration;
+        this.startTime = startTime;
+        this.slots = new Timeout[LEVEL_COUNT][SLOT_COUNT];
+        // 每个槽是一个以哨兵节点为首的双向循环链表。
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                Timeout<T> sentinel = new Timeout<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                slots[level][slot] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * 添加定时器。
+     *
+     * <p>
+     * 到期时间早于已经处理的刻度时，定时器在下一次推进时间轮时到期。
+     *
+     * @param value    定时器携带的值。
+     * @param deadline 到期时间。
+     * @return 添加的定时器。
+     */
+    public Timeout<T> schedule(T value, long deadline) {
+        // 到期的刻度向上取整，保证定时器不会早于到期时间到期。
+        long elapsed = Math.max(deadline - startTime, 0);
+        long deadlineTick = elapsed / tickDuration + (elapsed % tickDuration == 0 ? 0 : 1);
+        Timeout<T> timeout = new Timeout<>(value, Math.max(deadlineTick, currentTick));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * 取消定时器。
+     *
+     * @param timeout 需要取消的定时器。
+     * @return 定时器是否被取消，如果定时器已经到期或已经被取消，则返回 <code>false</code>。
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isScheduled()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * 将时间轮推进到指定的时间，并返回所有到期的定时器携带的值。
+     *
+     * @param now 当前时间。
+     * @return 所有到期的定时器携带的值。
+     */
+    public List<T> advance(long now) {
+        long targetTick = Math.max(now - startTime, 0) / tickDuration;
+        List<T> expiredValues = new ArrayList<>();
+        while (currentTick <= targetTick) {
+            // 时间轮中没有定时器时，直接跳到目标刻度，避免长时间停顿后逐个处理空的刻度。
+            if (size == 0) {
+                currentTick = targetTick + 1;
+                break;
+            }
+            // 先从高到低下放到达起始刻度的高层槽，再处理最低一层的槽。
+            for (int level = LEVEL_COUNT - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, slotIndex(currentTick, level));
+                }
+            }
+            Timeout<T> sentinel = slots[0][slotIndex(currentTick, 0)];
+            while (sentinel.next != sentinel) {
+                Timeout<T> timeout = sentinel.next;
+                unlink(timeout);
+                size--;
+                expiredValues.add(timeout.value);
+            }
+            currentTick++;
+        }
+        return expiredValues.isEmpty() ? Collections.emptyList() : expiredValues;
+    }
+
+    /**
+     * 清空时间轮。
+     */
+    public void clear() {
+        for (Timeout<T>[] levelSlots : slots) {
+            for (Timeout<T> sentinel : levelSlots) {
+                while (sentinel.next != sentinel) {
+                    unlink(sentinel.next);
+                }
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * 获取时间轮中的定时器的数量。
+     *
+     * @return 时间轮中的定时器的数量。
+     */
+    public int size() {
+        return size;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long deltaTick = timeout.deadlineTick - currentTick;
+        int level = 0;
+        while (level < LEVEL_COUNT - 1 && deltaTick >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        // 超过最高一层范围的定时器放入最高一层最远的槽中。
+        long placeTick = Math.min(deltaTick, MAX_DELTA_TICK) + currentTick;
+        Timeout<T> sentinel = slots[level][slotIndex(placeTick, level)];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout<T> sentinel = slots[level][slot];
+        while (sentinel.next != sentinel) {
+            Timeout<T> timeout = sentinel.next;
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageTimingWheel{" +
+                "tickDuration=" + tickDuration +
+                ", startTime=" + startTime +
+                ", currentTick=" + currentTick +
+                ", size=" + size +
+                '}';
+    }
+
+    /**
+     * 定时器。
+     *
+     * @param <T> 定时器携带的值的类型。
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    public static final class Timeout<T> {
+
+        private final T value;
+        private final long deadlineTick;
+
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * 定时器是否仍在时间轮中。
+         *
+         * @return 定时器是否仍在时间轮中。
+         */
+        public boolean isScheduled() {
+            return prev != null;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageWorkloadTraceReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 临时存储负载记录器。
+ *
+ * <p>
+ * 记录器将处理器执行的操作以定长的二进制记录写入文件，文件的格式详见 {@link TemporaryStorageWorkloadTraceReader}。<br>
+ * 每次操作开始时调用 {@link #begin()} 获取开始时间，操作成功后调用 {@link #record(int, String, long, long)} 记录操作；
+ * 未在记录时，{@link #begin()} 只读取一次 volatile 字段，{@link #record(int, String, long, long)} 直接返回。
+ *
+ * <p>
+ * 记录先写入按线程分段的内存缓冲区，缓冲区写满时才写入文件，
+ * 因此操作只在获取所在分段的锁时与少数线程竞争，且大多数操作不涉及 IO。<br>
+ * 记录的开始与停止、分段、文件以及失败的原因都使用 {@link ReentrantLock} 而不是监视器保护，
+ * 使虚拟线程在写入文件或等待这些锁时不会固定其载体线程。<br>
+ * 写入文件失败时，记录器停止记录并输出警告，不影响处理器的操作；失败的原因在停止记录时抛出。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageWorkloadTracer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemporaryStorageWorkloadTracer.class);
+
+    /**
+     * 未在记录时，{@link #begin()} 返回的值。
+     */
+    public static final long NOT_TRACED = Long.MIN_VALUE;
+
+    /**
+     * 每个分段的缓冲区的大小。
+     */
+    private static final int STRIPE_BUFFER_SIZE = TemporaryStorageWorkloadTraceReader.RECORD_LENGTH * 1024;
+
+    private final Lock sessionLock = new ReentrantLock();
+
+    private volatile Session session;
+
+    /**
+     * 开始记录，记录写入指定的文件，文件已经存在时被覆盖。
+     *
+     * @param path 记录文件的路径。
+     * @throws IOException           文件无法打开时抛出。
+     * @throws IllegalStateException 已经在记录时抛出。
+     */
+    public void start(Path path) throws IOException {
+        sessionLock.lock();
+        try {
+            if (Objects.nonNull(session)) {
+                throw new IllegalStateException("负载记录已经开始, 记录文件: " + session.path);
+            }
+            session = new Session(path);
+        } finally {
+            sessionLock.unlock();
+        }
+    }
+
+    /**
+     * 停止记录，将缓冲区中的记录写入文件并关闭文件。
+     *
+     * <p>
+     * 未在记录时，该方法不做任何操作。
+     *
+     * @throws IOException 写入或关闭文件时发生的异常，以及记录期间写入文件时发生的异常。
+     */
+    public void stop() throws IOException {
+        sessionLock.lock();
+        try {
+            if (Objects.isNull(session)) {
+                return;
+            }
+            Session stoppingSession = session;
+            session = null;
+            stoppingSession.close();
+        } finally {
+            sessionLock.unlock();
+        }
+    }
+
+    /**
+     * 判断是否正在记录。
+     *
+     * @return 是否正在记录。
+     */
+    public boolean isTracing() {
+        return Objects.nonNull(session);
+    }
+
+    /**
+     * 获取操作的开始时间。
+     *
+     * @return 操作的开始时间，单位为纳秒；未在记录时返回 {@link #NOT_TRACED}。
+     */
+    public long begin() {
+        return Objects.isNull(session) ? NOT_TRACED : System.nanoTime();
+    }
+
+    /**
+     * 记录一次成功的操作。
+     *
+     * <p>
+     * 操作开始时未在记录，或者操作期间停止了记录时，该操作不会被记录。
+     *
+     * @param operation  操作的类型，参考 {@link Constants} 中以 <code>WORKLOAD_TRACE_OPERATION_</code> 开头的常量。
+     * @param key        操作的临时存储的键。
+     * @param size       操作的长度。
+     * @param beginNanos {@link #begin()} 返回的操作的开始时间。
+     */
+    public void record(int operation, String key, long size, long beginNanos) {
+        record(operation, key, size, beginNanos, System.nanoTime());
+    }
+
+    /**
+     * 记录一次成功的、在指定时间结束的操作。
+     *
+     * <p>
+     * 该方法用于批量操作，批量操作中的每个操作分别记录各自的开始时间与结束时间。<br>
+     * 操作开始时未在记录，或者操作期间停止了记录时，该操作不会被记录。
+     *
+     * @param operation  操作的类型，参考 {@link Constants} 中以 <code>WORKLOAD_TRACE_OPERATION_</code> 开头的常量。
+     * @param key        操作的临时存储的键。
+     * @param size       操作的长度。
+     * @param beginNanos {@link #begin()} 返回的操作的开始时间。
+     * @param endNanos   操作的结束时间，单位为纳秒。
+     */
+    public void record(int operation, String key, long size, long beginNanos, long endNanos) {
+        if (beginNanos == NOT_TRACED) {
+            return;
+        }
+        Session currentSession = session;
+        if (Objects.isNull(currentSession)) {
+            return;
+        }
+        currentSession.append(operation, key, size, beginNanos, endNanos);
+    }
+
+    /**
+     * 忘记临时存储的键。
+     *
+     * <p>
+     * 已释放的临时存储被清理时不会产生记录，调用该方法使记录不再保留该键的编号。<br>
+     * 未在记录时，该方法不做任何操作。
+     *
+     * @param key 被清理的临时存储的键。
+     */
+    public void forget(String key) {
+        Session currentSession = session;
+        if (Objects.isNull(currentSession)) {
+            return;
+        }
+        currentSession.keyIdMap.remove(key);
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageWorkloadTracer{" +
+                "tracing=" + isTracing() +
+                '}';
+    }
+
+    private static final class Session {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final Lock channelLock = new ReentrantLock();
+        private final Lock failureLock = new ReentrantLock();
+        private final long startNanos;
+        private final Stripe[] stripes;
+        private final int stripeMask;
+        private final ConcurrentHashMap<String, Integer> keyIdMap = new ConcurrentHashMap<>();
+        private final AtomicInteger nextKeyId = new AtomicInteger();
+
+        private volatile boolean closed = false;
+        private IOException failure;
+
+        private Session(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+            );
+            try {
+                ByteBuffer header = ByteBuffer.allocate(TemporaryStorageWorkloadTraceReader.HEADER_LENGTH);
+                header.putInt(TemporaryStorageWorkloadTraceReader.MAGIC);
+                header.putShort(TemporaryStorageWorkloadTraceReader.VERSION);
+                header.putShort(TemporaryStorageWorkloadTraceReader.RECORD_LENGTH);
+                header.putLong(System.currentTimeMillis());
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            this.startNanos = System.nanoTime();
+            // 分段的数量为处理器数量的两倍，向上取整到 2 的幂。
+            int processorCount = Runtime.getRuntime().availableProcessors();
+            int stripeCount = Integer.highestOneBit(Math.max(processorCount * 2 - 1, 1)) << 1;
+            this.stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe();
+            }
+            this.stripeMask = stripeCount - 1;
+        }
+
+        @SuppressWarnings("deprecation")
+        private void append(int operation, String key, long size, long beginNanos, long endNanos) {
+            int threadId = (int) Thread.currentThread().getId();
+            int keyId = resolveKeyId(operation, key);
+            Stripe stripe = stripes[threadId & stripeMask];
+            stripe.lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (stripe.buffer.remaining() < TemporaryStorageWorkloadTraceReader.RECORD_LENGTH && !flush(stripe)) {
+                    return;
+                }
+                stripe.buffer.put((byte) operation);
+                stripe.buffer.putInt(threadId);
+                stripe.buffer.putInt(keyId);
+                stripe.buffer.putLong(Math.max(beginNanos - startNanos, 0));
+                stripe.buffer.putLong(endNanos - beginNanos);
+                stripe.buffer.putLong(size);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        private int resolveKeyId(int operation, String key) {
+            // 移除临时存储后，其键不会再次出现，因此从映射中移除，以免映射随记录的时长无限增长。
+            if (operation == Constants.WORKLOAD_TRACE_OPERATION_REMOVE ||
+                    operation == Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE) {
+                Integer keyId = keyIdMap.remove(key);
+                return Objects.isNull(keyId) ? nextKeyId.getAndIncrement() : keyId;
+            }
+            Integer keyId = keyIdMap.get(key);
+            if (Objects.nonNull(keyId)) {
+                return keyId;
+            }
+            return keyIdMap.computeIfAbsent(key, k -> nextKeyId.getAndIncrement());
+        }
+
+        /**
+         * 将分段缓冲区中的记录写入文件。
+         *
+         * <p>
+         * 该方法需要在持有分段的锁时调用。
+         *
+         * @param stripe 分段。
+         * @return 是否写入成功。
+         */
+        private boolean flush(Stripe stripe) {
+            stripe.buffer.flip();
+            try {
+                channelLock.lock();
+                try {
+                    while (stripe.buffer.hasRemaining()) {
+                        channel.write(stripe.buffer);
+                    }
+                } finally {
+                    channelLock.unlock();
+                }
+                return true;
+            } catch (IOException e) {
+                fail(e);
+                return false;
+            } finally {
+                stripe.buffer.clear();
+            }
+        }
+
+        private void fail(IOException e) {
+            failureLock.lock();
+            try {
+                if (Objects.nonNull(failure)) {
+                    return;
+                }
+                failure = e;
+                closed = true;
+            } finally {
+                failureLock.unlock();
+            }
+            LOGGER.warn("写入负载记录文件 {} 时发生异常, 负载记录将停止, 异常信息如下: ", path, e);
+        }
+
+        private void close() throws IOException {
+            // 置位 closed 之后，新的记录不会再写入缓冲区，因此逐个写出分段之后，所有的记录都已经写入文件。
+            closed = true;
+            try {
+                for (Stripe stripe : stripes) {
+                    stripe.lock.lock();
+                    try {
+                        if (stripe.buffer.position() > 0) {
+                            flush(stripe);
+                        }
+                    } finally {
+                        stripe.lock.unlock();
+                    }
+                }
+            } finally {
+                channel.close();
+            }
+            failureLock.lock();
+            try {
+                if (Objects.nonNull(failure)) {
+                    throw new IOException("写入负载记录文件 " + path + " 时发生异常", failure);
+                }
+            } finally {
+                failureLock.unlock();
+            }
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Lock lock = new ReentrantLock();
+        private final ByteBuffer buffer = ByteBuffer.allocate(STRIPE_BUFFER_SIZE);
+    }
+}
@@ -4,7 +4,9 @@ import com.dwarfeng.subgrade.sdk.exception.ServiceExceptionHelper;
 import com.dwarfeng.subgrade.stack.exception.ServiceException;
 import com.dwarfeng.subgrade.stack.exception.ServiceExceptionMapper;
 import com.dwarfeng.subgrade.stack.log.LogLevel;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
 import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
 import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageQosHandler;
 import com.dwarfeng.tmpstg.stack.service.TemporaryStorageQosService;
 import org.slf4j.Logger;
@@ -15,8 +17,10 @@ import javax.annotation.Nullable;
 import javax.annotation.PreDestroy;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 临时存储 QoS 服务实现。
@@ -111,6 +115,17 @@ public class TemporaryStorageQosServiceImpl implements TemporaryStorageQosServic
         }
     }
 
+    @Override
+    public Map<String, TemporaryStorageInfo> inspectAll(
+            @Nullable String handlerName, @Nonnull Collection<String> keys
+    ) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.inspectAll(handlerName, keys);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("批量获取临时存储信息时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
     @Override
     public String create(@Nullable String handlerName) throws ServiceException {
         try {
@@ -120,6 +135,36 @@ public class TemporaryStorageQosServiceImpl implements TemporaryStorageQosServic
         }
     }
 
+    @Override
+    public List<String> createBatch(@Nullable String handlerName, int count) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.createBatch(handlerName, count);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("批量创建临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public String create(@Nullable String handlerName, long idleTimeout, long absoluteTimeout)
+            throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.create(handlerName, idleTimeout, absoluteTimeout);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("创建临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public List<String> createBatch(
+            @Nullable String handlerName, int count, long idleTimeout, long absoluteTimeout
+    ) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.createBatch(handlerName, count, idleTimeout, absoluteTimeout);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("批量创建临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
     @Override
     public InputStream openInputStream(@Nullable String handlerName, @Nonnull String key) throws ServiceException {
         try {
@@ -149,6 +194,97 @@ public class TemporaryStorageQosServiceImpl implements TemporaryStorageQosServic
         }
     }
 
+    @Override
+    public OutputStream openOutputStream(
+            @Nullable String handlerName, @Nonnull String key, long expectedLength, long memoryWaitTimeout
+    ) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.openOutputStream(handlerName, key, expectedLength, memoryWaitTimeout);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("打开临时存储输出流时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public String put(@Nullable String handlerName, @Nonnull byte[] content) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.put(handlerName, content);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("写入临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public String put(@Nullable String handlerName, @Nonnull byte[] content, boolean adopt) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.put(handlerName, content, adopt);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("写入临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public String put(@Nullable String handlerName, @Nonnull ByteBuffer content) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.put(handlerName, content);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("写入临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public void putInto(
+            @Nullable String handlerName, @Nonnull String key, @Nonnull byte[] content
+    ) throws ServiceException {
+        try {
+            temporaryStorageQosHandler.putInto(handlerName, key, content);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("写入临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public void putInto(
+            @Nullable String handlerName, @Nonnull String key, @Nonnull byte[] content, boolean adopt
+    ) throws ServiceException {
+        try {
+            temporaryStorageQosHandler.putInto(handlerName, key, content, adopt);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("写入临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public byte[] readAllBytes(@Nullable String handlerName, @Nonnull String key) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.readAllBytes(handlerName, key);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("读取临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public int read(
+            @Nullable String handlerName, @Nonnull String key, @Nonnull ByteBuffer buffer
+    ) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.read(handlerName, key, buffer);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("读取临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public void setExpiration(
+            @Nullable String handlerName, @Nonnull String key, long idleTimeout, long absoluteTimeout
+    ) throws ServiceException {
+        try {
+            temporaryStorageQosHandler.setExpiration(handlerName, key, idleTimeout, absoluteTimeout);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("设置临时存储的过期时间时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
     @Override
     public void dispose(@Nullable String handlerName, @Nonnull String key) throws ServiceException {
         try {
@@ -185,6 +321,17 @@ public class TemporaryStorageQosServiceImpl implements TemporaryStorageQosServic
         }
     }
 
+    @Override
+    public Map<String, Boolean> disposeAndRemoveAll(
+            @Nullable String handlerName, @Nonnull Collection<String> keys
+    ) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.disposeAndRemoveAll(handlerName, keys);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("批量释放并移除临时存储时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
     @Override
     public void clearDisposed(@Nullable String handlerName) throws ServiceException {
         try {
@@ -194,4 +341,58 @@ public class TemporaryStorageQosServiceImpl implements TemporaryStorageQosServic
         }
     }
 
+    @Override
+    public TemporaryStorageHandlerStats stats(@Nullable String handlerName) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.stats(handlerName);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("获取临时存储处理器统计信息时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public List<TemporaryStorageLatencyStats> latencyStats(@Nullable String handlerName) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.latencyStats(handlerName);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("获取临时存储处理器延迟统计信息时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public void resetLatencyStats(@Nullable String handlerName) throws ServiceException {
+        try {
+            temporaryStorageQosHandler.resetLatencyStats(handlerName);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("重置临时存储处理器延迟统计信息时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public void startWorkloadTrace(@Nullable String handlerName, String traceFilePath) throws ServiceException {
+        try {
+            temporaryStorageQosHandler.startWorkloadTrace(handlerName, traceFilePath);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("开始记录临时存储处理器负载时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public void stopWorkloadTrace(@Nullable String handlerName) throws ServiceException {
+        try {
+            temporaryStorageQosHandler.stopWorkloadTrace(handlerName);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("停止记录临时存储处理器负载时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
+    @Override
+    public boolean isWorkloadTracing(@Nullable String handlerName) throws ServiceException {
+        try {
+            return temporaryStorageQosHandler.isWorkloadTracing(handlerName);
+        } catch (Exception e) {
+            throw ServiceExceptionHelper.logParse("判断临时存储处理器是否正在记录负载时发生异常", LogLevel.WARN, e, sem);
+        }
+    }
+
 }
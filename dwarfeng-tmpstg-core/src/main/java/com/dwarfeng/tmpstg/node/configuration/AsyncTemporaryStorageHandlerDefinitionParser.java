@@ -0,0 +1,72 @@
+package com.dwarfeng.tmpstg.node.configuration;
+
+import com.dwarfeng.tmpstg.impl.handler.AsyncTemporaryStorageHandlerImpl;
+import com.dwarfeng.tmpstg.sdk.util.BeanDefinitionParserUtil;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.xml.BeanDefinitionParser;
+import org.springframework.beans.factory.xml.ParserContext;
+import org.w3c.dom.Element;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Tmpstg Async Handler 元素的 BeanDefinitionParser。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class AsyncTemporaryStorageHandlerDefinitionParser implements BeanDefinitionParser {
+
+    @Override
+    public BeanDefinition parse(Element element, @Nonnull ParserContext parserContext) {
+        String asyncHandlerName = (String) BeanDefinitionParserUtil.mayResolveSpel(
+                parserContext, element.getAttribute("async-handler-name")
+        );
+        String handlerRef = (String) BeanDefinitionParserUtil.mayResolveSpel(
+                parserContext, element.getAttribute("handler-ref")
+        );
+        String threadCount = BeanDefinitionParserUtil.mayResolvePlaceholder(
+                parserContext, element.getAttribute("thread-count")
+        );
+        String queueCapacity = BeanDefinitionParserUtil.mayResolvePlaceholder(
+                parserContext, element.getAttribute("queue-capacity")
+        );
+        String terminationTimeout = BeanDefinitionParserUtil.mayResolvePlaceholder(
+                parserContext, element.getAttribute("termination-timeout")
+        );
+        String autoStart = (String) BeanDefinitionParserUtil.mayResolveSpel(
+                parserContext, element.getAttribute("auto-start")
+        );
+
+        BeanDefinitionParserUtil.makeSureBeanNameNotDuplicated(parserContext, asyncHandlerName);
+
+        BeanDefinitionBuilder asyncTemporaryStorageHandlerBuilder = BeanDefinitionBuilder.rootBeanDefinition(
+                AsyncTemporaryStorageHandlerImpl.class
+        );
+        asyncTemporaryStorageHandlerBuilder.getRawBeanDefinition().setAutowireMode(
+                AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR
+        );
+        ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
+        constructorArgumentValues.addIndexedArgumentValue(0, new RuntimeBeanReference(handlerRef));
+        constructorArgumentValues.addIndexedArgumentValue(1, threadCount);
+        constructorArgumentValues.addIndexedArgumentValue(2, queueCapacity);
+        constructorArgumentValues.addIndexedArgumentValue(3, terminationTimeout);
+        asyncTemporaryStorageHandlerBuilder.getRawBeanDefinition().setConstructorArgumentValues(
+                constructorArgumentValues
+        );
+        if (Boolean.parseBoolean(autoStart)) {
+            asyncTemporaryStorageHandlerBuilder.setInitMethodName("start");
+        }
+        asyncTemporaryStorageHandlerBuilder.setScope(BeanDefinition.SCOPE_SINGLETON);
+        asyncTemporaryStorageHandlerBuilder.setLazyInit(false);
+        parserContext.getRegistry().registerBeanDefinition(
+                asyncHandlerName, asyncTemporaryStorageHandlerBuilder.getBeanDefinition()
+        );
+
+        return null;
+    }
+}
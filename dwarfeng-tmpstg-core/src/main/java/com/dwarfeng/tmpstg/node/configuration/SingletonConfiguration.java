@@ -4,6 +4,7 @@ import com.dwarfeng.subgrade.stack.exception.ServiceExceptionMapper;
 import com.dwarfeng.tmpstg.impl.handler.TemporaryStorageHandlerImpl;
 import com.dwarfeng.tmpstg.impl.handler.TemporaryStorageQosHandlerImpl;
 import com.dwarfeng.tmpstg.impl.service.TemporaryStorageQosServiceImpl;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageConfigUtil;
 import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
 import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageQosHandler;
 import com.dwarfeng.tmpstg.stack.service.TemporaryStorageQosService;
@@ -83,6 +84,209 @@ public class SingletonConfiguration {
     public static final String SPEL_CHECK_MEMORY_INTERVAL = "${tmpstg.check_memory_interval:" +
             "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_CHECK_MEMORY_INTERVAL}}";
 
+    /**
+     * SPEL: 临时存储读缓存的最大大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_MAX_READ_CACHE_SIZE = "${tmpstg.max_read_cache_size:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_MAX_READ_CACHE_SIZE}}";
+
+    /**
+     * SPEL: 是否启用临时存储自适应缓冲区大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_ADAPTIVE_BUFFER_SIZING_ENABLED = "${tmpstg.adaptive_buffer_sizing_enabled:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_ADAPTIVE_BUFFER_SIZING_ENABLED}}";
+
+    /**
+     * SPEL: 临时存储自适应缓冲区大小所使用的分位数。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_ADAPTIVE_BUFFER_SIZING_PERCENTILE = "${tmpstg.adaptive_buffer_sizing_percentile:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_ADAPTIVE_BUFFER_SIZING_PERCENTILE}}";
+
+    /**
+     * SPEL: 临时存储自适应缓冲区大小的统计窗口大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_ADAPTIVE_BUFFER_SIZING_WINDOW_SIZE =
+            "${tmpstg.adaptive_buffer_sizing_window_size:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_ADAPTIVE_BUFFER_SIZING_WINDOW_SIZE}}";
+
+    /**
+     * SPEL: 溢出文件压缩编解码器。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_SPILL_COMPRESSION_CODEC = "${tmpstg.spill_compression_codec:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_SPILL_COMPRESSION_CODEC}}";
+
+    /**
+     * SPEL: 溢出文件压缩级别。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_SPILL_COMPRESSION_LEVEL = "${tmpstg.spill_compression_level:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_SPILL_COMPRESSION_LEVEL}}";
+
+    /**
+     * SPEL: 是否启用内存缓冲区压缩。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_MEMORY_COMPRESSION_ENABLED = "${tmpstg.memory_compression_enabled:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_MEMORY_COMPRESSION_ENABLED}}";
+
+    /**
+     * SPEL: 内存缓冲区压缩的块大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_MEMORY_COMPRESSION_BLOCK_SIZE = "${tmpstg.memory_compression_block_size:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_MEMORY_COMPRESSION_BLOCK_SIZE}}";
+
+    /**
+     * SPEL: 内存缓冲区压缩级别。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_MEMORY_COMPRESSION_LEVEL = "${tmpstg.memory_compression_level:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_MEMORY_COMPRESSION_LEVEL}}";
+
+    /**
+     * SPEL: 校验和算法。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_CHECKSUM_ALGORITHM = "${tmpstg.checksum_algorithm:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_CHECKSUM_ALGORITHM}}";
+
+    /**
+     * SPEL: 是否在读取时校验校验和。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_CHECKSUM_VERIFICATION_ENABLED = "${tmpstg.checksum_verification_enabled:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_CHECKSUM_VERIFICATION_ENABLED}}";
+
+    /**
+     * SPEL: 是否启用内容去重。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_DEDUPLICATION_ENABLED = "${tmpstg.deduplication_enabled:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_DEDUPLICATION_ENABLED}}";
+
+    /**
+     * SPEL: 临时文件目录路径列表，多个路径之间以逗号分隔。
+     *
+     * <p>
+     * 默认值为空字符串，即空列表。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_TEMPORARY_FILE_DIRECTORY_PATHS = "${tmpstg.temporary_file_directory_paths:}";
+
+    /**
+     * SPEL: 临时文件放置策略。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_TEMPORARY_FILE_PLACEMENT_POLICY = "${tmpstg.temporary_file_placement_policy:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_TEMPORARY_FILE_PLACEMENT_POLICY}}";
+
+    /**
+     * SPEL: 临时文件子目录层级数。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_TEMPORARY_FILE_FAN_OUT_LEVELS = "${tmpstg.temporary_file_fan_out_levels:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_TEMPORARY_FILE_FAN_OUT_LEVELS}}";
+
+    /**
+     * SPEL: 溢出层级。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_SPILL_TIER = "${tmpstg.spill_tier:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_SPILL_TIER}}";
+
+    /**
+     * SPEL: Arena 文件的初始大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_ARENA_FILE_SIZE = "${tmpstg.arena_file_size:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_ARENA_FILE_SIZE}}";
+
+    /**
+     * SPEL: Arena 区段大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_ARENA_EXTENT_SIZE = "${tmpstg.arena_extent_size:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_ARENA_EXTENT_SIZE}}";
+
+    /**
+     * SPEL: 临时文件复用池大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_TEMPORARY_FILE_POOL_SIZE = "${tmpstg.temporary_file_pool_size:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_TEMPORARY_FILE_POOL_SIZE}}";
+
+    /**
+     * SPEL: 临时文件复用池中的临时文件的空闲超时时间。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_TEMPORARY_FILE_POOL_IDLE_TIMEOUT = "${tmpstg.temporary_file_pool_idle_timeout:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_TEMPORARY_FILE_POOL_IDLE_TIMEOUT}}";
+
+    /**
+     * SPEL: 临时文件的最大总大小。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_MAX_FILE_SIZE_TOTAL = "${tmpstg.max_file_size_total:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_MAX_FILE_SIZE_TOTAL}}";
+
+    /**
+     * SPEL: 文件配额超限策略。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_FILE_QUOTA_EXCEEDED_POLICY = "${tmpstg.file_quota_exceeded_policy:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_FILE_QUOTA_EXCEEDED_POLICY}}";
+
+    /**
+     * SPEL: 文件配额阻塞超时时间。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_FILE_QUOTA_BLOCK_TIMEOUT = "${tmpstg.file_quota_block_timeout:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_FILE_QUOTA_BLOCK_TIMEOUT}}";
+
+    /**
+     * SPEL: 过期检查的时间刻度。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPEL_EXPIRATION_TICK_INTERVAL = "${tmpstg.expiration_tick_interval:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder).DEFAULT_EXPIRATION_TICK_INTERVAL}}";
+
     /**
      * SPEL: 临时存储的临时文件目录。
      *
@@ -205,6 +409,78 @@ public class SingletonConfiguration {
     @Value(SPEL_CHECK_MEMORY_INTERVAL)
     private long checkMemoryInterval;
 
+    @Value(SPEL_MAX_READ_CACHE_SIZE)
+    private long maxReadCacheSize;
+
+    @Value(SPEL_ADAPTIVE_BUFFER_SIZING_ENABLED)
+    private boolean adaptiveBufferSizingEnabled;
+
+    @Value(SPEL_ADAPTIVE_BUFFER_SIZING_PERCENTILE)
+    private double adaptiveBufferSizingPercentile;
+
+    @Value(SPEL_ADAPTIVE_BUFFER_SIZING_WINDOW_SIZE)
+    private int adaptiveBufferSizingWindowSize;
+
+    @Value(SPEL_SPILL_COMPRESSION_CODEC)
+    private String spillCompressionCodec;
+
+    @Value(SPEL_SPILL_COMPRESSION_LEVEL)
+    private int spillCompressionLevel;
+
+    @Value(SPEL_MEMORY_COMPRESSION_ENABLED)
+    private boolean memoryCompressionEnabled;
+
+    @Value(SPEL_MEMORY_COMPRESSION_BLOCK_SIZE)
+    private int memoryCompressionBlockSize;
+
+    @Value(SPEL_MEMORY_COMPRESSION_LEVEL)
+    private int memoryCompressionLevel;
+
+    @Value(SPEL_CHECKSUM_ALGORITHM)
+    private String checksumAlgorithm;
+
+    @Value(SPEL_CHECKSUM_VERIFICATION_ENABLED)
+    private boolean checksumVerificationEnabled;
+
+    @Value(SPEL_DEDUPLICATION_ENABLED)
+    private boolean deduplicationEnabled;
+
+    @Value(SPEL_TEMPORARY_FILE_DIRECTORY_PATHS)
+    private String temporaryFileDirectoryPaths;
+
+    @Value(SPEL_TEMPORARY_FILE_PLACEMENT_POLICY)
+    private String temporaryFilePlacementPolicy;
+
+    @Value(SPEL_TEMPORARY_FILE_FAN_OUT_LEVELS)
+    private int temporaryFileFanOutLevels;
+
+    @Value(SPEL_SPILL_TIER)
+    private String spillTier;
+
+    @Value(SPEL_ARENA_FILE_SIZE)
+    private long arenaFileSize;
+
+    @Value(SPEL_ARENA_EXTENT_SIZE)
+    private int arenaExtentSize;
+
+    @Value(SPEL_TEMPORARY_FILE_POOL_SIZE)
+    private int temporaryFilePoolSize;
+
+    @Value(SPEL_TEMPORARY_FILE_POOL_IDLE_TIMEOUT)
+    private long temporaryFilePoolIdleTimeout;
+
+    @Value(SPEL_MAX_FILE_SIZE_TOTAL)
+    private long maxFileSizeTotal;
+
+    @Value(SPEL_FILE_QUOTA_EXCEEDED_POLICY)
+    private String fileQuotaExceededPolicy;
+
+    @Value(SPEL_FILE_QUOTA_BLOCK_TIMEOUT)
+    private long fileQuotaBlockTimeout;
+
+    @Value(SPEL_EXPIRATION_TICK_INTERVAL)
+    private long expirationTickInterval;
+
     @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
     public SingletonConfiguration(ThreadPoolTaskScheduler scheduler) {
         this.scheduler = scheduler;
@@ -212,10 +488,41 @@ public class SingletonConfiguration {
 
     @Bean(name = BEAN_NAME_TEMPORARY_STORAGE_HANDLER, initMethod = "start")
     public TemporaryStorageHandler temporaryStorageHandler() {
-        TemporaryStorageConfig temporaryStorageConfig = new TemporaryStorageConfig(
-                temporaryFileDirectoryPath, temporaryFilePrefix, temporaryFileSuffix, maxBufferSizePerStorage,
-                maxBufferSizeTotal, clearDisposedInterval, checkMemoryInterval
-        );
+        TemporaryStorageConfig temporaryStorageConfig = new TemporaryStorageConfig.Builder()
+                .setTemporaryFileDirectoryPath(temporaryFileDirectoryPath)
+                .setTemporaryFilePrefix(temporaryFilePrefix)
+                .setTemporaryFileSuffix(temporaryFileSuffix)
+                .setMaxBufferSizePerStorage(maxBufferSizePerStorage)
+                .setMaxBufferSizeTotal(maxBufferSizeTotal)
+                .setClearDisposedInterval(clearDisposedInterval)
+                .setCheckMemoryInterval(checkMemoryInterval)
+                .setMaxReadCacheSize(maxReadCacheSize)
+                .setAdaptiveBufferSizingEnabled(adaptiveBufferSizingEnabled)
+                .setAdaptiveBufferSizingPercentile(adaptiveBufferSizingPercentile)
+                .setAdaptiveBufferSizingWindowSize(adaptiveBufferSizingWindowSize)
+                .setSpillCompressionCodec(spillCompressionCodec)
+                .setSpillCompressionLevel(spillCompressionLevel)
+                .setMemoryCompressionEnabled(memoryCompressionEnabled)
+                .setMemoryCompressionBlockSize(memoryCompressionBlockSize)
+                .setMemoryCompressionLevel(memoryCompressionLevel)
+                .setChecksumAlgorithm(checksumAlgorithm)
+                .setChecksumVerificationEnabled(checksumVerificationEnabled)
+                .setDeduplicationEnabled(deduplicationEnabled)
+                .setTemporaryFileDirectoryPaths(
+                        TemporaryStorageConfigUtil.parseTemporaryFileDirectoryPaths(temporaryFileDirectoryPaths)
+                )
+                .setTemporaryFilePlacementPolicy(temporaryFilePlacementPolicy)
+                .setTemporaryFileFanOutLevels(temporaryFileFanOutLevels)
+                .setSpillTier(spillTier)
+                .setArenaFileSize(arenaFileSize)
+                .setArenaExtentSize(arenaExtentSize)
+                .setTemporaryFilePoolSize(temporaryFilePoolSize)
+                .setTemporaryFilePoolIdleTimeout(temporaryFilePoolIdleTimeout)
+                .setMaxFileSizeTotal(maxFileSizeTotal)
+                .setFileQuotaExceededPolicy(fileQuotaExceededPolicy)
+                .setFileQuotaBlockTimeout(fileQuotaBlockTimeout)
+                .setExpirationTickInterval(expirationTickInterval)
+                .build();
 
         return new TemporaryStorageHandlerImpl(scheduler, temporaryStorageConfig);
     }
@@ -1,6 +1,7 @@
 package com.dwarfeng.tmpstg.node.configuration;
 
 import com.dwarfeng.tmpstg.sdk.util.BeanDefinitionParserUtil;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageConfigUtil;
 import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -70,6 +71,158 @@ public class TemporaryStorageConfigDefinitionParser implements BeanDefinitionPar
                         parserContext, element.getAttribute("check-memory-interval")
                 )
         );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "maxReadCacheSize",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("max-read-cache-size")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "adaptiveBufferSizingEnabled",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("adaptive-buffer-sizing-enabled")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "adaptiveBufferSizingPercentile",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("adaptive-buffer-sizing-percentile")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "adaptiveBufferSizingWindowSize",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("adaptive-buffer-sizing-window-size")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "spillCompressionCodec",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("spill-compression-codec")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "spillCompressionLevel",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("spill-compression-level")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "memoryCompressionEnabled",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("memory-compression-enabled")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "memoryCompressionBlockSize",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("memory-compression-block-size")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "memoryCompressionLevel",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("memory-compression-level")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "checksumAlgorithm",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("checksum-algorithm")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "checksumVerificationEnabled",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("checksum-verification-enabled")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "deduplicationEnabled",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("deduplication-enabled")
+                )
+        );
+        // 临时文件目录路径列表的属性值可能包含尚未解析的占位符，因此通过内部 Bean 在占位符解析之后再拆分列表。
+        RootBeanDefinition temporaryFileDirectoryPathsBeanDefinition = new RootBeanDefinition(
+                TemporaryStorageConfigUtil.class
+        );
+        temporaryFileDirectoryPathsBeanDefinition.setFactoryMethodName("parseTemporaryFileDirectoryPaths");
+        temporaryFileDirectoryPathsBeanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(
+                0,
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("temporary-file-directory-paths")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "temporaryFileDirectoryPaths", temporaryFileDirectoryPathsBeanDefinition
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "temporaryFilePlacementPolicy",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("temporary-file-placement-policy")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "temporaryFileFanOutLevels",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("temporary-file-fan-out-levels")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "spillTier",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("spill-tier")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "arenaFileSize",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("arena-file-size")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "arenaExtentSize",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("arena-extent-size")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "temporaryFilePoolSize",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("temporary-file-pool-size")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "temporaryFilePoolIdleTimeout",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("temporary-file-pool-idle-timeout")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "maxFileSizeTotal",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("max-file-size-total")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "fileQuotaExceededPolicy",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("file-quota-exceeded-policy")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "fileQuotaBlockTimeout",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("file-quota-block-timeout")
+                )
+        );
+        temporaryStorageConfigBuilderBeanDefinition.getPropertyValues().add(
+                "expirationTickInterval",
+                BeanDefinitionParserUtil.mayResolvePlaceholder(
+                        parserContext, element.getAttribute("expiration-tick-interval")
+                )
+        );
         temporaryStorageConfigBuilderBeanDefinition.setScope(BeanDefinition.SCOPE_SINGLETON);
         temporaryStorageConfigBuilderBeanDefinition.setLazyInit(false);
         String temporaryStorageConfigBuilderBeanName = BeanDefinitionParserUtil.parseAvailableBeanName(
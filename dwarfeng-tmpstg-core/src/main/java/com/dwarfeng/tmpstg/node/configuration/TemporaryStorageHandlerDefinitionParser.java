@@ -1,5 +1,6 @@
 package com.dwarfeng.tmpstg.node.configuration;
 
+import com.dwarfeng.tmpstg.impl.handler.ShardedTemporaryStorageHandlerImpl;
 import com.dwarfeng.tmpstg.impl.handler.TemporaryStorageHandlerImpl;
 import com.dwarfeng.tmpstg.sdk.util.BeanDefinitionParserUtil;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -35,11 +36,18 @@ public class TemporaryStorageHandlerDefinitionParser implements BeanDefinitionPa
         String autoStart = (String) BeanDefinitionParserUtil.mayResolveSpel(
                 parserContext, element.getAttribute("auto-start")
         );
+        // 分片数量决定处理器的实现类，因此需要在解析时确定。
+        int shardCount = Integer.parseInt(String.valueOf(BeanDefinitionParserUtil.mayResolveSpel(
+                parserContext, element.getAttribute("shard-count")
+        )).trim());
+        String rebalanceInterval = BeanDefinitionParserUtil.mayResolvePlaceholder(
+                parserContext, element.getAttribute("rebalance-interval")
+        );
 
         BeanDefinitionParserUtil.makeSureBeanNameNotDuplicated(parserContext, handlerName);
 
         BeanDefinitionBuilder temporaryStorageHandlerBuilder = BeanDefinitionBuilder.rootBeanDefinition(
-                TemporaryStorageHandlerImpl.class
+                shardCount == 1 ? TemporaryStorageHandlerImpl.class : ShardedTemporaryStorageHandlerImpl.class
         );
         temporaryStorageHandlerBuilder.getRawBeanDefinition().setAutowireMode(
                 AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR
@@ -47,6 +55,10 @@ public class TemporaryStorageHandlerDefinitionParser implements BeanDefinitionPa
         ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
         constructorArgumentValues.addIndexedArgumentValue(0, new RuntimeBeanReference(schedulerRef));
         constructorArgumentValues.addIndexedArgumentValue(1, new RuntimeBeanReference(configRef));
+        if (shardCount != 1) {
+            constructorArgumentValues.addIndexedArgumentValue(2, shardCount);
+            constructorArgumentValues.addIndexedArgumentValue(3, rebalanceInterval);
+        }
         temporaryStorageHandlerBuilder.getRawBeanDefinition().setConstructorArgumentValues(constructorArgumentValues);
         if (Boolean.parseBoolean(autoStart)) {
             temporaryStorageHandlerBuilder.setInitMethodName("start");
@@ -15,5 +15,6 @@ public class TemporaryStorageNamespaceHandlerSupport extends NamespaceHandlerSup
         registerBeanDefinitionParser("config", new TemporaryStorageConfigDefinitionParser());
         registerBeanDefinitionParser("handler", new TemporaryStorageHandlerDefinitionParser());
         registerBeanDefinitionParser("qos", new TemporaryStorageQosDefinitionParser());
+        registerBeanDefinitionParser("async-handler", new AsyncTemporaryStorageHandlerDefinitionParser());
     }
 }
@@ -22,6 +22,251 @@ public final class Constants {
 
     // endregion
 
+    // region 溢出文件压缩编解码器
+
+    /**
+     * 溢出文件压缩编解码器：不压缩。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPILL_COMPRESSION_CODEC_NONE = "none";
+
+    /**
+     * 溢出文件压缩编解码器：Deflate。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPILL_COMPRESSION_CODEC_DEFLATE = "deflate";
+
+    // endregion
+
+    // region 校验和算法
+
+    /**
+     * 校验和算法：不计算校验和。
+     *
+     * @since 2.1.0
+     */
+    public static final String CHECKSUM_ALGORITHM_NONE = "none";
+
+    /**
+     * 校验和算法：CRC32C。
+     *
+     * @since 2.1.0
+     */
+    public static final String CHECKSUM_ALGORITHM_CRC32C = "crc32c";
+
+    /**
+     * 校验和算法：CRC32。
+     *
+     * @since 2.1.0
+     */
+    public static final String CHECKSUM_ALGORITHM_CRC32 = "crc32";
+
+    // endregion
+
+    // region 临时文件放置策略
+
+    /**
+     * 临时文件放置策略：轮询。
+     *
+     * @since 2.1.0
+     */
+    public static final String TEMPORARY_FILE_PLACEMENT_POLICY_ROUND_ROBIN = "round_robin";
+
+    /**
+     * 临时文件放置策略：已用字节数最少。
+     *
+     * @since 2.1.0
+     */
+    public static final String TEMPORARY_FILE_PLACEMENT_POLICY_LEAST_USED = "least_used";
+
+    /**
+     * 临时文件放置策略：按可用空间加权。
+     *
+     * @since 2.1.0
+     */
+    public static final String TEMPORARY_FILE_PLACEMENT_POLICY_FREE_SPACE_WEIGHTED = "free_space_weighted";
+
+    // endregion
+
+    // region 溢出层级
+
+    /**
+     * 溢出层级：每个溢出的临时存储使用独立的文件。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPILL_TIER_FILE = "file";
+
+    /**
+     * 溢出层级：所有溢出的临时存储从共享的 Arena 文件中申请区段。
+     *
+     * @since 2.1.0
+     */
+    public static final String SPILL_TIER_ARENA = "arena";
+
+    // endregion
+
+    // region 文件配额超限策略
+
+    /**
+     * 文件配额超限策略：写入失败。
+     *
+     * @since 2.1.0
+     */
+    public static final String FILE_QUOTA_EXCEEDED_POLICY_FAIL = "fail";
+
+    /**
+     * 文件配额超限策略：阻塞写入，直到有足够的配额或超时。
+     *
+     * @since 2.1.0
+     */
+    public static final String FILE_QUOTA_EXCEEDED_POLICY_BLOCK = "block";
+
+    /**
+     * 文件配额超限策略：拒绝创建新的临时存储。
+     *
+     * @since 2.1.0
+     */
+    public static final String FILE_QUOTA_EXCEEDED_POLICY_REJECT_CREATE = "reject_create";
+
+    // endregion
+
+    // region 延迟统计操作
+
+    /**
+     * 延迟统计操作：创建临时存储。
+     *
+     * @since 2.1.0
+     */
+    public static final String LATENCY_OPERATION_CREATE = "create";
+
+    /**
+     * 延迟统计操作：打开输入流或输出流。
+     *
+     * @since 2.1.0
+     */
+    public static final String LATENCY_OPERATION_OPEN = "open";
+
+    /**
+     * 延迟统计操作：写入内容，包括向输出流写入，以及放入内容。
+     *
+     * @since 2.1.0
+     */
+    public static final String LATENCY_OPERATION_WRITE = "write";
+
+    /**
+     * 延迟统计操作：一次性读取临时存储的内容。
+     *
+     * @since 2.1.0
+     */
+    public static final String LATENCY_OPERATION_READ = "read";
+
+    /**
+     * 延迟统计操作：关闭输入流或输出流。
+     *
+     * @since 2.1.0
+     */
+    public static final String LATENCY_OPERATION_CLOSE = "close";
+
+    /**
+     * 延迟统计操作：释放临时存储。
+     *
+     * @since 2.1.0
+     */
+    public static final String LATENCY_OPERATION_DISPOSE = "dispose";
+
+    // endregion
+
+    // region 负载记录操作
+
+    /**
+     * 负载记录操作：创建临时存储，记录的长度为 <code>0</code>。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_CREATE = 0;
+
+    /**
+     * 负载记录操作：打开输入流，记录的长度为临时存储的内容长度。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_OPEN_INPUT = 1;
+
+    /**
+     * 负载记录操作：关闭输入流，记录的长度为关闭时输入流已经读取或跳过的字节数。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_CLOSE_INPUT = 2;
+
+    /**
+     * 负载记录操作：打开输出流，记录的长度为预期长度，未指定预期长度时为 <code>-1</code>。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_OPEN_OUTPUT = 3;
+
+    /**
+     * 负载记录操作：向输出流写入，记录的长度为写入的字节数；连续写入的单个字节合并为一条记录。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_WRITE = 4;
+
+    /**
+     * 负载记录操作：关闭输出流，记录的长度为临时存储的内容长度。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_CLOSE_OUTPUT = 5;
+
+    /**
+     * 负载记录操作：一次性写入内容并创建临时存储，记录的长度为内容的长度。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_PUT = 6;
+
+    /**
+     * 负载记录操作：一次性写入内容到已有的临时存储，记录的长度为内容的长度。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_PUT_INTO = 7;
+
+    /**
+     * 负载记录操作：一次性读取临时存储的内容，记录的长度为读取的字节数。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_READ = 8;
+
+    /**
+     * 负载记录操作：释放临时存储，记录的长度为 <code>0</code>。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_DISPOSE = 9;
+
+    /**
+     * 负载记录操作：移除已经释放的临时存储，记录的长度为 <code>0</code>。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_REMOVE = 10;
+
+    /**
+     * 负载记录操作：释放并移除临时存储，记录的长度为 <code>0</code>。
+     *
+     * @since 2.1.0
+     */
+    public static final int WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE = 11;
+
+    // endregion
+
     // region XSD 默认值
 
     /**
@@ -59,6 +304,36 @@ public final class Constants {
      */
     public static final String XSD_DEFAULT_TEMPORARY_STORAGE_HANDLER_AUTO_START_VALUE = "true";
 
+    /**
+     * @since 2.1.0
+     */
+    public static final String XSD_DEFAULT_ASYNC_TEMPORARY_STORAGE_HANDLER_NAME = "asyncTemporaryStorageHandler";
+
+    /**
+     * @since 2.1.0
+     */
+    public static final String XSD_DEFAULT_ASYNC_TEMPORARY_STORAGE_HANDLER_THREAD_COUNT_VALUE = "4";
+
+    /**
+     * @since 2.1.0
+     */
+    public static final String XSD_DEFAULT_ASYNC_TEMPORARY_STORAGE_HANDLER_QUEUE_CAPACITY_VALUE = "1024";
+
+    /**
+     * @since 2.1.0
+     */
+    public static final String XSD_DEFAULT_ASYNC_TEMPORARY_STORAGE_HANDLER_TERMINATION_TIMEOUT_VALUE = "60000";
+
+    /**
+     * @since 2.1.0
+     */
+    public static final String XSD_DEFAULT_TEMPORARY_STORAGE_HANDLER_SHARD_COUNT_VALUE = "1";
+
+    /**
+     * @since 2.1.0
+     */
+    public static final String XSD_DEFAULT_TEMPORARY_STORAGE_HANDLER_REBALANCE_INTERVAL_VALUE = "1000";
+
     // endregion
 
     private Constants() {
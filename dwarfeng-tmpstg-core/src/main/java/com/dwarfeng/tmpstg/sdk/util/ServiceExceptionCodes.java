@@ -51,6 +51,12 @@ public final class ServiceExceptionCodes {
     public static final ServiceException.Code TEMPORARY_STORAGE_QOS_HANDLER_NOT_FOUND =
             new ServiceException.Code(offset(8), "temporary storage qos handler not found");
 
+    /**
+     * @since 2.1.0
+     */
+    public static final ServiceException.Code TEMPORARY_STORAGE_FILE_QUOTA_EXCEEDED =
+            new ServiceException.Code(offset(9), "temporary storage file quota exceeded");
+
     private static int offset(int i) {
         return EXCEPTION_CODE_OFFSET + i;
     }
@@ -83,6 +89,7 @@ public final class ServiceExceptionCodes {
         AMBIGUOUS_TEMPORARY_STORAGE_HANDLER.setCode(offset(6));
         NO_TEMPORARY_STORAGE_HANDLER_PRESENT.setCode(offset(7));
         TEMPORARY_STORAGE_QOS_HANDLER_NOT_FOUND.setCode(offset(8));
+        TEMPORARY_STORAGE_FILE_QUOTA_EXCEEDED.setCode(offset(9));
     }
 
     private ServiceExceptionCodes() {
@@ -39,6 +39,7 @@ public final class ServiceExceptionHelper {
         map.put(AmbiguousTemporaryStorageHandlerException.class, ServiceExceptionCodes.AMBIGUOUS_TEMPORARY_STORAGE_HANDLER);
         map.put(NoTemporaryStorageHandlerPresentException.class, ServiceExceptionCodes.NO_TEMPORARY_STORAGE_HANDLER_PRESENT);
         map.put(TemporaryStorageHandlerNotFoundException.class, ServiceExceptionCodes.TEMPORARY_STORAGE_QOS_HANDLER_NOT_FOUND);
+        map.put(TemporaryStorageFileQuotaExceededException.class, ServiceExceptionCodes.TEMPORARY_STORAGE_FILE_QUOTA_EXCEEDED);
 
         return map;
     }
@@ -1,7 +1,16 @@
 package com.dwarfeng.tmpstg.sdk.util;
 
 import java.io.File;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.zip.Deflater;
 
 /**
  * 临时存储配置工具类。
@@ -11,6 +20,32 @@ import java.util.Objects;
  */
 public final class TemporaryStorageConfigUtil {
 
+    private static final Set<String> SPILL_COMPRESSION_CODECS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(Constants.SPILL_COMPRESSION_CODEC_NONE, Constants.SPILL_COMPRESSION_CODEC_DEFLATE)
+    ));
+    private static final Set<String> BUILTIN_CHECKSUM_ALGORITHMS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(
+                    Constants.CHECKSUM_ALGORITHM_NONE, Constants.CHECKSUM_ALGORITHM_CRC32C,
+                    Constants.CHECKSUM_ALGORITHM_CRC32
+            )
+    ));
+    private static final Set<String> TEMPORARY_FILE_PLACEMENT_POLICIES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(
+                    Constants.TEMPORARY_FILE_PLACEMENT_POLICY_ROUND_ROBIN,
+                    Constants.TEMPORARY_FILE_PLACEMENT_POLICY_LEAST_USED,
+                    Constants.TEMPORARY_FILE_PLACEMENT_POLICY_FREE_SPACE_WEIGHTED
+            )
+    ));
+    private static final Set<String> SPILL_TIERS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(Constants.SPILL_TIER_FILE, Constants.SPILL_TIER_ARENA)
+    ));
+    private static final Set<String> FILE_QUOTA_EXCEEDED_POLICIES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(
+                    Constants.FILE_QUOTA_EXCEEDED_POLICY_FAIL, Constants.FILE_QUOTA_EXCEEDED_POLICY_BLOCK,
+                    Constants.FILE_QUOTA_EXCEEDED_POLICY_REJECT_CREATE
+            )
+    ));
+
     /**
      * 检查指定的临时文件目录路径是否合法。
      *
@@ -97,6 +132,345 @@ public final class TemporaryStorageConfigUtil {
         // 允许为负数，表示不自动检查。
     }
 
+    /**
+     * 检查指定的读缓存最大大小是否合法。
+     *
+     * @param maxReadCacheSize 指定的读缓存最大大小。
+     * @since 2.1.0
+     */
+    public static void checkMaxReadCacheSize(long maxReadCacheSize) {
+        // 允许为 0，表示禁用读缓存。
+        if (maxReadCacheSize < 0) {
+            throw new IllegalArgumentException("读缓存的最大大小不能小于 0");
+        }
+    }
+
+    /**
+     * 检查指定的自适应缓冲区大小启用标志是否合法。
+     *
+     * @param adaptiveBufferSizingEnabled 指定的自适应缓冲区大小启用标志。
+     * @since 2.1.0
+     */
+    @SuppressWarnings("EmptyMethod")
+    public static void checkAdaptiveBufferSizingEnabled(boolean adaptiveBufferSizingEnabled) {
+        // 任意值均合法。
+    }
+
+    /**
+     * 检查指定的自适应缓冲区大小所使用的分位数是否合法。
+     *
+     * @param adaptiveBufferSizingPercentile 指定的自适应缓冲区大小所使用的分位数。
+     * @since 2.1.0
+     */
+    public static void checkAdaptiveBufferSizingPercentile(double adaptiveBufferSizingPercentile) {
+        if (adaptiveBufferSizingPercentile <= 0 || adaptiveBufferSizingPercentile > 1) {
+            throw new IllegalArgumentException("自适应缓冲区大小所使用的分位数必须在 (0, 1] 范围内");
+        }
+    }
+
+    /**
+     * 检查指定的自适应缓冲区大小的统计窗口大小是否合法。
+     *
+     * @param adaptiveBufferSizingWindowSize 指定的自适应缓冲区大小的统计窗口大小。
+     * @since 2.1.0
+     */
+    public static void checkAdaptiveBufferSizingWindowSize(int adaptiveBufferSizingWindowSize) {
+        if (adaptiveBufferSizingWindowSize <= 0) {
+            throw new IllegalArgumentException("自适应缓冲区大小的统计窗口大小必须大于 0");
+        }
+    }
+
+    /**
+     * 检查指定的溢出文件压缩编解码器是否合法。
+     *
+     * @param spillCompressionCodec 指定的溢出文件压缩编解码器。
+     * @since 2.1.0
+     */
+    public static void checkSpillCompressionCodec(String spillCompressionCodec) {
+        if (Objects.isNull(spillCompressionCodec)) {
+            throw new NullPointerException("溢出文件压缩编解码器不能为 null");
+        }
+        if (!SPILL_COMPRESSION_CODECS.contains(spillCompressionCodec)) {
+            throw new IllegalArgumentException("不支持的溢出文件压缩编解码器: " + spillCompressionCodec);
+        }
+    }
+
+    /**
+     * 检查指定的溢出文件压缩级别是否合法。
+     *
+     * @param spillCompressionLevel 指定的溢出文件压缩级别。
+     * @since 2.1.0
+     */
+    public static void checkSpillCompressionLevel(int spillCompressionLevel) {
+        // 允许为 -1，表示使用编解码器的默认压缩级别。
+        if (spillCompressionLevel < Deflater.DEFAULT_COMPRESSION || spillCompressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("溢出文件压缩级别必须在 [-1, 9] 范围内");
+        }
+    }
+
+    /**
+     * 检查指定的内存缓冲区压缩启用标志是否合法。
+     *
+     * @param memoryCompressionEnabled 指定的内存缓冲区压缩启用标志。
+     * @since 2.1.0
+     */
+    @SuppressWarnings("EmptyMethod")
+    public static void checkMemoryCompressionEnabled(boolean memoryCompressionEnabled) {
+        // 任意值均合法。
+    }
+
+    /**
+     * 检查指定的内存缓冲区压缩的块大小是否合法。
+     *
+     * @param memoryCompressionBlockSize 指定的内存缓冲区压缩的块大小。
+     * @since 2.1.0
+     */
+    public static void checkMemoryCompressionBlockSize(int memoryCompressionBlockSize) {
+        if (memoryCompressionBlockSize <= 0) {
+            throw new IllegalArgumentException("内存缓冲区压缩的块大小必须大于 0");
+        }
+    }
+
+    /**
+     * 检查指定的内存缓冲区压缩级别是否合法。
+     *
+     * @param memoryCompressionLevel 指定的内存缓冲区压缩级别。
+     * @since 2.1.0
+     */
+    public static void checkMemoryCompressionLevel(int memoryCompressionLevel) {
+        // 允许为 -1，表示使用编解码器的默认压缩级别。
+        if (memoryCompressionLevel < Deflater.DEFAULT_COMPRESSION ||
+                memoryCompressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("内存缓冲区压缩级别必须在 [-1, 9] 范围内");
+        }
+    }
+
+    /**
+     * 检查指定的校验和算法是否合法。
+     *
+     * @param checksumAlgorithm 指定的校验和算法。
+     * @since 2.1.0
+     */
+    public static void checkChecksumAlgorithm(String checksumAlgorithm) {
+        if (Objects.isNull(checksumAlgorithm)) {
+            throw new NullPointerException("校验和算法不能为 null");
+        }
+        if (BUILTIN_CHECKSUM_ALGORITHMS.contains(checksumAlgorithm)) {
+            return;
+        }
+        // 其余的算法名称被视为 MessageDigest 的算法名称。
+        try {
+            MessageDigest.getInstance(checksumAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("不支持的校验和算法: " + checksumAlgorithm, e);
+        }
+    }
+
+    /**
+     * 检查指定的校验和校验启用标志是否合法。
+     *
+     * @param checksumVerificationEnabled 指定的校验和校验启用标志。
+     * @since 2.1.0
+     */
+    @SuppressWarnings("EmptyMethod")
+    public static void checkChecksumVerificationEnabled(boolean checksumVerificationEnabled) {
+        // 任意值均合法。
+    }
+
+    /**
+     * 检查指定的内容去重启用标志是否合法。
+     *
+     * @param deduplicationEnabled 指定的内容去重启用标志。
+     * @since 2.1.0
+     */
+    @SuppressWarnings("EmptyMethod")
+    public static void checkDeduplicationEnabled(boolean deduplicationEnabled) {
+        // 任意值均合法。
+    }
+
+    /**
+     * 检查指定的临时文件目录路径列表是否合法。
+     *
+     * @param temporaryFileDirectoryPaths 指定的临时文件目录路径列表。
+     * @since 2.1.0
+     */
+    public static void checkTemporaryFileDirectoryPaths(List<String> temporaryFileDirectoryPaths) {
+        if (Objects.isNull(temporaryFileDirectoryPaths)) {
+            throw new NullPointerException("临时文件目录路径列表不能为 null");
+        }
+        // 列表中的每一个路径都需要是合法的临时文件目录路径。
+        for (String temporaryFileDirectoryPath : temporaryFileDirectoryPaths) {
+            checkTemporaryFileDirectoryPath(temporaryFileDirectoryPath);
+        }
+    }
+
+    /**
+     * 检查指定的临时文件放置策略是否合法。
+     *
+     * @param temporaryFilePlacementPolicy 指定的临时文件放置策略。
+     * @since 2.1.0
+     */
+    public static void checkTemporaryFilePlacementPolicy(String temporaryFilePlacementPolicy) {
+        if (Objects.isNull(temporaryFilePlacementPolicy)) {
+            throw new NullPointerException("临时文件放置策略不能为 null");
+        }
+        if (!TEMPORARY_FILE_PLACEMENT_POLICIES.contains(temporaryFilePlacementPolicy)) {
+            throw new IllegalArgumentException("不支持的临时文件放置策略: " + temporaryFilePlacementPolicy);
+        }
+    }
+
+    /**
+     * 解析以逗号分隔的临时文件目录路径列表。
+     *
+     * <p>
+     * 每个路径首尾的空白字符会被去除，空白的路径会被忽略。
+     *
+     * @param temporaryFileDirectoryPaths 以逗号分隔的临时文件目录路径列表，可以为 <code>null</code>。
+     * @return 解析得到的临时文件目录路径列表。
+     * @since 2.1.0
+     */
+    public static List<String> parseTemporaryFileDirectoryPaths(String temporaryFileDirectoryPaths) {
+        if (Objects.isNull(temporaryFileDirectoryPaths)) {
+            return new ArrayList<>();
+        }
+        List<String> result = new ArrayList<>();
+        for (String temporaryFileDirectoryPath : temporaryFileDirectoryPaths.split(",")) {
+            String trimmedPath = temporaryFileDirectoryPath.trim();
+            if (!trimmedPath.isEmpty()) {
+                result.add(trimmedPath);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 检查指定的临时文件子目录层级数是否合法。
+     *
+     * @param temporaryFileFanOutLevels 指定的临时文件子目录层级数。
+     * @since 2.1.0
+     */
+    public static void checkTemporaryFileFanOutLevels(int temporaryFileFanOutLevels) {
+        // 子目录的名称取自 32 位散列值中的 8 位，因此最多支持 4 层子目录。
+        if (temporaryFileFanOutLevels < 0 || temporaryFileFanOutLevels > 4) {
+            throw new IllegalArgumentException("临时文件子目录层级数必须在 [0, 4] 范围内");
+        }
+    }
+
+    /**
+     * 检查指定的溢出层级是否合法。
+     *
+     * @param spillTier 指定的溢出层级。
+     * @since 2.1.0
+     */
+    public static void checkSpillTier(String spillTier) {
+        if (Objects.isNull(spillTier)) {
+            throw new NullPointerException("溢出层级不能为 null");
+        }
+        if (!SPILL_TIERS.contains(spillTier)) {
+            throw new IllegalArgumentException("不支持的溢出层级: " + spillTier);
+        }
+    }
+
+    /**
+     * 检查指定的 Arena 文件的初始大小是否合法。
+     *
+     * @param arenaFileSize 指定的 Arena 文件的初始大小。
+     * @since 2.1.0
+     */
+    public static void checkArenaFileSize(long arenaFileSize) {
+        // 允许为 0，表示不预先分配空间。
+        if (arenaFileSize < 0) {
+            throw new IllegalArgumentException("Arena 文件的初始大小不能小于 0");
+        }
+    }
+
+    /**
+     * 检查指定的 Arena 区段大小是否合法。
+     *
+     * @param arenaExtentSize 指定的 Arena 区段大小。
+     * @since 2.1.0
+     */
+    public static void checkArenaExtentSize(int arenaExtentSize) {
+        if (arenaExtentSize <= 0) {
+            throw new IllegalArgumentException("Arena 区段大小必须大于 0");
+        }
+    }
+
+    /**
+     * 检查指定的临时文件复用池大小是否合法。
+     *
+     * @param temporaryFilePoolSize 指定的临时文件复用池大小。
+     * @since 2.1.0
+     */
+    public static void checkTemporaryFilePoolSize(int temporaryFilePoolSize) {
+        // 允许为 0，表示不复用临时文件。
+        if (temporaryFilePoolSize < 0) {
+            throw new IllegalArgumentException("临时文件复用池大小不能小于 0");
+        }
+    }
+
+    /**
+     * 检查指定的临时文件复用池中的临时文件的空闲超时时间是否合法。
+     *
+     * @param temporaryFilePoolIdleTimeout 指定的临时文件复用池中的临时文件的空闲超时时间。
+     * @since 2.1.0
+     */
+    public static void checkTemporaryFilePoolIdleTimeout(long temporaryFilePoolIdleTimeout) {
+        if (temporaryFilePoolIdleTimeout <= 0) {
+            throw new IllegalArgumentException("临时文件复用池中的临时文件的空闲超时时间必须大于 0");
+        }
+    }
+
+    /**
+     * 检查指定的临时文件的最大总大小是否合法。
+     *
+     * @param maxFileSizeTotal 指定的临时文件的最大总大小。
+     * @since 2.1.0
+     */
+    @SuppressWarnings("EmptyMethod")
+    public static void checkMaxFileSizeTotal(long maxFileSizeTotal) {
+        // 允许为负数，表示不限制临时文件的总大小。
+    }
+
+    /**
+     * 检查指定的文件配额超限策略是否合法。
+     *
+     * @param fileQuotaExceededPolicy 指定的文件配额超限策略。
+     * @since 2.1.0
+     */
+    public static void checkFileQuotaExceededPolicy(String fileQuotaExceededPolicy) {
+        if (Objects.isNull(fileQuotaExceededPolicy)) {
+            throw new NullPointerException("文件配额超限策略不能为 null");
+        }
+        if (!FILE_QUOTA_EXCEEDED_POLICIES.contains(fileQuotaExceededPolicy)) {
+            throw new IllegalArgumentException("不支持的文件配额超限策略: " + fileQuotaExceededPolicy);
+        }
+    }
+
+    /**
+     * 检查指定的文件配额阻塞超时时间是否合法。
+     *
+     * @param fileQuotaBlockTimeout 指定的文件配额阻塞超时时间。
+     * @since 2.1.0
+     */
+    public static void checkFileQuotaBlockTimeout(long fileQuotaBlockTimeout) {
+        if (fileQuotaBlockTimeout < 0) {
+            throw new IllegalArgumentException("文件配额阻塞超时时间不能小于 0");
+        }
+    }
+
+    /**
+     * 检查指定的过期检查的时间刻度是否合法。
+     *
+     * @param expirationTickInterval 指定的过期检查的时间刻度。
+     * @since 2.1.0
+     */
+    public static void checkExpirationTickInterval(long expirationTickInterval) {
+        if (expirationTickInterval <= 0) {
+            throw new IllegalArgumentException("过期检查的时间刻度必须大于 0");
+        }
+    }
+
     private TemporaryStorageConfigUtil() {
         throw new IllegalStateException("禁止实例化");
     }
@@ -0,0 +1,186 @@
+package com.dwarfeng.tmpstg.sdk.util;
+
+/**
+ * 临时存储直方图。
+ *
+ * <p>
+ * 该直方图记录非负的样本，如操作的耗时，并据此估算样本的分位数。<br>
+ * 直方图使用对数分桶，每个 2 的幂区间被均分为 16 个子桶，因此估算值相对真实值的误差不超过 6.25%，
+ * 且估算值总是不小于真实值；直方图的大小是固定的，与记录的样本数量无关。
+ *
+ * <p>
+ * 处理器的延迟统计使用相同的分桶方式在多个线程之间并发地记录样本，并以该类作为统计的快照；
+ * 基准测试则在每个线程中分别记录到各自的直方图中，测试结束后通过 {@link #merge(TemporaryStorageHistogram)} 合并。
+ *
+ * <p>
+ * 该类不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public final class TemporaryStorageHistogram {
+
+    /**
+     * 子桶的位数，每个 2 的幂区间被均分为 <code>2 ^ SUB_BUCKET_BITS</code> 个子桶。
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 桶的数量。
+     */
+    public static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final long[] bucketCounts;
+    private long count;
+    private long totalValue;
+    private long maxValue;
+
+    public TemporaryStorageHistogram() {
+        this.bucketCounts = new long[BUCKET_COUNT];
+        this.count = 0;
+        this.totalValue = 0;
+        this.maxValue = 0;
+    }
+
+    /**
+     * 根据每个桶中的样本数量构造直方图。
+     *
+     * <p>
+     * 该构造器用于由并发记录的直方图生成快照，桶的下标由 {@link #bucketIndex(long)} 方法决定。
+     *
+     * @param bucketCounts 每个桶中的样本数量，长度必须为 {@link #BUCKET_COUNT}，该数组会被复制。
+     * @param totalValue   所有样本的值之和。
+     * @param maxValue     样本的最大值。
+     */
+    public TemporaryStorageHistogram(long[] bucketCounts, long totalValue, long maxValue) {
+        if (bucketCounts.length != BUCKET_COUNT) {
+            throw new IllegalArgumentException("桶的数量应该是 " + BUCKET_COUNT + ", 实际是 " + bucketCounts.length);
+        }
+        this.bucketCounts = bucketCounts.clone();
+        long count = 0;
+        for (long bucketCount : this.bucketCounts) {
+            count += bucketCount;
+        }
+        this.count = count;
+        this.totalValue = totalValue;
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * 获取样本所在的桶的下标。
+     *
+     * @param value 样本的值，不能小于 0。
+     * @return 样本所在的桶的下标。
+     */
+    public static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + mantissa;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+        int mantissa = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long upperBound = ((long) (SUB_BUCKET_COUNT + mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        // 防止最高位的桶溢出。
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+
+    /**
+     * 记录一个样本。
+     *
+     * @param value 样本的值，小于 0 时按照 0 记录。
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        bucketCounts[bucketIndex(value)]++;
+        count++;
+        totalValue += value;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * 将另一个直方图中的样本合并到该直方图中。
+     *
+     * @param other 另一个直方图。
+     */
+    public void merge(TemporaryStorageHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] += other.bucketCounts[i];
+        }
+        count += other.count;
+        totalValue += other.totalValue;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * 重置直方图，清除所有的样本。
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = 0;
+        }
+        count = 0;
+        totalValue = 0;
+        maxValue = 0;
+    }
+
+    /**
+     * 估算样本的分位数。
+     *
+     * @param percentile 分位数，取值范围为 <code>(0, 1]</code>。
+     * @return 样本的分位数估算值，不超过样本的最大值；如果没有样本，则返回 0。
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long targetCount = Math.max((long) Math.ceil(percentile * count), 1);
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulativeCount += bucketCounts[i];
+            if (cumulativeCount >= targetCount) {
+                return Math.min(bucketUpperBound(i), maxValue);
+            }
+        }
+        // 理论上不会执行到此处。
+        return maxValue;
+    }
+
+    /**
+     * 获取样本的平均值。
+     *
+     * @return 样本的平均值，如果没有样本，则返回 0。
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) totalValue / count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalValue() {
+        return totalValue;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageHistogram{" +
+                "count=" + count +
+                ", totalValue=" + totalValue +
+                ", maxValue=" + maxValue +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+package com.dwarfeng.tmpstg.sdk.util;
+
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageWorkloadRecord;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * 临时存储负载记录读取器。
+ *
+ * <p>
+ * 负载记录文件由文件头与若干条定长的记录组成，所有数值均为大端序：
+ * <ul>
+ *     <li>文件头：魔数（<code>int</code>），格式版本（<code>short</code>），每条记录的长度（<code>short</code>），
+ *     记录开始的时间戳（<code>long</code>，单位为毫秒）。</li>
+ *     <li>记录：操作的类型（<code>byte</code>），线程的 ID（<code>int</code>），临时存储的编号（<code>int</code>），
+ *     操作开始的时间偏移（<code>long</code>），操作的耗时（<code>long</code>），操作的长度（<code>long</code>）。</li>
+ * </ul>
+ * 处理器按线程分组缓冲记录，因此文件中的记录只在同一个线程内按照时间排序；
+ * 处理器异常退出时，文件末尾不完整的记录会被忽略。
+ *
+ * <p>
+ * 该类不是线程安全的。
+ *
+ * @author DwArFeng
+ * @see com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler#startWorkloadTrace(String)
+ * @since 2.1.0
+ */
+public final class TemporaryStorageWorkloadTraceReader implements Closeable {
+
+    /**
+     * 负载记录文件的魔数，即 ASCII 字符串 <code>TMWT</code>。
+     */
+    public static final int MAGIC = 0x544D5754;
+
+    /**
+     * 负载记录文件的格式版本。
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * 文件头的长度，单位为字节。
+     */
+    public static final int HEADER_LENGTH = 16;
+
+    /**
+     * 每条记录的长度，单位为字节。
+     */
+    public static final short RECORD_LENGTH = 33;
+
+    private final DataInputStream in;
+    private final int recordLength;
+    private final long startTimeMillis;
+
+    /**
+     * 打开指定的负载记录文件，并读取文件头。
+     *
+     * @param file 负载记录文件。
+     * @throws IOException 文件无法读取，或文件不是负载记录文件时抛出。
+     */
+    public TemporaryStorageWorkloadTraceReader(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), 65536));
+        try {
+            int magic = in.readInt();
+            if (magic != MAGIC) {
+                throw new IOException("文件 " + file + " 不是负载记录文件");
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("不支持的负载记录文件格式版本: " + version);
+            }
+            // 记录的长度从文件头中读取，以便跳过更高版本在记录末尾追加的字段。
+            int recordLength = in.readShort();
+            if (recordLength < RECORD_LENGTH) {
+                throw new IOException("负载记录文件的记录长度不合法: " + recordLength);
+            }
+            this.recordLength = recordLength;
+            this.startTimeMillis = in.readLong();
+        } catch (EOFException e) {
+            in.close();
+            throw new IOException("文件 " + file + " 的文件头不完整", e);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+        this.in = in;
+    }
+
+    /**
+     * 读取下一条记录。
+     *
+     * @return 下一条记录，如果已经读取到文件末尾，则返回 <code>null</code>。
+     * @throws IOException IO 异常。
+     */
+    @Nullable
+    public TemporaryStorageWorkloadRecord next() throws IOException {
+        int operation = in.read();
+        if (operation < 0) {
+            return null;
+        }
+        try {
+            int threadId = in.readInt();
+            int keyId = in.readInt();
+            long startOffset = in.readLong();
+            long duration = in.readLong();
+            long size = in.readLong();
+            int skipLength = recordLength - RECORD_LENGTH;
+            if (skipLength > 0 && in.skipBytes(skipLength) < skipLength) {
+                return null;
+            }
+            return new TemporaryStorageWorkloadRecord(operation, threadId, keyId, startOffset, duration, size);
+        } catch (EOFException e) {
+            // 不完整的记录是处理器异常退出时留下的，忽略即可。
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    public long getStartTimeMillis() {
+        return startTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageWorkloadTraceReader{" +
+                "recordLength=" + recordLength +
+                ", startTimeMillis=" + startTimeMillis +
+                '}';
+    }
+}
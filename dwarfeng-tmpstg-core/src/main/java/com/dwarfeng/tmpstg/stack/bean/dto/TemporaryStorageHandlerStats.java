@@ -0,0 +1,502 @@
+package com.dwarfeng.tmpstg.stack.bean.dto;
+
+import com.dwarfeng.subgrade.stack.bean.dto.Dto;
+
+/**
+ * 临时存储处理器统计信息。
+ *
+ * <p>
+ * 该对象是处理器在某一时刻的统计快照，各字段之间不保证严格的一致性。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class TemporaryStorageHandlerStats implements Dto {
+
+    private static final long serialVersionUID = -3297215766584071320L;
+
+    /**
+     * 读缓存的最大大小。
+     *
+     * <p>
+     * 该字段的值为 0 时，表示读缓存被禁用。
+     */
+    private long readCacheMaxSize;
+
+    /**
+     * 读缓存当前占用的大小。
+     */
+    private long readCacheSize;
+
+    /**
+     * 读缓存当前的条目数量。
+     */
+    private int readCacheEntryCount;
+
+    /**
+     * 读缓存的命中次数。
+     */
+    private long readCacheHitCount;
+
+    /**
+     * 读缓存的未命中次数。
+     */
+    private long readCacheMissCount;
+
+    /**
+     * 读缓存的淘汰次数。
+     */
+    private long readCacheEvictionCount;
+
+    /**
+     * 读缓存的命中率。
+     *
+     * <p>
+     * 该字段的值应该等于 <code>readCacheHitCount / (readCacheHitCount + readCacheMissCount)</code>，
+     * 当读缓存没有被访问过时，该字段的值为 0。
+     */
+    private double readCacheHitRate;
+
+    /**
+     * 自适应内存缓冲区限制。
+     *
+     * <p>
+     * 该字段表示处理器当前为未指定预期长度的新临时存储分配的内存缓冲区上限。<br>
+     * 未启用自适应缓冲区大小或统计样本不足时，该字段的值等于单个存储的最大缓冲区大小。
+     */
+    private int adaptiveMemoryBufferLimit;
+
+    /**
+     * 自适应缓冲区大小统计窗口中的样本数量。
+     */
+    private int adaptiveSampleCount;
+
+    /**
+     * 内容去重的命中次数。
+     */
+    private long deduplicationHitCount;
+
+    /**
+     * 内容去重当前节省的内容长度。
+     *
+     * <p>
+     * 该字段的值等于所有被共享的内容的长度与其额外引用数量的乘积之和。
+     */
+    private long deduplicationSavedLength;
+
+    /**
+     * 临时文件的最大总大小。
+     *
+     * <p>
+     * 该字段的值小于 0 时，表示不限制临时文件的总大小。
+     */
+    private long maxFileSizeTotal;
+
+    /**
+     * 临时文件当前的总大小。
+     *
+     * <p>
+     * 该字段的值为所有溢出数据实际写入磁盘的字节数之和。
+     */
+    private long fileSizeTotal;
+
+    /**
+     * 因为文件配额超限而被拒绝的写入与创建的次数。
+     */
+    private long fileQuotaRejectionCount;
+
+    /**
+     * 打开输出流时因为内存缓冲不足而等待的次数。
+     */
+    private long memoryWaitCount;
+
+    /**
+     * 等待内存缓冲超时的次数。
+     */
+    private long memoryWaitTimeoutCount;
+
+    /**
+     * 当前正在等待内存缓冲的调用的数量。
+     */
+    private int memoryWaiterCount;
+
+    /**
+     * 因为过期而被释放并移除的临时存储的数量。
+     */
+    private long expiredCount;
+
+    /**
+     * 等待过期的临时存储的数量。
+     */
+    private int expirationScheduledCount;
+
+    /**
+     * 处理器创建以来创建的临时存储的数量。
+     *
+     * <p>
+     * 该字段是单调递增的计数器，两次快照之间的差值除以时间间隔即为创建速率。
+     */
+    private long createdCount;
+
+    /**
+     * 处理器创建以来释放的临时存储的数量。
+     */
+    private long disposedCount;
+
+    /**
+     * 当前处于工作中的临时存储的数量。
+     *
+     * <p>
+     * 该字段的值等于 <code>createdCount - disposedCount</code>。
+     */
+    private long liveStorageCount;
+
+    /**
+     * 写入内存缓冲区的内容长度之和。
+     */
+    private long memoryWrittenLength;
+
+    /**
+     * 写入文件缓冲区的内容长度之和。
+     *
+     * <p>
+     * 该字段统计的是压缩之前的内容长度，实际写入磁盘的字节数见 {@link #fileSizeTotal}。
+     */
+    private long fileWrittenLength;
+
+    /**
+     * 写入时溢出到文件缓冲区的次数。
+     */
+    private long spillCount;
+
+    /**
+     * 内存缓冲区的申请因为总的缓冲区大小的限制而被拒绝或削减的次数。
+     */
+    private long memoryAllocationDeniedCount;
+
+    /**
+     * 当前已分配的内存缓冲区的总大小。
+     */
+    private long allocatedMemoryBufferSize;
+
+    /**
+     * 当前打开的输入流的数量。
+     */
+    private long openInputStreamCount;
+
+    /**
+     * 当前打开的输出流的数量。
+     */
+    private long openOutputStreamCount;
+
+    public TemporaryStorageHandlerStats() {
+    }
+
+    public TemporaryStorageHandlerStats(
+            long readCacheMaxSize, long readCacheSize, int readCacheEntryCount, long readCacheHitCount,
+            long readCacheMissCount, long readCacheEvictionCount, double readCacheHitRate,
+            int adaptiveMemoryBufferLimit, int adaptiveSampleCount, long deduplicationHitCount,
+            long deduplicationSavedLength, long maxFileSizeTotal, long fileSizeTotal, long fileQuotaRejectionCount,
+            long memoryWaitCount, long memoryWaitTimeoutCount, int memoryWaiterCount, long expiredCount,
+            int expirationScheduledCount, long createdCount, long disposedCount, long liveStorageCount,
+            long memoryWrittenLength, long fileWrittenLength, long spillCount, long memoryAllocationDeniedCount,
+            long allocatedMemoryBufferSize, long openInputStreamCount, long openOutputStreamCount
+    ) {
+        this.readCacheMaxSize = readCacheMaxSize;
+        this.readCacheSize = readCacheSize;
+        this.readCacheEntryCount = readCacheEntryCount;
+        this.readCacheHitCount = readCacheHitCount;
+        this.readCacheMissCount = readCacheMissCount;
+        this.readCacheEvictionCount = readCacheEvictionCount;
+        this.readCacheHitRate = readCacheHitRate;
+        this.adaptiveMemoryBufferLimit = adaptiveMemoryBufferLimit;
+        this.adaptiveSampleCount = adaptiveSampleCount;
+        this.deduplicationHitCount = deduplicationHitCount;
+        this.deduplicationSavedLength = deduplicationSavedLength;
+        this.maxFileSizeTotal = maxFileSizeTotal;
+        this.fileSizeTotal = fileSizeTotal;
+        this.fileQuotaRejectionCount = fileQuotaRejectionCount;
+        this.memoryWaitCount = memoryWaitCount;
+        this.memoryWaitTimeoutCount = memoryWaitTimeoutCount;
+        this.memoryWaiterCount = memoryWaiterCount;
+        this.expiredCount = expiredCount;
+        this.expirationScheduledCount = expirationScheduledCount;
+        this.createdCount = createdCount;
+        this.disposedCount = disposedCount;
+        this.liveStorageCount = liveStorageCount;
+        this.memoryWrittenLength = memoryWrittenLength;
+        this.fileWrittenLength = fileWrittenLength;
+        this.spillCount = spillCount;
+        this.memoryAllocationDeniedCount = memoryAllocationDeniedCount;
+        this.allocatedMemoryBufferSize = allocatedMemoryBufferSize;
+        this.openInputStreamCount = openInputStreamCount;
+        this.openOutputStreamCount = openOutputStreamCount;
+    }
+
+    public long getReadCacheMaxSize() {
+        return readCacheMaxSize;
+    }
+
+    public void setReadCacheMaxSize(long readCacheMaxSize) {
+        this.readCacheMaxSize = readCacheMaxSize;
+    }
+
+    public long getReadCacheSize() {
+        return readCacheSize;
+    }
+
+    public void setReadCacheSize(long readCacheSize) {
+        this.readCacheSize = readCacheSize;
+    }
+
+    public int getReadCacheEntryCount() {
+        return readCacheEntryCount;
+    }
+
+    public void setReadCacheEntryCount(int readCacheEntryCount) {
+        this.readCacheEntryCount = readCacheEntryCount;
+    }
+
+    public long getReadCacheHitCount() {
+        return readCacheHitCount;
+    }
+
+    public void setReadCacheHitCount(long readCacheHitCount) {
+        this.readCacheHitCount = readCacheHitCount;
+    }
+
+    public long getReadCacheMissCount() {
+        return readCacheMissCount;
+    }
+
+    public void setReadCacheMissCount(long readCacheMissCount) {
+        this.readCacheMissCount = readCacheMissCount;
+    }
+
+    public long getReadCacheEvictionCount() {
+        return readCacheEvictionCount;
+    }
+
+    public void setReadCacheEvictionCount(long readCacheEvictionCount) {
+        this.readCacheEvictionCount = readCacheEvictionCount;
+    }
+
+    public double getReadCacheHitRate() {
+        return readCacheHitRate;
+    }
+
+    public void setReadCacheHitRate(double readCacheHitRate) {
+        this.readCacheHitRate = readCacheHitRate;
+    }
+
+    public int getAdaptiveMemoryBufferLimit() {
+        return adaptiveMemoryBufferLimit;
+    }
+
+    public void setAdaptiveMemoryBufferLimit(int adaptiveMemoryBufferLimit) {
+        this.adaptiveMemoryBufferLimit = adaptiveMemoryBufferLimit;
+    }
+
+    public int getAdaptiveSampleCount() {
+        return adaptiveSampleCount;
+    }
+
+    public void setAdaptiveSampleCount(int adaptiveSampleCount) {
+        this.adaptiveSampleCount = adaptiveSampleCount;
+    }
+
+    public long getDeduplicationHitCount() {
+        return deduplicationHitCount;
+    }
+
+    public void setDeduplicationHitCount(long deduplicationHitCount) {
+        this.deduplicationHitCount = deduplicationHitCount;
+    }
+
+    public long getDeduplicationSavedLength() {
+        return deduplicationSavedLength;
+    }
+
+    public void setDeduplicationSavedLength(long deduplicationSavedLength) {
+        this.deduplicationSavedLength = deduplicationSavedLength;
+    }
+
+    public long getMaxFileSizeTotal() {
+        return maxFileSizeTotal;
+    }
+
+    public void setMaxFileSizeTotal(long maxFileSizeTotal) {
+        this.maxFileSizeTotal = maxFileSizeTotal;
+    }
+
+    public long getFileSizeTotal() {
+        return fileSizeTotal;
+    }
+
+    public void setFileSizeTotal(long fileSizeTotal) {
+        this.fileSizeTotal = fileSizeTotal;
+    }
+
+    public long getFileQuotaRejectionCount() {
+        return fileQuotaRejectionCount;
+    }
+
+    public void setFileQuotaRejectionCount(long fileQuotaRejectionCount) {
+        this.fileQuotaRejectionCount = fileQuotaRejectionCount;
+    }
+
+    public long getMemoryWaitCount() {
+        return memoryWaitCount;
+    }
+
+    public void setMemoryWaitCount(long memoryWaitCount) {
+        this.memoryWaitCount = memoryWaitCount;
+    }
+
+    public long getMemoryWaitTimeoutCount() {
+        return memoryWaitTimeoutCount;
+    }
+
+    public void setMemoryWaitTimeoutCount(long memoryWaitTimeoutCount) {
+        this.memoryWaitTimeoutCount = memoryWaitTimeoutCount;
+    }
+
+    public int getMemoryWaiterCount() {
+        return memoryWaiterCount;
+    }
+
+    public void setMemoryWaiterCount(int memoryWaiterCount) {
+        this.memoryWaiterCount = memoryWaiterCount;
+    }
+
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public void setExpiredCount(long expiredCount) {
+        this.expiredCount = expiredCount;
+    }
+
+    public int getExpirationScheduledCount() {
+        return expirationScheduledCount;
+    }
+
+    public void setExpirationScheduledCount(int expirationScheduledCount) {
+        this.expirationScheduledCount = expirationScheduledCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public void setCreatedCount(long createdCount) {
+        this.createdCount = createdCount;
+    }
+
+    public long getDisposedCount() {
+        return disposedCount;
+    }
+
+    public void setDisposedCount(long disposedCount) {
+        this.disposedCount = disposedCount;
+    }
+
+    public long getLiveStorageCount() {
+        return liveStorageCount;
+    }
+
+    public void setLiveStorageCount(long liveStorageCount) {
+        this.liveStorageCount = liveStorageCount;
+    }
+
+    public long getMemoryWrittenLength() {
+        return memoryWrittenLength;
+    }
+
+    public void setMemoryWrittenLength(long memoryWrittenLength) {
+        this.memoryWrittenLength = memoryWrittenLength;
+    }
+
+    public long getFileWrittenLength() {
+        return fileWrittenLength;
+    }
+
+    public void setFileWrittenLength(long fileWrittenLength) {
+        this.fileWrittenLength = fileWrittenLength;
+    }
+
+    public long getSpillCount() {
+        return spillCount;
+    }
+
+    public void setSpillCount(long spillCount) {
+        this.spillCount = spillCount;
+    }
+
+    public long getMemoryAllocationDeniedCount() {
+        return memoryAllocationDeniedCount;
+    }
+
+    public void setMemoryAllocationDeniedCount(long memoryAllocationDeniedCount) {
+        this.memoryAllocationDeniedCount = memoryAllocationDeniedCount;
+    }
+
+    public long getAllocatedMemoryBufferSize() {
+        return allocatedMemoryBufferSize;
+    }
+
+    public void setAllocatedMemoryBufferSize(long allocatedMemoryBufferSize) {
+        this.allocatedMemoryBufferSize = allocatedMemoryBufferSize;
+    }
+
+    public long getOpenInputStreamCount() {
+        return openInputStreamCount;
+    }
+
+    public void setOpenInputStreamCount(long openInputStreamCount) {
+        this.openInputStreamCount = openInputStreamCount;
+    }
+
+    public long getOpenOutputStreamCount() {
+        return openOutputStreamCount;
+    }
+
+    public void setOpenOutputStreamCount(long openOutputStreamCount) {
+        this.openOutputStreamCount = openOutputStreamCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageHandlerStats{" +
+                "readCacheMaxSize=" + readCacheMaxSize +
+                ", readCacheSize=" + readCacheSize +
+                ", readCacheEntryCount=" + readCacheEntryCount +
+                ", readCacheHitCount=" + readCacheHitCount +
+                ", readCacheMissCount=" + readCacheMissCount +
+                ", readCacheEvictionCount=" + readCacheEvictionCount +
+                ", readCacheHitRate=" + readCacheHitRate +
+                ", adaptiveMemoryBufferLimit=" + adaptiveMemoryBufferLimit +
+                ", adaptiveSampleCount=" + adaptiveSampleCount +
+                ", deduplicationHitCount=" + deduplicationHitCount +
+                ", deduplicationSavedLength=" + deduplicationSavedLength +
+                ", maxFileSizeTotal=" + maxFileSizeTotal +
+                ", fileSizeTotal=" + fileSizeTotal +
+                ", fileQuotaRejectionCount=" + fileQuotaRejectionCount +
+                ", memoryWaitCount=" + memoryWaitCount +
+                ", memoryWaitTimeoutCount=" + memoryWaitTimeoutCount +
+                ", memoryWaiterCount=" + memoryWaiterCount +
+                ", expiredCount=" + expiredCount +
+                ", expirationScheduledCount=" + expirationScheduledCount +
+                ", createdCount=" + createdCount +
+                ", disposedCount=" + disposedCount +
+                ", liveStorageCount=" + liveStorageCount +
+                ", memoryWrittenLength=" + memoryWrittenLength +
+                ", fileWrittenLength=" + fileWrittenLength +
+                ", spillCount=" + spillCount +
+                ", memoryAllocationDeniedCount=" + memoryAllocationDeniedCount +
+                ", allocatedMemoryBufferSize=" + allocatedMemoryBufferSize +
+                ", openInputStreamCount=" + openInputStreamCount +
+                ", openOutputStreamCount=" + openOutputStreamCount +
+                '}';
+    }
+}
@@ -29,12 +29,193 @@ public class TemporaryStorageInfo implements Dto {
      */
     private long contentLength;
 
+    /**
+     * 文件缓冲区在磁盘上的物理长度。
+     *
+     * <p>
+     * <code>fileBufferActualLength</code> 是写入文件缓冲区的内容（逻辑）长度，而该字段是文件缓冲区实际占用的磁盘长度。<br>
+     * 未启用溢出文件压缩时，该字段的值等于 <code>fileBufferActualLength</code>。
+     *
+     * @since 2.1.0
+     */
+    private long fileBufferPhysicalLength;
+
+    /**
+     * 内存缓冲区是否被压缩。
+     *
+     * <p>
+     * 内存缓冲区被压缩时，<code>memoryBufferAllocatedLength</code> 是压缩后的长度，
+     * <code>memoryBufferActualLength</code> 仍然是压缩前的内容长度。
+     *
+     * @since 2.1.0
+     */
+    private boolean memoryBufferCompressed;
+
+    /**
+     * 临时存储的校验和所使用的算法。
+     *
+     * <p>
+     * 未计算校验和时，该字段的值为 <code>null</code>。
+     *
+     * @since 2.1.0
+     */
+    private String checksumAlgorithm;
+
+    /**
+     * 临时存储的内容的校验和，以小写十六进制字符串表示。
+     *
+     * <p>
+     * 未计算校验和，或输出流尚未关闭时，该字段的值为 <code>null</code>。
+     *
+     * @since 2.1.0
+     */
+    private String checksum;
+
+    /**
+     * 共享临时存储内容的临时存储的数量，包括该临时存储自身。
+     *
+     * <p>
+     * 未启用内容去重，或内容没有被共享时，该字段的值为 1。
+     *
+     * @since 2.1.0
+     */
+    private int contentReferenceCount;
+
     public TemporaryStorageInfo() {
     }
 
+    /**
+     * 构造临时存储信息。
+     *
+     * <p>
+     * 文件缓冲区的物理长度等于 <code>fileBufferActualLength</code>，内存缓冲区未被压缩，未计算校验和，
+     * 且内容没有被共享。
+     *
+     * @param key                         临时存储的键。
+     * @param memoryBufferAllocatedLength 内存缓冲区的分配长度。
+     * @param memoryBufferActualLength    内存缓冲区的实际长度。
+     * @param fileBufferUsed              是否使用了文件缓冲区。
+     * @param fileBufferActualLength      文件缓冲区的实际长度。
+     * @param status                      临时存储的状态。
+     * @param contentLength               临时存储存放的内容的长度。
+     * @since 1.0.1
+     */
     public TemporaryStorageInfo(
             String key, int memoryBufferAllocatedLength, int memoryBufferActualLength, boolean fileBufferUsed,
             long fileBufferActualLength, int status, long contentLength
+    ) {
+        this(
+                key, memoryBufferAllocatedLength, memoryBufferActualLength, fileBufferUsed, fileBufferActualLength,
+                status, contentLength, fileBufferActualLength
+        );
+    }
+
+    /**
+     * 构造临时存储信息。
+     *
+     * <p>
+     * 内存缓冲区未被压缩，未计算校验和，且内容没有被共享。
+     *
+     * @param key                         临时存储的键。
+     * @param memoryBufferAllocatedLength 内存缓冲区的分配长度。
+     * @param memoryBufferActualLength    内存缓冲区的实际长度。
+     * @param fileBufferUsed              是否使用了文件缓冲区。
+     * @param fileBufferActualLength      文件缓冲区的实际长度。
+     * @param status                      临时存储的状态。
+     * @param contentLength               临时存储存放的内容的长度。
+     * @param fileBufferPhysicalLength    文件缓冲区在磁盘上的物理长度。
+     * @since 2.1.0
+     */
+    public TemporaryStorageInfo(
+            String key, int memoryBufferAllocatedLength, int memoryBufferActualLength, boolean fileBufferUsed,
+            long fileBufferActualLength, int status, long contentLength, long fileBufferPhysicalLength
+    ) {
+        this(
+                key, memoryBufferAllocatedLength, memoryBufferActualLength, fileBufferUsed, fileBufferActualLength,
+                status, contentLength, fileBufferPhysicalLength, false
+        );
+    }
+
+    /**
+     * 构造临时存储信息。
+     *
+     * <p>
+     * 未计算校验和，且内容没有被共享。
+     *
+     * @param key                         临时存储的键。
+     * @param memoryBufferAllocatedLength 内存缓冲区的分配长度。
+     * @param memoryBufferActualLength    内存缓冲区的实际长度。
+     * @param fileBufferUsed              是否使用了文件缓冲区。
+     * @param fileBufferActualLength      文件缓冲区的实际长度。
+     * @param status                      临时存储的状态。
+     * @param contentLength               临时存储存放的内容的长度。
+     * @param fileBufferPhysicalLength    文件缓冲区在磁盘上的物理长度。
+     * @param memoryBufferCompressed      内存缓冲区是否被压缩。
+     * @since 2.1.0
+     */
+    public TemporaryStorageInfo(
+            String key, int memoryBufferAllocatedLength, int memoryBufferActualLength, boolean fileBufferUsed,
+            long fileBufferActualLength, int status, long contentLength, long fileBufferPhysicalLength,
+            boolean memoryBufferCompressed
+    ) {
+        this(
+                key, memoryBufferAllocatedLength, memoryBufferActualLength, fileBufferUsed, fileBufferActualLength,
+                status, contentLength, fileBufferPhysicalLength, memoryBufferCompressed, null, null
+        );
+    }
+
+    /**
+     * 构造临时存储信息。
+     *
+     * <p>
+     * 内容没有被共享。
+     *
+     * @param key                         临时存储的键。
+     * @param memoryBufferAllocatedLength 内存缓冲区的分配长度。
+     * @param memoryBufferActualLength    内存缓冲区的实际长度。
+     * @param fileBufferUsed              是否使用了文件缓冲区。
+     * @param fileBufferActualLength      文件缓冲区的实际长度。
+     * @param status                      临时存储的状态。
+     * @param contentLength               临时存储存放的内容的长度。
+     * @param fileBufferPhysicalLength    文件缓冲区在磁盘上的物理长度。
+     * @param memoryBufferCompressed      内存缓冲区是否被压缩。
+     * @param checksumAlgorithm           校验和所使用的算法。
+     * @param checksum                    内容的校验和。
+     * @since 2.1.0
+     */
+    public TemporaryStorageInfo(
+            String key, int memoryBufferAllocatedLength, int memoryBufferActualLength, boolean fileBufferUsed,
+            long fileBufferActualLength, int status, long contentLength, long fileBufferPhysicalLength,
+            boolean memoryBufferCompressed, String checksumAlgorithm, String checksum
+    ) {
+        this(
+                key, memoryBufferAllocatedLength, memoryBufferActualLength, fileBufferUsed, fileBufferActualLength,
+                status, contentLength, fileBufferPhysicalLength, memoryBufferCompressed, checksumAlgorithm, checksum,
+                1
+        );
+    }
+
+    /**
+     * 构造临时存储信息。
+     *
+     * @param key                         临时存储的键。
+     * @param memoryBufferAllocatedLength 内存缓冲区的分配长度。
+     * @param memoryBufferActualLength    内存缓冲区的实际长度。
+     * @param fileBufferUsed              是否使用了文件缓冲区。
+     * @param fileBufferActualLength      文件缓冲区的实际长度。
+     * @param status                      临时存储的状态。
+     * @param contentLength               临时存储存放的内容的长度。
+     * @param fileBufferPhysicalLength    文件缓冲区在磁盘上的物理长度。
+     * @param memoryBufferCompressed      内存缓冲区是否被压缩。
+     * @param checksumAlgorithm           校验和所使用的算法。
+     * @param checksum                    内容的校验和。
+     * @param contentReferenceCount       共享临时存储内容的临时存储的数量，包括该临时存储自身。
+     * @since 2.1.0
+     */
+    public TemporaryStorageInfo(
+            String key, int memoryBufferAllocatedLength, int memoryBufferActualLength, boolean fileBufferUsed,
+            long fileBufferActualLength, int status, long contentLength, long fileBufferPhysicalLength,
+            boolean memoryBufferCompressed, String checksumAlgorithm, String checksum, int contentReferenceCount
     ) {
         this.key = key;
         this.memoryBufferAllocatedLength = memoryBufferAllocatedLength;
@@ -43,6 +224,11 @@ public class TemporaryStorageInfo implements Dto {
         this.fileBufferActualLength = fileBufferActualLength;
         this.status = status;
         this.contentLength = contentLength;
+        this.fileBufferPhysicalLength = fileBufferPhysicalLength;
+        this.memoryBufferCompressed = memoryBufferCompressed;
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.checksum = checksum;
+        this.contentReferenceCount = contentReferenceCount;
     }
 
     public String getKey() {
@@ -101,6 +287,46 @@ public class TemporaryStorageInfo implements Dto {
         this.contentLength = contentLength;
     }
 
+    public long getFileBufferPhysicalLength() {
+        return fileBufferPhysicalLength;
+    }
+
+    public void setFileBufferPhysicalLength(long fileBufferPhysicalLength) {
+        this.fileBufferPhysicalLength = fileBufferPhysicalLength;
+    }
+
+    public boolean isMemoryBufferCompressed() {
+        return memoryBufferCompressed;
+    }
+
+    public void setMemoryBufferCompressed(boolean memoryBufferCompressed) {
+        this.memoryBufferCompressed = memoryBufferCompressed;
+    }
+
+    public String getChecksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+    public void setChecksumAlgorithm(String checksumAlgorithm) {
+        this.checksumAlgorithm = checksumAlgorithm;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public int getContentReferenceCount() {
+        return contentReferenceCount;
+    }
+
+    public void setContentReferenceCount(int contentReferenceCount) {
+        this.contentReferenceCount = contentReferenceCount;
+    }
+
     @Override
     public String toString() {
         return "TemporaryStorageInfo{" +
@@ -111,6 +337,11 @@ public class TemporaryStorageInfo implements Dto {
                 ", fileBufferActualLength=" + fileBufferActualLength +
                 ", status=" + status +
                 ", contentLength=" + contentLength +
+                ", fileBufferPhysicalLength=" + fileBufferPhysicalLength +
+                ", memoryBufferCompressed=" + memoryBufferCompressed +
+                ", checksumAlgorithm='" + checksumAlgorithm + '\'' +
+                ", checksum='" + checksum + '\'' +
+                ", contentReferenceCount=" + contentReferenceCount +
                 '}';
     }
 }
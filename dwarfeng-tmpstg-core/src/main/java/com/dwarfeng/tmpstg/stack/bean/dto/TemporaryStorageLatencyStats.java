@@ -0,0 +1,225 @@
+package com.dwarfeng.tmpstg.stack.bean.dto;
+
+import com.dwarfeng.subgrade.stack.bean.dto.Dto;
+
+/**
+ * 临时存储操作延迟统计信息。
+ *
+ * <p>
+ * 该对象是处理器中某一种操作的耗时在某一时刻的统计快照，时间的单位均为纳秒。<br>
+ * 操作的耗时被拆分为两部分：等待锁的时间，以及除此之外的工作时间，
+ * 前者偏高说明操作受到了并发争用的影响，后者偏高说明操作本身（例如磁盘 IO）较慢。
+ *
+ * <p>
+ * 分位数是估算值，相对真实值的误差不超过 6.25%。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class TemporaryStorageLatencyStats implements Dto {
+
+    private static final long serialVersionUID = 7410862384612377451L;
+
+    /**
+     * 操作的名称。
+     *
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#LATENCY_OPERATION_CREATE
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#LATENCY_OPERATION_OPEN
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#LATENCY_OPERATION_WRITE
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#LATENCY_OPERATION_READ
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#LATENCY_OPERATION_CLOSE
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#LATENCY_OPERATION_DISPOSE
+     */
+    private String operation;
+
+    /**
+     * 统计期间操作被调用的次数。
+     */
+    private long count;
+
+    /**
+     * 工作时间的平均值。
+     */
+    private double workTimeMean;
+
+    /**
+     * 工作时间的 50% 分位数。
+     */
+    private long workTimeP50;
+
+    /**
+     * 工作时间的 99% 分位数。
+     */
+    private long workTimeP99;
+
+    /**
+     * 工作时间的 99.9% 分位数。
+     */
+    private long workTimeP999;
+
+    /**
+     * 工作时间的最大值。
+     */
+    private long workTimeMax;
+
+    /**
+     * 等待锁的时间的平均值。
+     */
+    private double lockWaitTimeMean;
+
+    /**
+     * 等待锁的时间的 50% 分位数。
+     */
+    private long lockWaitTimeP50;
+
+    /**
+     * 等待锁的时间的 99% 分位数。
+     */
+    private long lockWaitTimeP99;
+
+    /**
+     * 等待锁的时间的 99.9% 分位数。
+     */
+    private long lockWaitTimeP999;
+
+    /**
+     * 等待锁的时间的最大值。
+     */
+    private long lockWaitTimeMax;
+
+    public TemporaryStorageLatencyStats() {
+    }
+
+    public TemporaryStorageLatencyStats(
+            String operation, long count, double workTimeMean, long workTimeP50, long workTimeP99, long workTimeP999,
+            long workTimeMax, double lockWaitTimeMean, long lockWaitTimeP50, long lockWaitTimeP99,
+            long lockWaitTimeP999, long lockWaitTimeMax
+    ) {
+        this.operation = operation;
+        this.count = count;
+        this.workTimeMean = workTimeMean;
+        this.workTimeP50 = workTimeP50;
+        this.workTimeP99 = workTimeP99;
+        this.workTimeP999 = workTimeP999;
+        this.workTimeMax = workTimeMax;
+        this.lockWaitTimeMean = lockWaitTimeMean;
+        this.lockWaitTimeP50 = lockWaitTimeP50;
+        this.lockWaitTimeP99 = lockWaitTimeP99;
+        this.lockWaitTimeP999 = lockWaitTimeP999;
+        this.lockWaitTimeMax = lockWaitTimeMax;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getWorkTimeMean() {
+        return workTimeMean;
+    }
+
+    public void setWorkTimeMean(double workTimeMean) {
+        this.workTimeMean = workTimeMean;
+    }
+
+    public long getWorkTimeP50() {
+        return workTimeP50;
+    }
+
+    public void setWorkTimeP50(long workTimeP50) {
+        this.workTimeP50 = workTimeP50;
+    }
+
+    public long getWorkTimeP99() {
+        return workTimeP99;
+    }
+
+    public void setWorkTimeP99(long workTimeP99) {
+        this.workTimeP99 = workTimeP99;
+    }
+
+    public long getWorkTimeP999() {
+        return workTimeP999;
+    }
+
+    public void setWorkTimeP999(long workTimeP999) {
+        this.workTimeP999 = workTimeP999;
+    }
+
+    public long getWorkTimeMax() {
+        return workTimeMax;
+    }
+
+    public void setWorkTimeMax(long workTimeMax) {
+        this.workTimeMax = workTimeMax;
+    }
+
+    public double getLockWaitTimeMean() {
+        return lockWaitTimeMean;
+    }
+
+    public void setLockWaitTimeMean(double lockWaitTimeMean) {
+        this.lockWaitTimeMean = lockWaitTimeMean;
+    }
+
+    public long getLockWaitTimeP50() {
+        return lockWaitTimeP50;
+    }
+
+    public void setLockWaitTimeP50(long lockWaitTimeP50) {
+        this.lockWaitTimeP50 = lockWaitTimeP50;
+    }
+
+    public long getLockWaitTimeP99() {
+        return lockWaitTimeP99;
+    }
+
+    public void setLockWaitTimeP99(long lockWaitTimeP99) {
+        this.lockWaitTimeP99 = lockWaitTimeP99;
+    }
+
+    public long getLockWaitTimeP999() {
+        return lockWaitTimeP999;
+    }
+
+    public void setLockWaitTimeP999(long lockWaitTimeP999) {
+        this.lockWaitTimeP999 = lockWaitTimeP999;
+    }
+
+    public long getLockWaitTimeMax() {
+        return lockWaitTimeMax;
+    }
+
+    public void setLockWaitTimeMax(long lockWaitTimeMax) {
+        this.lockWaitTimeMax = lockWaitTimeMax;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageLatencyStats{" +
+                "operation='" + operation + '\'' +
+                ", count=" + count +
+                ", workTimeMean=" + workTimeMean +
+                ", workTimeP50=" + workTimeP50 +
+                ", workTimeP99=" + workTimeP99 +
+                ", workTimeP999=" + workTimeP999 +
+                ", workTimeMax=" + workTimeMax +
+                ", lockWaitTimeMean=" + lockWaitTimeMean +
+                ", lockWaitTimeP50=" + lockWaitTimeP50 +
+                ", lockWaitTimeP99=" + lockWaitTimeP99 +
+                ", lockWaitTimeP999=" + lockWaitTimeP999 +
+                ", lockWaitTimeMax=" + lockWaitTimeMax +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package com.dwarfeng.tmpstg.stack.bean.dto;
+
+import com.dwarfeng.subgrade.stack.bean.dto.Dto;
+
+/**
+ * 临时存储分片统计信息。
+ *
+ * @author DwArFeng
+ * @see com.dwarfeng.tmpstg.stack.handler.ShardedTemporaryStorageHandler#shardStats()
+ * @since 2.1.0
+ */
+public class TemporaryStorageShardStats implements Dto {
+
+    private static final long serialVersionUID = -6618036386262315097L;
+
+    /**
+     * 分片的序号，从 <code>0</code> 开始。
+     */
+    private int shardIndex;
+
+    /**
+     * 分片当前所占的内存缓冲区份额，即分片的内存缓冲区总大小上限，单位为字节。
+     */
+    private long memoryBudget;
+
+    /**
+     * 分片自身的统计信息。
+     *
+     * <p>
+     * 文件配额由所有分片共享，因此每个分片的文件配额统计信息都是整个分片处理器的文件配额统计信息。
+     */
+    private TemporaryStorageHandlerStats handlerStats;
+
+    public TemporaryStorageShardStats() {
+    }
+
+    public TemporaryStorageShardStats(int shardIndex, long memoryBudget, TemporaryStorageHandlerStats handlerStats) {
+        this.shardIndex = shardIndex;
+        this.memoryBudget = memoryBudget;
+        this.handlerStats = handlerStats;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    public TemporaryStorageHandlerStats getHandlerStats() {
+        return handlerStats;
+    }
+
+    public void setHandlerStats(TemporaryStorageHandlerStats handlerStats) {
+        this.handlerStats = handlerStats;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageShardStats{" +
+                "shardIndex=" + shardIndex +
+                ", memoryBudget=" + memoryBudget +
+                ", handlerStats=" + handlerStats +
+                '}';
+    }
+}
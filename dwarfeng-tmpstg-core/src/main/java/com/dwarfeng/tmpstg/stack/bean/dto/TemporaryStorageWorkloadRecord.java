@@ -0,0 +1,139 @@
+package com.dwarfeng.tmpstg.stack.bean.dto;
+
+import com.dwarfeng.subgrade.stack.bean.dto.Dto;
+
+/**
+ * 临时存储负载记录。
+ *
+ * <p>
+ * 该对象是负载记录文件中的一条记录，对应处理器执行的一次操作。
+ *
+ * @author DwArFeng
+ * @see com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler#startWorkloadTrace(String)
+ * @see com.dwarfeng.tmpstg.sdk.util.TemporaryStorageWorkloadTraceReader
+ * @since 2.1.0
+ */
+public class TemporaryStorageWorkloadRecord implements Dto {
+
+    private static final long serialVersionUID = 2650838219412871604L;
+
+    /**
+     * 操作的类型。
+     *
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_CREATE
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_OPEN_INPUT
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_CLOSE_INPUT
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_OPEN_OUTPUT
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_WRITE
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_CLOSE_OUTPUT
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_PUT
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_PUT_INTO
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_READ
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_DISPOSE
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_REMOVE
+     * @see com.dwarfeng.tmpstg.sdk.util.Constants#WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE
+     */
+    private int operation;
+
+    /**
+     * 执行操作的线程的 ID。
+     */
+    private int threadId;
+
+    /**
+     * 操作的临时存储的编号。
+     *
+     * <p>
+     * 记录期间，每个临时存储第一次出现时被分配一个从 <code>0</code> 开始递增的编号，用于代替临时存储的键。
+     */
+    private int keyId;
+
+    /**
+     * 操作开始的时间相对于记录开始的时间的偏移，单位为纳秒。
+     */
+    private long startOffset;
+
+    /**
+     * 操作的耗时，单位为纳秒。
+     */
+    private long duration;
+
+    /**
+     * 操作的长度，单位为字节，其含义取决于操作的类型。
+     */
+    private long size;
+
+    public TemporaryStorageWorkloadRecord() {
+    }
+
+    public TemporaryStorageWorkloadRecord(
+            int operation, int threadId, int keyId, long startOffset, long duration, long size
+    ) {
+        this.operation = operation;
+        this.threadId = threadId;
+        this.keyId = keyId;
+        this.startOffset = startOffset;
+        this.duration = duration;
+        this.size = size;
+    }
+
+    public int getOperation() {
+        return operation;
+    }
+
+    public void setOperation(int operation) {
+        this.operation = operation;
+    }
+
+    public int getThreadId() {
+        return threadId;
+    }
+
+    public void setThreadId(int threadId) {
+        this.threadId = threadId;
+    }
+
+    public int getKeyId() {
+        return keyId;
+    }
+
+    public void setKeyId(int keyId) {
+        this.keyId = keyId;
+    }
+
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    public void setStartOffset(long startOffset) {
+        this.startOffset = startOffset;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageWorkloadRecord{" +
+                "operation=" + operation +
+                ", threadId=" + threadId +
+                ", keyId=" + keyId +
+                ", startOffset=" + startOffset +
+                ", duration=" + duration +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,31 @@
+package com.dwarfeng.tmpstg.stack.exception;
+
+/**
+ * 临时存储文件配额超限异常。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class TemporaryStorageFileQuotaExceededException extends TemporaryStorageException {
+
+    private static final long serialVersionUID = 2854203927195318560L;
+
+    private final long fileSizeTotal;
+    private final long maxFileSizeTotal;
+
+    public TemporaryStorageFileQuotaExceededException(long fileSizeTotal, long maxFileSizeTotal) {
+        this.fileSizeTotal = fileSizeTotal;
+        this.maxFileSizeTotal = maxFileSizeTotal;
+    }
+
+    public TemporaryStorageFileQuotaExceededException(Throwable cause, long fileSizeTotal, long maxFileSizeTotal) {
+        super(cause);
+        this.fileSizeTotal = fileSizeTotal;
+        this.maxFileSizeTotal = maxFileSizeTotal;
+    }
+
+    @Override
+    public String getMessage() {
+        return "临时文件的总大小超过配额: 当前总大小为 " + fileSizeTotal + ", 最大总大小为 " + maxFileSizeTotal;
+    }
+}
@@ -0,0 +1,118 @@
+package com.dwarfeng.tmpstg.stack.handler;
+
+import com.dwarfeng.subgrade.stack.exception.HandlerException;
+import com.dwarfeng.subgrade.stack.handler.StartableHandler;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步临时存储处理器。
+ *
+ * <p>
+ * 异步临时存储处理器包装一个 {@link TemporaryStorageHandler}，并以 {@link CompletableFuture} 的形式提供其常用操作。<br>
+ * 所有的操作，包括等待锁以及磁盘 IO，都在处理器专用的有界线程池中执行，调用者的线程不会被阻塞。<br>
+ * 线程池的任务队列已满时，操作不会被执行，返回的 {@link CompletableFuture} 直接以异常完成。
+ *
+ * <p>
+ * 每个操作在一个任务中完成打开流、读写数据以及关闭流的全部过程，因此操作之间互不影响，调用者也无需关闭任何流。
+ *
+ * <p>
+ * 返回的 {@link CompletableFuture} 异常完成时，异常为 {@link HandlerException}。
+ *
+ * <p>
+ * 异步临时存储处理器的启动与停止只影响其专用的线程池，被包装的临时存储处理器需要调用者单独启动与停止。<br>
+ * 该处理器停止时，会在有限的时间内等待已经提交的操作执行完毕，超时后中断正在执行的操作，
+ * 尚未开始执行的操作以异常完成；因此应该先停止该处理器，再停止被包装的临时存储处理器。
+ *
+ * <p>
+ * 该接口的实现应该是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public interface AsyncTemporaryStorageHandler extends StartableHandler {
+
+    /**
+     * 异步创建一个临时存储。
+     *
+     * @return 新创建的临时存储的键。
+     * @see TemporaryStorageHandler#create()
+     */
+    CompletableFuture<String> create();
+
+    /**
+     * 异步将指定的内容写入指定键对应的临时存储。
+     *
+     * <p>
+     * 写入的内容将覆盖临时存储中原有的内容。
+     *
+     * @param key     指定的键。
+     * @param content 写入的内容。
+     * @return 写入完成时完成的 {@link CompletableFuture}。
+     * @see TemporaryStorageHandler#openOutputStream(String, long)
+     */
+    CompletableFuture<Void> write(String key, byte[] content);
+
+    /**
+     * 异步将指定缓冲区中的剩余内容写入指定键对应的临时存储。
+     *
+     * <p>
+     * 写入的内容将覆盖临时存储中原有的内容。<br>
+     * 该方法不会改变指定缓冲区的位置，调用者在返回的 {@link CompletableFuture} 完成之前不应该修改缓冲区中的内容。
+     *
+     * @param key     指定的键。
+     * @param content 写入的内容所在的缓冲区。
+     * @return 写入完成时完成的 {@link CompletableFuture}。
+     * @see TemporaryStorageHandler#openOutputStream(String, long)
+     */
+    CompletableFuture<Void> write(String key, ByteBuffer content);
+
+    /**
+     * 异步读取指定键对应的临时存储的全部内容。
+     *
+     * @param key 指定的键。
+     * @return 临时存储的全部内容。
+     * @see TemporaryStorageHandler#openInputStream(String)
+     */
+    CompletableFuture<byte[]> read(String key);
+
+    /**
+     * 异步读取指定键对应的临时存储中指定范围的内容。
+     *
+     * <p>
+     * 如果指定的范围超出了临时存储的内容长度，则只返回范围内实际存在的内容，
+     * 此时返回的内容的长度小于 <code>length</code>，甚至为 0。
+     *
+     * @param key    指定的键。
+     * @param offset 读取的起始位置，不能小于 0。
+     * @param length 读取的最大长度，不能小于 0。
+     * @return 指定范围的内容。
+     * @see TemporaryStorageHandler#openInputStream(String)
+     */
+    CompletableFuture<byte[]> read(String key, long offset, int length);
+
+    /**
+     * 异步释放并移除指定键对应的临时存储。
+     *
+     * @param key 指定的键。
+     * @return 释放并移除完成时完成的 {@link CompletableFuture}。
+     * @see TemporaryStorageHandler#disposeAndRemove(String)
+     */
+    CompletableFuture<Void> dispose(String key);
+
+    /**
+     * 异步将指定键对应的临时存储的全部内容传输到指定的文件。
+     *
+     * <p>
+     * 如果指定的文件不存在，则创建该文件；如果指定的文件已经存在，则覆盖其内容。<br>
+     * 文件通过 {@link java.nio.channels.AsynchronousFileChannel} 写入，读取临时存储的同时，
+     * 已经读取的数据在后台写入文件，写入在处理器专用的线程池中执行。
+     *
+     * @param key    指定的键。
+     * @param target 目标文件。
+     * @return 传输的字节数。
+     */
+    CompletableFuture<Long> transferTo(String key, Path target);
+}
@@ -0,0 +1,67 @@
+package com.dwarfeng.tmpstg.stack.handler;
+
+import com.dwarfeng.subgrade.stack.exception.HandlerException;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageShardStats;
+
+import java.util.List;
+
+/**
+ * 分片临时存储处理器。
+ *
+ * <p>
+ * 分片临时存储处理器由若干个分片组成，每个分片是一个独立的临时存储处理器，
+ * 持有各自的注册表、锁、内存缓冲区份额与后台任务，因此不同分片上的操作之间不存在争用。<br>
+ * 新的临时存储被随机地创建在某一个分片中，其键记录了所在的分片，之后对该键的操作被直接路由到该分片。
+ *
+ * <p>
+ * 配置中的最大缓冲区总大小在分片之间分配：启动时均分，之后按照各分片的内存压力定期重新分配，
+ * 所有分片的份额之和不超过配置中的最大缓冲区总大小。<br>
+ * 文件配额、延迟统计与负载记录由所有分片共享，表现与单个处理器一致；读缓存按照分片数量均分。
+ *
+ * <p>
+ * 与单个处理器相比，分片处理器有以下区别：
+ * <ul>
+ *     <li>内容去重只在同一个分片内生效。</li>
+ *     <li>{@link #keys()} 返回的是调用时所有分片的键的快照。</li>
+ *     <li>{@link #stats()} 返回所有分片的统计信息的汇总，各分片的统计信息可以通过 {@link #shardStats()} 获取。</li>
+ * </ul>
+ *
+ * <p>
+ * 该接口的实现应该是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public interface ShardedTemporaryStorageHandler extends TemporaryStorageHandler {
+
+    /**
+     * 获取分片的数量。
+     *
+     * @return 分片的数量。
+     */
+    int shardCount();
+
+    /**
+     * 获取各分片的统计信息。
+     *
+     * <p>
+     * 该方法可以在处理器启动前调用，此时各分片的统计信息均为初始值。
+     *
+     * @return 各分片的统计信息组成的列表，按照分片的序号排列。
+     * @throws HandlerException 处理器异常。
+     */
+    List<TemporaryStorageShardStats> shardStats() throws HandlerException;
+
+    /**
+     * 立即按照各分片的内存压力重新分配内存缓冲区份额。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 处理器会按照配置的间隔自动重新分配，该方法用于在负载突变时立即重新分配，或在禁用自动重新分配时手动重新分配。
+     *
+     * @throws HandlerException 处理器异常。
+     */
+    void rebalance() throws HandlerException;
+}
@@ -2,11 +2,19 @@ package com.dwarfeng.tmpstg.stack.handler;
 
 import com.dwarfeng.subgrade.stack.exception.HandlerException;
 import com.dwarfeng.subgrade.stack.handler.StartableHandler;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
 import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageException;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageInvalidStatusException;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageNotExistsException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Collection;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 /**
  * 临时存储处理器。
@@ -60,6 +68,37 @@ public interface TemporaryStorageHandler extends StartableHandler {
      */
     TemporaryStorageInfo inspect(String key) throws HandlerException;
 
+    /**
+     * 批量获取指定键对应的临时存储信息。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 该方法只获取一次处理器锁，并在同一次遍历中生成所有临时存储的信息，
+     * 比逐个调用 {@link #inspect(String)} 的开销更小。<br>
+     * 不存在的键不会导致异常，这些键不出现在返回的映射中。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #inspect(String)}，不具备上述的性能优势，实现应该覆盖该方法。
+     *
+     * @param keys 指定的键组成的集合。
+     * @return 键与对应的临时存储信息组成的映射，映射的顺序与指定的键的迭代顺序一致。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default Map<String, TemporaryStorageInfo> inspectAll(Collection<String> keys) throws HandlerException {
+        Map<String, TemporaryStorageInfo> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            try {
+                result.put(key, inspect(key));
+            } catch (TemporaryStorageNotExistsException e) {
+                // 不存在的键不出现在返回的映射中。
+            }
+        }
+        return result;
+    }
+
     /**
      * 创建一个新的临时存储。
      *
@@ -71,6 +110,102 @@ public interface TemporaryStorageHandler extends StartableHandler {
      */
     String create() throws HandlerException;
 
+    /**
+     * 批量创建指定数量的临时存储。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 该方法只获取一次处理器锁，比逐个调用 {@link #create()} 的开销更小。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #create()}，不具备上述的性能优势，实现应该覆盖该方法。
+     *
+     * @param count 创建的数量，不能小于 0。
+     * @return 新创建的临时存储的键组成的列表。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default List<String> createBatch(int count) throws HandlerException {
+        if (count < 0) {
+            throw new TemporaryStorageException("创建的数量不能小于 0");
+        }
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(create());
+        }
+        return keys;
+    }
+
+    /**
+     * 创建一个新的临时存储，并设置其过期时间。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 过期时间的含义与 {@link #setExpiration(String, long, long)} 方法相同。
+     *
+     * <p>
+     * 默认实现调用 {@link #create()} 后调用 {@link #setExpiration(String, long, long)}，
+     * 设置过期时间失败时，释放并移除新创建的临时存储。
+     *
+     * @param idleTimeout     空闲超时时间，单位为毫秒，小于等于 0 表示不按照空闲时间过期。
+     * @param absoluteTimeout 绝对超时时间，单位为毫秒，小于等于 0 表示不按照存活时间过期。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default String create(long idleTimeout, long absoluteTimeout) throws HandlerException {
+        String key = create();
+        if (idleTimeout <= 0 && absoluteTimeout <= 0) {
+            return key;
+        }
+        try {
+            setExpiration(key, idleTimeout, absoluteTimeout);
+        } catch (HandlerException | RuntimeException e) {
+            try {
+                disposeAndRemove(key);
+            } catch (HandlerException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        return key;
+    }
+
+    /**
+     * 批量创建指定数量的临时存储，并设置它们的过期时间。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 过期时间的含义与 {@link #setExpiration(String, long, long)} 方法相同，所有临时存储的过期时间相同。<br>
+     * 该方法只获取一次处理器锁，比逐个调用 {@link #create(long, long)} 的开销更小。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #create(long, long)}，不具备上述的性能优势，实现应该覆盖该方法。
+     *
+     * @param count           创建的数量，不能小于 0。
+     * @param idleTimeout     空闲超时时间，单位为毫秒，小于等于 0 表示不按照空闲时间过期。
+     * @param absoluteTimeout 绝对超时时间，单位为毫秒，小于等于 0 表示不按照存活时间过期。
+     * @return 新创建的临时存储的键组成的列表。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default List<String> createBatch(int count, long idleTimeout, long absoluteTimeout) throws HandlerException {
+        if (count < 0) {
+            throw new TemporaryStorageException("创建的数量不能小于 0");
+        }
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(create(idleTimeout, absoluteTimeout));
+        }
+        return keys;
+    }
+
     /**
      * 打开指定键对应的输入流。
      *
@@ -161,6 +296,325 @@ public interface TemporaryStorageHandler extends StartableHandler {
      */
     OutputStream openOutputStream(String key, long expectedLength) throws HandlerException;
 
+    /**
+     * 打开指定键对应的输出流，并在内存缓冲不足时等待。
+     *
+     * <p>
+     * 该方法与 {@link #openOutputStream(String, long)} 方法相同，区别在于：
+     * 当处理器的剩余内存缓冲不足以容纳 <code>expectedLength</code>（不超过单个临时存储的内存缓冲上限）时，
+     * 该方法不会立即申请部分内存缓冲，而是阻塞等待其它临时存储的输出流关闭或临时存储释放，从而归还内存缓冲。<br>
+     * 多个等待中的调用按照先进先出的顺序被满足；不等待的调用不参与排队。<br>
+     * 等待超时后，该方法不会抛出异常，而是按照剩余的内存缓冲尽可能地申请，超出的数据将会溢出到临时文件缓冲。
+     *
+     * <p>
+     * 对于内存缓冲紧张，但又希望数据尽量保留在内存中的场景，推荐使用该方法，以减少不必要的溢出。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键必须存在，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键对应的临时存储的状态必须是工作中，否则将抛出异常。
+     *
+     * <p>
+     * 该方法不会关闭流，需要调用者自行关闭，请 <b>务必</b> 在调用该方法结束后关闭流，否则会造成处理器后续操作阻塞等行为异常。
+     *
+     * <p>
+     * 默认实现直接调用 {@link #openOutputStream(String, long)}，不等待内存缓冲。
+     *
+     * @param key               指定的键。
+     * @param expectedLength    期望的数据长度。
+     * @param memoryWaitTimeout 等待内存缓冲的超时时间，单位为毫秒，小于等于 0 时不等待。
+     * @return 指定键对应的输出流。
+     * @throws HandlerException 处理器异常。
+     * @see #openOutputStream(String, long)
+     * @since 2.1.0
+     */
+    default OutputStream openOutputStream(String key, long expectedLength, long memoryWaitTimeout)
+            throws HandlerException {
+        return openOutputStream(key, expectedLength);
+    }
+
+    /**
+     * 创建一个新的临时存储，并一次性写入指定的内容。
+     *
+     * <p>
+     * 该方法只获取一次处理器锁与一次临时存储锁，且不创建输出流，适用于内容较小、长度已知的场景，
+     * 比依次调用 {@link #create()} 与 {@link #openOutputStream(String, long)} 的开销更小。<br>
+     * 内存缓冲能够容纳全部内容时，内存缓冲的大小与内容的长度完全一致；否则，超出的部分溢出到临时文件缓冲。
+     *
+     * <p>
+     * 该方法会复制指定的内容，调用者在该方法返回后可以继续修改数组。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现调用 {@link #create()} 后调用 {@link #putInto(String, byte[])}，
+     * 写入失败时，释放并移除新创建的临时存储。
+     *
+     * @param content 指定的内容。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @see #put(byte[], boolean)
+     * @since 2.1.0
+     */
+    default String put(byte[] content) throws HandlerException {
+        String key = create();
+        try {
+            putInto(key, content);
+        } catch (HandlerException | RuntimeException e) {
+            try {
+                disposeAndRemove(key);
+            } catch (HandlerException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        return key;
+    }
+
+    /**
+     * 创建一个新的临时存储，并一次性写入指定的内容。
+     *
+     * <p>
+     * 该方法与 {@link #put(byte[])} 方法相同，区别在于：
+     * 当 <code>adopt</code> 为 <code>true</code> 且内存缓冲能够容纳全部内容时，处理器直接接管指定的数组作为内存缓冲，
+     * 不复制内容。<br>
+     * 接管数组后，调用者 <b>不应该</b> 再修改该数组，否则临时存储的内容将随之改变，且可能无法通过校验和校验。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现忽略 <code>adopt</code>，直接调用 {@link #put(byte[])}。
+     *
+     * @param content 指定的内容。
+     * @param adopt   是否允许处理器接管指定的数组。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @see #put(byte[])
+     * @since 2.1.0
+     */
+    default String put(byte[] content, boolean adopt) throws HandlerException {
+        return put(content);
+    }
+
+    /**
+     * 创建一个新的临时存储，并一次性写入指定缓冲区中剩余的内容。
+     *
+     * <p>
+     * 该方法与 {@link #put(byte[])} 方法相同，写入的内容为缓冲区的当前位置至上限之间的内容，
+     * 该方法不会改变缓冲区的位置。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现将缓冲区剩余的内容复制到数组中，并调用 {@link #put(byte[], boolean)}。
+     *
+     * @param content 指定的缓冲区。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @see #put(byte[])
+     * @since 2.1.0
+     */
+    default String put(ByteBuffer content) throws HandlerException {
+        byte[] bytes = new byte[content.remaining()];
+        content.duplicate().get(bytes);
+        return put(bytes, true);
+    }
+
+    /**
+     * 向指定键对应的临时存储一次性写入指定的内容，写入的内容将覆盖临时存储中原有的内容。
+     *
+     * <p>
+     * 该方法不创建输出流，适用于内容较小、长度已知的场景，
+     * 比调用 {@link #openOutputStream(String, long)} 并写入内容的开销更小。<br>
+     * 内存缓冲能够容纳全部内容时，内存缓冲的大小与内容的长度完全一致；否则，超出的部分溢出到临时文件缓冲。
+     *
+     * <p>
+     * 该方法会复制指定的内容，调用者在该方法返回后可以继续修改数组。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键必须存在，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键对应的临时存储的状态必须是工作中，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现调用 {@link #openOutputStream(String, long)} 并写入内容，不具备上述的性能优势，实现应该覆盖该方法。
+     *
+     * @param key     指定的键。
+     * @param content 指定的内容。
+     * @throws HandlerException 处理器异常。
+     * @see #putInto(String, byte[], boolean)
+     * @since 2.1.0
+     */
+    default void putInto(String key, byte[] content) throws HandlerException {
+        try (OutputStream out = openOutputStream(key, content.length)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new TemporaryStorageException(e);
+        }
+    }
+
+    /**
+     * 向指定键对应的临时存储一次性写入指定的内容，写入的内容将覆盖临时存储中原有的内容。
+     *
+     * <p>
+     * 该方法与 {@link #putInto(String, byte[])} 方法相同，区别在于：
+     * 当 <code>adopt</code> 为 <code>true</code> 且内存缓冲能够容纳全部内容时，处理器直接接管指定的数组作为内存缓冲，
+     * 不复制内容。<br>
+     * 接管数组后，调用者 <b>不应该</b> 再修改该数组，否则临时存储的内容将随之改变，且可能无法通过校验和校验。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键必须存在，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键对应的临时存储的状态必须是工作中，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现忽略 <code>adopt</code>，直接调用 {@link #putInto(String, byte[])}。
+     *
+     * @param key     指定的键。
+     * @param content 指定的内容。
+     * @param adopt   是否允许处理器接管指定的数组。
+     * @throws HandlerException 处理器异常。
+     * @see #putInto(String, byte[])
+     * @since 2.1.0
+     */
+    default void putInto(String key, byte[] content, boolean adopt) throws HandlerException {
+        putInto(key, content);
+    }
+
+    /**
+     * 一次性读取指定键对应的临时存储的全部内容。
+     *
+     * <p>
+     * 该方法按照内容的长度分配数组，内容全部位于内存缓冲中时不创建输入流，
+     * 比调用 {@link #openInputStream(String)} 并读取全部内容的开销更小。<br>
+     * 内容的长度超过数组的最大长度时，将抛出异常，此时应该使用 {@link #openInputStream(String)} 方法分段读取。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键必须存在，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键对应的临时存储的状态必须是工作中，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现调用 {@link #openInputStream(String)} 并读取全部内容，不具备上述的性能优势，实现应该覆盖该方法。
+     *
+     * @param key 指定的键。
+     * @return 临时存储的全部内容。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default byte[] readAllBytes(String key) throws HandlerException {
+        try (InputStream in = openInputStream(key); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new TemporaryStorageException(e);
+        }
+    }
+
+    /**
+     * 从指定键对应的临时存储的起始位置读取内容，并放入指定的缓冲区。
+     *
+     * <p>
+     * 读取的长度为内容的长度与缓冲区剩余空间中的较小者，读取的内容从缓冲区的当前位置开始放入，
+     * 读取完成后，缓冲区的位置向后移动读取的长度。<br>
+     * 内容全部位于内存缓冲中时，该方法不创建输入流。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键必须存在，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键对应的临时存储的状态必须是工作中，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现总是调用 {@link #openInputStream(String)} 读取内容。
+     *
+     * @param key    指定的键。
+     * @param buffer 指定的缓冲区。
+     * @return 读取的长度。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default int read(String key, ByteBuffer buffer) throws HandlerException {
+        try (InputStream in = openInputStream(key)) {
+            byte[] bytes = new byte[buffer.remaining()];
+            int total = 0;
+            int length;
+            while (total < bytes.length && (length = in.read(bytes, total, bytes.length - total)) >= 0) {
+                total += length;
+            }
+            buffer.put(bytes, 0, total);
+            return total;
+        } catch (IOException e) {
+            throw new TemporaryStorageException(e);
+        }
+    }
+
+    /**
+     * 设置指定键对应的临时存储的过期时间。
+     *
+     * <p>
+     * 临时存储在以下任一条件满足时过期：
+     * <ul>
+     *     <li>空闲超时时间大于 0，且自上一次访问起，超过空闲超时时间没有被再次访问。</li>
+     *     <li>绝对超时时间大于 0，且自调用该方法起，经过了绝对超时时间。</li>
+     * </ul>
+     * 打开输入流与输出流、关闭输入流与输出流、一次性写入与读取均视为访问，查看临时存储的信息不视为访问；
+     * 调用该方法本身也视为一次访问。<br>
+     * 过期的临时存储由处理器的过期检查任务释放并移除，等同于调用 {@link #disposeAndRemove(String)} 方法，
+     * 过期检查的精度为配置中的过期检查的时间刻度。<br>
+     * 临时存储的流未关闭时，其不会被释放，处理器在下一个时间刻度再次检查其是否过期。
+     *
+     * <p>
+     * 每次调用该方法都会覆盖之前设置的过期时间，空闲超时时间与绝对超时时间均小于等于 0 时，临时存储不再过期。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键必须存在，否则将抛出异常。
+     *
+     * <p>
+     * 指定的键对应的临时存储的状态必须是工作中，否则将抛出异常。
+     *
+     * <p>
+     * 默认实现不支持过期时间，总是抛出 {@link UnsupportedOperationException}。
+     *
+     * @param key             指定的键。
+     * @param idleTimeout     空闲超时时间，单位为毫秒，小于等于 0 表示不按照空闲时间过期。
+     * @param absoluteTimeout 绝对超时时间，单位为毫秒，小于等于 0 表示不按照存活时间过期。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default void setExpiration(String key, long idleTimeout, long absoluteTimeout) throws HandlerException {
+        throw new UnsupportedOperationException("该处理器不支持过期时间");
+    }
+
     /**
      * 释放指定键对应的临时存储。
      *
@@ -237,6 +691,38 @@ public interface TemporaryStorageHandler extends StartableHandler {
      */
     void disposeAndRemove(String key) throws HandlerException;
 
+    /**
+     * 批量释放并移除指定键对应的临时存储。
+     *
+     * <p>
+     * 该方法必须在处理器启动后调用，否则将抛出异常。
+     *
+     * <p>
+     * 该方法只获取一次处理器锁与内存分配锁，比逐个调用 {@link #disposeAndRemove(String)} 的开销更小。<br>
+     * 不存在的键，以及状态不是工作中的临时存储不会导致异常，其对应的结果为 <code>false</code>，
+     * 且状态不是工作中的临时存储不会被移除。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #disposeAndRemove(String)}，不具备上述的性能优势，实现应该覆盖该方法。
+     *
+     * @param keys 指定的键组成的集合。
+     * @return 键与是否释放并移除成功组成的映射，映射的顺序与指定的键的迭代顺序一致。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default Map<String, Boolean> disposeAndRemoveAll(Collection<String> keys) throws HandlerException {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            try {
+                disposeAndRemove(key);
+                result.put(key, true);
+            } catch (TemporaryStorageNotExistsException | TemporaryStorageInvalidStatusException e) {
+                result.put(key, false);
+            }
+        }
+        return result;
+    }
+
     /**
      * 清除处理器中已释放的临时存储。
      *
@@ -246,4 +732,135 @@ public interface TemporaryStorageHandler extends StartableHandler {
      * @throws HandlerException 处理器异常。
      */
     void clearDisposed() throws HandlerException;
+
+    /**
+     * 获取处理器的统计信息。
+     *
+     * <p>
+     * 该方法可以在处理器的任何状态下调用。
+     *
+     * <p>
+     * 统计信息由处理器在读写的热路径上维护，获取统计信息时不需要获取任何锁，开销与临时存储的数量无关，
+     * 因此可以被监控系统高频地调用。<br>
+     * 统计信息中的计数器是单调递增的，速率（例如每秒创建的临时存储的数量）应该由调用者根据两次调用的差值计算。
+     *
+     * <p>
+     * 默认实现不支持统计信息，总是抛出 {@link UnsupportedOperationException}。
+     *
+     * @return 处理器的统计信息。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default TemporaryStorageHandlerStats stats() throws HandlerException {
+        throw new UnsupportedOperationException("该处理器不支持统计信息");
+    }
+
+    /**
+     * 获取处理器中各操作的延迟统计信息。
+     *
+     * <p>
+     * 处理器统计创建临时存储、打开流、写入、一次性读取、关闭流、释放临时存储六种操作的耗时，
+     * 并将每次操作的耗时拆分为等待处理器锁、临时存储锁与内存分配锁的时间，以及除此之外的工作时间，
+     * 以便区分并发争用与 IO 缓慢两种原因导致的延迟。<br>
+     * 写入包括向输出流写入以及 <code>putInto</code>，<code>put</code> 分别计为一次创建与一次写入；
+     * 一次性读取包括 <code>readAllBytes</code> 与 <code>read</code>；
+     * 每次 <code>createBatch</code> 与 <code>disposeAndRemoveAll</code> 分别计为一次创建与一次释放。<br>
+     * 打开输出流时等待内存缓冲的时间计入工作时间。
+     *
+     * <p>
+     * 统计信息从处理器创建或上一次调用 {@link #resetLatencyStats()} 开始累计。
+     *
+     * <p>
+     * 该方法可以在处理器的任何状态下调用。
+     *
+     * <p>
+     * 默认实现不统计延迟，总是返回空列表。
+     *
+     * @return 各操作的延迟统计信息组成的列表。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default List<TemporaryStorageLatencyStats> latencyStats() throws HandlerException {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 重置处理器中各操作的延迟统计信息。
+     *
+     * <p>
+     * 该方法可以在处理器的任何状态下调用。
+     *
+     * <p>
+     * 默认实现不统计延迟，不做任何操作。
+     *
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default void resetLatencyStats() throws HandlerException {
+    }
+
+    /**
+     * 开始记录处理器的负载。
+     *
+     * <p>
+     * 记录期间，处理器将每一次成功的操作以定长的二进制记录写入指定的文件，记录包括操作的类型、临时存储的编号、
+     * 操作的长度、开始时间、耗时以及线程的 ID，临时存储的键与内容不会被记录。<br>
+     * 记录的操作包括创建、打开与关闭流、向输出流写入字节数组、一次性写入与读取、释放与移除；
+     * 记录先在内存中缓冲，写满后再写入文件，因此对操作的影响很小。
+     *
+     * <p>
+     * 记录文件可以使用 {@link com.dwarfeng.tmpstg.sdk.util.TemporaryStorageWorkloadTraceReader} 读取，
+     * 并在使用不同配置的处理器上回放，以便离线地调整缓冲区大小、溢出层级与临时文件目录等配置。
+     *
+     * <p>
+     * 指定的文件已经存在时会被覆盖。记录一直持续到调用 {@link #stopWorkloadTrace()} 或者处理器停止为止。
+     *
+     * <p>
+     * 该方法可以在处理器的任何状态下调用。
+     *
+     * <p>
+     * 默认实现不支持负载记录，总是抛出 {@link UnsupportedOperationException}。
+     *
+     * @param traceFilePath 记录文件的路径。
+     * @throws HandlerException 处理器异常，已经在记录时也会抛出异常。
+     * @since 2.1.0
+     */
+    default void startWorkloadTrace(String traceFilePath) throws HandlerException {
+        throw new UnsupportedOperationException("该处理器不支持负载记录");
+    }
+
+    /**
+     * 停止记录处理器的负载。
+     *
+     * <p>
+     * 该方法将缓冲的记录全部写入文件，并关闭文件；未在记录时，该方法不做任何操作。
+     *
+     * <p>
+     * 该方法可以在处理器的任何状态下调用。
+     *
+     * <p>
+     * 默认实现不支持负载记录，不做任何操作。
+     *
+     * @throws HandlerException 处理器异常，记录期间写入文件失败时也会抛出异常。
+     * @since 2.1.0
+     */
+    default void stopWorkloadTrace() throws HandlerException {
+    }
+
+    /**
+     * 判断处理器是否正在记录负载。
+     *
+     * <p>
+     * 该方法可以在处理器的任何状态下调用。
+     *
+     * <p>
+     * 默认实现不支持负载记录，总是返回 <code>false</code>。
+     *
+     * @return 处理器是否正在记录负载。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default boolean isWorkloadTracing() throws HandlerException {
+        return false;
+    }
 }
@@ -1,14 +1,21 @@
 package com.dwarfeng.tmpstg.stack.handler;
 
 import com.dwarfeng.subgrade.stack.exception.HandlerException;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
 import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageException;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageInvalidStatusException;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageNotExistsException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Collection;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 /**
  * 临时存储 QoS 处理器。
@@ -100,6 +107,35 @@ public interface TemporaryStorageQosHandler {
      */
     TemporaryStorageInfo inspect(@Nullable String handlerName, @Nonnull String key) throws HandlerException;
 
+    /**
+     * 批量获取指定键对应的临时存储信息。
+     *
+     * <p>
+     * 不存在的键不出现在返回的映射中。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #inspect(String, String)}。
+     *
+     * @param handlerName 处理器名称。
+     * @param keys        指定的键组成的集合。
+     * @return 键与对应的临时存储信息组成的映射。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#inspectAll(Collection)
+     * @since 2.1.0
+     */
+    default Map<String, TemporaryStorageInfo> inspectAll(@Nullable String handlerName, @Nonnull Collection<String> keys)
+            throws HandlerException {
+        Map<String, TemporaryStorageInfo> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            try {
+                result.put(key, inspect(handlerName, key));
+            } catch (TemporaryStorageNotExistsException e) {
+                // 不存在的键不出现在返回的映射中。
+            }
+        }
+        return result;
+    }
+
     /**
      * 创建一个新的临时存储。
      *
@@ -109,6 +145,91 @@ public interface TemporaryStorageQosHandler {
      */
     String create(@Nullable String handlerName) throws HandlerException;
 
+    /**
+     * 批量创建指定数量的临时存储。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #create(String)}。
+     *
+     * @param handlerName 处理器名称。
+     * @param count       创建的数量。
+     * @return 新创建的临时存储的键组成的列表。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#createBatch(int)
+     * @since 2.1.0
+     */
+    default List<String> createBatch(@Nullable String handlerName, int count) throws HandlerException {
+        if (count < 0) {
+            throw new TemporaryStorageException("创建的数量不能小于 0");
+        }
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(create(handlerName));
+        }
+        return keys;
+    }
+
+    /**
+     * 创建一个新的临时存储，并设置其过期时间。
+     *
+     * <p>
+     * 默认实现调用 {@link #create(String)} 后调用 {@link #setExpiration(String, String, long, long)}。
+     *
+     * @param handlerName     处理器名称。
+     * @param idleTimeout     空闲超时时间，单位为毫秒。
+     * @param absoluteTimeout 绝对超时时间，单位为毫秒。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#create(long, long)
+     * @since 2.1.0
+     */
+    default String create(@Nullable String handlerName, long idleTimeout, long absoluteTimeout)
+            throws HandlerException {
+        String key = create(handlerName);
+        if (idleTimeout <= 0 && absoluteTimeout <= 0) {
+            return key;
+        }
+        try {
+            setExpiration(handlerName, key, idleTimeout, absoluteTimeout);
+        } catch (HandlerException | RuntimeException e) {
+            try {
+                disposeAndRemove(handlerName, key);
+            } catch (HandlerException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        return key;
+    }
+
+    /**
+     * 批量创建指定数量的临时存储，并设置它们的过期时间。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #create(String, long, long)}。
+     *
+     * @param handlerName     处理器名称。
+     * @param count           创建的数量。
+     * @param idleTimeout     空闲超时时间，单位为毫秒。
+     * @param absoluteTimeout 绝对超时时间，单位为毫秒。
+     * @return 新创建的临时存储的键组成的列表。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#createBatch(int, long, long)
+     * @since 2.1.0
+     */
+    default List<String> createBatch(
+            @Nullable String handlerName, int count, long idleTimeout, long absoluteTimeout
+    ) throws HandlerException {
+        if (count < 0) {
+            throw new TemporaryStorageException("创建的数量不能小于 0");
+        }
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(create(handlerName, idleTimeout, absoluteTimeout));
+        }
+        return keys;
+    }
+
     /**
      * 打开指定键对应的输入流。
      *
@@ -144,6 +265,212 @@ public interface TemporaryStorageQosHandler {
             @Nullable String handlerName, @Nonnull String key, long expectedLength
     ) throws HandlerException;
 
+    /**
+     * 打开指定键对应的输出流，并在内存缓冲不足时等待。
+     *
+     * <p>
+     * 默认实现直接调用 {@link #openOutputStream(String, String, long)}，不等待内存缓冲。
+     *
+     * @param handlerName       处理器名称。
+     * @param key               指定的键。
+     * @param expectedLength    期望的数据长度。
+     * @param memoryWaitTimeout 等待内存缓冲的超时时间，单位为毫秒，小于等于 0 时不等待。
+     * @return 指定键对应的输出流。
+     * @throws HandlerException 处理器异常。
+     * @see #openOutputStream(String, String, long)
+     * @since 2.1.0
+     */
+    default OutputStream openOutputStream(
+            @Nullable String handlerName, @Nonnull String key, long expectedLength, long memoryWaitTimeout
+    ) throws HandlerException {
+        return openOutputStream(handlerName, key, expectedLength);
+    }
+
+    /**
+     * 创建一个新的临时存储，并一次性写入指定的内容。
+     *
+     * <p>
+     * 默认实现调用 {@link #create(String)} 后调用 {@link #putInto(String, String, byte[])}。
+     *
+     * @param handlerName 处理器名称。
+     * @param content     指定的内容。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#put(byte[])
+     * @since 2.1.0
+     */
+    default String put(@Nullable String handlerName, @Nonnull byte[] content) throws HandlerException {
+        String key = create(handlerName);
+        try {
+            putInto(handlerName, key, content);
+        } catch (HandlerException | RuntimeException e) {
+            try {
+                disposeAndRemove(handlerName, key);
+            } catch (HandlerException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        return key;
+    }
+
+    /**
+     * 创建一个新的临时存储，并一次性写入指定的内容。
+     *
+     * <p>
+     * 默认实现忽略 <code>adopt</code>，直接调用 {@link #put(String, byte[])}。
+     *
+     * @param handlerName 处理器名称。
+     * @param content     指定的内容。
+     * @param adopt       是否允许处理器接管指定的数组。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#put(byte[], boolean)
+     * @since 2.1.0
+     */
+    default String put(@Nullable String handlerName, @Nonnull byte[] content, boolean adopt) throws HandlerException {
+        return put(handlerName, content);
+    }
+
+    /**
+     * 创建一个新的临时存储，并一次性写入指定缓冲区中剩余的内容。
+     *
+     * <p>
+     * 默认实现将缓冲区剩余的内容复制到数组中，并调用 {@link #put(String, byte[], boolean)}。
+     *
+     * @param handlerName 处理器名称。
+     * @param content     指定的缓冲区。
+     * @return 新创建的临时存储的键。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#put(ByteBuffer)
+     * @since 2.1.0
+     */
+    default String put(@Nullable String handlerName, @Nonnull ByteBuffer content) throws HandlerException {
+        byte[] bytes = new byte[content.remaining()];
+        content.duplicate().get(bytes);
+        return put(handlerName, bytes, true);
+    }
+
+    /**
+     * 向指定键对应的临时存储一次性写入指定的内容。
+     *
+     * <p>
+     * 默认实现调用 {@link #openOutputStream(String, String, long)} 并写入内容。
+     *
+     * @param handlerName 处理器名称。
+     * @param key         指定的键。
+     * @param content     指定的内容。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#putInto(String, byte[])
+     * @since 2.1.0
+     */
+    default void putInto(@Nullable String handlerName, @Nonnull String key, @Nonnull byte[] content)
+            throws HandlerException {
+        try (OutputStream out = openOutputStream(handlerName, key, content.length)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new TemporaryStorageException(e);
+        }
+    }
+
+    /**
+     * 向指定键对应的临时存储一次性写入指定的内容。
+     *
+     * <p>
+     * 默认实现忽略 <code>adopt</code>，直接调用 {@link #putInto(String, String, byte[])}。
+     *
+     * @param handlerName 处理器名称。
+     * @param key         指定的键。
+     * @param content     指定的内容。
+     * @param adopt       是否允许处理器接管指定的数组。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#putInto(String, byte[], boolean)
+     * @since 2.1.0
+     */
+    default void putInto(@Nullable String handlerName, @Nonnull String key, @Nonnull byte[] content, boolean adopt)
+            throws HandlerException {
+        putInto(handlerName, key, content);
+    }
+
+    /**
+     * 一次性读取指定键对应的临时存储的全部内容。
+     *
+     * <p>
+     * 默认实现调用 {@link #openInputStream(String, String)} 并读取全部内容。
+     *
+     * @param handlerName 处理器名称。
+     * @param key         指定的键。
+     * @return 临时存储的全部内容。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#readAllBytes(String)
+     * @since 2.1.0
+     */
+    default byte[] readAllBytes(@Nullable String handlerName, @Nonnull String key) throws HandlerException {
+        try (
+                InputStream in = openInputStream(handlerName, key);
+                ByteArrayOutputStream out = new ByteArrayOutputStream()
+        ) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new TemporaryStorageException(e);
+        }
+    }
+
+    /**
+     * 从指定键对应的临时存储的起始位置读取内容，并放入指定的缓冲区。
+     *
+     * <p>
+     * 默认实现调用 {@link #openInputStream(String, String)} 读取内容。
+     *
+     * @param handlerName 处理器名称。
+     * @param key         指定的键。
+     * @param buffer      指定的缓冲区。
+     * @return 读取的长度。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#read(String, ByteBuffer)
+     * @since 2.1.0
+     */
+    default int read(@Nullable String handlerName, @Nonnull String key, @Nonnull ByteBuffer buffer)
+            throws HandlerException {
+        try (InputStream in = openInputStream(handlerName, key)) {
+            byte[] bytes = new byte[buffer.remaining()];
+            int total = 0;
+            int length;
+            while (total < bytes.length && (length = in.read(bytes, total, bytes.length - total)) >= 0) {
+                total += length;
+            }
+            buffer.put(bytes, 0, total);
+            return total;
+        } catch (IOException e) {
+            throw new TemporaryStorageException(e);
+        }
+    }
+
+    /**
+     * 设置指定键对应的临时存储的过期时间。
+     *
+     * <p>
+     * 默认实现不支持过期时间，总是抛出 {@link UnsupportedOperationException}。
+     *
+     * @param handlerName     处理器名称。
+     * @param key             指定的键。
+     * @param idleTimeout     空闲超时时间，单位为毫秒。
+     * @param absoluteTimeout 绝对超时时间，单位为毫秒。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#setExpiration(String, long, long)
+     * @since 2.1.0
+     */
+    default void setExpiration(
+            @Nullable String handlerName, @Nonnull String key, long idleTimeout, long absoluteTimeout
+    ) throws HandlerException {
+        throw new UnsupportedOperationException("不支持过期时间");
+    }
+
     /**
      * 释放指定键对应的临时存储。
      *
@@ -181,6 +508,33 @@ public interface TemporaryStorageQosHandler {
      */
     void disposeAndRemove(@Nullable String handlerName, @Nonnull String key) throws HandlerException;
 
+    /**
+     * 批量释放并移除指定键对应的临时存储。
+     *
+     * <p>
+     * 默认实现逐个调用 {@link #disposeAndRemove(String, String)}。
+     *
+     * @param handlerName 处理器名称。
+     * @param keys        指定的键组成的集合。
+     * @return 键与是否释放并移除成功组成的映射。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#disposeAndRemoveAll(Collection)
+     * @since 2.1.0
+     */
+    default Map<String, Boolean> disposeAndRemoveAll(@Nullable String handlerName, @Nonnull Collection<String> keys)
+            throws HandlerException {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            try {
+                disposeAndRemove(handlerName, key);
+                result.put(key, true);
+            } catch (TemporaryStorageNotExistsException | TemporaryStorageInvalidStatusException e) {
+                result.put(key, false);
+            }
+        }
+        return result;
+    }
+
     /**
      * 清除处理器中已释放的临时存储。
      *
@@ -188,4 +542,95 @@ public interface TemporaryStorageQosHandler {
      * @throws HandlerException 处理器异常。
      */
     void clearDisposed(@Nullable String handlerName) throws HandlerException;
+
+    /**
+     * 获取临时存储处理器的统计信息。
+     *
+     * <p>
+     * 默认实现不支持统计信息，总是抛出 {@link UnsupportedOperationException}。
+     *
+     * @param handlerName 处理器名称。
+     * @return 临时存储处理器的统计信息。
+     * @throws HandlerException 处理器异常。
+     * @since 2.1.0
+     */
+    default TemporaryStorageHandlerStats stats(@Nullable String handlerName) throws HandlerException {
+        throw new UnsupportedOperationException("不支持统计信息");
+    }
+
+    /**
+     * 获取临时存储处理器中各操作的延迟统计信息。
+     *
+     * <p>
+     * 默认实现不统计延迟，总是返回空列表。
+     *
+     * @param handlerName 处理器名称。
+     * @return 各操作的延迟统计信息组成的列表。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#latencyStats()
+     * @since 2.1.0
+     */
+    default List<TemporaryStorageLatencyStats> latencyStats(@Nullable String handlerName) throws HandlerException {
+        return Collections.emptyList();
+    }
+
+    /**
+     * 重置临时存储处理器中各操作的延迟统计信息。
+     *
+     * <p>
+     * 默认实现不统计延迟，不做任何操作。
+     *
+     * @param handlerName 处理器名称。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#resetLatencyStats()
+     * @since 2.1.0
+     */
+    default void resetLatencyStats(@Nullable String handlerName) throws HandlerException {
+    }
+
+    /**
+     * 开始记录临时存储处理器的负载。
+     *
+     * <p>
+     * 默认实现不支持负载记录，总是抛出 {@link UnsupportedOperationException}。
+     *
+     * @param handlerName   处理器名称。
+     * @param traceFilePath 记录文件的路径。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#startWorkloadTrace(String)
+     * @since 2.1.0
+     */
+    default void startWorkloadTrace(@Nullable String handlerName, String traceFilePath) throws HandlerException {
+        throw new UnsupportedOperationException("不支持负载记录");
+    }
+
+    /**
+     * 停止记录临时存储处理器的负载。
+     *
+     * <p>
+     * 默认实现不支持负载记录，不做任何操作。
+     *
+     * @param handlerName 处理器名称。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#stopWorkloadTrace()
+     * @since 2.1.0
+     */
+    default void stopWorkloadTrace(@Nullable String handlerName) throws HandlerException {
+    }
+
+    /**
+     * 判断临时存储处理器是否正在记录负载。
+     *
+     * <p>
+     * 默认实现不支持负载记录，总是返回 <code>false</code>。
+     *
+     * @param handlerName 处理器名称。
+     * @return 处理器是否正在记录负载。
+     * @throws HandlerException 处理器异常。
+     * @see TemporaryStorageHandler#isWorkloadTracing()
+     * @since 2.1.0
+     */
+    default boolean isWorkloadTracing(@Nullable String handlerName) throws HandlerException {
+        return false;
+    }
 }
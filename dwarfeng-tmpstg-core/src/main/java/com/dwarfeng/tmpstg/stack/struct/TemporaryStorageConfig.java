@@ -1,8 +1,14 @@
 package com.dwarfeng.tmpstg.stack.struct;
 
 import com.dwarfeng.dutil.basic.prog.Buildable;
+import com.dwarfeng.tmpstg.sdk.util.Constants;
 import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageConfigUtil;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+
 /**
  * 临时存储配置。
  *
@@ -22,19 +28,165 @@ public class TemporaryStorageConfig {
     private final long clearDisposedInterval;
     private final long checkMemoryInterval;
 
+    /**
+     * @since 2.1.0
+     */
+    private final long maxReadCacheSize;
+
+    /**
+     * @since 2.1.0
+     */
+    private final boolean adaptiveBufferSizingEnabled;
+
+    /**
+     * @since 2.1.0
+     */
+    private final double adaptiveBufferSizingPercentile;
+
+    /**
+     * @since 2.1.0
+     */
+    private final int adaptiveBufferSizingWindowSize;
+
+    /**
+     * @since 2.1.0
+     */
+    private final String spillCompressionCodec;
+
+    /**
+     * @since 2.1.0
+     */
+    private final int spillCompressionLevel;
+
+    /**
+     * @since 2.1.0
+     */
+    private final boolean memoryCompressionEnabled;
+
+    /**
+     * @since 2.1.0
+     */
+    private final int memoryCompressionBlockSize;
+
+    /**
+     * @since 2.1.0
+     */
+    private final int memoryCompressionLevel;
+
+    /**
+     * @since 2.1.0
+     */
+    private final String checksumAlgorithm;
+
+    /**
+     * @since 2.1.0
+     */
+    private final boolean checksumVerificationEnabled;
+
+    /**
+     * @since 2.1.0
+     */
+    private final boolean deduplicationEnabled;
+
+    /**
+     * @since 2.1.0
+     */
+    private final List<String> temporaryFileDirectoryPaths;
+
+    /**
+     * @since 2.1.0
+     */
+    private final String temporaryFilePlacementPolicy;
+
+    /**
+     * @since 2.1.0
+     */
+    private final int temporaryFileFanOutLevels;
+
+    /**
+     * @since 2.1.0
+     */
+    private final String spillTier;
+
+    /**
+     * @since 2.1.0
+     */
+    private final long arenaFileSize;
+
+    /**
+     * @since 2.1.0
+     */
+    private final int arenaExtentSize;
+
+    /**
+     * @since 2.1.0
+     */
+    private final int temporaryFilePoolSize;
+
+    /**
+     * @since 2.1.0
+     */
+    private final long temporaryFilePoolIdleTimeout;
+
+    /**
+     * @since 2.1.0
+     */
+    private final long maxFileSizeTotal;
+
+    /**
+     * @since 2.1.0
+     */
+    private final String fileQuotaExceededPolicy;
+
+    /**
+     * @since 2.1.0
+     */
+    private final long fileQuotaBlockTimeout;
+
+    /**
+     * @since 2.1.0
+     */
+    private final long expirationTickInterval;
+
+    /**
+     * 构造器。
+     *
+     * <p>
+     * 该构造器仅包含最基础的参数，其余参数均使用 {@link Builder} 中的默认值。<br>
+     * 如需指定其余参数，请使用 {@link Builder}。
+     */
     public TemporaryStorageConfig(
             String temporaryFileDirectoryPath, String temporaryFilePrefix, String temporaryFileSuffix,
             int maxBufferSizePerStorage, long maxBufferSizeTotal, long clearDisposedInterval, long checkMemoryInterval
     ) {
         this(
                 temporaryFileDirectoryPath, temporaryFilePrefix, temporaryFileSuffix, maxBufferSizePerStorage,
-                maxBufferSizeTotal, clearDisposedInterval, checkMemoryInterval, false
+                maxBufferSizeTotal, clearDisposedInterval, checkMemoryInterval, Builder.DEFAULT_MAX_READ_CACHE_SIZE,
+                Builder.DEFAULT_ADAPTIVE_BUFFER_SIZING_ENABLED, Builder.DEFAULT_ADAPTIVE_BUFFER_SIZING_PERCENTILE,
+                Builder.DEFAULT_ADAPTIVE_BUFFER_SIZING_WINDOW_SIZE, Builder.DEFAULT_SPILL_COMPRESSION_CODEC,
+                Builder.DEFAULT_SPILL_COMPRESSION_LEVEL, Builder.DEFAULT_MEMORY_COMPRESSION_ENABLED,
+                Builder.DEFAULT_MEMORY_COMPRESSION_BLOCK_SIZE, Builder.DEFAULT_MEMORY_COMPRESSION_LEVEL,
+                Builder.DEFAULT_CHECKSUM_ALGORITHM, Builder.DEFAULT_CHECKSUM_VERIFICATION_ENABLED,
+                Builder.DEFAULT_DEDUPLICATION_ENABLED, Builder.DEFAULT_TEMPORARY_FILE_DIRECTORY_PATHS,
+                Builder.DEFAULT_TEMPORARY_FILE_PLACEMENT_POLICY, Builder.DEFAULT_TEMPORARY_FILE_FAN_OUT_LEVELS,
+                Builder.DEFAULT_SPILL_TIER, Builder.DEFAULT_ARENA_FILE_SIZE, Builder.DEFAULT_ARENA_EXTENT_SIZE,
+                Builder.DEFAULT_TEMPORARY_FILE_POOL_SIZE, Builder.DEFAULT_TEMPORARY_FILE_POOL_IDLE_TIMEOUT,
+                Builder.DEFAULT_MAX_FILE_SIZE_TOTAL, Builder.DEFAULT_FILE_QUOTA_EXCEEDED_POLICY,
+                Builder.DEFAULT_FILE_QUOTA_BLOCK_TIMEOUT, Builder.DEFAULT_EXPIRATION_TICK_INTERVAL, false
         );
     }
 
     private TemporaryStorageConfig(
             String temporaryFileDirectoryPath, String temporaryFilePrefix, String temporaryFileSuffix,
             int maxBufferSizePerStorage, long maxBufferSizeTotal, long clearDisposedInterval, long checkMemoryInterval,
+            long maxReadCacheSize, boolean adaptiveBufferSizingEnabled, double adaptiveBufferSizingPercentile,
+            int adaptiveBufferSizingWindowSize, String spillCompressionCodec, int spillCompressionLevel,
+            boolean memoryCompressionEnabled, int memoryCompressionBlockSize, int memoryCompressionLevel,
+            String checksumAlgorithm, boolean checksumVerificationEnabled, boolean deduplicationEnabled,
+            List<String> temporaryFileDirectoryPaths, String temporaryFilePlacementPolicy,
+            int temporaryFileFanOutLevels, String spillTier, long arenaFileSize, int arenaExtentSize,
+            int temporaryFilePoolSize, long temporaryFilePoolIdleTimeout, long maxFileSizeTotal,
+            String fileQuotaExceededPolicy, long fileQuotaBlockTimeout, long expirationTickInterval,
             boolean paramReliable
     ) {
         // 如果参数不可靠，则检查参数。
@@ -45,6 +197,30 @@ public class TemporaryStorageConfig {
             TemporaryStorageConfigUtil.checkBufferSize(maxBufferSizePerStorage, maxBufferSizeTotal);
             TemporaryStorageConfigUtil.checkClearDisposedInterval(clearDisposedInterval);
             TemporaryStorageConfigUtil.checkCheckMemoryInterval(checkMemoryInterval);
+            TemporaryStorageConfigUtil.checkMaxReadCacheSize(maxReadCacheSize);
+            TemporaryStorageConfigUtil.checkAdaptiveBufferSizingEnabled(adaptiveBufferSizingEnabled);
+            TemporaryStorageConfigUtil.checkAdaptiveBufferSizingPercentile(adaptiveBufferSizingPercentile);
+            TemporaryStorageConfigUtil.checkAdaptiveBufferSizingWindowSize(adaptiveBufferSizingWindowSize);
+            TemporaryStorageConfigUtil.checkSpillCompressionCodec(spillCompressionCodec);
+            TemporaryStorageConfigUtil.checkSpillCompressionLevel(spillCompressionLevel);
+            TemporaryStorageConfigUtil.checkMemoryCompressionEnabled(memoryCompressionEnabled);
+            TemporaryStorageConfigUtil.checkMemoryCompressionBlockSize(memoryCompressionBlockSize);
+            TemporaryStorageConfigUtil.checkMemoryCompressionLevel(memoryCompressionLevel);
+            TemporaryStorageConfigUtil.checkChecksumAlgorithm(checksumAlgorithm);
+            TemporaryStorageConfigUtil.checkChecksumVerificationEnabled(checksumVerificationEnabled);
+            TemporaryStorageConfigUtil.checkDeduplicationEnabled(deduplicationEnabled);
+            TemporaryStorageConfigUtil.checkTemporaryFileDirectoryPaths(temporaryFileDirectoryPaths);
+            TemporaryStorageConfigUtil.checkTemporaryFilePlacementPolicy(temporaryFilePlacementPolicy);
+            TemporaryStorageConfigUtil.checkTemporaryFileFanOutLevels(temporaryFileFanOutLevels);
+            TemporaryStorageConfigUtil.checkSpillTier(spillTier);
+            TemporaryStorageConfigUtil.checkArenaFileSize(arenaFileSize);
+            TemporaryStorageConfigUtil.checkArenaExtentSize(arenaExtentSize);
+            TemporaryStorageConfigUtil.checkTemporaryFilePoolSize(temporaryFilePoolSize);
+            TemporaryStorageConfigUtil.checkTemporaryFilePoolIdleTimeout(temporaryFilePoolIdleTimeout);
+            TemporaryStorageConfigUtil.checkMaxFileSizeTotal(maxFileSizeTotal);
+            TemporaryStorageConfigUtil.checkFileQuotaExceededPolicy(fileQuotaExceededPolicy);
+            TemporaryStorageConfigUtil.checkFileQuotaBlockTimeout(fileQuotaBlockTimeout);
+            TemporaryStorageConfigUtil.checkExpirationTickInterval(expirationTickInterval);
         }
         // 设置值。
         this.temporaryFileDirectoryPath = temporaryFileDirectoryPath;
@@ -54,6 +230,30 @@ public class TemporaryStorageConfig {
         this.maxBufferSizeTotal = maxBufferSizeTotal;
         this.clearDisposedInterval = clearDisposedInterval;
         this.checkMemoryInterval = checkMemoryInterval;
+        this.maxReadCacheSize = maxReadCacheSize;
+        this.adaptiveBufferSizingEnabled = adaptiveBufferSizingEnabled;
+        this.adaptiveBufferSizingPercentile = adaptiveBufferSizingPercentile;
+        this.adaptiveBufferSizingWindowSize = adaptiveBufferSizingWindowSize;
+        this.spillCompressionCodec = spillCompressionCodec;
+        this.spillCompressionLevel = spillCompressionLevel;
+        this.memoryCompressionEnabled = memoryCompressionEnabled;
+        this.memoryCompressionBlockSize = memoryCompressionBlockSize;
+        this.memoryCompressionLevel = memoryCompressionLevel;
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.checksumVerificationEnabled = checksumVerificationEnabled;
+        this.deduplicationEnabled = deduplicationEnabled;
+        this.temporaryFileDirectoryPaths = Collections.unmodifiableList(new ArrayList<>(temporaryFileDirectoryPaths));
+        this.temporaryFilePlacementPolicy = temporaryFilePlacementPolicy;
+        this.temporaryFileFanOutLevels = temporaryFileFanOutLevels;
+        this.spillTier = spillTier;
+        this.arenaFileSize = arenaFileSize;
+        this.arenaExtentSize = arenaExtentSize;
+        this.temporaryFilePoolSize = temporaryFilePoolSize;
+        this.temporaryFilePoolIdleTimeout = temporaryFilePoolIdleTimeout;
+        this.maxFileSizeTotal = maxFileSizeTotal;
+        this.fileQuotaExceededPolicy = fileQuotaExceededPolicy;
+        this.fileQuotaBlockTimeout = fileQuotaBlockTimeout;
+        this.expirationTickInterval = expirationTickInterval;
     }
 
     public String getTemporaryFileDirectoryPath() {
@@ -84,6 +284,174 @@ public class TemporaryStorageConfig {
         return checkMemoryInterval;
     }
 
+    /**
+     * @since 2.1.0
+     */
+    public long getMaxReadCacheSize() {
+        return maxReadCacheSize;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public boolean isAdaptiveBufferSizingEnabled() {
+        return adaptiveBufferSizingEnabled;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public double getAdaptiveBufferSizingPercentile() {
+        return adaptiveBufferSizingPercentile;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public int getAdaptiveBufferSizingWindowSize() {
+        return adaptiveBufferSizingWindowSize;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public String getSpillCompressionCodec() {
+        return spillCompressionCodec;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public int getSpillCompressionLevel() {
+        return spillCompressionLevel;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public boolean isMemoryCompressionEnabled() {
+        return memoryCompressionEnabled;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public int getMemoryCompressionBlockSize() {
+        return memoryCompressionBlockSize;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public int getMemoryCompressionLevel() {
+        return memoryCompressionLevel;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public String getChecksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public boolean isChecksumVerificationEnabled() {
+        return checksumVerificationEnabled;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public boolean isDeduplicationEnabled() {
+        return deduplicationEnabled;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public List<String> getTemporaryFileDirectoryPaths() {
+        return temporaryFileDirectoryPaths;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public String getTemporaryFilePlacementPolicy() {
+        return temporaryFilePlacementPolicy;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public int getTemporaryFileFanOutLevels() {
+        return temporaryFileFanOutLevels;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public String getSpillTier() {
+        return spillTier;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public long getArenaFileSize() {
+        return arenaFileSize;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public int getArenaExtentSize() {
+        return arenaExtentSize;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public int getTemporaryFilePoolSize() {
+        return temporaryFilePoolSize;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public long getTemporaryFilePoolIdleTimeout() {
+        return temporaryFilePoolIdleTimeout;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public long getMaxFileSizeTotal() {
+        return maxFileSizeTotal;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public String getFileQuotaExceededPolicy() {
+        return fileQuotaExceededPolicy;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public long getFileQuotaBlockTimeout() {
+        return fileQuotaBlockTimeout;
+    }
+
+    /**
+     * @since 2.1.0
+     */
+    public long getExpirationTickInterval() {
+        return expirationTickInterval;
+    }
+
     @Override
     public String toString() {
         return "TemporaryStorageConfig{" +
@@ -94,6 +462,30 @@ public class TemporaryStorageConfig {
                 ", maxBufferSizeTotal=" + maxBufferSizeTotal +
                 ", clearDisposedInterval=" + clearDisposedInterval +
                 ", checkMemoryInterval=" + checkMemoryInterval +
+                ", maxReadCacheSize=" + maxReadCacheSize +
+                ", adaptiveBufferSizingEnabled=" + adaptiveBufferSizingEnabled +
+                ", adaptiveBufferSizingPercentile=" + adaptiveBufferSizingPercentile +
+                ", adaptiveBufferSizingWindowSize=" + adaptiveBufferSizingWindowSize +
+                ", spillCompressionCodec='" + spillCompressionCodec + '\'' +
+                ", spillCompressionLevel=" + spillCompressionLevel +
+                ", memoryCompressionEnabled=" + memoryCompressionEnabled +
+                ", memoryCompressionBlockSize=" + memoryCompressionBlockSize +
+                ", memoryCompressionLevel=" + memoryCompressionLevel +
+                ", checksumAlgorithm='" + checksumAlgorithm + '\'' +
+                ", checksumVerificationEnabled=" + checksumVerificationEnabled +
+                ", deduplicationEnabled=" + deduplicationEnabled +
+                ", temporaryFileDirectoryPaths=" + temporaryFileDirectoryPaths +
+                ", temporaryFilePlacementPolicy='" + temporaryFilePlacementPolicy + '\'' +
+                ", temporaryFileFanOutLevels=" + temporaryFileFanOutLevels +
+                ", spillTier='" + spillTier + '\'' +
+                ", arenaFileSize=" + arenaFileSize +
+                ", arenaExtentSize=" + arenaExtentSize +
+                ", temporaryFilePoolSize=" + temporaryFilePoolSize +
+                ", temporaryFilePoolIdleTimeout=" + temporaryFilePoolIdleTimeout +
+                ", maxFileSizeTotal=" + maxFileSizeTotal +
+                ", fileQuotaExceededPolicy='" + fileQuotaExceededPolicy + '\'' +
+                ", fileQuotaBlockTimeout=" + fileQuotaBlockTimeout +
+                ", expirationTickInterval=" + expirationTickInterval +
                 '}';
     }
 
@@ -112,6 +504,187 @@ public class TemporaryStorageConfig {
         public static final long DEFAULT_CLEAR_DISPOSED_INTERVAL = 300000;
         public static final long DEFAULT_CHECK_MEMORY_INTERVAL = 60000;
 
+        /**
+         * 读缓存的最大大小，0 表示禁用读缓存。
+         *
+         * @since 2.1.0
+         */
+        public static final long DEFAULT_MAX_READ_CACHE_SIZE = 0;
+
+        /**
+         * 是否启用自适应缓冲区大小。
+         *
+         * @since 2.1.0
+         */
+        public static final boolean DEFAULT_ADAPTIVE_BUFFER_SIZING_ENABLED = false;
+
+        /**
+         * 自适应缓冲区大小所使用的分位数。
+         *
+         * @since 2.1.0
+         */
+        public static final double DEFAULT_ADAPTIVE_BUFFER_SIZING_PERCENTILE = 0.9;
+
+        /**
+         * 自适应缓冲区大小的统计窗口大小，即参与统计的最近的临时存储的数量。
+         *
+         * @since 2.1.0
+         */
+        public static final int DEFAULT_ADAPTIVE_BUFFER_SIZING_WINDOW_SIZE = 1024;
+
+        /**
+         * 溢出文件压缩编解码器，默认不压缩。
+         *
+         * @since 2.1.0
+         */
+        public static final String DEFAULT_SPILL_COMPRESSION_CODEC = Constants.SPILL_COMPRESSION_CODEC_NONE;
+
+        /**
+         * 溢出文件压缩级别，默认使用编解码器的默认压缩级别。
+         *
+         * @since 2.1.0
+         */
+        public static final int DEFAULT_SPILL_COMPRESSION_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+        /**
+         * 是否启用内存缓冲区压缩。
+         *
+         * @since 2.1.0
+         */
+        public static final boolean DEFAULT_MEMORY_COMPRESSION_ENABLED = false;
+
+        /**
+         * 内存缓冲区压缩的块大小，每个块独立压缩，读取时按块解压。
+         *
+         * @since 2.1.0
+         */
+        public static final int DEFAULT_MEMORY_COMPRESSION_BLOCK_SIZE = 65536;
+
+        /**
+         * 内存缓冲区压缩级别，默认使用最快的压缩级别，以降低写入与读取时的 CPU 开销。
+         *
+         * @since 2.1.0
+         */
+        public static final int DEFAULT_MEMORY_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
+        /**
+         * 校验和算法，默认不计算校验和。
+         *
+         * <p>
+         * 除 {@link Constants} 中定义的校验和算法外，还可以使用任意 {@link java.security.MessageDigest} 支持的算法名称。
+         *
+         * @since 2.1.0
+         */
+        public static final String DEFAULT_CHECKSUM_ALGORITHM = Constants.CHECKSUM_ALGORITHM_NONE;
+
+        /**
+         * 是否在读取时校验校验和。
+         *
+         * @since 2.1.0
+         */
+        public static final boolean DEFAULT_CHECKSUM_VERIFICATION_ENABLED = false;
+
+        /**
+         * 是否启用内容去重。
+         *
+         * @since 2.1.0
+         */
+        public static final boolean DEFAULT_DEDUPLICATION_ENABLED = false;
+
+        /**
+         * 默认的临时文件目录路径列表。
+         *
+         * <p>
+         * 列表为空时，使用 {@link #DEFAULT_TEMPORARY_FILE_DIRECTORY_PATH} 所配置的单个临时文件目录。
+         *
+         * @since 2.1.0
+         */
+        public static final List<String> DEFAULT_TEMPORARY_FILE_DIRECTORY_PATHS = Collections.emptyList();
+
+        /**
+         * 默认的临时文件放置策略。
+         *
+         * @since 2.1.0
+         */
+        public static final String DEFAULT_TEMPORARY_FILE_PLACEMENT_POLICY =
+                Constants.TEMPORARY_FILE_PLACEMENT_POLICY_ROUND_ROBIN;
+
+        /**
+         * 默认的临时文件子目录层级数。
+         *
+         * <p>
+         * 0 表示不使用子目录，所有临时文件直接位于临时文件目录下。
+         *
+         * @since 2.1.0
+         */
+        public static final int DEFAULT_TEMPORARY_FILE_FAN_OUT_LEVELS = 0;
+
+        /**
+         * 默认的溢出层级。
+         *
+         * @since 2.1.0
+         */
+        public static final String DEFAULT_SPILL_TIER = Constants.SPILL_TIER_FILE;
+
+        /**
+         * 默认的 Arena 文件的初始大小。
+         *
+         * @since 2.1.0
+         */
+        public static final long DEFAULT_ARENA_FILE_SIZE = 64L * 1024 * 1024;
+
+        /**
+         * 默认的 Arena 区段大小。
+         *
+         * @since 2.1.0
+         */
+        public static final int DEFAULT_ARENA_EXTENT_SIZE = 64 * 1024;
+
+        /**
+         * 默认的临时文件复用池大小。
+         *
+         * @since 2.1.0
+         */
+        public static final int DEFAULT_TEMPORARY_FILE_POOL_SIZE = 0;
+
+        /**
+         * 默认的临时文件复用池中的临时文件的空闲超时时间。
+         *
+         * @since 2.1.0
+         */
+        public static final long DEFAULT_TEMPORARY_FILE_POOL_IDLE_TIMEOUT = 60000L;
+
+        /**
+         * 默认的临时文件的最大总大小。
+         *
+         * <p>
+         * 该值小于 0，表示不限制临时文件的总大小。
+         *
+         * @since 2.1.0
+         */
+        public static final long DEFAULT_MAX_FILE_SIZE_TOTAL = -1L;
+
+        /**
+         * 默认的文件配额超限策略。
+         *
+         * @since 2.1.0
+         */
+        public static final String DEFAULT_FILE_QUOTA_EXCEEDED_POLICY = Constants.FILE_QUOTA_EXCEEDED_POLICY_FAIL;
+
+        /**
+         * 默认的文件配额阻塞超时时间。
+         *
+         * @since 2.1.0
+         */
+        public static final long DEFAULT_FILE_QUOTA_BLOCK_TIMEOUT = 10000L;
+
+        /**
+         * 默认的过期检查的时间刻度。
+         *
+         * @since 2.1.0
+         */
+        public static final long DEFAULT_EXPIRATION_TICK_INTERVAL = 1000L;
+
         private String temporaryFileDirectoryPath = DEFAULT_TEMPORARY_FILE_DIRECTORY_PATH;
 
         private String temporaryFilePrefix = DEFAULT_TEMPORARY_FILE_PREFIX;
@@ -123,6 +696,31 @@ public class TemporaryStorageConfig {
         private long clearDisposedInterval = DEFAULT_CLEAR_DISPOSED_INTERVAL;
         private long checkMemoryInterval = DEFAULT_CHECK_MEMORY_INTERVAL;
 
+        private long maxReadCacheSize = DEFAULT_MAX_READ_CACHE_SIZE;
+        private boolean adaptiveBufferSizingEnabled = DEFAULT_ADAPTIVE_BUFFER_SIZING_ENABLED;
+        private double adaptiveBufferSizingPercentile = DEFAULT_ADAPTIVE_BUFFER_SIZING_PERCENTILE;
+        private int adaptiveBufferSizingWindowSize = DEFAULT_ADAPTIVE_BUFFER_SIZING_WINDOW_SIZE;
+        private String spillCompressionCodec = DEFAULT_SPILL_COMPRESSION_CODEC;
+        private int spillCompressionLevel = DEFAULT_SPILL_COMPRESSION_LEVEL;
+        private boolean memoryCompressionEnabled = DEFAULT_MEMORY_COMPRESSION_ENABLED;
+        private int memoryCompressionBlockSize = DEFAULT_MEMORY_COMPRESSION_BLOCK_SIZE;
+        private int memoryCompressionLevel = DEFAULT_MEMORY_COMPRESSION_LEVEL;
+        private String checksumAlgorithm = DEFAULT_CHECKSUM_ALGORITHM;
+        private boolean checksumVerificationEnabled = DEFAULT_CHECKSUM_VERIFICATION_ENABLED;
+        private boolean deduplicationEnabled = DEFAULT_DEDUPLICATION_ENABLED;
+        private List<String> temporaryFileDirectoryPaths = DEFAULT_TEMPORARY_FILE_DIRECTORY_PATHS;
+        private String temporaryFilePlacementPolicy = DEFAULT_TEMPORARY_FILE_PLACEMENT_POLICY;
+        private int temporaryFileFanOutLevels = DEFAULT_TEMPORARY_FILE_FAN_OUT_LEVELS;
+        private String spillTier = DEFAULT_SPILL_TIER;
+        private long arenaFileSize = DEFAULT_ARENA_FILE_SIZE;
+        private int arenaExtentSize = DEFAULT_ARENA_EXTENT_SIZE;
+        private int temporaryFilePoolSize = DEFAULT_TEMPORARY_FILE_POOL_SIZE;
+        private long temporaryFilePoolIdleTimeout = DEFAULT_TEMPORARY_FILE_POOL_IDLE_TIMEOUT;
+        private long maxFileSizeTotal = DEFAULT_MAX_FILE_SIZE_TOTAL;
+        private String fileQuotaExceededPolicy = DEFAULT_FILE_QUOTA_EXCEEDED_POLICY;
+        private long fileQuotaBlockTimeout = DEFAULT_FILE_QUOTA_BLOCK_TIMEOUT;
+        private long expirationTickInterval = DEFAULT_EXPIRATION_TICK_INTERVAL;
+
         public Builder() {
         }
 
@@ -161,6 +759,198 @@ public class TemporaryStorageConfig {
             return this;
         }
 
+        /**
+         * @since 2.1.0
+         */
+        public Builder setMaxReadCacheSize(long maxReadCacheSize) {
+            this.maxReadCacheSize = maxReadCacheSize;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setAdaptiveBufferSizingEnabled(boolean adaptiveBufferSizingEnabled) {
+            this.adaptiveBufferSizingEnabled = adaptiveBufferSizingEnabled;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setAdaptiveBufferSizingPercentile(double adaptiveBufferSizingPercentile) {
+            this.adaptiveBufferSizingPercentile = adaptiveBufferSizingPercentile;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setAdaptiveBufferSizingWindowSize(int adaptiveBufferSizingWindowSize) {
+            this.adaptiveBufferSizingWindowSize = adaptiveBufferSizingWindowSize;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setSpillCompressionCodec(String spillCompressionCodec) {
+            this.spillCompressionCodec = spillCompressionCodec;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setSpillCompressionLevel(int spillCompressionLevel) {
+            this.spillCompressionLevel = spillCompressionLevel;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setMemoryCompressionEnabled(boolean memoryCompressionEnabled) {
+            this.memoryCompressionEnabled = memoryCompressionEnabled;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setMemoryCompressionBlockSize(int memoryCompressionBlockSize) {
+            this.memoryCompressionBlockSize = memoryCompressionBlockSize;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setMemoryCompressionLevel(int memoryCompressionLevel) {
+            this.memoryCompressionLevel = memoryCompressionLevel;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setChecksumAlgorithm(String checksumAlgorithm) {
+            this.checksumAlgorithm = checksumAlgorithm;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setChecksumVerificationEnabled(boolean checksumVerificationEnabled) {
+            this.checksumVerificationEnabled = checksumVerificationEnabled;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setDeduplicationEnabled(boolean deduplicationEnabled) {
+            this.deduplicationEnabled = deduplicationEnabled;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setTemporaryFileDirectoryPaths(List<String> temporaryFileDirectoryPaths) {
+            this.temporaryFileDirectoryPaths = temporaryFileDirectoryPaths;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setTemporaryFilePlacementPolicy(String temporaryFilePlacementPolicy) {
+            this.temporaryFilePlacementPolicy = temporaryFilePlacementPolicy;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setTemporaryFileFanOutLevels(int temporaryFileFanOutLevels) {
+            this.temporaryFileFanOutLevels = temporaryFileFanOutLevels;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setSpillTier(String spillTier) {
+            this.spillTier = spillTier;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setArenaFileSize(long arenaFileSize) {
+            this.arenaFileSize = arenaFileSize;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setArenaExtentSize(int arenaExtentSize) {
+            this.arenaExtentSize = arenaExtentSize;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setTemporaryFilePoolSize(int temporaryFilePoolSize) {
+            this.temporaryFilePoolSize = temporaryFilePoolSize;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setTemporaryFilePoolIdleTimeout(long temporaryFilePoolIdleTimeout) {
+            this.temporaryFilePoolIdleTimeout = temporaryFilePoolIdleTimeout;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setMaxFileSizeTotal(long maxFileSizeTotal) {
+            this.maxFileSizeTotal = maxFileSizeTotal;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setFileQuotaExceededPolicy(String fileQuotaExceededPolicy) {
+            this.fileQuotaExceededPolicy = fileQuotaExceededPolicy;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setFileQuotaBlockTimeout(long fileQuotaBlockTimeout) {
+            this.fileQuotaBlockTimeout = fileQuotaBlockTimeout;
+            return this;
+        }
+
+        /**
+         * @since 2.1.0
+         */
+        public Builder setExpirationTickInterval(long expirationTickInterval) {
+            this.expirationTickInterval = expirationTickInterval;
+            return this;
+        }
+
         @Override
         public TemporaryStorageConfig build() {
             // 检查参数。
@@ -170,10 +960,40 @@ public class TemporaryStorageConfig {
             TemporaryStorageConfigUtil.checkBufferSize(maxBufferSizePerStorage, maxBufferSizeTotal);
             TemporaryStorageConfigUtil.checkClearDisposedInterval(clearDisposedInterval);
             TemporaryStorageConfigUtil.checkCheckMemoryInterval(checkMemoryInterval);
+            TemporaryStorageConfigUtil.checkMaxReadCacheSize(maxReadCacheSize);
+            TemporaryStorageConfigUtil.checkAdaptiveBufferSizingEnabled(adaptiveBufferSizingEnabled);
+            TemporaryStorageConfigUtil.checkAdaptiveBufferSizingPercentile(adaptiveBufferSizingPercentile);
+            TemporaryStorageConfigUtil.checkAdaptiveBufferSizingWindowSize(adaptiveBufferSizingWindowSize);
+            TemporaryStorageConfigUtil.checkSpillCompressionCodec(spillCompressionCodec);
+            TemporaryStorageConfigUtil.checkSpillCompressionLevel(spillCompressionLevel);
+            TemporaryStorageConfigUtil.checkMemoryCompressionEnabled(memoryCompressionEnabled);
+            TemporaryStorageConfigUtil.checkMemoryCompressionBlockSize(memoryCompressionBlockSize);
+            TemporaryStorageConfigUtil.checkMemoryCompressionLevel(memoryCompressionLevel);
+            TemporaryStorageConfigUtil.checkChecksumAlgorithm(checksumAlgorithm);
+            TemporaryStorageConfigUtil.checkChecksumVerificationEnabled(checksumVerificationEnabled);
+            TemporaryStorageConfigUtil.checkDeduplicationEnabled(deduplicationEnabled);
+            TemporaryStorageConfigUtil.checkTemporaryFileDirectoryPaths(temporaryFileDirectoryPaths);
+            TemporaryStorageConfigUtil.checkTemporaryFilePlacementPolicy(temporaryFilePlacementPolicy);
+            TemporaryStorageConfigUtil.checkTemporaryFileFanOutLevels(temporaryFileFanOutLevels);
+            TemporaryStorageConfigUtil.checkSpillTier(spillTier);
+            TemporaryStorageConfigUtil.checkArenaFileSize(arenaFileSize);
+            TemporaryStorageConfigUtil.checkArenaExtentSize(arenaExtentSize);
+            TemporaryStorageConfigUtil.checkTemporaryFilePoolSize(temporaryFilePoolSize);
+            TemporaryStorageConfigUtil.checkTemporaryFilePoolIdleTimeout(temporaryFilePoolIdleTimeout);
+            TemporaryStorageConfigUtil.checkMaxFileSizeTotal(maxFileSizeTotal);
+            TemporaryStorageConfigUtil.checkFileQuotaExceededPolicy(fileQuotaExceededPolicy);
+            TemporaryStorageConfigUtil.checkFileQuotaBlockTimeout(fileQuotaBlockTimeout);
+            TemporaryStorageConfigUtil.checkExpirationTickInterval(expirationTickInterval);
             // 构造并返回配置。
             return new TemporaryStorageConfig(
                     temporaryFileDirectoryPath, temporaryFilePrefix, temporaryFileSuffix, maxBufferSizePerStorage,
-                    maxBufferSizeTotal, clearDisposedInterval, checkMemoryInterval, true
+                    maxBufferSizeTotal, clearDisposedInterval, checkMemoryInterval, maxReadCacheSize,
+                    adaptiveBufferSizingEnabled, adaptiveBufferSizingPercentile, adaptiveBufferSizingWindowSize,
+                    spillCompressionCodec, spillCompressionLevel, memoryCompressionEnabled, memoryCompressionBlockSize,
+                    memoryCompressionLevel, checksumAlgorithm, checksumVerificationEnabled, deduplicationEnabled,
+                    temporaryFileDirectoryPaths, temporaryFilePlacementPolicy, temporaryFileFanOutLevels, spillTier,
+                    arenaFileSize, arenaExtentSize, temporaryFilePoolSize, temporaryFilePoolIdleTimeout,
+                    maxFileSizeTotal, fileQuotaExceededPolicy, fileQuotaBlockTimeout, expirationTickInterval, true
             );
         }
 
@@ -187,6 +1007,30 @@ public class TemporaryStorageConfig {
                     ", maxBufferSizeTotal=" + maxBufferSizeTotal +
                     ", clearDisposedInterval=" + clearDisposedInterval +
                     ", checkMemoryInterval=" + checkMemoryInterval +
+                    ", maxReadCacheSize=" + maxReadCacheSize +
+                    ", adaptiveBufferSizingEnabled=" + adaptiveBufferSizingEnabled +
+                    ", adaptiveBufferSizingPercentile=" + adaptiveBufferSizingPercentile +
+                    ", adaptiveBufferSizingWindowSize=" + adaptiveBufferSizingWindowSize +
+                    ", spillCompressionCodec='" + spillCompressionCodec + '\'' +
+                    ", spillCompressionLevel=" + spillCompressionLevel +
+                    ", memoryCompressionEnabled=" + memoryCompressionEnabled +
+                    ", memoryCompressionBlockSize=" + memoryCompressionBlockSize +
+                    ", memoryCompressionLevel=" + memoryCompressionLevel +
+                    ", checksumAlgorithm='" + checksumAlgorithm + '\'' +
+                    ", checksumVerificationEnabled=" + checksumVerificationEnabled +
+                    ", deduplicationEnabled=" + deduplicationEnabled +
+                    ", temporaryFileDirectoryPaths=" + temporaryFileDirectoryPaths +
+                    ", temporaryFilePlacementPolicy='" + temporaryFilePlacementPolicy + '\'' +
+                    ", temporaryFileFanOutLevels=" + temporaryFileFanOutLevels +
+                    ", spillTier='" + spillTier + '\'' +
+                    ", arenaFileSize=" + arenaFileSize +
+                    ", arenaExtentSize=" + arenaExtentSize +
+                    ", temporaryFilePoolSize=" + temporaryFilePoolSize +
+                    ", temporaryFilePoolIdleTimeout=" + temporaryFilePoolIdleTimeout +
+                    ", maxFileSizeTotal=" + maxFileSizeTotal +
+                    ", fileQuotaExceededPolicy='" + fileQuotaExceededPolicy + '\'' +
+                    ", fileQuotaBlockTimeout=" + fileQuotaBlockTimeout +
+                    ", expirationTickInterval=" + expirationTickInterval +
                     '}';
         }
     }
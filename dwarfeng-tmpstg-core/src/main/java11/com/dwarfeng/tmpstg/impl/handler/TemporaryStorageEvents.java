@@ -0,0 +1,234 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import jdk.jfr.*;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 临时存储事件工具。
+ *
+ * <p>
+ * 该类是 Java 11 版本的实现，位于多版本 JAR 的 <code>META-INF/versions/11</code> 中：
+ * 在临时存储处理器的关键节点上发出 Java Flight Recorder（JFR）事件。<br>
+ * 每个方法都只在栈上创建事件对象，并在事件未启用时跳过所有字段的赋值，
+ * 因此没有进行 JFR 记录，或者记录中禁用了对应的事件时，发出事件的开销接近于零。
+ *
+ * <p>
+ * 事件的名称均以 <code>com.dwarfeng.tmpstg.</code> 开头，可以在 JFR 的配置文件中按照名称启用、禁用，
+ * 或者调整 {@link LockWaitEvent} 的阈值。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageEvents {
+
+    /**
+     * 临时存储被创建。
+     *
+     * @param key 临时存储的键。
+     */
+    public static void storageCreated(String key) {
+        StorageCreatedEvent event = new StorageCreatedEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.key = key;
+        event.commit();
+    }
+
+    /**
+     * 临时存储被释放。
+     *
+     * @param key           临时存储的键。
+     * @param contentLength 临时存储释放前的内容长度。
+     */
+    public static void storageDisposed(String key, long contentLength) {
+        StorageDisposedEvent event = new StorageDisposedEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.key = key;
+        event.contentLength = contentLength;
+        event.commit();
+    }
+
+    /**
+     * 临时存储开始溢出到文件缓冲区。
+     *
+     * @param key          临时存储的键。
+     * @param memoryLength 溢出开始时内存缓冲区中的字节数。
+     */
+    public static void spillStarted(String key, long memoryLength) {
+        SpillStartedEvent event = new SpillStartedEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.key = key;
+        event.memoryLength = memoryLength;
+        event.commit();
+    }
+
+    /**
+     * 临时存储申请内存缓冲区。
+     *
+     * @param key                            临时存储的键。
+     * @param requestedSize                  申请的大小。
+     * @param allocatedSize                  实际分配的大小，小于申请的大小时视为申请被拒绝。
+     * @param totalAllocatedMemoryBufferSize 分配之后处理器已经分配的内存缓冲区总大小。
+     */
+    public static void memoryAllocated(
+            String key, long requestedSize, long allocatedSize, long totalAllocatedMemoryBufferSize
+    ) {
+        MemoryAllocationEvent event = new MemoryAllocationEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.key = key;
+        event.requestedSize = requestedSize;
+        event.allocatedSize = allocatedSize;
+        event.denied = allocatedSize < requestedSize;
+        event.totalAllocatedMemoryBufferSize = totalAllocatedMemoryBufferSize;
+        event.commit();
+    }
+
+    /**
+     * 获取指定的锁，并返回等待锁的时间。
+     *
+     * <p>
+     * 等待锁的时间超过 {@link LockWaitEvent} 的阈值时，发出该事件。
+     *
+     * @param lock      指定的锁。
+     * @param operation 获取锁的操作的名称。
+     * @param lockName  锁的名称。
+     * @return 等待锁的时间，单位为纳秒。
+     */
+    public static long lock(Lock lock, String operation, String lockName) {
+        LockWaitEvent event = new LockWaitEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        lock.lock();
+        long waitNanos = System.nanoTime() - startNanos;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.lockName = lockName;
+            event.commit();
+        }
+        return waitNanos;
+    }
+
+    /**
+     * 包装后台维护任务，记录任务每一次执行的耗时。
+     *
+     * @param name 任务的名称。
+     * @param task 后台维护任务。
+     * @return 包装后的任务。
+     */
+    public static Runnable timing(String name, Runnable task) {
+        return () -> {
+            BackgroundTaskEvent event = new BackgroundTaskEvent();
+            event.begin();
+            try {
+                task.run();
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.task = name;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    private TemporaryStorageEvents() {
+        throw new IllegalStateException("禁止实例化");
+    }
+
+    @Name("com.dwarfeng.tmpstg.StorageCreated")
+    @Label("临时存储创建")
+    @Category({"Dwarfeng", "Tmpstg"})
+    @StackTrace(false)
+    static final class StorageCreatedEvent extends Event {
+
+        @Label("键")
+        String key;
+    }
+
+    @Name("com.dwarfeng.tmpstg.StorageDisposed")
+    @Label("临时存储释放")
+    @Category({"Dwarfeng", "Tmpstg"})
+    @StackTrace(false)
+    static final class StorageDisposedEvent extends Event {
+
+        @Label("键")
+        String key;
+
+        @Label("内容长度")
+        @DataAmount
+        long contentLength;
+    }
+
+    @Name("com.dwarfeng.tmpstg.SpillStarted")
+    @Label("临时存储溢出")
+    @Description("临时存储的内存缓冲区已满，开始向文件缓冲区写入。")
+    @Category({"Dwarfeng", "Tmpstg"})
+    static final class SpillStartedEvent extends Event {
+
+        @Label("键")
+        String key;
+
+        @Label("内存缓冲区中的字节数")
+        @DataAmount
+        long memoryLength;
+    }
+
+    @Name("com.dwarfeng.tmpstg.MemoryAllocation")
+    @Label("内存缓冲区申请")
+    @Description("实际分配的大小小于申请的大小时，申请被视为拒绝。")
+    @Category({"Dwarfeng", "Tmpstg"})
+    @StackTrace(false)
+    static final class MemoryAllocationEvent extends Event {
+
+        @Label("键")
+        String key;
+
+        @Label("申请的大小")
+        @DataAmount
+        long requestedSize;
+
+        @Label("实际分配的大小")
+        @DataAmount
+        long allocatedSize;
+
+        @Label("是否被拒绝")
+        boolean denied;
+
+        @Label("已分配的内存缓冲区总大小")
+        @DataAmount
+        long totalAllocatedMemoryBufferSize;
+    }
+
+    @Name("com.dwarfeng.tmpstg.LockWait")
+    @Label("等待锁")
+    @Description("操作等待处理器锁、临时存储锁或内存分配锁的时间超过了阈值。")
+    @Category({"Dwarfeng", "Tmpstg"})
+    @Threshold("10 ms")
+    static final class LockWaitEvent extends Event {
+
+        @Label("操作")
+        String operation;
+
+        @Label("锁")
+        String lockName;
+    }
+
+    @Name("com.dwarfeng.tmpstg.BackgroundTask")
+    @Label("后台维护任务")
+    @Category({"Dwarfeng", "Tmpstg"})
+    @StackTrace(false)
+    static final class BackgroundTaskEvent extends Event {
+
+        @Label("任务")
+        String task;
+    }
+}
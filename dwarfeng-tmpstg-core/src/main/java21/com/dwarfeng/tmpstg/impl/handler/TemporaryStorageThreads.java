@@ -0,0 +1,65 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 临时存储线程工具。
+ *
+ * <p>
+ * 该类是 Java 21 版本的实现，位于多版本 JAR 的 <code>META-INF/versions/21</code> 中：
+ * 异步操作与后台维护任务都使用虚拟线程执行。<br>
+ * 临时存储处理器内部，包括延迟记录器与负载记录器，只使用 {@link java.util.concurrent.locks} 中的锁，
+ * 不使用 <code>synchronized</code>，因此虚拟线程在等待这些锁时会让出载体线程，不会被固定在载体线程上。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+final class TemporaryStorageThreads {
+
+    /**
+     * 创建执行异步操作的线程工厂。
+     *
+     * @param namePrefix 线程名称的前缀，线程名称为前缀加上从 1 开始的序号。
+     * @return 执行异步操作的线程工厂。
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        return Thread.ofVirtual().name(namePrefix, 1).factory();
+    }
+
+    /**
+     * 包装后台维护任务，使其在调度器的线程之外执行。
+     *
+     * <p>
+     * 该版本的实现在新的虚拟线程中执行任务，调度器的线程只负责启动虚拟线程，不会因为等待处理器的锁而被阻塞。<br>
+     * 如果上一次执行的任务尚未结束，则跳过本次执行，以免任务在处理器的锁上堆积。
+     *
+     * @param name 任务的名称，用作执行任务的线程的名称。
+     * @param task 后台维护任务。
+     * @return 包装后的任务。
+     */
+    public static Runnable offloading(String name, Runnable task) {
+        AtomicBoolean runningFlag = new AtomicBoolean(false);
+        return () -> {
+            if (!runningFlag.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                Thread.ofVirtual().name(name).start(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        runningFlag.set(false);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                runningFlag.set(false);
+                throw e;
+            }
+        };
+    }
+
+    private TemporaryStorageThreads() {
+        throw new IllegalStateException("禁止实例化");
+    }
+}
@@ -0,0 +1,157 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.ContentUtil;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageHandlerStoppedException;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageNotExistsException;
+import com.dwarfeng.tmpstg.stack.handler.AsyncTemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = "classpath:spring/application-context*.xml")
+public class AsyncTemporaryStorageHandlerImplTest {
+
+    private static final String SPEL_DEFAULT_MAX_BUFFER_SIZE_PER_STORAGE = "${tmpstg.max_buffer_size_per_storage:" +
+            "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
+            ".DEFAULT_MAX_BUFFER_SIZE_PER_STORAGE}}";
+
+    @Autowired
+    private TemporaryStorageHandler temporaryStorageHandler;
+
+    // SPEL 太长，故使用常量缩短长度。
+    @Value(SPEL_DEFAULT_MAX_BUFFER_SIZE_PER_STORAGE)
+    private int maxBufferSizePerStorage;
+
+    private AsyncTemporaryStorageHandler asyncTemporaryStorageHandler;
+
+    @Before
+    public void setUp() throws Exception {
+        // 测试配置不装配异步处理器，因此在测试中包装测试配置中的处理器。
+        asyncTemporaryStorageHandler = new AsyncTemporaryStorageHandlerImpl(temporaryStorageHandler, 4, 64);
+        asyncTemporaryStorageHandler.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        asyncTemporaryStorageHandler.stop();
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        // 内容的长度超过单个存储的最大缓冲区大小，使其溢出到文件。
+        byte[] content = ContentUtil.randomContent(maxBufferSizePerStorage * 3 + 100);
+        String key = asyncTemporaryStorageHandler.create().get();
+        try {
+            asyncTemporaryStorageHandler.write(key, content).get();
+            assertArrayEquals(content, asyncTemporaryStorageHandler.read(key).get());
+            // 读取指定范围的内容，超出内容长度的部分被忽略。
+            assertArrayEquals(
+                    Arrays.copyOfRange(content, maxBufferSizePerStorage - 10, maxBufferSizePerStorage + 10),
+                    asyncTemporaryStorageHandler.read(key, maxBufferSizePerStorage - 10, 20).get()
+            );
+            assertArrayEquals(
+                    Arrays.copyOfRange(content, content.length - 10, content.length),
+                    asyncTemporaryStorageHandler.read(key, content.length - 10, 100).get()
+            );
+            assertEquals(0, asyncTemporaryStorageHandler.read(key, content.length + 10, 100).get().length);
+            // 直接缓冲区中的内容只写入剩余的部分，且不改变缓冲区的位置。
+            ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+            buffer.put(content);
+            buffer.position(100);
+            asyncTemporaryStorageHandler.write(key, buffer).get();
+            assertEquals(100, buffer.position());
+            assertArrayEquals(
+                    Arrays.copyOfRange(content, 100, content.length), asyncTemporaryStorageHandler.read(key).get()
+            );
+        } finally {
+            asyncTemporaryStorageHandler.dispose(key).get();
+        }
+        assertFalse(temporaryStorageHandler.exists(key));
+    }
+
+    @Test
+    public void testTransferTo() throws Exception {
+        byte[] content = ContentUtil.randomContent(maxBufferSizePerStorage * 100 + 100);
+        String key = asyncTemporaryStorageHandler.create().get();
+        Path target = Files.createTempFile("tmpstg-async-", ".tmp");
+        try {
+            asyncTemporaryStorageHandler.write(key, content).get();
+            assertEquals(content.length, (long) asyncTemporaryStorageHandler.transferTo(key, target).get());
+            assertArrayEquals(content, Files.readAllBytes(target));
+            // 只有一个线程且任务队列容量为 1 时，传输任务占用唯一的线程，由其自身执行异步文件写入。
+            AsyncTemporaryStorageHandler singleThreadHandler = new AsyncTemporaryStorageHandlerImpl(
+                    temporaryStorageHandler, 1, 1
+            );
+            singleThreadHandler.start();
+            try {
+                Files.delete(target);
+                assertEquals(
+                        content.length, (long) singleThreadHandler.transferTo(key, target).get(10, TimeUnit.SECONDS)
+                );
+                assertArrayEquals(content, Files.readAllBytes(target));
+            } finally {
+                singleThreadHandler.stop();
+            }
+        } finally {
+            asyncTemporaryStorageHandler.dispose(key).get();
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testStopTimeout() throws Exception {
+        AsyncTemporaryStorageHandler singleThreadHandler = new AsyncTemporaryStorageHandlerImpl(
+                temporaryStorageHandler, 1, 4, 100
+        );
+        singleThreadHandler.start();
+        String key = temporaryStorageHandler.create();
+        try {
+            CompletableFuture<Void> blockedFuture;
+            CompletableFuture<byte[]> queuedFuture;
+            // 当前线程持有输出流，使唯一的线程在写入时阻塞，之后提交的操作只能在任务队列中等待。
+            try (OutputStream ignored = temporaryStorageHandler.openOutputStream(key)) {
+                blockedFuture = singleThreadHandler.write(key, ContentUtil.randomContent(10));
+                queuedFuture = singleThreadHandler.read(key);
+                long stopBeginTime = System.currentTimeMillis();
+                singleThreadHandler.stop();
+                assertTrue(System.currentTimeMillis() - stopBeginTime < 10000);
+                // 超时后，尚未开始执行的操作以处理器停止异常完成。
+                ExecutionException e = assertThrows(
+                        ExecutionException.class, () -> queuedFuture.get(10, TimeUnit.SECONDS)
+                );
+                assertTrue(e.getCause() instanceof TemporaryStorageHandlerStoppedException);
+            }
+            // 输出流关闭后，被中断的操作结束，无论其成功与否。
+            blockedFuture.handle((result, e) -> null).get(10, TimeUnit.SECONDS);
+        } finally {
+            temporaryStorageHandler.disposeAndRemove(key);
+        }
+    }
+
+    @Test
+    public void testExceptionally() {
+        // 操作失败时，CompletableFuture 以处理器异常完成。
+        CompletableFuture<byte[]> future = asyncTemporaryStorageHandler.read(UUID.randomUUID().toString());
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof TemporaryStorageNotExistsException);
+    }
+}
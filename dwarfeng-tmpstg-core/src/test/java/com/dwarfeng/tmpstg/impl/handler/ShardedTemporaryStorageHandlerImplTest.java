@@ -0,0 +1,175 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.sdk.util.ContentUtil;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageConfigUtil;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageShardStats;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageNotExistsException;
+import com.dwarfeng.tmpstg.stack.handler.ShardedTemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = "classpath:spring/application-context*.xml")
+public class ShardedTemporaryStorageHandlerImplTest {
+
+    private static final int SHARD_COUNT = 4;
+
+    @Autowired
+    private ThreadPoolTaskScheduler scheduler;
+
+    @Value("${tmpstg.temporary_file_directory_paths:}")
+    private String temporaryFileDirectoryPaths;
+
+    @Test
+    public void testRouting() throws Exception {
+        ShardedTemporaryStorageHandler handler = new ShardedTemporaryStorageHandlerImpl(
+                scheduler, newConfig(1024, 4096), SHARD_COUNT, 0
+        );
+        handler.start();
+        try {
+            assertEquals(SHARD_COUNT, handler.shardCount());
+            Map<String, byte[]> contents = new LinkedHashMap<>();
+            for (int i = 0; i < 64; i++) {
+                byte[] content = ContentUtil.randomContent(2048);
+                contents.put(handler.put(content), content);
+            }
+            for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+                assertArrayEquals(entry.getValue(), handler.readAllBytes(entry.getKey()));
+            }
+            assertEquals(contents.keySet(), new HashSet<>(handler.keys()));
+            // 临时存储分布在多个分片中，汇总的统计信息等于各分片的统计信息之和。
+            long createdCount = 0;
+            int usedShardCount = 0;
+            for (TemporaryStorageShardStats shardStats : handler.shardStats()) {
+                createdCount += shardStats.getHandlerStats().getCreatedCount();
+                usedShardCount += shardStats.getHandlerStats().getCreatedCount() > 0 ? 1 : 0;
+            }
+            assertEquals(contents.size(), createdCount);
+            assertEquals(contents.size(), handler.stats().getCreatedCount());
+            assertTrue(usedShardCount > 1);
+
+            // 批量操作的结果按照键的传入顺序排列，不存在的键被忽略或视为未释放。
+            List<String> keys = new ArrayList<>(contents.keySet());
+            Collections.reverse(keys);
+            keys.add(1, UUID.randomUUID().toString());
+            List<String> existingKeys = new ArrayList<>(keys);
+            existingKeys.remove(1);
+            assertEquals(existingKeys, new ArrayList<>(handler.inspectAll(keys).keySet()));
+            Map<String, Boolean> disposeResult = handler.disposeAndRemoveAll(keys);
+            assertEquals(keys, new ArrayList<>(disposeResult.keySet()));
+            assertFalse(disposeResult.get(keys.get(1)));
+            assertEquals(contents.size(), disposeResult.values().stream().filter(b -> b).count());
+            assertTrue(handler.keys().isEmpty());
+            assertThrows(TemporaryStorageNotExistsException.class, () -> handler.readAllBytes(keys.get(0)));
+        } finally {
+            handler.stop();
+        }
+    }
+
+    @Test
+    public void testRebalance() throws Exception {
+        int maxBufferSizePerStorage = 1024;
+        long maxBufferSizeTotal = maxBufferSizePerStorage * 4L * SHARD_COUNT;
+        TemporaryStorageConfig config = newConfig(maxBufferSizePerStorage, maxBufferSizeTotal);
+        ShardedTemporaryStorageHandler handler = new ShardedTemporaryStorageHandlerImpl(
+                scheduler, config, SHARD_COUNT, 0
+        );
+        TemporaryStorageShardContext shardContext = new TemporaryStorageShardContext(SHARD_COUNT, config);
+        handler.start();
+        try {
+            // 初始时均分最大缓冲区总大小。
+            for (TemporaryStorageShardStats shardStats : handler.shardStats()) {
+                assertEquals(maxBufferSizeTotal / SHARD_COUNT, shardStats.getMemoryBudget());
+            }
+            // 只向第一个分片写入超出其份额的内容，使该分片的内存缓冲区分配被拒绝。
+            List<String> keys = new ArrayList<>();
+            while (keys.size() < 8) {
+                String key = handler.create();
+                if (shardContext.shardIndexOf(key) == 0) {
+                    keys.add(key);
+                }
+            }
+            for (String key : keys) {
+                handler.putInto(key, ContentUtil.randomContent(maxBufferSizePerStorage));
+            }
+            assertTrue(handler.shardStats().get(0).getHandlerStats().getMemoryAllocationDeniedCount() > 0);
+
+            // 重新分配后，第一个分片的份额大于其它分片，且份额之和不超过最大缓冲区总大小。
+            handler.rebalance();
+            List<TemporaryStorageShardStats> shardStatsList = handler.shardStats();
+            long memoryBudgetTotal = 0;
+            for (TemporaryStorageShardStats shardStats : shardStatsList) {
+                memoryBudgetTotal += shardStats.getMemoryBudget();
+                if (shardStats.getShardIndex() > 0) {
+                    assertTrue(shardStatsList.get(0).getMemoryBudget() > shardStats.getMemoryBudget());
+                }
+            }
+            assertTrue(memoryBudgetTotal <= maxBufferSizeTotal);
+
+            // 扩大份额后，第一个分片可以继续使用内存缓冲区。
+            long deniedCount = shardStatsList.get(0).getHandlerStats().getMemoryAllocationDeniedCount();
+            handler.putInto(keys.get(7), ContentUtil.randomContent(maxBufferSizePerStorage));
+            assertEquals(deniedCount, handler.shardStats().get(0).getHandlerStats().getMemoryAllocationDeniedCount());
+        } finally {
+            handler.stop();
+        }
+    }
+
+    @Test
+    public void testSharedArena() throws Exception {
+        int maxBufferSizePerStorage = 1024;
+        TemporaryStorageConfig config = newConfigBuilder(maxBufferSizePerStorage, 4096)
+                .setSpillTier(Constants.SPILL_TIER_ARENA)
+                .setArenaFileSize(16 * 1024)
+                .setArenaExtentSize(1024)
+                .build();
+        ShardedTemporaryStorageHandler handler = new ShardedTemporaryStorageHandlerImpl(
+                scheduler, config, SHARD_COUNT, 0
+        );
+        // 所有分片共享同一个 Arena，Arena 在所有分片启动之前打开、在所有分片停止之后关闭，因此可以多次启动与停止。
+        for (int round = 0; round < 2; round++) {
+            handler.start();
+            try {
+                Map<String, byte[]> contents = new LinkedHashMap<>();
+                for (int i = 0; i < 16; i++) {
+                    byte[] content = ContentUtil.randomContent(maxBufferSizePerStorage * 4);
+                    contents.put(handler.put(content), content);
+                }
+                int usedShardCount = 0;
+                for (TemporaryStorageShardStats shardStats : handler.shardStats()) {
+                    usedShardCount += shardStats.getHandlerStats().getSpillCount() > 0 ? 1 : 0;
+                }
+                assertTrue(usedShardCount > 1);
+                for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+                    assertArrayEquals(entry.getValue(), handler.readAllBytes(entry.getKey()));
+                }
+            } finally {
+                handler.stop();
+            }
+        }
+    }
+
+    private TemporaryStorageConfig newConfig(int maxBufferSizePerStorage, long maxBufferSizeTotal) {
+        return newConfigBuilder(maxBufferSizePerStorage, maxBufferSizeTotal).build();
+    }
+
+    private TemporaryStorageConfig.Builder newConfigBuilder(int maxBufferSizePerStorage, long maxBufferSizeTotal) {
+        return new TemporaryStorageConfig.Builder()
+                .setTemporaryFileDirectoryPaths(
+                        TemporaryStorageConfigUtil.parseTemporaryFileDirectoryPaths(temporaryFileDirectoryPaths)
+                )
+                .setMaxBufferSizePerStorage(maxBufferSizePerStorage)
+                .setMaxBufferSizeTotal(maxBufferSizeTotal);
+    }
+}
@@ -3,10 +3,17 @@ package com.dwarfeng.tmpstg.impl.handler;
 import com.dwarfeng.dutil.basic.io.IOUtil;
 import com.dwarfeng.tmpstg.sdk.util.Constants;
 import com.dwarfeng.tmpstg.sdk.util.ContentUtil;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageConfigUtil;
+import com.dwarfeng.tmpstg.sdk.util.TemporaryStorageWorkloadTraceReader;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageHandlerStats;
 import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageInfo;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageLatencyStats;
+import com.dwarfeng.tmpstg.stack.bean.dto.TemporaryStorageWorkloadRecord;
+import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageFileQuotaExceededException;
 import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageInvalidStatusException;
 import com.dwarfeng.tmpstg.stack.exception.TemporaryStorageNotExistsException;
 import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
@@ -14,16 +21,33 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -37,16 +61,30 @@ public class TemporaryStorageHandlerImplTest {
             "#{T(com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig$Builder)" +
             ".DEFAULT_MAX_BUFFER_SIZE_PER_STORAGE}}";
 
+    /**
+     * 等待条件成立的超时时间（毫秒）。
+     */
+    private static final long AWAIT_TIMEOUT = 10000;
+
     @Autowired
     private TemporaryStorageHandler temporaryStorageHandler;
 
     @Autowired
     private ThreadPoolTaskExecutor executor;
 
+    @Autowired
+    private ThreadPoolTaskScheduler scheduler;
+
     // SPEL 太长，故使用常量缩短长度。
     @Value(SPEL_DEFAULT_MAX_BUFFER_SIZE_PER_STORAGE)
     private int maxBufferSizePerStorage;
 
+    @Value("${tmpstg.temporary_file_directory_path}")
+    private String temporaryFileDirectoryPath;
+
+    @Value("${tmpstg.temporary_file_directory_paths:}")
+    private String temporaryFileDirectoryPaths;
+
     // region 读写测试
 
     @Test
@@ -281,6 +319,84 @@ public class TemporaryStorageHandlerImplTest {
         );
     }
 
+    @Test
+    public void testBatch() throws Exception {
+        List<String> keys = temporaryStorageHandler.createBatch(10);
+        assertEquals(10, new HashSet<>(keys).size());
+        for (String key : keys) {
+            assertTrue(temporaryStorageHandler.exists(key));
+        }
+        // 向其中一个临时存储写入内容，使其溢出到文件。
+        byte[] content = ContentUtil.randomContent(maxBufferSizePerStorage + 100);
+        try (OutputStream out = temporaryStorageHandler.openOutputStream(keys.get(0))) {
+            out.write(content);
+        }
+        // 批量获取的信息与逐个获取的信息一致，不存在的键不出现在结果中。
+        String notExistsKey = UUID.randomUUID().toString();
+        List<String> inspectKeys = new ArrayList<>(keys);
+        inspectKeys.add(notExistsKey);
+        Map<String, TemporaryStorageInfo> infoMap = temporaryStorageHandler.inspectAll(inspectKeys);
+        assertEquals(keys, new ArrayList<>(infoMap.keySet()));
+        for (String key : keys) {
+            assertEquals(temporaryStorageHandler.inspect(key).toString(), infoMap.get(key).toString());
+        }
+        assertEquals(content.length, infoMap.get(keys.get(0)).getContentLength());
+        // 已释放的临时存储以及不存在的键的结果为 false，已释放的临时存储不会被移除。
+        temporaryStorageHandler.dispose(keys.get(1));
+        Map<String, Boolean> resultMap = temporaryStorageHandler.disposeAndRemoveAll(inspectKeys);
+        assertEquals(inspectKeys, new ArrayList<>(resultMap.keySet()));
+        assertFalse(resultMap.get(keys.get(1)));
+        assertFalse(resultMap.get(notExistsKey));
+        assertTrue(temporaryStorageHandler.exists(keys.get(1)));
+        for (String key : keys.subList(2, keys.size())) {
+            assertTrue(resultMap.get(key));
+            assertFalse(temporaryStorageHandler.exists(key));
+        }
+        assertTrue(resultMap.get(keys.get(0)));
+        assertFalse(temporaryStorageHandler.exists(keys.get(0)));
+        temporaryStorageHandler.remove(keys.get(1));
+    }
+
+    @Test
+    public void testPutAndRead() throws Exception {
+        // 内存缓冲能够容纳的内容被放入大小完全一致的内存缓冲中。
+        byte[] smallContent = ContentUtil.randomContent(100);
+        String key = temporaryStorageHandler.put(smallContent);
+        TemporaryStorageInfo info = temporaryStorageHandler.inspect(key);
+        assertFalse(info.isFileBufferUsed());
+        assertEquals(smallContent.length, info.getMemoryBufferAllocatedLength());
+        assertArrayEquals(smallContent, temporaryStorageHandler.readAllBytes(key));
+        // 接管数组时内容同样被完整地放入内存缓冲；不接管数组时，修改数组不影响临时存储的内容。
+        temporaryStorageHandler.putInto(key, smallContent.clone(), true);
+        assertEquals(smallContent.length, temporaryStorageHandler.inspect(key).getMemoryBufferAllocatedLength());
+        assertArrayEquals(smallContent, temporaryStorageHandler.readAllBytes(key));
+        byte[] copiedContent = smallContent.clone();
+        String copiedKey = temporaryStorageHandler.put(copiedContent, false);
+        copiedContent[0]++;
+        assertArrayEquals(smallContent, temporaryStorageHandler.readAllBytes(copiedKey));
+        // 超出内存缓冲的内容溢出到文件，读取的结果与原始内容一致。
+        byte[] largeContent = ContentUtil.randomContent(maxBufferSizePerStorage * 3 + 100);
+        temporaryStorageHandler.putInto(key, largeContent);
+        assertTrue(temporaryStorageHandler.inspect(key).isFileBufferUsed());
+        assertArrayEquals(largeContent, temporaryStorageHandler.readAllBytes(key));
+        assertArrayEquals(largeContent, readAll(key));
+        // 缓冲区的剩余空间小于内容的长度时，只读取剩余空间大小的内容，且不改变缓冲区的原有内容。
+        ByteBuffer buffer = ByteBuffer.allocateDirect(maxBufferSizePerStorage * 2);
+        buffer.position(10);
+        assertEquals(buffer.capacity() - 10, temporaryStorageHandler.read(key, buffer));
+        assertFalse(buffer.hasRemaining());
+        buffer.position(10);
+        byte[] bufferContent = new byte[buffer.remaining()];
+        buffer.get(bufferContent);
+        assertArrayEquals(Arrays.copyOf(largeContent, bufferContent.length), bufferContent);
+        // 从直接缓冲区写入的内容为缓冲区的剩余部分，且不改变缓冲区的位置。
+        buffer.position(10);
+        String bufferKey = temporaryStorageHandler.put(buffer);
+        assertEquals(10, buffer.position());
+        assertArrayEquals(bufferContent, temporaryStorageHandler.readAllBytes(bufferKey));
+        temporaryStorageHandler.disposeAndRemoveAll(Arrays.asList(key, copiedKey, bufferKey));
+    }
+
     @Test
     public void testClearDisposed() throws Exception {
         String key1 = temporaryStorageHandler.create();
@@ -297,5 +413,813 @@ public class TemporaryStorageHandlerImplTest {
         assertFalse(temporaryStorageHandler.exists(key2));
     }
 
+    @Test
+    public void testReadCache() throws Exception {
+        // 使用启用了读缓存的独立处理器测试读缓存。
+        withHandler(builder -> builder.setMaxReadCacheSize(1024 * 1024), cacheHandler -> {
+            byte[] originalContent = ContentUtil.randomContent(maxBufferSizePerStorage + 100);
+            String key = cacheHandler.create();
+            try (OutputStream out = cacheHandler.openOutputStream(key, 1)) {
+                out.write(originalContent);
+            }
+            TemporaryStorageHandlerStats statsBefore = cacheHandler.stats();
+            // 多次读取，除第一次外，文件缓冲区的内容应该命中读缓存。
+            for (int i = 0; i < 3; i++) {
+                assertArrayEquals(originalContent, readAll(cacheHandler, key));
+            }
+            TemporaryStorageHandlerStats statsAfter = cacheHandler.stats();
+            assertTrue(statsAfter.getReadCacheHitCount() - statsBefore.getReadCacheHitCount() >= 2);
+            // 重写临时存储后，读取到的内容应该是新的内容。
+            byte[] neoContent = ContentUtil.randomContent(maxBufferSizePerStorage + 200);
+            try (OutputStream out = cacheHandler.openOutputStream(key, 1)) {
+                out.write(neoContent);
+            }
+            assertArrayEquals(neoContent, readAll(cacheHandler, key));
+            cacheHandler.disposeAndRemove(key);
+        });
+    }
+
+    @Test
+    public void testAdaptiveBufferSizing() throws Exception {
+        // 最近的临时存储全部为空时，自适应决定的内存缓冲区上限不会降为 0，较小的内容仍然驻留在内存中。
+        withHandler(
+                builder -> builder.setAdaptiveBufferSizingEnabled(true).setAdaptiveBufferSizingWindowSize(16),
+                handler -> {
+                    for (int i = 0; i < 16; i++) {
+                        String key = handler.create();
+                        handler.openOutputStream(key).close();
+                        handler.disposeAndRemove(key);
+                    }
+                    String key = handler.create();
+                    try (OutputStream out = handler.openOutputStream(key)) {
+                        out.write(ContentUtil.randomContent(100));
+                    }
+                    assertFalse(handler.inspect(key).isFileBufferUsed());
+                    int adaptiveMemoryBufferLimit = handler.stats().getAdaptiveMemoryBufferLimit();
+                    assertTrue(adaptiveMemoryBufferLimit > 0);
+                    assertTrue(adaptiveMemoryBufferLimit < maxBufferSizePerStorage);
+                    handler.disposeAndRemove(key);
+                }
+        );
+    }
+
+    @Test
+    public void testSpillCompression() throws Exception {
+        // 使用 deflate 压缩溢出文件的独立处理器，高度重复的内容在溢出文件中的物理长度应该远小于逻辑长度。
+        withHandler(builder -> builder.setSpillCompressionCodec(Constants.SPILL_COMPRESSION_CODEC_DEFLATE), handler -> {
+            byte[] originalContent = new byte[maxBufferSizePerStorage * 4];
+            for (int i = 0; i < originalContent.length; i++) {
+                originalContent[i] = (byte) (i % 16);
+            }
+            String key = handler.create();
+            try (OutputStream out = handler.openOutputStream(key, 1)) {
+                out.write(originalContent);
+            }
+            TemporaryStorageInfo info = handler.inspect(key);
+            assertTrue(info.isFileBufferUsed());
+            assertTrue(info.getFileBufferPhysicalLength() > 0);
+            assertTrue(info.getFileBufferPhysicalLength() < info.getFileBufferActualLength());
+            assertEquals(originalContent.length, info.getContentLength());
+            try (InputStream in = handler.openInputStream(key)) {
+                assertEquals(originalContent.length, in.available());
+            }
+            assertArrayEquals(originalContent, readAll(handler, key));
+            handler.disposeAndRemove(key);
+        });
+    }
+
+    @Test
+    public void testMemoryCompression() throws Exception {
+        // 使用启用了内存缓冲区压缩的独立处理器，高度重复的内容在内存缓冲区中应该以压缩的形式存放。
+        // 块大小小于内容的长度，使内容被分为多个块压缩。
+        withHandler(
+                builder -> builder.setMemoryCompressionEnabled(true).setMemoryCompressionBlockSize(512),
+                handler -> {
+                    byte[] originalContent = new byte[maxBufferSizePerStorage];
+                    for (int i = 0; i < originalContent.length; i++) {
+                        originalContent[i] = (byte) (i % 16);
+                    }
+                    String key = handler.create();
+                    try (OutputStream out = handler.openOutputStream(key, originalContent.length)) {
+                        out.write(originalContent);
+                    }
+                    TemporaryStorageInfo info = handler.inspect(key);
+                    assertTrue(info.isMemoryBufferCompressed());
+                    assertFalse(info.isFileBufferUsed());
+                    assertTrue(info.getMemoryBufferAllocatedLength() < info.getMemoryBufferActualLength());
+                    assertEquals(originalContent.length, info.getContentLength());
+                    // 逐字节读取与批量读取的结果都应该与原始内容一致。
+                    try (InputStream in = handler.openInputStream(key)) {
+                        for (byte b : originalContent) {
+                            assertEquals(b & 0xFF, in.read());
+                        }
+                        assertEquals(-1, in.read());
+                    }
+                    assertArrayEquals(originalContent, readAll(handler, key));
+                    handler.disposeAndRemove(key);
+                }
+        );
+    }
+
+    @Test
+    public void testChecksum() throws Exception {
+        // 使用 crc32c 算法并启用了校验和校验的独立处理器测试校验和。
+        withHandler(
+                builder -> builder.setChecksumAlgorithm(Constants.CHECKSUM_ALGORITHM_CRC32C)
+                        .setChecksumVerificationEnabled(true),
+                handler -> {
+                    byte[] originalContent = ContentUtil.randomContent(maxBufferSizePerStorage + 100);
+                    String key = handler.create();
+                    try (OutputStream out = handler.openOutputStream(key)) {
+                        out.write(originalContent, 0, 100);
+                        out.write(originalContent[100]);
+                        out.write(originalContent, 101, originalContent.length - 101);
+                    }
+                    TemporaryStorageInfo info = handler.inspect(key);
+                    assertEquals(Constants.CHECKSUM_ALGORITHM_CRC32C, info.getChecksumAlgorithm());
+                    assertNotNull(info.getChecksum());
+                    String checksum = info.getChecksum();
+                    // 校验和与写入的方式无关，只与内容有关。
+                    try (OutputStream out = handler.openOutputStream(key)) {
+                        out.write(originalContent);
+                    }
+                    assertEquals(checksum, handler.inspect(key).getChecksum());
+                    handler.putInto(key, originalContent);
+                    assertEquals(checksum, handler.inspect(key).getChecksum());
+                    // 完整读取时进行校验，校验通过时不抛出异常。
+                    assertArrayEquals(originalContent, readAll(handler, key));
+                    handler.disposeAndRemove(key);
+                }
+        );
+    }
+
+    @Test
+    public void testDeduplication() throws Exception {
+        // 使用启用了内容去重的独立处理器，内容相同的临时存储应该共享内容。
+        withHandler(builder -> builder.setDeduplicationEnabled(true), handler -> {
+            byte[] originalContent = ContentUtil.randomContent(maxBufferSizePerStorage + 100);
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                String key = handler.create();
+                try (OutputStream out = handler.openOutputStream(key)) {
+                    out.write(originalContent);
+                }
+                keys.add(key);
+            }
+            for (String key : keys) {
+                assertEquals(3, handler.inspect(key).getContentReferenceCount());
+                assertArrayEquals(originalContent, readAll(handler, key));
+            }
+            // 重写其中一个临时存储，不应影响其它共享内容的临时存储。
+            byte[] neoContent = ContentUtil.randomContent(maxBufferSizePerStorage + 200);
+            try (OutputStream out = handler.openOutputStream(keys.get(0))) {
+                out.write(neoContent);
+            }
+            assertEquals(1, handler.inspect(keys.get(0)).getContentReferenceCount());
+            assertArrayEquals(neoContent, readAll(handler, keys.get(0)));
+            // 释放其中一个临时存储，剩余的临时存储仍然可以读取共享内容。
+            handler.disposeAndRemove(keys.get(1));
+            assertEquals(1, handler.inspect(keys.get(2)).getContentReferenceCount());
+            assertArrayEquals(originalContent, readAll(handler, keys.get(2)));
+            handler.disposeAndRemove(keys.get(0));
+            handler.disposeAndRemove(keys.get(2));
+        });
+    }
+
+    @Test
+    public void testTemporaryFileDirectoryStriping() throws Exception {
+        // 使用指定了多个临时文件目录的独立处理器，每个临时存储的溢出文件应该位于其中的某一个目录。
+        List<String> directoryPaths = Arrays.asList(
+                Paths.get(temporaryFileDirectoryPath, "disk-0").toString(),
+                Paths.get(temporaryFileDirectoryPath, "disk-1").toString()
+        );
+        withHandler(
+                builder -> builder.setTemporaryFileDirectoryPaths(directoryPaths)
+                        .setTemporaryFilePlacementPolicy(Constants.TEMPORARY_FILE_PLACEMENT_POLICY_LEAST_USED),
+                handler -> {
+                    List<String> keys = new ArrayList<>();
+                    List<byte[]> contents = new ArrayList<>();
+                    for (int i = 0; i < 4; i++) {
+                        byte[] originalContent = ContentUtil.randomContent(maxBufferSizePerStorage + 100);
+                        String key = handler.create();
+                        try (OutputStream out = handler.openOutputStream(key)) {
+                            out.write(originalContent);
+                        }
+                        keys.add(key);
+                        contents.add(originalContent);
+                    }
+                    for (int i = 0; i < keys.size(); i++) {
+                        assertEquals(1L, countSpillFiles(directoryPaths, keys.get(i)));
+                        assertArrayEquals(contents.get(i), readAll(handler, keys.get(i)));
+                    }
+                    // 释放临时存储后，溢出文件应该从其所在的目录中删除。
+                    for (String key : keys) {
+                        handler.disposeAndRemove(key);
+                        assertEquals(0L, countSpillFiles(directoryPaths, key));
+                    }
+                }
+        );
+    }
+
+    @Test
+    public void testTemporaryFileFanOut() throws Exception {
+        // 使用启用了临时文件子目录的独立处理器，溢出文件应该位于指定层级的子目录中。
+        int fanOutLevels = 2;
+        withHandler(builder -> builder.setTemporaryFileFanOutLevels(fanOutLevels), handler -> {
+            byte[] originalContent = ContentUtil.randomContent(maxBufferSizePerStorage + 100);
+            String key = handler.create();
+            try (OutputStream out = handler.openOutputStream(key)) {
+                out.write(originalContent);
+            }
+            List<Integer> depths = new ArrayList<>();
+            Path directory = Paths.get(temporaryFileDirectoryPath);
+            try (Stream<Path> pathStream = Files.walk(directory)) {
+                pathStream.filter(path -> path.getFileName().toString().contains(key))
+                        .forEach(path -> depths.add(directory.relativize(path).getNameCount()));
+            }
+            assertEquals(1, depths.size());
+            assertEquals(fanOutLevels + 1, (int) depths.get(0));
+            assertArrayEquals(originalContent, readAll(handler, key));
+            handler.disposeAndRemove(key);
+        });
+    }
+
+    @Test
+    public void testArenaSpillTier() throws Exception {
+        // 使用独立的处理器测试 arena 溢出层级，以免影响其它测试。
+        withHandler(
+                builder -> builder.setSpillTier(Constants.SPILL_TIER_ARENA)
+                        .setArenaFileSize(16 * 1024)
+                        .setArenaExtentSize(1024),
+                arenaHandler -> {
+                    byte[] originalContent = ContentUtil.randomContent(maxBufferSizePerStorage * 10);
+                    String key = arenaHandler.create();
+                    try (OutputStream out = arenaHandler.openOutputStream(key)) {
+                        out.write(originalContent);
+                    }
+                    assertArrayEquals(originalContent, readAll(arenaHandler, key));
+                    // 重写为不会溢出的内容，不应读取到旧的文件缓冲区。
+                    byte[] neoContent = ContentUtil.randomContent(maxBufferSizePerStorage / 2);
+                    try (OutputStream out = arenaHandler.openOutputStream(key)) {
+                        out.write(neoContent);
+                    }
+                    assertArrayEquals(neoContent, readAll(arenaHandler, key));
+                    arenaHandler.disposeAndRemove(key);
+                }
+        );
+    }
+
+    @Test
+    public void testTemporaryFilePool() throws Exception {
+        // 使用独立的处理器测试临时文件复用池，以免影响其它测试。
+        // 复用池按照目录分别管理文件，因此只使用一个目录，保证之后溢出的临时存储与被释放的临时存储位于同一目录。
+        List<String> directoryPaths = Collections.singletonList(temporaryFileDirectoryPath);
+        List<String> pooledKeys = new ArrayList<>();
+        withHandler(
+                builder -> builder.setTemporaryFileDirectoryPaths(directoryPaths).setTemporaryFilePoolSize(4),
+                poolHandler -> {
+                    String pooledKey = poolHandler.create();
+                    pooledKeys.add(pooledKey);
+                    try (OutputStream out = poolHandler.openOutputStream(pooledKey)) {
+                        out.write(ContentUtil.randomContent(maxBufferSizePerStorage * 10));
+                    }
+                    poolHandler.disposeAndRemove(pooledKey);
+                    // 释放后，溢出文件被截断并放入复用池，而不是被删除。
+                    assertEquals(1L, countSpillFiles(directoryPaths, pooledKey));
+                    assertEquals(0L, sumSpillFileLength(directoryPaths, pooledKey));
+                    // 之后溢出的临时存储复用该文件，文件被截断后写入新的内容。
+                    byte[] originalContent = ContentUtil.randomContent(maxBufferSizePerStorage + 100);
+                    String key = poolHandler.create();
+                    try (OutputStream out = poolHandler.openOutputStream(key)) {
+                        out.write(originalContent);
+                    }
+                    assertEquals(0L, countSpillFiles(directoryPaths, key));
+                    assertEquals(1L, countSpillFiles(directoryPaths, pooledKey));
+                    assertArrayEquals(originalContent, readAll(poolHandler, key));
+                    poolHandler.disposeAndRemove(key);
+                }
+        );
+        // 处理器停止时，复用池中的文件被全部删除。
+        assertEquals(0L, countSpillFiles(directoryPaths, pooledKeys.get(0)));
+    }
+
+    @Test
+    public void testFileQuota() throws Exception {
+        // 使用独立的处理器测试文件配额，以免影响其它测试。
+        withHandler(
+                builder -> builder.setMaxFileSizeTotal(maxBufferSizePerStorage * 2L)
+                        .setFileQuotaExceededPolicy(Constants.FILE_QUOTA_EXCEEDED_POLICY_FAIL),
+                quotaHandler -> {
+                    // 配额之内的溢出数据被实时计入临时文件的总大小。
+                    String key = quotaHandler.create();
+                    try (OutputStream out = quotaHandler.openOutputStream(key)) {
+                        out.write(ContentUtil.randomContent(maxBufferSizePerStorage + 100));
+                    }
+                    assertEquals(100L, quotaHandler.stats().getFileSizeTotal());
+                    // 逐字节写入时成批申请的空间在输出流关闭后归还，只有实际写入的字节被计入。
+                    String byteKey = quotaHandler.create();
+                    try (OutputStream out = quotaHandler.openOutputStream(byteKey)) {
+                        for (int i = 0; i < maxBufferSizePerStorage + 10; i++) {
+                            out.write(i);
+                        }
+                    }
+                    assertEquals(110L, quotaHandler.stats().getFileSizeTotal());
+                    // 超出配额的写入失败。
+                    String exceededKey = quotaHandler.create();
+                    OutputStream exceededOut = quotaHandler.openOutputStream(exceededKey);
+                    try {
+                        exceededOut.write(ContentUtil.randomContent(maxBufferSizePerStorage * 4));
+                        fail("超出配额的写入应该失败");
+                    } catch (IOException e) {
+                        assertTrue(e.getCause() instanceof TemporaryStorageFileQuotaExceededException);
+                    } finally {
+                        exceededOut.close();
+                    }
+                    assertEquals(1L, quotaHandler.stats().getFileQuotaRejectionCount());
+                    // 释放临时存储后，配额被归还。
+                    quotaHandler.disposeAndRemove(key);
+                    quotaHandler.disposeAndRemove(byteKey);
+                    quotaHandler.disposeAndRemove(exceededKey);
+                    assertEquals(0L, quotaHandler.stats().getFileSizeTotal());
+                }
+        );
+    }
+
+    @Test
+    public void testMemoryWait() throws Exception {
+        // 使用独立的处理器测试内存缓冲等待，内存缓冲的总大小只能容纳一个临时存储。
+        withHandler(builder -> builder.setMaxBufferSizeTotal(maxBufferSizePerStorage), waitHandler -> {
+            String occupiedKey = waitHandler.create();
+            String waitingKey = waitHandler.create();
+            byte[] content = ContentUtil.randomContent(maxBufferSizePerStorage);
+            try (OutputStream out = waitHandler.openOutputStream(occupiedKey, maxBufferSizePerStorage)) {
+                out.write(content);
+            }
+            // 内存缓冲被占用，等待的输出流在占用的临时存储释放后才能打开。
+            Future<?> future = executor.submit(() -> {
+                try (OutputStream out = waitHandler.openOutputStream(waitingKey, maxBufferSizePerStorage, 10000)) {
+                    out.write(content);
+                }
+                return null;
+            });
+            awaitCondition(() -> waitHandler.stats().getMemoryWaiterCount() == 1);
+            assertFalse(future.isDone());
+            waitHandler.dispose(occupiedKey);
+            future.get();
+            // 等待的临时存储获得了完整的内存缓冲，没有溢出到文件。
+            assertFalse(waitHandler.inspect(waitingKey).isFileBufferUsed());
+            assertArrayEquals(content, readAll(waitHandler, waitingKey));
+            assertEquals(1L, waitHandler.stats().getMemoryWaitCount());
+            assertEquals(0L, waitHandler.stats().getMemoryWaitTimeoutCount());
+            // 等待超时后，按照剩余的内存缓冲申请，超出的数据溢出到文件。
+            String timeoutKey = waitHandler.create();
+            try (OutputStream out = waitHandler.openOutputStream(timeoutKey, maxBufferSizePerStorage, 100)) {
+                out.write(content);
+            }
+            assertTrue(waitHandler.inspect(timeoutKey).isFileBufferUsed());
+            assertArrayEquals(content, readAll(waitHandler, timeoutKey));
+            assertEquals(1L, waitHandler.stats().getMemoryWaitTimeoutCount());
+        });
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        // 使用独立的处理器测试过期，缩短过期检查的时间刻度以加快测试。
+        withHandler(builder -> builder.setExpirationTickInterval(20), expirationHandler -> {
+            long accessedIdleTimeout = 500;
+            String idleKey = expirationHandler.create(200, 0);
+            String absoluteKey = expirationHandler.create(0, 200);
+            String accessedKey = expirationHandler.create(accessedIdleTimeout, 0);
+            String persistentKey = expirationHandler.create();
+            long accessBeginTime = System.currentTimeMillis();
+            expirationHandler.putInto(accessedKey, ContentUtil.randomContent(maxBufferSizePerStorage + 100));
+            assertEquals(3, expirationHandler.stats().getExpirationScheduledCount());
+            // 持续访问的临时存储不会因为空闲而过期。
+            // 访问的间隔远小于空闲超时时间，访问的时长至少为空闲超时时间的两倍，且持续到其它临时存储都过期为止。
+            awaitCondition(() -> {
+                expirationHandler.readAllBytes(accessedKey);
+                return System.currentTimeMillis() - accessBeginTime >= accessedIdleTimeout * 2 &&
+                        !expirationHandler.exists(idleKey) && !expirationHandler.exists(absoluteKey);
+            });
+            assertTrue(expirationHandler.exists(accessedKey));
+            assertTrue(expirationHandler.exists(persistentKey));
+            // 流未关闭的临时存储不会过期，流关闭之后重新计算空闲时间。
+            InputStream in = expirationHandler.openInputStream(accessedKey);
+            Thread.sleep(accessedIdleTimeout * 2);
+            assertTrue(expirationHandler.exists(accessedKey));
+            in.close();
+            awaitCondition(() -> !expirationHandler.exists(accessedKey));
+            assertEquals(3L, expirationHandler.stats().getExpiredCount());
+            // 空闲超时时间与绝对超时时间均小于等于 0 时，临时存储不再过期。
+            expirationHandler.setExpiration(persistentKey, 100, 0);
+            expirationHandler.setExpiration(persistentKey, 0, 0);
+            assertEquals(0, expirationHandler.stats().getExpirationScheduledCount());
+            Thread.sleep(300);
+            assertTrue(expirationHandler.exists(persistentKey));
+            // 释放临时存储时取消其过期定时器。
+            String disposedKey = expirationHandler.create(100, 100);
+            expirationHandler.dispose(disposedKey);
+            assertEquals(0, expirationHandler.stats().getExpirationScheduledCount());
+            Thread.sleep(300);
+            assertTrue(expirationHandler.exists(disposedKey));
+        });
+    }
+
+    @Test
+    public void testCreateBatchExpiration() throws Exception {
+        // 使用独立的处理器测试过期，缩短过期检查的时间刻度以加快测试。
+        withHandler(builder -> builder.setExpirationTickInterval(20), expirationHandler -> {
+            List<String> expiringKeys = expirationHandler.createBatch(4, 200, 0);
+            List<String> persistentKeys = expirationHandler.createBatch(2, 0, 0);
+            assertEquals(4, expiringKeys.size());
+            assertEquals(2, persistentKeys.size());
+            assertEquals(4, expirationHandler.stats().getExpirationScheduledCount());
+            // 同一批次的临时存储具有相同的过期时间，不设置过期时间的临时存储不会过期。
+            awaitCondition(() -> {
+                for (String key : expiringKeys) {
+                    if (expirationHandler.exists(key)) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+            assertEquals(4L, expirationHandler.stats().getExpiredCount());
+            for (String key : persistentKeys) {
+                assertTrue(expirationHandler.exists(key));
+            }
+        });
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        // 使用独立的处理器测试指标，避免其它测试对计数器的影响。
+        TemporaryStorageHandler metricsHandler = withHandler(handler -> {
+            String memoryKey = handler.create();
+            String spillKey = handler.create();
+            TemporaryStorageHandlerStats stats = handler.stats();
+            assertEquals(2L, stats.getCreatedCount());
+            assertEquals(2L, stats.getLiveStorageCount());
+            // 打开的流在关闭之前被计入统计信息。
+            OutputStream out = handler.openOutputStream(memoryKey);
+            assertEquals(1L, handler.stats().getOpenOutputStreamCount());
+            out.write(ContentUtil.randomContent(100));
+            out.close();
+            assertEquals(0L, handler.stats().getOpenOutputStreamCount());
+            handler.putInto(spillKey, ContentUtil.randomContent(maxBufferSizePerStorage + 100));
+            InputStream in = handler.openInputStream(spillKey);
+            assertEquals(1L, handler.stats().getOpenInputStreamCount());
+            in.close();
+            stats = handler.stats();
+            assertEquals(0L, stats.getOpenInputStreamCount());
+            // 超过单个存储的最大缓冲区大小的部分写入文件缓冲区，并记录一次溢出。
+            assertEquals(100L + maxBufferSizePerStorage, stats.getMemoryWrittenLength());
+            assertEquals(100L, stats.getFileWrittenLength());
+            assertEquals(1L, stats.getSpillCount());
+            // 释放临时存储后，存活的临时存储的数量减少。
+            handler.dispose(memoryKey);
+            stats = handler.stats();
+            assertEquals(1L, stats.getDisposedCount());
+            assertEquals(1L, stats.getLiveStorageCount());
+        });
+        assertEquals(0L, metricsHandler.stats().getLiveStorageCount());
+        assertEquals(0L, metricsHandler.stats().getAllocatedMemoryBufferSize());
+    }
+
+    @Test
+    public void testLatencyStats() throws Exception {
+        // 使用独立的处理器测试延迟统计，避免其它测试对统计信息的影响。
+        withHandler(latencyHandler -> {
+            String key = latencyHandler.create();
+            OutputStream out = latencyHandler.openOutputStream(key);
+            out.write(ContentUtil.randomContent(100));
+            // 输出流未关闭时，打开输入流需要等待临时存储的锁，等待的时间计入等待锁的时间。
+            // 读取线程进入等待状态之后才开始计时，因此等待锁的时间不少于之后的休眠时间。
+            FutureTask<byte[]> future = new FutureTask<>(() -> readAll(latencyHandler, key));
+            Thread readThread = new Thread(future);
+            readThread.start();
+            awaitCondition(() -> readThread.getState() == Thread.State.WAITING);
+            Thread.sleep(100);
+            out.close();
+            future.get();
+            latencyHandler.disposeAndRemove(key);
+            Map<String, TemporaryStorageLatencyStats> latencyStatsMap = new HashMap<>();
+            for (TemporaryStorageLatencyStats latencyStats : latencyHandler.latencyStats()) {
+                latencyStatsMap.put(latencyStats.getOperation(), latencyStats);
+            }
+            assertEquals(1L, latencyStatsMap.get(Constants.LATENCY_OPERATION_CREATE).getCount());
+            assertEquals(2L, latencyStatsMap.get(Constants.LATENCY_OPERATION_OPEN).getCount());
+            assertEquals(1L, latencyStatsMap.get(Constants.LATENCY_OPERATION_WRITE).getCount());
+            assertEquals(2L, latencyStatsMap.get(Constants.LATENCY_OPERATION_CLOSE).getCount());
+            assertEquals(1L, latencyStatsMap.get(Constants.LATENCY_OPERATION_DISPOSE).getCount());
+            assertTrue(
+                    latencyStatsMap.get(Constants.LATENCY_OPERATION_OPEN).getLockWaitTimeMax() >=
+                            TimeUnit.MILLISECONDS.toNanos(100)
+            );
+            // 重置后，所有操作的统计信息归零。
+            latencyHandler.resetLatencyStats();
+            for (TemporaryStorageLatencyStats latencyStats : latencyHandler.latencyStats()) {
+                assertEquals(0L, latencyStats.getCount());
+            }
+        });
+    }
+
+    @Test
+    public void testLatencyStatsOfDirectOperations() throws Exception {
+        // 使用独立的处理器测试延迟统计，避免其它测试对统计信息的影响。
+        withHandler(latencyHandler -> {
+            // 放入内容分别计为一次创建与一次写入，超出内存缓冲区的内容同样计入写入。
+            String key = latencyHandler.put(ContentUtil.randomContent(100));
+            latencyHandler.putInto(key, ContentUtil.randomContent(maxBufferSizePerStorage + 100));
+            latencyHandler.readAllBytes(key);
+            latencyHandler.read(key, ByteBuffer.allocate(100));
+            // 逐字节写入时，每个字节计为一次写入。
+            try (OutputStream out = latencyHandler.openOutputStream(key)) {
+                for (int i = 0; i < 3; i++) {
+                    out.write(i);
+                }
+            }
+            Map<String, TemporaryStorageLatencyStats> latencyStatsMap = new HashMap<>();
+            for (TemporaryStorageLatencyStats latencyStats : latencyHandler.latencyStats()) {
+                latencyStatsMap.put(latencyStats.getOperation(), latencyStats);
+            }
+            assertEquals(1L, latencyStatsMap.get(Constants.LATENCY_OPERATION_CREATE).getCount());
+            assertEquals(5L, latencyStatsMap.get(Constants.LATENCY_OPERATION_WRITE).getCount());
+            assertEquals(2L, latencyStatsMap.get(Constants.LATENCY_OPERATION_READ).getCount());
+            assertEquals(1L, latencyStatsMap.get(Constants.LATENCY_OPERATION_OPEN).getCount());
+            assertEquals(1L, latencyStatsMap.get(Constants.LATENCY_OPERATION_CLOSE).getCount());
+        });
+    }
+
+    @Test
+    public void testWorkloadTrace() throws Exception {
+        // 使用独立的处理器测试负载记录，避免其它测试的操作被记录。
+        Path traceFile = Files.createTempFile("dwarfeng-tmpstg-trace-", ".bin");
+        try {
+            withHandler(traceHandler -> {
+                // 记录开始之前的操作不会被记录。
+                String untracedKey = traceHandler.create();
+                traceHandler.startWorkloadTrace(traceFile.toString());
+                assertTrue(traceHandler.isWorkloadTracing());
+                String key = traceHandler.create();
+                try (OutputStream out = traceHandler.openOutputStream(key, 100)) {
+                    out.write(ContentUtil.randomContent(100));
+                }
+                assertArrayEquals(readAll(traceHandler, key), traceHandler.readAllBytes(key));
+                traceHandler.disposeAndRemove(key);
+                traceHandler.disposeAndRemove(untracedKey);
+                traceHandler.stopWorkloadTrace();
+                assertFalse(traceHandler.isWorkloadTracing());
+                // 记录停止之后的操作不会被记录。
+                traceHandler.create();
+            });
+
+            List<TemporaryStorageWorkloadRecord> records = new ArrayList<>();
+            try (TemporaryStorageWorkloadTraceReader reader = new TemporaryStorageWorkloadTraceReader(
+                    traceFile.toFile()
+            )) {
+                TemporaryStorageWorkloadRecord record;
+                while ((record = reader.next()) != null) {
+                    records.add(record);
+                }
+            }
+            int[] expectedOperations = new int[]{
+                    Constants.WORKLOAD_TRACE_OPERATION_CREATE,
+                    Constants.WORKLOAD_TRACE_OPERATION_OPEN_OUTPUT,
+                    Constants.WORKLOAD_TRACE_OPERATION_WRITE,
+                    Constants.WORKLOAD_TRACE_OPERATION_CLOSE_OUTPUT,
+                    Constants.WORKLOAD_TRACE_OPERATION_OPEN_INPUT,
+                    Constants.WORKLOAD_TRACE_OPERATION_CLOSE_INPUT,
+                    Constants.WORKLOAD_TRACE_OPERATION_READ,
+                    Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE,
+                    Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE
+            };
+            long[] expectedSizes = new long[]{0, 100, 100, 100, 100, 100, 100, 0, 0};
+            assertEquals(expectedOperations.length, records.size());
+            for (int i = 0; i < expectedOperations.length; i++) {
+                assertEquals(expectedOperations[i], records.get(i).getOperation());
+                assertEquals(expectedSizes[i], records.get(i).getSize());
+            }
+            // 同一个临时存储的编号相同，不同的临时存储的编号不同。
+            for (int i = 1; i < expectedOperations.length - 1; i++) {
+                assertEquals(records.get(0).getKeyId(), records.get(i).getKeyId());
+            }
+            assertNotEquals(records.get(0).getKeyId(), records.get(expectedOperations.length - 1).getKeyId());
+        } finally {
+            Files.deleteIfExists(traceFile);
+        }
+    }
+
+    @Test
+    public void testWorkloadTraceOfSingleByteWritesAndExpiration() throws Exception {
+        Path traceFile = Files.createTempFile("dwarfeng-tmpstg-trace-", ".bin");
+        try {
+            withHandler(builder -> builder.setExpirationTickInterval(20), traceHandler -> {
+                traceHandler.startWorkloadTrace(traceFile.toString());
+                String key = traceHandler.create(0, 200);
+                try (OutputStream out = traceHandler.openOutputStream(key, 5)) {
+                    out.write(1);
+                    out.write(2);
+                    out.write(3);
+                    out.write(new byte[]{4, 5});
+                }
+                awaitCondition(() -> !traceHandler.exists(key));
+                traceHandler.stopWorkloadTrace();
+            });
+
+            List<TemporaryStorageWorkloadRecord> records = new ArrayList<>();
+            try (TemporaryStorageWorkloadTraceReader reader = new TemporaryStorageWorkloadTraceReader(
+                    traceFile.toFile()
+            )) {
+                TemporaryStorageWorkloadRecord record;
+                while ((record = reader.next()) != null) {
+                    records.add(record);
+                }
+            }
+            // 过期任务在另一个线程中执行，其记录可能位于文件中的任意位置，因此按照开始时间排序。
+            records.sort(Comparator.comparingLong(TemporaryStorageWorkloadRecord::getStartOffset));
+            // 连续的单字节写入合并为一条记录，过期的临时存储记录为一次释放并移除。
+            int[] expectedOperations = new int[]{
+                    Constants.WORKLOAD_TRACE_OPERATION_CREATE,
+                    Constants.WORKLOAD_TRACE_OPERATION_OPEN_OUTPUT,
+                    Constants.WORKLOAD_TRACE_OPERATION_WRITE,
+                    Constants.WORKLOAD_TRACE_OPERATION_WRITE,
+                    Constants.WORKLOAD_TRACE_OPERATION_CLOSE_OUTPUT,
+                    Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE
+            };
+            long[] expectedSizes = new long[]{0, 5, 3, 2, 5, 0};
+            assertEquals(expectedOperations.length, records.size());
+            for (int i = 0; i < expectedOperations.length; i++) {
+                assertEquals(expectedOperations[i], records.get(i).getOperation());
+                assertEquals(expectedSizes[i], records.get(i).getSize());
+                assertEquals(records.get(0).getKeyId(), records.get(i).getKeyId());
+            }
+        } finally {
+            Files.deleteIfExists(traceFile);
+        }
+    }
+
+    @Test
+    public void testCreateBatchInstrumentation() throws Exception {
+        // 使用独立的处理器测试批量创建与批量释放的延迟统计与负载记录，避免其它测试的操作被统计或记录。
+        Path traceFile = Files.createTempFile("dwarfeng-tmpstg-trace-", ".bin");
+        try {
+            List<String> keys = new ArrayList<>();
+            withHandler(batchHandler -> {
+                batchHandler.startWorkloadTrace(traceFile.toString());
+                keys.addAll(batchHandler.createBatch(3));
+                batchHandler.disposeAndRemoveAll(keys);
+                batchHandler.stopWorkloadTrace();
+                // 每次批量创建计为一次创建操作，每次批量释放计为一次释放操作。
+                for (TemporaryStorageLatencyStats latencyStats : batchHandler.latencyStats()) {
+                    if (Objects.equals(latencyStats.getOperation(), Constants.LATENCY_OPERATION_CREATE) ||
+                            Objects.equals(latencyStats.getOperation(), Constants.LATENCY_OPERATION_DISPOSE)) {
+                        assertEquals(1L, latencyStats.getCount());
+                    }
+                }
+            });
+
+            List<TemporaryStorageWorkloadRecord> records = new ArrayList<>();
+            try (TemporaryStorageWorkloadTraceReader reader = new TemporaryStorageWorkloadTraceReader(
+                    traceFile.toFile()
+            )) {
+                TemporaryStorageWorkloadRecord record;
+                while ((record = reader.next()) != null) {
+                    records.add(record);
+                }
+            }
+            // 每个临时存储分别记录一次创建与一次释放，且从上一个临时存储创建或释放完成时开始。
+            assertEquals(keys.size() * 2, records.size());
+            for (int batch = 0; batch < 2; batch++) {
+                int expectedOperation = batch == 0 ? Constants.WORKLOAD_TRACE_OPERATION_CREATE :
+                        Constants.WORKLOAD_TRACE_OPERATION_DISPOSE_AND_REMOVE;
+                for (int i = batch * keys.size(); i < (batch + 1) * keys.size(); i++) {
+                    assertEquals(expectedOperation, records.get(i).getOperation());
+                    assertEquals(records.get(i % keys.size()).getKeyId(), records.get(i).getKeyId());
+                    if (i > batch * keys.size()) {
+                        assertNotEquals(records.get(i - 1).getKeyId(), records.get(i).getKeyId());
+                        assertEquals(
+                                records.get(i - 1).getStartOffset() + records.get(i - 1).getDuration(),
+                                records.get(i).getStartOffset()
+                        );
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(traceFile);
+        }
+    }
+
+    /**
+     * 使用独立的处理器执行测试，处理器使用测试配置中的临时文件目录与单个存储的最大缓冲区大小。
+     *
+     * @param test 使用处理器执行的测试。
+     * @return 已经停止的处理器，以便检查处理器停止之后的状态。
+     * @throws Exception 测试中抛出的异常。
+     */
+    private TemporaryStorageHandler withHandler(HandlerTest test) throws Exception {
+        return withHandler(builder -> {
+        }, test);
+    }
+
+    /**
+     * 使用独立的处理器执行测试。
+     *
+     * <p>
+     * 处理器的配置以测试配置中的临时文件目录与单个存储的最大缓冲区大小为基础，再由 <code>configurer</code> 调整；
+     * 处理器在测试执行前启动，在测试执行后（无论是否成功）停止。
+     *
+     * @param configurer 调整处理器配置的方法。
+     * @param test       使用处理器执行的测试。
+     * @return 已经停止的处理器，以便检查处理器停止之后的状态。
+     * @throws Exception 测试中抛出的异常。
+     */
+    private TemporaryStorageHandler withHandler(
+            Consumer<TemporaryStorageConfig.Builder> configurer, HandlerTest test
+    ) throws Exception {
+        TemporaryStorageConfig.Builder builder = new TemporaryStorageConfig.Builder()
+                .setTemporaryFileDirectoryPath(temporaryFileDirectoryPath)
+                .setTemporaryFileDirectoryPaths(
+                        TemporaryStorageConfigUtil.parseTemporaryFileDirectoryPaths(temporaryFileDirectoryPaths)
+                )
+                .setMaxBufferSizePerStorage(maxBufferSizePerStorage);
+        configurer.accept(builder);
+        TemporaryStorageHandler handler = new TemporaryStorageHandlerImpl(scheduler, builder.build());
+        handler.start();
+        try {
+            test.run(handler);
+        } finally {
+            handler.stop();
+        }
+        return handler;
+    }
+
+    @FunctionalInterface
+    private interface HandlerTest {
+
+        void run(TemporaryStorageHandler handler) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+
+        boolean test() throws Exception;
+    }
+
+
+    /**
+     * 等待条件成立。
+     *
+     * <p>
+     * 以较短的间隔轮询条件，条件在 {@link #AWAIT_TIMEOUT} 毫秒内没有成立时，测试失败。
+     *
+     * @param condition 等待的条件。
+     * @throws Exception 检查条件时抛出的异常。
+     */
+    private void awaitCondition(Condition condition) throws Exception {
+        long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT;
+        while (!condition.test()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("等待条件成立超时");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private long countSpillFiles(List<String> directoryPaths, String key) throws Exception {
+        // 溢出文件可能位于临时文件目录的子目录中，因此需要遍历整个目录树。
+        long count = 0;
+        for (String directoryPath : directoryPaths) {
+            try (Stream<Path> pathStream = Files.walk(Paths.get(directoryPath))) {
+                count += pathStream.filter(path -> path.getFileName().toString().contains(key)).count();
+            }
+        }
+        return count;
+    }
+
+    private long sumSpillFileLength(List<String> directoryPaths, String key) throws Exception {
+        long length = 0;
+        for (String directoryPath : directoryPaths) {
+            try (Stream<Path> pathStream = Files.walk(Paths.get(directoryPath))) {
+                length += pathStream.filter(path -> path.getFileName().toString().contains(key))
+                        .mapToLong(path -> path.toFile().length()).sum();
+            }
+        }
+        return length;
+    }
+
+    private byte[] readAll(String key) throws Exception {
+        return readAll(temporaryStorageHandler, key);
+    }
+
+    private byte[] readAll(TemporaryStorageHandler handler, String key) throws Exception {
+        try (
+                InputStream in = handler.openInputStream(key);
+                ByteArrayOutputStream out = new ByteArrayOutputStream()
+        ) {
+            IOUtil.trans(in, out, 4096);
+            return out.toByteArray();
+        }
+    }
+
     // endregion
 }
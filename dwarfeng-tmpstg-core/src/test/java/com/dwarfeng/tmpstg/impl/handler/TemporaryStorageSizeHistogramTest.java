@@ -0,0 +1,79 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TemporaryStorageSizeHistogramTest {
+
+    @Test
+    public void testPercentile() {
+        TemporaryStorageSizeHistogram histogram = new TemporaryStorageSizeHistogram(1024);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getSampleCount());
+        // 估算值不小于真实值，且误差不超过 25%。
+        assertPercentile(50, histogram.percentile(0.5));
+        assertPercentile(90, histogram.percentile(0.9));
+        assertPercentile(100, histogram.percentile(1.0));
+        // 小于子桶数量的长度可以被精确地估算。
+        histogram = new TemporaryStorageSizeHistogram(1024);
+        for (int i = 0; i < 16; i++) {
+            histogram.record(i % 4);
+        }
+        assertEquals(3, histogram.percentile(1.0));
+        assertEquals(0, histogram.percentile(0.25));
+        // 负数的长度被视为 0。
+        histogram = new TemporaryStorageSizeHistogram(1024);
+        for (int i = 0; i < 16; i++) {
+            histogram.record(-1);
+        }
+        assertEquals(0, histogram.percentile(1.0));
+    }
+
+    @Test
+    public void testWindow() {
+        TemporaryStorageSizeHistogram histogram = new TemporaryStorageSizeHistogram(16);
+        for (int i = 0; i < 16; i++) {
+            histogram.record(1000000);
+        }
+        assertPercentile(1000000, histogram.percentile(0.5));
+        // 窗口已满时，最早的样本被移出直方图，样本数量不再增长。
+        for (int i = 0; i < 8; i++) {
+            histogram.record(100);
+        }
+        assertEquals(16, histogram.getSampleCount());
+        assertPercentile(100, histogram.percentile(0.5));
+        assertPercentile(1000000, histogram.percentile(0.75));
+        for (int i = 0; i < 8; i++) {
+            histogram.record(100);
+        }
+        assertPercentile(100, histogram.percentile(1.0));
+    }
+
+    @Test
+    public void testTooFewSamples() {
+        TemporaryStorageSizeHistogram histogram = new TemporaryStorageSizeHistogram(1024);
+        assertEquals(-1, histogram.percentile(0.5));
+        for (int i = 0; i < 15; i++) {
+            histogram.record(100);
+        }
+        assertEquals(-1, histogram.percentile(0.5));
+        histogram.record(100);
+        assertPercentile(100, histogram.percentile(0.5));
+        // 窗口小于最少样本数量时，窗口写满即可估算。
+        histogram = new TemporaryStorageSizeHistogram(4);
+        for (int i = 0; i < 3; i++) {
+            histogram.record(100);
+        }
+        assertEquals(-1, histogram.percentile(0.5));
+        histogram.record(100);
+        assertPercentile(100, histogram.percentile(0.5));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue(actual >= expected);
+        assertTrue(actual <= expected + expected / 4);
+    }
+}
@@ -0,0 +1,187 @@
+package com.dwarfeng.tmpstg.node.example;
+
+import com.dwarfeng.tmpstg.impl.handler.TemporaryStorageHandlerImpl;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 虚拟线程基准测试示例。
+ *
+ * <p>
+ * 该示例模拟大量并发的客户端，每个客户端创建一个临时存储，写入指定长度的内容，读取并校验后将其释放，
+ * 并对比每个客户端使用一个虚拟线程，与所有客户端共享固定数量的平台线程两种情况下的吞吐量。<br>
+ * 虚拟线程需要 Java 21 及以上的运行环境，在更低版本的运行环境中，该示例只执行平台线程的基准测试。
+ *
+ * <p>
+ * 基准测试期间，可以使用 <code>-Djdk.tracePinnedThreads=full</code> 运行该示例，
+ * 以确认虚拟线程没有在临时存储处理器的锁上被固定到载体线程。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class VirtualThreadBenchmarkExample {
+
+    private static final int PLATFORM_THREAD_COUNT = 200;
+
+    public static void main(String[] args) throws Exception {
+        Scanner scanner = new Scanner(System.in);
+
+        // 显示欢迎信息。
+        System.out.println("开发者您好!");
+        System.out.println("这是一个示例, 用于演示 dwarfeng-tmpstg 在虚拟线程下的并发性能");
+        System.out.println("该示例将会先使用虚拟线程, 为每个客户端分配一个线程, 执行创建、写入、读取与释放临时存储的过程, " +
+                "再使用 " + PLATFORM_THREAD_COUNT + " 个平台线程重复上述过程, 并对比两者的吞吐量");
+        System.out.println("您需要指定临时文件目录, 客户端的数量, 以及每个客户端写入的内容长度");
+
+        // 获取参数。
+        System.out.println("请指定临时文件目录, 默认值为 temporary-file/benchmark: ");
+        String temporaryFileDirectoryPath = StringUtils.trim(scanner.nextLine());
+        if (StringUtils.isEmpty(temporaryFileDirectoryPath)) {
+            temporaryFileDirectoryPath = "temporary-file/benchmark";
+        }
+        System.out.println("请指定客户端的数量, 默认值为 10000: ");
+        int clientCount;
+        String clientCountString = scanner.nextLine();
+        try {
+            clientCount = Integer.parseInt(clientCountString);
+            if (clientCount <= 0) {
+                throw new IllegalArgumentException();
+            }
+        } catch (Exception e) {
+            System.out.println("输入的客户端的数量不合法, 使用默认值 10000");
+            clientCount = 10000;
+        }
+        System.out.println("请指定每个客户端写入的内容长度, 默认值为 65536: ");
+        int contentLength;
+        String contentLengthString = scanner.nextLine();
+        try {
+            contentLength = Integer.parseInt(contentLengthString);
+            if (contentLength <= 0) {
+                throw new IllegalArgumentException();
+            }
+        } catch (Exception e) {
+            System.out.println("输入的内容长度不合法, 使用默认值 65536");
+            contentLength = 65536;
+        }
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+
+        // 1. 使用虚拟线程。
+        System.out.println();
+        ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        if (virtualThreadExecutor == null) {
+            System.out.println("1. 当前运行环境不支持虚拟线程, 跳过虚拟线程的基准测试");
+        } else {
+            System.out.printf("1. 使用虚拟线程, %d 个客户端, 执行基准测试...%n", clientCount);
+            benchmark(scheduler, virtualThreadExecutor, temporaryFileDirectoryPath, clientCount, contentLength);
+        }
+
+        // 2. 使用平台线程。
+        System.out.println();
+        System.out.printf(
+                "2. 使用 %d 个平台线程, %d 个客户端, 执行基准测试...%n", PLATFORM_THREAD_COUNT, clientCount
+        );
+        benchmark(
+                scheduler, Executors.newFixedThreadPool(PLATFORM_THREAD_COUNT), temporaryFileDirectoryPath,
+                clientCount, contentLength
+        );
+
+        System.out.println();
+        System.out.println("示例演示完毕, 感谢您测试与使用!");
+
+        scheduler.shutdown();
+        System.exit(0);
+    }
+
+    /**
+     * 创建为每个任务分配一个虚拟线程的执行器。
+     *
+     * <p>
+     * 该工程使用 Java 8 编译，因此通过反射调用 <code>Executors.newVirtualThreadPerTaskExecutor()</code>。
+     *
+     * @return 为每个任务分配一个虚拟线程的执行器，如果当前运行环境不支持虚拟线程，则返回 <code>null</code>。
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void benchmark(
+            ThreadPoolTaskScheduler scheduler, ExecutorService executor, String temporaryFileDirectoryPath,
+            int clientCount, int contentLength
+    ) throws Exception {
+        TemporaryStorageConfig config = new TemporaryStorageConfig.Builder()
+                .setTemporaryFileDirectoryPath(new File(temporaryFileDirectoryPath).getAbsolutePath())
+                .build();
+        TemporaryStorageHandler temporaryStorageHandler = new TemporaryStorageHandlerImpl(scheduler, config);
+        temporaryStorageHandler.start();
+        try {
+            byte[] content = new byte[contentLength];
+            ThreadLocalRandom.current().nextBytes(content);
+            List<Future<Long>> futures = new ArrayList<>(clientCount);
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < clientCount; i++) {
+                futures.add(executor.submit(() -> runClient(temporaryStorageHandler, content)));
+            }
+            long maxLatencyNanos = 0;
+            long totalLatencyNanos = 0;
+            for (Future<Long> future : futures) {
+                long latencyNanos = future.get();
+                maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+                totalLatencyNanos += latencyNanos;
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            System.out.printf("%d 个客户端全部完成, 耗时 %d 毫秒, 吞吐量 %.1f 个/秒%n",
+                    clientCount, elapsedNanos / 1000000, clientCount * 1e9 / elapsedNanos);
+            System.out.printf("客户端平均耗时 %.1f 毫秒, 最大耗时 %.1f 毫秒%n",
+                    totalLatencyNanos / 1e6 / clientCount, maxLatencyNanos / 1e6);
+        } finally {
+            executor.shutdown();
+            temporaryStorageHandler.stop();
+        }
+    }
+
+    private static long runClient(TemporaryStorageHandler temporaryStorageHandler, byte[] content)
+            throws Exception {
+        long startNanos = System.nanoTime();
+        String key = temporaryStorageHandler.create();
+        try {
+            try (OutputStream out = temporaryStorageHandler.openOutputStream(key, content.length)) {
+                out.write(content);
+            }
+            byte[] readContent = new byte[content.length];
+            try (InputStream in = temporaryStorageHandler.openInputStream(key)) {
+                int totalLength = 0;
+                int length;
+                while (totalLength < readContent.length &&
+                        (length = in.read(readContent, totalLength, readContent.length - totalLength)) >= 0) {
+                    totalLength += length;
+                }
+            }
+            if (!Arrays.equals(content, readContent)) {
+                throw new IllegalStateException("读取的内容与写入的内容不一致");
+            }
+        } finally {
+            temporaryStorageHandler.disposeAndRemove(key);
+        }
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,71 @@
+package com.dwarfeng.tmpstg.sdk.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TemporaryStorageHistogramTest {
+
+    @Test
+    public void testPercentile() {
+        TemporaryStorageHistogram histogram = new TemporaryStorageHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+        assertEquals(0, histogram.mean(), 0);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000, histogram.getMaxValue());
+        assertEquals(500500, histogram.mean(), 0);
+        // 估算值不小于真实值，且误差不超过 6.25%。
+        assertPercentile(500000, histogram.percentile(0.5));
+        assertPercentile(990000, histogram.percentile(0.99));
+        // 估算值不超过样本的最大值。
+        assertEquals(1000000, histogram.percentile(1.0));
+        // 负数的样本被视为 0。
+        histogram = new TemporaryStorageHistogram();
+        histogram.record(-1);
+        assertEquals(0, histogram.percentile(1.0));
+    }
+
+    @Test
+    public void testMergeAndReset() {
+        TemporaryStorageHistogram histogram = new TemporaryStorageHistogram();
+        TemporaryStorageHistogram other = new TemporaryStorageHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(100);
+            other.record(10000);
+        }
+        histogram.merge(other);
+        assertEquals(200, histogram.getCount());
+        assertEquals(10000, histogram.getMaxValue());
+        assertPercentile(100, histogram.percentile(0.5));
+        assertPercentile(10000, histogram.percentile(0.51));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxValue());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    @Test
+    public void testBucketCounts() {
+        // 最大的样本位于最后一个桶中。
+        assertEquals(
+                TemporaryStorageHistogram.BUCKET_COUNT - 1, TemporaryStorageHistogram.bucketIndex(Long.MAX_VALUE)
+        );
+        long[] bucketCounts = new long[TemporaryStorageHistogram.BUCKET_COUNT];
+        bucketCounts[TemporaryStorageHistogram.bucketIndex(100)] = 3;
+        TemporaryStorageHistogram histogram = new TemporaryStorageHistogram(bucketCounts, 300, 100);
+        assertEquals(3, histogram.getCount());
+        assertEquals(100, histogram.mean(), 0);
+        // 构造器复制数组，之后对数组的修改不影响直方图。
+        bucketCounts[TemporaryStorageHistogram.bucketIndex(100)] = 0;
+        assertPercentile(100, histogram.percentile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> new TemporaryStorageHistogram(new long[1], 0, 0));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue(actual >= expected);
+        assertTrue(actual <= expected + expected / 16);
+    }
+}
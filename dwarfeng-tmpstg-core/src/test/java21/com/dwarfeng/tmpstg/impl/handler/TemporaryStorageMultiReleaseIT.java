@@ -0,0 +1,61 @@
+package com.dwarfeng.tmpstg.impl.handler;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 多版本 JAR 的集成测试。
+ *
+ * <p>
+ * 该测试只在 multi-release profile 中，由集成测试插件针对打包后的多版本 JAR 执行，
+ * 验证 <code>META-INF/versions</code> 中的实现被加载，而不是 <code>src/main/java</code> 中的空实现。
+ */
+public class TemporaryStorageMultiReleaseIT {
+
+    private static final String BACKGROUND_TASK_EVENT_NAME = "com.dwarfeng.tmpstg.BackgroundTask";
+
+    @Test
+    public void testOffloadingOnVirtualThread() throws Exception {
+        CompletableFuture<Thread> future = new CompletableFuture<>();
+        TemporaryStorageThreads.offloading("tmpstg-test", () -> future.complete(Thread.currentThread())).run();
+        Thread thread = future.get(10, TimeUnit.SECONDS);
+        // Java 21 版本的实现在新的虚拟线程中执行后台维护任务。
+        assertTrue(thread.isVirtual());
+        assertEquals("tmpstg-test", thread.getName());
+    }
+
+    @Test
+    public void testBackgroundTaskEvent() throws Exception {
+        Path recordingFile = Files.createTempFile("dwarfeng-tmpstg-jfr-", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(BACKGROUND_TASK_EVENT_NAME);
+                recording.start();
+                TemporaryStorageEvents.timing("test-task", () -> {
+                }).run();
+                recording.stop();
+                recording.dump(recordingFile);
+            }
+            // Java 11 版本的实现在后台维护任务执行结束时发出 JFR 事件。
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+            assertTrue(events.stream().anyMatch(
+                    event -> Objects.equals(event.getEventType().getName(), BACKGROUND_TASK_EVENT_NAME) &&
+                            Objects.equals(event.getString("task"), "test-task")
+            ));
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+}
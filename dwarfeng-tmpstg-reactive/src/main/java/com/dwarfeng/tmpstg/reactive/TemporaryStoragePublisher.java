@@ -0,0 +1,292 @@
+package com.dwarfeng.tmpstg.reactive;
+
+import com.dwarfeng.subgrade.sdk.exception.HandlerExceptionHelper;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 临时存储发布者。
+ *
+ * <p>
+ * 以 Reactive Streams {@link Publisher} 的形式按块发布指定临时存储的内容，每个数据块是一个独立的 {@link ByteBuffer}。
+ *
+ * <p>
+ * 发布者严格遵循订阅者的需求：只有订阅者请求了数据块，才会从临时存储中读取数据，
+ * 因此任何时刻内存中最多只有订阅者请求的数据块，而不是整个临时存储的内容。<br>
+ * 读取数据以及向订阅者发送信号的操作都在指定的执行器中进行，调用 {@link Subscription#request(long)} 的线程不会被阻塞。
+ *
+ * <p>
+ * 临时存储的输入流持有临时存储的读锁，且锁属于打开输入流的线程。
+ * 因此发布者只在订阅者存在未满足的需求时打开输入流，需求被满足后立即在同一线程中关闭输入流并释放读锁，
+ * 不会因为等待订阅者的需求而长期占用执行器的线程或阻止其它线程写入临时存储。<br>
+ * 订阅者再次请求数据时，发布者重新打开输入流，并跳过已经发布的内容。
+ * 因此在发布期间，不应该写入该临时存储，否则订阅者收到的内容可能由新旧两部分组成。
+ *
+ * <p>
+ * 跳过内存缓冲与未压缩的文件缓冲中的内容只需要移动读取位置，开销与跳过的长度无关；
+ * 但溢出文件启用了压缩时，跳过内容需要解压被跳过的部分，
+ * 若订阅者每次只请求少量数据块，发布整个临时存储的总开销将与内容长度的平方成正比。<br>
+ * 对于启用了溢出文件压缩的处理器，订阅者应该尽量一次请求较多的数据块，以减少重新打开输入流的次数。
+ *
+ * <p>
+ * 每次订阅都会从头开始发布临时存储的内容，多次订阅之间互不影响。<br>
+ * 读取临时存储失败时，订阅者收到的异常为 {@link com.dwarfeng.subgrade.stack.exception.HandlerException}。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class TemporaryStoragePublisher implements Publisher<ByteBuffer> {
+
+    /**
+     * 默认的数据块大小。
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 65536;
+
+    private final TemporaryStorageHandler temporaryStorageHandler;
+    private final String key;
+    private final Executor executor;
+    private final int chunkSize;
+
+    public TemporaryStoragePublisher(
+            @Nonnull TemporaryStorageHandler temporaryStorageHandler, @Nonnull String key, @Nonnull Executor executor
+    ) {
+        this(temporaryStorageHandler, key, executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    public TemporaryStoragePublisher(
+            @Nonnull TemporaryStorageHandler temporaryStorageHandler, @Nonnull String key, @Nonnull Executor executor,
+            int chunkSize
+    ) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("数据块的大小必须大于 0");
+        }
+        this.temporaryStorageHandler = temporaryStorageHandler;
+        this.key = key;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "订阅者不能为 null");
+        TemporaryStorageSubscription subscription = new TemporaryStorageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    public TemporaryStorageHandler getTemporaryStorageHandler() {
+        return temporaryStorageHandler;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStoragePublisher{" +
+                "temporaryStorageHandler=" + temporaryStorageHandler +
+                ", key='" + key + '\'' +
+                ", executor=" + executor +
+                ", chunkSize=" + chunkSize +
+                '}';
+    }
+
+    /**
+     * 临时存储订阅。
+     *
+     * <p>
+     * 同一时刻最多只有一个排空任务在执行器中运行，排空任务运行期间到达的请求由该任务继续处理。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    private final class TemporaryStorageSubscription implements Subscription {
+
+        private final Subscriber<? super ByteBuffer> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+        private volatile boolean illegalRequested = false;
+
+        // 以下字段只在排空任务中访问，排空任务之间通过 workInProgress 建立先行发生关系。
+        private long position = 0;
+        private int lookahead = -1;
+        private boolean terminated = false;
+
+        private TemporaryStorageSubscription(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            // 非法的请求也交由排空任务处理，以保证发送给订阅者的信号是串行的。
+            if (n <= 0) {
+                illegalRequested = true;
+            } else {
+                long currentDemand;
+                long newDemand;
+                do {
+                    currentDemand = demand.get();
+                    if (currentDemand == Long.MAX_VALUE) {
+                        break;
+                    }
+                    newDemand = currentDemand + n < 0 ? Long.MAX_VALUE : currentDemand + n;
+                } while (!demand.compareAndSet(currentDemand, newDemand));
+            }
+            if (workInProgress.getAndIncrement() == 0) {
+                executeDrain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void executeDrain() {
+            try {
+                executor.execute(this::drain);
+            } catch (Exception e) {
+                cancelled = true;
+                subscriber.onError(HandlerExceptionHelper.parse(e));
+            }
+        }
+
+        private void drain() {
+            InputStream in = null;
+            try {
+                int missed = 1;
+                while (true) {
+                    if (illegalRequested && !cancelled && !terminated) {
+                        terminated = true;
+                        subscriber.onError(new IllegalArgumentException("请求的数据块数量必须大于 0"));
+                    }
+                    while (!cancelled && !terminated && demand.get() > 0) {
+                        if (Objects.isNull(in)) {
+                            in = openInputStream();
+                            if (Objects.isNull(in)) {
+                                break;
+                            }
+                        }
+                        if (!emitChunk(in)) {
+                            break;
+                        }
+                    }
+                    missed = workInProgress.addAndGet(-missed);
+                    if (missed == 0) {
+                        break;
+                    }
+                }
+            } finally {
+                // 输入流的锁属于打开输入流的线程，因此必须在排空任务结束前关闭输入流。
+                closeQuietly(in);
+            }
+        }
+
+        private InputStream openInputStream() {
+            InputStream in = null;
+            try {
+                in = temporaryStorageHandler.openInputStream(key);
+                lookahead = -1;
+                // 跳过已经发布的内容，跳过的长度为 0 时，通过读取一个字节确认是否已经到达内容的末尾。
+                long remainingSkipLength = position;
+                while (remainingSkipLength > 0) {
+                    long skippedLength = in.skip(remainingSkipLength);
+                    if (skippedLength > 0) {
+                        remainingSkipLength -= skippedLength;
+                    } else if (in.read() >= 0) {
+                        remainingSkipLength--;
+                    } else {
+                        break;
+                    }
+                }
+                return in;
+            } catch (Exception e) {
+                closeQuietly(in);
+                terminated = true;
+                subscriber.onError(HandlerExceptionHelper.parse(e));
+                return null;
+            }
+        }
+
+        private boolean emitChunk(InputStream in) {
+            byte[] bytes = new byte[chunkSize];
+            int length = 0;
+            boolean endOfContent;
+            try {
+                if (lookahead >= 0) {
+                    bytes[length++] = (byte) lookahead;
+                    lookahead = -1;
+                }
+                length += readFully(in, bytes, length);
+                // 数据块已满时，预读一个字节，以便内容恰好结束时无需等待下一次请求即可通知订阅者完成。
+                endOfContent = length < bytes.length || (lookahead = in.read()) < 0;
+            } catch (Exception e) {
+                terminated = true;
+                subscriber.onError(HandlerExceptionHelper.parse(e));
+                return false;
+            }
+            if (length > 0) {
+                position += length;
+                demand.decrementAndGet();
+                try {
+                    subscriber.onNext(ByteBuffer.wrap(length == bytes.length ? bytes : Arrays.copyOf(bytes, length)));
+                } catch (Exception e) {
+                    // 订阅者违反规范抛出异常时，视为取消订阅。
+                    cancelled = true;
+                    return false;
+                }
+            }
+            if (endOfContent && !cancelled) {
+                terminated = true;
+                subscriber.onComplete();
+                return false;
+            }
+            return true;
+        }
+
+        private int readFully(InputStream in, byte[] bytes, int offset) throws IOException {
+            int totalLength = offset;
+            while (totalLength < bytes.length) {
+                int length = in.read(bytes, totalLength, bytes.length - totalLength);
+                if (length < 0) {
+                    break;
+                }
+                totalLength += length;
+            }
+            return totalLength - offset;
+        }
+
+        private void closeQuietly(InputStream in) {
+            if (Objects.isNull(in)) {
+                return;
+            }
+            try {
+                in.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
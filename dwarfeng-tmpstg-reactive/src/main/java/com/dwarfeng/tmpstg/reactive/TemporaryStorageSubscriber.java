@@ -0,0 +1,235 @@
+package com.dwarfeng.tmpstg.reactive;
+
+import com.dwarfeng.subgrade.sdk.exception.HandlerExceptionHelper;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javax.annotation.Nonnull;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 临时存储订阅者。
+ *
+ * <p>
+ * 以 Reactive Streams {@link Subscriber} 的形式订阅一个发布 {@link ByteBuffer} 的发布者，
+ * 并将收到的全部数据块按顺序写入指定的临时存储，写入的内容将覆盖临时存储中原有的内容。
+ *
+ * <p>
+ * 订阅者使用有界预取：订阅者最多向发布者请求 <code>prefetch</code> 个数据块，
+ * 已请求的数据块被写入一半后再补充请求，因此任何时刻内存中最多只有 <code>prefetch</code> 个尚未写入的数据块。<br>
+ * 发布者的线程只负责将数据块放入队列，不会因为写入临时存储而被阻塞。
+ *
+ * <p>
+ * 临时存储的输出流持有临时存储的写锁，且锁属于打开输出流的线程，因此写入过程必须在同一个线程中完成。
+ * 订阅者在指定的执行器中提交一个写入任务，该任务在整个写入期间占用执行器的一个线程，
+ * 打开输出流、按顺序写入队列中的数据块，并在发布者完成后关闭输出流。
+ *
+ * <p>
+ * 写入的结果通过 {@link #getFuture()} 获取：写入完成后，其以写入的字节数完成；
+ * 发布者发送错误或写入失败时，其以 {@link com.dwarfeng.subgrade.stack.exception.HandlerException} 异常完成，
+ * 此时临时存储中只有部分内容。
+ *
+ * <p>
+ * 每个订阅者实例只能订阅一次。
+ *
+ * @author DwArFeng
+ * @since 2.1.0
+ */
+public class TemporaryStorageSubscriber implements Subscriber<ByteBuffer> {
+
+    /**
+     * 默认的预取数量。
+     */
+    public static final int DEFAULT_PREFETCH = 16;
+
+    /**
+     * 发布者完成的信号。
+     */
+    private static final Object COMPLETE_SIGNAL = new Object();
+
+    private final TemporaryStorageHandler temporaryStorageHandler;
+    private final String key;
+    private final Executor executor;
+    private final int prefetch;
+
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private final AtomicBoolean subscribedFlag = new AtomicBoolean(false);
+    private final BlockingQueue<Object> signalQueue;
+
+    private volatile Subscription subscription;
+
+    public TemporaryStorageSubscriber(
+            @Nonnull TemporaryStorageHandler temporaryStorageHandler, @Nonnull String key, @Nonnull Executor executor
+    ) {
+        this(temporaryStorageHandler, key, executor, DEFAULT_PREFETCH);
+    }
+
+    public TemporaryStorageSubscriber(
+            @Nonnull TemporaryStorageHandler temporaryStorageHandler, @Nonnull String key, @Nonnull Executor executor,
+            int prefetch
+    ) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("预取数量必须大于 0");
+        }
+        this.temporaryStorageHandler = temporaryStorageHandler;
+        this.key = key;
+        this.executor = executor;
+        this.prefetch = prefetch;
+        // 额外的一个位置用于存放发布者的终止信号。
+        this.signalQueue = new ArrayBlockingQueue<>(prefetch + 1);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Objects.requireNonNull(subscription, "订阅不能为 null");
+        if (!subscribedFlag.compareAndSet(false, true)) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        try {
+            executor.execute(this::write);
+        } catch (Exception e) {
+            subscription.cancel();
+            future.completeExceptionally(HandlerExceptionHelper.parse(e));
+            return;
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "数据块不能为 null");
+        if (!signalQueue.offer(buffer)) {
+            // 发布者发送的数据块超过了请求的数量。
+            subscription.cancel();
+            future.completeExceptionally(HandlerExceptionHelper.parse(
+                    new IllegalStateException("发布者发送的数据块超过了请求的数量")
+            ));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "异常不能为 null");
+        //noinspection ResultOfMethodCallIgnored
+        signalQueue.offer(new ErrorSignal(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        //noinspection ResultOfMethodCallIgnored
+        signalQueue.offer(COMPLETE_SIGNAL);
+    }
+
+    private void write() {
+        Throwable throwable = null;
+        long totalLength = 0;
+        try (OutputStream out = temporaryStorageHandler.openOutputStream(key)) {
+            int replenishThreshold = Math.max(prefetch / 2, 1);
+            int consumedCount = 0;
+            byte[] bytes = null;
+            while (!future.isDone()) {
+                Object signal = signalQueue.take();
+                if (signal == COMPLETE_SIGNAL) {
+                    break;
+                }
+                if (signal instanceof ErrorSignal) {
+                    throwable = ((ErrorSignal) signal).getThrowable();
+                    break;
+                }
+                ByteBuffer buffer = (ByteBuffer) signal;
+                int length = buffer.remaining();
+                if (buffer.hasArray()) {
+                    out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                } else {
+                    if (Objects.isNull(bytes) || bytes.length < length) {
+                        bytes = new byte[length];
+                    }
+                    buffer.duplicate().get(bytes, 0, length);
+                    out.write(bytes, 0, length);
+                }
+                totalLength += length;
+                if (++consumedCount >= replenishThreshold) {
+                    subscription.request(consumedCount);
+                    consumedCount = 0;
+                }
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            subscription.cancel();
+            throwable = e;
+        }
+        if (Objects.nonNull(throwable)) {
+            future.completeExceptionally(HandlerExceptionHelper.parse(
+                    throwable instanceof Exception ? (Exception) throwable : new Exception(throwable)
+            ));
+        } else {
+            future.complete(totalLength);
+        }
+    }
+
+    /**
+     * 获取写入的结果。
+     *
+     * @return 写入完成时以写入的字节数完成的 {@link CompletableFuture}。
+     */
+    public CompletableFuture<Long> getFuture() {
+        return future;
+    }
+
+    public TemporaryStorageHandler getTemporaryStorageHandler() {
+        return temporaryStorageHandler;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryStorageSubscriber{" +
+                "temporaryStorageHandler=" + temporaryStorageHandler +
+                ", key='" + key + '\'' +
+                ", executor=" + executor +
+                ", prefetch=" + prefetch +
+                '}';
+    }
+
+    /**
+     * 发布者的错误信号。
+     *
+     * @author DwArFeng
+     * @since 2.1.0
+     */
+    private static final class ErrorSignal {
+
+        private final Throwable throwable;
+
+        private ErrorSignal(Throwable throwable) {
+            this.throwable = throwable;
+        }
+
+        private Throwable getThrowable() {
+            return throwable;
+        }
+    }
+}
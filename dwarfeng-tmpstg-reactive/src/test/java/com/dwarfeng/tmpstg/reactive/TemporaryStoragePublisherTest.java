@@ -0,0 +1,235 @@
+package com.dwarfeng.tmpstg.reactive;
+
+import com.dwarfeng.tmpstg.impl.handler.TemporaryStorageHandlerImpl;
+import com.dwarfeng.tmpstg.sdk.util.Constants;
+import com.dwarfeng.tmpstg.stack.handler.TemporaryStorageHandler;
+import com.dwarfeng.tmpstg.stack.struct.TemporaryStorageConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class TemporaryStoragePublisherTest {
+
+    private static final int MAX_BUFFER_SIZE_PER_STORAGE = 1024;
+    private static final int CHUNK_SIZE = 100;
+
+    private ThreadPoolTaskScheduler scheduler;
+    private ExecutorService executor;
+    private TemporaryStorageHandler temporaryStorageHandler;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        executor = Executors.newFixedThreadPool(4);
+        // 内容的长度超过单个存储的最大缓冲区大小时，溢出到文件。
+        TemporaryStorageConfig config = new TemporaryStorageConfig.Builder()
+                .setMaxBufferSizePerStorage(MAX_BUFFER_SIZE_PER_STORAGE)
+                .build();
+        temporaryStorageHandler = new TemporaryStorageHandlerImpl(scheduler, config);
+        temporaryStorageHandler.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        temporaryStorageHandler.stop();
+        executor.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testRespectDemand() throws Exception {
+        // 内容的长度恰好是数据块大小的整数倍，最后一个数据块发布后无需额外的请求即可完成。
+        byte[] content = randomContent(CHUNK_SIZE * 30);
+        String key = createStorage(content);
+        try {
+            BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+            CompletableFuture<Subscription> subscriptionFuture = new CompletableFuture<>();
+            new TemporaryStoragePublisher(temporaryStorageHandler, key, executor, CHUNK_SIZE).subscribe(
+                    new RecordingSubscriber(subscriptionFuture, signals)
+            );
+            Subscription subscription = subscriptionFuture.get();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (int i = 0; i < 3; i++) {
+                // 每次请求 10 个数据块，发布者只发送 10 个数据块，不再多发。
+                subscription.request(10);
+                for (int j = 0; j < 10; j++) {
+                    Object signal = signals.poll(10, TimeUnit.SECONDS);
+                    assertTrue(signal instanceof ByteBuffer);
+                    ByteBuffer buffer = (ByteBuffer) signal;
+                    out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                }
+                if (i < 2) {
+                    assertNull(signals.poll(100, TimeUnit.MILLISECONDS));
+                }
+            }
+            assertSame(RecordingSubscriber.COMPLETE_SIGNAL, signals.poll(10, TimeUnit.SECONDS));
+            assertArrayEquals(content, out.toByteArray());
+        } finally {
+            temporaryStorageHandler.disposeAndRemove(key);
+        }
+    }
+
+    @Test
+    public void testReopenCompressedSpill() throws Exception {
+        // 溢出文件使用 deflate 压缩，订阅者每次只请求一个数据块，发布者每次都重新打开输入流并跳过已经发布的内容。
+        TemporaryStorageConfig config = new TemporaryStorageConfig.Builder()
+                .setMaxBufferSizePerStorage(MAX_BUFFER_SIZE_PER_STORAGE)
+                .setSpillCompressionCodec(Constants.SPILL_COMPRESSION_CODEC_DEFLATE)
+                .build();
+        TemporaryStorageHandler compressedHandler = new TemporaryStorageHandlerImpl(scheduler, config);
+        compressedHandler.start();
+        try {
+            byte[] content = randomContent(MAX_BUFFER_SIZE_PER_STORAGE * 10 + 10);
+            String key = compressedHandler.put(content);
+            assertTrue(compressedHandler.inspect(key).isFileBufferUsed());
+            BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+            CompletableFuture<Subscription> subscriptionFuture = new CompletableFuture<>();
+            new TemporaryStoragePublisher(compressedHandler, key, executor, CHUNK_SIZE).subscribe(
+                    new RecordingSubscriber(subscriptionFuture, signals)
+            );
+            Subscription subscription = subscriptionFuture.get();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            while (true) {
+                subscription.request(1);
+                Object signal = signals.poll(10, TimeUnit.SECONDS);
+                if (signal == RecordingSubscriber.COMPLETE_SIGNAL) {
+                    break;
+                }
+                assertTrue(signal instanceof ByteBuffer);
+                ByteBuffer buffer = (ByteBuffer) signal;
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                if (out.size() == content.length) {
+                    assertSame(RecordingSubscriber.COMPLETE_SIGNAL, signals.poll(10, TimeUnit.SECONDS));
+                    break;
+                }
+            }
+            assertArrayEquals(content, out.toByteArray());
+            compressedHandler.disposeAndRemove(key);
+        } finally {
+            compressedHandler.stop();
+        }
+    }
+
+    @Test
+    public void testTransfer() throws Exception {
+        byte[] content = randomContent(MAX_BUFFER_SIZE_PER_STORAGE * 10 + 10);
+        String sourceKey = createStorage(content);
+        String targetKey = temporaryStorageHandler.create();
+        try {
+            // 预取数量小于数据块的数量，订阅者需要多次补充请求。
+            TemporaryStorageSubscriber subscriber = new TemporaryStorageSubscriber(
+                    temporaryStorageHandler, targetKey, executor, 4
+            );
+            new TemporaryStoragePublisher(temporaryStorageHandler, sourceKey, executor, CHUNK_SIZE)
+                    .subscribe(subscriber);
+            assertEquals(content.length, (long) subscriber.getFuture().get(10, TimeUnit.SECONDS));
+            assertArrayEquals(content, readAll(targetKey));
+        } finally {
+            temporaryStorageHandler.disposeAndRemove(sourceKey);
+            temporaryStorageHandler.disposeAndRemove(targetKey);
+        }
+    }
+
+    @Test
+    public void testError() throws Exception {
+        // 发布者发送错误时，写入的结果以异常完成。
+        String key = temporaryStorageHandler.create();
+        try {
+            TemporaryStorageSubscriber subscriber = new TemporaryStorageSubscriber(
+                    temporaryStorageHandler, key, executor
+            );
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onNext(ByteBuffer.wrap(randomContent(10)));
+            subscriber.onError(new IllegalStateException());
+            ExecutionException e = assertThrows(
+                    ExecutionException.class, () -> subscriber.getFuture().get(10, TimeUnit.SECONDS)
+            );
+            assertTrue(e.getCause().getCause() instanceof IllegalStateException);
+        } finally {
+            temporaryStorageHandler.disposeAndRemove(key);
+        }
+    }
+
+    private String createStorage(byte[] content) throws Exception {
+        String key = temporaryStorageHandler.create();
+        try (OutputStream out = temporaryStorageHandler.openOutputStream(key)) {
+            out.write(content);
+        }
+        return key;
+    }
+
+    private byte[] readAll(String key) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = temporaryStorageHandler.openInputStream(key)) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] randomContent(int length) {
+        byte[] content = new byte[length];
+        new Random().nextBytes(content);
+        return content;
+    }
+
+    /**
+     * 记录收到的信号的订阅者。
+     */
+    private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+
+        private static final Object COMPLETE_SIGNAL = new Object();
+
+        private final CompletableFuture<Subscription> subscriptionFuture;
+        private final BlockingQueue<Object> signals;
+
+        private RecordingSubscriber(CompletableFuture<Subscription> subscriptionFuture, BlockingQueue<Object> signals) {
+            this.subscriptionFuture = subscriptionFuture;
+            this.signals = signals;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscriptionFuture.complete(subscription);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            signals.add(buffer);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE_SIGNAL);
+        }
+    }
+}